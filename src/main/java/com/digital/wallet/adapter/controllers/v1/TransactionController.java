@@ -3,11 +3,18 @@ package com.digital.wallet.adapter.controllers.v1;
 import com.digital.wallet.adapter.converters.TransactionMapper;
 import com.digital.wallet.adapter.converters.WalletMapper;
 import com.digital.wallet.adapter.dtos.TransactionDTO;
+import com.digital.wallet.adapter.dtos.TransactionFeedResponseDTO;
 import com.digital.wallet.adapter.dtos.TransactionHistoryResponseDTO;
+import com.digital.wallet.adapter.dtos.TransactionStatisticsResponseDTO;
 import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionFeed;
+import com.digital.wallet.core.domain.TransactionStatistics;
+import com.digital.wallet.core.domain.TransactionType;
 import com.digital.wallet.core.domain.Wallet;
 import com.digital.wallet.core.ports.in.CreateWalletUseCase;
 import com.digital.wallet.core.ports.in.TransactionHistoryUseCase;
+import com.digital.wallet.infra.cache.WalletVersionStore;
+import com.digital.wallet.infra.concurrency.RequestFanOut;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,11 +22,21 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Future;
 
 @RestController
 @RequestMapping("/api/v1/transactions")
@@ -31,21 +48,27 @@ public class TransactionController {
     private final TransactionHistoryUseCase transactionHistoryUseCase;
     private final TransactionMapper transactionMapper;
     private final WalletMapper walletMapper;
+    private final WalletVersionStore walletVersionStore;
+    private final RequestFanOut requestFanOut;
 
     public TransactionController(
             CreateWalletUseCase createWalletUseCase,
             TransactionHistoryUseCase transactionHistoryUseCase,
             TransactionMapper transactionMapper,
-            WalletMapper walletMapper) {
+            WalletMapper walletMapper,
+            WalletVersionStore walletVersionStore,
+            RequestFanOut requestFanOut) {
         this.createWalletUseCase = createWalletUseCase;
         this.transactionHistoryUseCase = transactionHistoryUseCase;
         this.transactionMapper = transactionMapper;
         this.walletMapper = walletMapper;
+        this.walletVersionStore = walletVersionStore;
+        this.requestFanOut = requestFanOut;
     }
 
     @Operation(
         summary = "Get wallet transaction history", 
-        description = "Returns the transaction history of a specific wallet, with date filter options",
+        description = "Returns the transaction history of a specific wallet, with date filter options or only the transactions after a sequence number for incremental sync",
         responses = {
             @ApiResponse(
                 responseCode = "200", 
@@ -55,6 +78,10 @@ public class TransactionController {
                     schema = @Schema(implementation = TransactionHistoryResponseDTO.class)
                 )
             ),
+            @ApiResponse(
+                responseCode = "304", 
+                description = "History unchanged since the version in If-None-Match"
+            ),
             @ApiResponse(
                 responseCode = "400", 
                 description = "Invalid date parameters",
@@ -83,25 +110,202 @@ public class TransactionController {
             @RequestParam(value = "startDate", required = false) String startDate,
             
             @Parameter(description = "End date to filter transactions (format: yyyy-MM-dd or yyyy-MM-dd HH:mm:ss)")
-            @RequestParam(value = "endDate", required = false) String endDate) {
-        
-        // Get the wallet to retrieve the current balance
-        Wallet wallet = createWalletUseCase.findById(walletId);
+            @RequestParam(value = "endDate", required = false) String endDate,
+            
+            @Parameter(description = "Return only transactions with a sequence number greater than this one, ordered by sequence number (at most 500 per request). Cannot be combined with date filters")
+            @RequestParam(value = "sinceSeq", required = false) Long sinceSeq,
+            
+            WebRequest request) {
         
-        // Get transactions based on parameters (all filter logic is in the service)
-        List<Transaction> transactions = transactionHistoryUseCase.getFilteredTransactionHistory(
-            walletId, date, startDate, endDate);
+        if (sinceSeq != null && (date != null || startDate != null || endDate != null)) {
+            throw new IllegalArgumentException("sinceSeq cannot be combined with date filters");
+        }
         
-        // Convert to DTOs
-        List<TransactionDTO> transactionDTOs = transactionMapper.toDTOList(transactions);
+        // Answer unchanged polls from the wallet version alone, without loading the wallet or transactions
+        Optional<String> etag = walletVersionStore.etag(walletId,
+            Objects.toString(date, ""), Objects.toString(startDate, ""), Objects.toString(endDate, ""),
+            Objects.toString(sinceSeq, ""));
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+        }
         
-        // Get the user name from the mapper
-        String userName = walletMapper.getUserName(wallet.getUserId());
+        // The wallet with its owner name and the transaction page are loaded concurrently. The page
+        // skips the existence check: the wallet is looked up once, by its sibling, and a missing
+        // wallet fails that subtask, which cancels the page and answers 404
+        Future<WalletHeader> header;
+        Future<List<TransactionDTO>> transactionDTOs;
+        try (RequestFanOut.Scope scope = requestFanOut.open()) {
+            header = scope.fork(() -> {
+                Wallet wallet = createWalletUseCase.findById(walletId);
+                return new WalletHeader(walletMapper.getUserName(wallet.getUserId()), wallet.getBalance());
+            });
+            transactionDTOs = scope.fork(() -> transactionMapper.toDTOList(sinceSeq != null
+                ? transactionHistoryUseCase.findTransactionsSince(walletId, sinceSeq)
+                : transactionHistoryUseCase.findFilteredTransactions(walletId, date, startDate, endDate)));
+            scope.join();
+        }
         
         // Create the response
         TransactionHistoryResponseDTO response = new TransactionHistoryResponseDTO(
-            walletId, userName, wallet.getBalance(), transactionDTOs);
+            walletId, header.resultNow().userName(), header.resultNow().balance(), transactionDTOs.resultNow());
+        if (etag.isEmpty()) {
+            // The wallet exists, so its next polls can be answered from a version
+            walletVersionStore.initVersion(walletId);
+        }
+        
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        etag.ifPresent(value -> builder.eTag(value).cacheControl(CacheControl.noCache().cachePrivate()));
+        return builder.body(response);
+    }
+
+    @Operation(
+        summary = "Get merged transaction feed of several wallets", 
+        description = "Returns the transactions of the given wallets as one chronological feed, one page at a time. Pass nextCursor from the previous page to get the following one",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Feed page successfully returned",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = TransactionFeedResponseDTO.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400", 
+                description = "Invalid wallet list, cursor or limit",
+                content = @Content(
+                    mediaType = "application/json"
+                )
+            ),
+            @ApiResponse(
+                responseCode = "404", 
+                description = "Wallet not found",
+                content = @Content(
+                    mediaType = "application/json"
+                )
+            )
+        }
+    )
+    @GetMapping("/feed")
+    public ResponseEntity<TransactionFeedResponseDTO> getTransactionFeed(
+            @Parameter(description = "Wallet IDs included in the feed (comma-separated, up to 50)", required = true)
+            @RequestParam("walletIds") List<UUID> walletIds,
+            
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            
+            @Parameter(description = "Maximum number of transactions in the page (1 to 200)")
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        
+        Set<UUID> distinctWalletIds = new LinkedHashSet<>(walletIds);
+        TransactionFeed feed = transactionHistoryUseCase.getTransactionFeed(
+            distinctWalletIds, transactionMapper.decodeCursor(cursor), limit);
         
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(transactionMapper.toFeedDTO(List.copyOf(distinctWalletIds), feed));
+    }
+
+    @Operation(
+        summary = "Search transactions", 
+        description = "Searches transactions by wallet, type, amount range, counterparty and period, newest first. "
+            + "A search needs walletId, relatedUserId, or type with from and to at most 92 days apart; "
+            + "other combinations would scan every transaction and are rejected",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Matching transactions successfully returned",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = TransactionDTO.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400", 
+                description = "Invalid or unsupported filter combination",
+                content = @Content(
+                    mediaType = "application/json"
+                )
+            )
+        }
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<TransactionDTO>> searchTransactions(
+            @Parameter(description = "Wallet ID")
+            @RequestParam(value = "walletId", required = false) UUID walletId,
+            
+            @Parameter(description = "Transaction type (DEPOSIT, WITHDRAW, TRANSFER_IN, TRANSFER_OUT)")
+            @RequestParam(value = "type", required = false) String type,
+            
+            @Parameter(description = "Minimum amount, inclusive")
+            @RequestParam(value = "minAmount", required = false) BigDecimal minAmount,
+            
+            @Parameter(description = "Maximum amount, inclusive")
+            @RequestParam(value = "maxAmount", required = false) BigDecimal maxAmount,
+            
+            @Parameter(description = "Counterparty user ID of transfers")
+            @RequestParam(value = "relatedUserId", required = false) UUID relatedUserId,
+            
+            @Parameter(description = "Start of the period (format: yyyy-MM-dd or yyyy-MM-dd HH:mm:ss)")
+            @RequestParam(value = "from", required = false) String from,
+            
+            @Parameter(description = "End of the period (format: yyyy-MM-dd or yyyy-MM-dd HH:mm:ss)")
+            @RequestParam(value = "to", required = false) String to,
+            
+            @Parameter(description = "Maximum number of transactions returned (1 to 200)")
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        
+        TransactionType transactionType = type != null && !type.isEmpty()
+            ? TransactionType.valueOf(type.toUpperCase(Locale.ROOT))
+            : null;
+        List<Transaction> transactions = transactionHistoryUseCase.searchTransactions(
+            walletId, transactionType, minAmount, maxAmount, relatedUserId, from, to, limit);
+        
+        return ResponseEntity.ok(transactionMapper.toDTOList(transactions));
+    }
+
+    @Operation(
+        summary = "Get wallet transaction statistics", 
+        description = "Returns count, sum, minimum and maximum amount per transaction type and the net flow per day of a wallet, aggregated by the database",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Transaction statistics successfully returned",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = TransactionStatisticsResponseDTO.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400", 
+                description = "Invalid date parameters",
+                content = @Content(
+                    mediaType = "application/json"
+                )
+            ),
+            @ApiResponse(
+                responseCode = "404", 
+                description = "Wallet not found",
+                content = @Content(
+                    mediaType = "application/json"
+                )
+            )
+        }
+    )
+    @GetMapping("/wallet/{walletId}/stats")
+    public ResponseEntity<TransactionStatisticsResponseDTO> getWalletTransactionStatistics(
+            @Parameter(description = "Wallet ID", required = true)
+            @PathVariable UUID walletId,
+            
+            @Parameter(description = "Start of the period (format: yyyy-MM-dd or yyyy-MM-dd HH:mm:ss). Defaults to the beginning of history")
+            @RequestParam(value = "from", required = false) String from,
+            
+            @Parameter(description = "End of the period (format: yyyy-MM-dd or yyyy-MM-dd HH:mm:ss). Defaults to now")
+            @RequestParam(value = "to", required = false) String to) {
+        
+        TransactionStatistics statistics = transactionHistoryUseCase.getTransactionStatistics(walletId, from, to);
+        
+        return ResponseEntity.ok(transactionMapper.toStatisticsDTO(statistics));
+    }
+
+    private record WalletHeader(String userName, BigDecimal balance) {
     }
 }
@@ -2,6 +2,7 @@ package com.digital.wallet.adapter.controllers.v1;
 
 import com.digital.wallet.adapter.dtos.*;
 import com.digital.wallet.adapter.dtos.*;
+import com.digital.wallet.core.domain.BalanceSeries;
 import com.digital.wallet.core.domain.Transaction;
 import com.digital.wallet.core.ports.in.CreateWalletUseCase;
 import com.digital.wallet.core.ports.in.DepositUseCase;
@@ -11,13 +12,20 @@ import com.digital.wallet.core.ports.in.WithdrawUseCase;
 import com.digital.wallet.adapter.converters.WalletMapper;
 import com.digital.wallet.adapter.converters.TransactionMapper;
 import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.domain.WalletPage;
+import com.digital.wallet.infra.cache.WalletVersionStore;
+import com.digital.wallet.infra.events.WalletEventStreams;
 import com.digital.wallet.infra.metrics.MetricsConstants;
 import io.micrometer.core.annotation.Timed;
 import java.util.UUID;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -27,6 +35,8 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/wallets")
@@ -40,6 +50,8 @@ public class WalletController {
     private final WithdrawUseCase withdrawUseCase;
     private final TransactionMapper transactionMapper;
     private final FindAllWalletsUseCase findAllWalletsUseCase;
+    private final WalletVersionStore walletVersionStore;
+    private final WalletEventStreams walletEventStreams;
 
     public WalletController(TransferFundsUseCase transferFundsUseCase, 
             CreateWalletUseCase createWalletUseCase, 
@@ -47,7 +59,9 @@ public class WalletController {
             WithdrawUseCase withdrawUseCase, 
             WalletMapper walletMapper,
             TransactionMapper transactionMapper,
-            FindAllWalletsUseCase findAllWalletsUseCase) {
+            FindAllWalletsUseCase findAllWalletsUseCase,
+            WalletVersionStore walletVersionStore,
+            WalletEventStreams walletEventStreams) {
         this.transferFundsUseCase = transferFundsUseCase;
         this.createWalletUseCase = createWalletUseCase;
         this.depositUseCase = depositUseCase;
@@ -55,18 +69,27 @@ public class WalletController {
         this.walletMapper = walletMapper;
         this.transactionMapper = transactionMapper;
         this.findAllWalletsUseCase = findAllWalletsUseCase;
+        this.walletVersionStore = walletVersionStore;
+        this.walletEventStreams = walletEventStreams;
     }
 
     @Operation(
         summary = "List all wallets", 
-        description = "Returns a list of all wallets registered in the system",
+        description = "Returns the wallets registered in the system ordered by id, one page at a time. Pass nextCursor from the previous page to get the following one",
         responses = {
             @ApiResponse(
                 responseCode = "200", 
-                description = "Wallet list successfully returned",
+                description = "Wallet page successfully returned",
                 content = @Content(
                     mediaType = "application/json",
-                    schema = @Schema(implementation = WalletDTO.class)
+                    schema = @Schema(implementation = WalletPageResponseDTO.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400", 
+                description = "Invalid cursor or limit",
+                content = @Content(
+                    mediaType = "application/json"
                 )
             )
         }
@@ -75,9 +98,14 @@ public class WalletController {
            extraTags = {MetricsConstants.TAG_ENDPOINT, "list-all-wallets"}, 
            description = "Timer for list all wallets endpoint")
     @GetMapping
-    public ResponseEntity<List<WalletDTO>> findAll() {
-        List<Wallet> wallets = findAllWalletsUseCase.findAll();
-        return ResponseEntity.ok(walletMapper.toDTOList(wallets));
+    public ResponseEntity<WalletPageResponseDTO> findAll(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            
+            @Parameter(description = "Maximum number of wallets in the page (1 to 200)")
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        WalletPage page = findAllWalletsUseCase.findPage(walletMapper.decodeCursor(cursor), limit);
+        return ResponseEntity.ok(walletMapper.toPageDTO(page));
     }
 
     @Operation(
@@ -92,6 +120,10 @@ public class WalletController {
                     schema = @Schema(implementation = WalletDTO.class)
                 )
             ),
+            @ApiResponse(
+                responseCode = "304", 
+                description = "Balance unchanged since the version in If-None-Match"
+            ),
             @ApiResponse(
                 responseCode = "404", 
                 description = "Wallet not found",
@@ -107,9 +139,102 @@ public class WalletController {
     @GetMapping("/{walletId}/balance")
     public ResponseEntity<WalletDTO> getBalance(
             @Parameter(description = "Wallet ID", required = true)
-            @PathVariable UUID walletId) {
+            @PathVariable UUID walletId,
+            WebRequest request) {
+        // Answer unchanged polls from the wallet version alone, without loading the wallet
+        Optional<String> etag = walletVersionStore.etag(walletId);
+        if (etag.isPresent() && request.checkNotModified(etag.get())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag.get()).build();
+        }
+        
         Wallet wallet = createWalletUseCase.findById(walletId);
-        return ResponseEntity.ok(walletMapper.toDTO(wallet));
+        if (etag.isEmpty()) {
+            // The wallet exists, so its next reads can be answered from a version; this one
+            // goes without an ETag, as a write may have committed after the wallet was read
+            walletVersionStore.initVersion(walletId);
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        etag.ifPresent(value -> builder.eTag(value).cacheControl(CacheControl.noCache().cachePrivate()));
+        return builder.body(walletMapper.toDTO(wallet));
+    }
+
+    @Operation(
+        summary = "Get wallet balance series", 
+        description = "Returns the balance of a wallet at the start of the period and at the end of each hour or day, "
+            + "computed in one pass from a single grouped sum (e.g. a year of daily closing balances)",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Balance series successfully returned",
+                content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = BalanceSeriesResponseDTO.class)
+                )
+            ),
+            @ApiResponse(
+                responseCode = "400", 
+                description = "Invalid dates or interval, or too many points",
+                content = @Content(
+                    mediaType = "application/json"
+                )
+            ),
+            @ApiResponse(
+                responseCode = "404", 
+                description = "Wallet not found",
+                content = @Content(
+                    mediaType = "application/json"
+                )
+            )
+        }
+    )
+    @Timed(value = MetricsConstants.HTTP_REQUEST_DURATION, 
+           extraTags = {MetricsConstants.TAG_ENDPOINT, "get-wallet-balance-series"}, 
+           description = "Timer for get wallet balance series endpoint")
+    @GetMapping("/{walletId}/balance/series")
+    public ResponseEntity<BalanceSeriesResponseDTO> getBalanceSeries(
+            @Parameter(description = "Wallet ID", required = true)
+            @PathVariable UUID walletId,
+            @Parameter(description = "Start of the series (format: yyyy-MM-ddTHH:mm:ss or yyyy-MM-dd HH:mm:ss)", required = true)
+            @RequestParam("from") String from,
+            @Parameter(description = "End of the series (format: yyyy-MM-ddTHH:mm:ss or yyyy-MM-dd HH:mm:ss)", required = true)
+            @RequestParam("to") String to,
+            @Parameter(description = "Spacing between points: day or hour")
+            @RequestParam(value = "interval", defaultValue = "day") String interval) {
+        BalanceSeries.Interval seriesInterval = BalanceSeries.Interval.valueOf(interval.toUpperCase(Locale.ROOT));
+        BalanceSeries series = createWalletUseCase.getBalanceSeries(walletId, from, to, seriesInterval);
+        return ResponseEntity.ok(walletMapper.toBalanceSeriesDTO(series));
+    }
+
+    @Operation(
+        summary = "Stream wallet changes", 
+        description = "Server-Sent Events stream that pushes the balance and each new transaction of a wallet as they commit. "
+            + "Reconnecting clients resume from the Last-Event-ID header",
+        responses = {
+            @ApiResponse(
+                responseCode = "200", 
+                description = "Event stream opened",
+                content = @Content(
+                    mediaType = MediaType.TEXT_EVENT_STREAM_VALUE
+                )
+            ),
+            @ApiResponse(
+                responseCode = "404", 
+                description = "Wallet not found",
+                content = @Content(
+                    mediaType = "application/json"
+                )
+            )
+        }
+    )
+    @GetMapping(value = "/{walletId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @Parameter(description = "Wallet ID", required = true)
+            @PathVariable UUID walletId,
+            @Parameter(description = "Id of the last event received, to resume the stream")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        // Fails with 404 for unknown wallets before the stream is opened
+        createWalletUseCase.findById(walletId);
+        return walletEventStreams.open(walletId, lastEventId);
     }
 
     @Operation(
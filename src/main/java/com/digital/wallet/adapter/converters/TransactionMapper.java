@@ -1,23 +1,36 @@
 package com.digital.wallet.adapter.converters;
 
+import com.digital.wallet.adapter.dtos.DailyNetFlowDTO;
 import com.digital.wallet.adapter.dtos.TransactionDTO;
+import com.digital.wallet.adapter.dtos.TransactionFeedResponseDTO;
+import com.digital.wallet.adapter.dtos.TransactionStatisticsResponseDTO;
+import com.digital.wallet.adapter.dtos.TypeStatisticsDTO;
+import com.digital.wallet.adapter.entities.ArchivedTransactionEntity;
 import com.digital.wallet.adapter.entities.TransactionEntity;
 import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionCursor;
+import com.digital.wallet.core.domain.TransactionFeed;
+import com.digital.wallet.core.domain.TransactionStatistics;
 import com.digital.wallet.core.domain.User;
 import com.digital.wallet.core.ports.out.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class TransactionMapper {
     
     private final UserRepository userRepository;
     private static final Logger logger = LoggerFactory.getLogger(TransactionMapper.class);
+    private static final String CURSOR_SEPARATOR = "~";
 
     public TransactionMapper(UserRepository userRepository) {
         this.userRepository = userRepository;
@@ -35,10 +48,27 @@ public class TransactionMapper {
         transaction.setType(entity.getType());
         transaction.setTimestamp(entity.getTimestamp());
         transaction.setRelatedUserId(entity.getRelatedUserId());
+        transaction.setSeq(entity.getSeq());
         
         return transaction;
     }
 
+    public Transaction toDomain(ArchivedTransactionEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        Transaction transaction = new Transaction(
+            entity.getId(),
+            entity.getWalletId(),
+            entity.getAmount(),
+            entity.getType(),
+            entity.getTimestamp(),
+            entity.getRelatedUserId());
+        transaction.setSeq(entity.getSeq());
+        return transaction;
+    }
+
     public TransactionDTO toDTO(Transaction domain) {
         if (domain == null) {
             return null;
@@ -46,6 +76,7 @@ public class TransactionMapper {
         
         TransactionDTO dto = new TransactionDTO();
         dto.setId(domain.getId());
+        dto.setSeq(domain.getSeq());
         dto.setWalletId(domain.getWalletId());
         dto.setAmount(domain.getAmount());
         dto.setType(domain.getType() != null ? domain.getType().toString() : null);
@@ -69,4 +100,73 @@ public class TransactionMapper {
     public List<TransactionDTO> toDTOList(List<Transaction> domains) {
         return Objects.requireNonNullElse(domains, List.<Transaction>of()).stream().map(this::toDTO).toList();
     }
+
+    public TransactionFeedResponseDTO toFeedDTO(List<UUID> walletIds, TransactionFeed feed) {
+        if (feed == null) {
+            return null;
+        }
+
+        return TransactionFeedResponseDTO.builder()
+            .walletIds(walletIds)
+            .transactions(toDTOList(feed.getTransactions()))
+            .nextCursor(encodeCursor(feed.getNext()))
+            .build();
+    }
+
+    /**
+     * Encodes a feed position as an opaque, URL-safe token
+     */
+    public String encodeCursor(TransactionCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        String position = cursor.getTimestamp() + CURSOR_SEPARATOR + cursor.getWalletId() + CURSOR_SEPARATOR + cursor.getSeq();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encodeCursor(TransactionCursor)}
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public TransactionCursor decodeCursor(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(CURSOR_SEPARATOR);
+            return new TransactionCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public TransactionStatisticsResponseDTO toStatisticsDTO(TransactionStatistics statistics) {
+        if (statistics == null) {
+            return null;
+        }
+
+        List<TypeStatisticsDTO> byType = statistics.getByType().stream()
+            .map(type -> TypeStatisticsDTO.builder()
+                .type(type.getType().toString())
+                .count(type.getCount())
+                .sum(type.getSum())
+                .min(type.getMin())
+                .max(type.getMax())
+                .build())
+            .toList();
+        List<DailyNetFlowDTO> dailyNetFlow = statistics.getDailyNetFlow().stream()
+            .map(day -> new DailyNetFlowDTO(day.getDay(), day.getNetFlow()))
+            .toList();
+
+        return TransactionStatisticsResponseDTO.builder()
+            .walletId(statistics.getWalletId())
+            .from(statistics.getFrom())
+            .to(statistics.getTo())
+            .byType(byType)
+            .dailyNetFlow(dailyNetFlow)
+            .build();
+    }
 }
@@ -1,22 +1,33 @@
 package com.digital.wallet.adapter.converters;
 
+import com.digital.wallet.adapter.dtos.BalanceSeriesResponseDTO;
 import com.digital.wallet.adapter.dtos.WalletDTO;
+import com.digital.wallet.adapter.dtos.WalletPageResponseDTO;
 import com.digital.wallet.adapter.dtos.CreateWalletRequestDTO;
 import com.digital.wallet.adapter.dtos.DepositRequestDTO;
 import com.digital.wallet.adapter.dtos.WithdrawRequestDTO;
 
 import com.digital.wallet.adapter.entities.WalletEntity;
 import com.digital.wallet.adapter.entities.UserEntity;
+import com.digital.wallet.core.domain.BalanceSeries;
 import com.digital.wallet.core.domain.User;
 import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.domain.WalletPage;
 import com.digital.wallet.core.ports.out.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Component
@@ -71,10 +82,7 @@ public class WalletMapper {
             return null;
         }
         
-        WalletDTO dto = new WalletDTO();
-        dto.setId(domain.getId());
-        dto.setUserId(domain.getUserId());
-        dto.setBalance(domain.getBalance());
+        WalletDTO dto = toDTOWithoutUserName(domain);
         
         // Fetch and add the wallet owner's username
         if (domain.getUserId() != null) {
@@ -90,8 +98,108 @@ public class WalletMapper {
         return dto;
     }
 
+    /**
+     * Converts a list of wallets resolving all owner names in bulk,
+     * so the number of user queries does not grow with the number of wallets
+     * @param domains Wallets to convert
+     * @return Converted wallets, in the same order
+     */
     public List<WalletDTO> toDTOList(List<Wallet> domains) {
-        return Objects.requireNonNullElse(domains, List.<Wallet>of()).stream().map(this::toDTO).toList();
+        List<Wallet> wallets = Objects.requireNonNullElse(domains, List.<Wallet>of());
+        Map<UUID, String> userNames = findUserNames(wallets);
+        
+        return wallets.stream().map(wallet -> {
+            if (wallet == null) {
+                return null;
+            }
+            WalletDTO dto = toDTOWithoutUserName(wallet);
+            dto.setUserName(userNames.get(wallet.getUserId()));
+            return dto;
+        }).toList();
+    }
+
+    public WalletPageResponseDTO toPageDTO(WalletPage page) {
+        if (page == null) {
+            return null;
+        }
+        
+        return WalletPageResponseDTO.builder()
+            .wallets(toDTOList(page.getWallets()))
+            .nextCursor(encodeCursor(page.getNext()))
+            .build();
+    }
+
+    /**
+     * Encodes a wallet list position as an opaque, URL-safe token
+     */
+    public String encodeCursor(UUID afterId) {
+        if (afterId == null) {
+            return null;
+        }
+        
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(afterId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encodeCursor(UUID)}
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public UUID decodeCursor(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        
+        try {
+            return UUID.fromString(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public BalanceSeriesResponseDTO toBalanceSeriesDTO(BalanceSeries series) {
+        if (series == null) {
+            return null;
+        }
+        
+        return BalanceSeriesResponseDTO.builder()
+            .walletId(series.getWalletId())
+            .interval(series.getInterval().name().toLowerCase(Locale.ROOT))
+            .timestamps(series.getTimestamps())
+            .balances(series.getBalances())
+            .build();
+    }
+
+    private WalletDTO toDTOWithoutUserName(Wallet domain) {
+        WalletDTO dto = new WalletDTO();
+        dto.setId(domain.getId());
+        dto.setUserId(domain.getUserId());
+        dto.setBalance(domain.getBalance());
+        return dto;
+    }
+
+    // Resolves the owner names of all wallets at once; on error the names are left out
+    private Map<UUID, String> findUserNames(List<Wallet> wallets) {
+        Set<UUID> userIds = new HashSet<>();
+        for (Wallet wallet : wallets) {
+            if (wallet != null && wallet.getUserId() != null) {
+                userIds.add(wallet.getUserId());
+            }
+        }
+        
+        Map<UUID, String> userNames = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return userNames;
+        }
+        
+        try {
+            for (User user : userRepository.findAllById(userIds)) {
+                userNames.put(user.getId(), user.getName());
+            }
+        } catch (Exception e) {
+            logger.warn("Error fetching user information: {}", e.getMessage());
+        }
+        return userNames;
     }
 
     // Convert CreateWalletRequestDTO to Wallet domain
@@ -0,0 +1,20 @@
+package com.digital.wallet.adapter.dtos;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceSeriesResponseDTO {
+    private UUID walletId;
+    private String interval;
+    private List<LocalDateTime> timestamps;
+    private List<BigDecimal> balances;
+}
@@ -0,0 +1,16 @@
+package com.digital.wallet.adapter.dtos;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyNetFlowDTO {
+    private LocalDate day;
+    private BigDecimal netFlow;
+}
@@ -13,6 +13,7 @@ import java.util.UUID;
 @AllArgsConstructor
 public class TransactionDTO {
     private UUID id;
+    private Long seq;
     private UUID walletId;
     private BigDecimal amount;
     private String type;
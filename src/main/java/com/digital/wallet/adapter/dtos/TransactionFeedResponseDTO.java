@@ -0,0 +1,17 @@
+package com.digital.wallet.adapter.dtos;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionFeedResponseDTO {
+    private List<UUID> walletIds;
+    private List<TransactionDTO> transactions;
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package com.digital.wallet.adapter.dtos;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionStatisticsResponseDTO {
+    private UUID walletId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<TypeStatisticsDTO> byType;
+    private List<DailyNetFlowDTO> dailyNetFlow;
+}
@@ -0,0 +1,15 @@
+package com.digital.wallet.adapter.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletPageResponseDTO {
+    private List<WalletDTO> wallets;
+    private String nextCursor;
+}
@@ -0,0 +1,46 @@
+package com.digital.wallet.adapter.entities;
+
+import com.digital.wallet.core.domain.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a transaction moved to the archive tier.
+ * Rows are written in bulk by the archival job, never through JPA.
+ */
+@Entity
+@Table(name = "transactions_archive")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedTransactionEntity {
+    @Id
+    private UUID id;
+
+    @Column(name = "wallet_id", nullable = false)
+    private UUID walletId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "related_user_id")
+    private UUID relatedUserId;
+
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
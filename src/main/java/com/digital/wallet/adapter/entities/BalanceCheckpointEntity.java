@@ -0,0 +1,46 @@
+package com.digital.wallet.adapter.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a wallet balance checkpoint.
+ * Rows are written in bulk by the checkpoint job, never through JPA.
+ */
+@Entity
+@Table(name = "wallet_balance_checkpoints")
+@IdClass(BalanceCheckpointEntity.Key.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceCheckpointEntity {
+    @Id
+    @Column(name = "wallet_id")
+    private UUID walletId;
+
+    @Id
+    @Column(name = "as_of")
+    private LocalDateTime asOf;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private UUID walletId;
+        private LocalDateTime asOf;
+    }
+}
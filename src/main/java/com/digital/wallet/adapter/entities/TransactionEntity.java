@@ -35,6 +35,9 @@ public class TransactionEntity {
 
     @Column(name = "related_user_id")
     private UUID relatedUserId;
+
+    @Column(name = "seq")
+    private Long seq;
     
     @Column(name = "created_at", nullable = true)
     private LocalDateTime createdAt;
@@ -28,6 +28,14 @@ public class WalletEntity {
     @Column(nullable = false)
     private BigDecimal balance;
 
+    /**
+     * Last sequence number given to a transaction of this wallet. Maintained only by
+     * native updates when transactions are created, never written through the entity.
+     */
+    @Column(name = "transaction_seq", insertable = false, updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private Long transactionSeq;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,53 @@
+package com.digital.wallet.adapter.repositories;
+
+import com.digital.wallet.adapter.entities.ArchivedTransactionEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ArchivedTransactionJpaRepository extends JpaRepository<ArchivedTransactionEntity, UUID> {
+    /**
+     * Finds all archived transactions of a wallet up to a specific date, ordered by timestamp
+     */
+    List<ArchivedTransactionEntity> findByWalletIdAndTimestampLessThanEqualOrderByTimestampAsc(UUID walletId, LocalDateTime endDateTime);
+
+    /**
+     * Finds all archived transactions of a wallet, ordered by timestamp
+     */
+    List<ArchivedTransactionEntity> findByWalletIdOrderByTimestampAsc(UUID walletId);
+
+    /**
+     * Finds all archived transactions of a wallet within a specific period, ordered by timestamp
+     */
+    List<ArchivedTransactionEntity> findByWalletIdAndTimestampBetweenOrderByTimestampAsc(UUID walletId, LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    /**
+     * Finds the archived transactions of a wallet after a sequence number, ordered by sequence number
+     */
+    List<ArchivedTransactionEntity> findByWalletIdAndSeqGreaterThanOrderBySeqAsc(UUID walletId, Long seq, Limit limit);
+
+    /**
+     * Finds the newest archived transactions of a wallet, newest first
+     */
+    List<ArchivedTransactionEntity> findByWalletIdOrderBySeqDesc(UUID walletId, Limit limit);
+
+    /**
+     * Finds the first archived transactions of a wallet in feed order (timestamp, then sequence number)
+     */
+    List<ArchivedTransactionEntity> findByWalletIdOrderByTimestampAscSeqAsc(UUID walletId, Limit limit);
+
+    /**
+     * Finds the archived transactions of a wallet after a feed position, in feed order
+     */
+    @Query("SELECT t FROM ArchivedTransactionEntity t WHERE t.walletId = :walletId "
+            + "AND (t.timestamp > :timestamp OR (t.timestamp = :timestamp AND t.seq > :seq)) "
+            + "ORDER BY t.timestamp ASC, t.seq ASC")
+    List<ArchivedTransactionEntity> findFeedPageAfter(@Param("walletId") UUID walletId,
+                                                      @Param("timestamp") LocalDateTime timestamp,
+                                                      @Param("seq") long seq,
+                                                      Limit limit);
+}
@@ -0,0 +1,14 @@
+package com.digital.wallet.adapter.repositories;
+
+import com.digital.wallet.adapter.entities.BalanceCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BalanceCheckpointJpaRepository extends JpaRepository<BalanceCheckpointEntity, BalanceCheckpointEntity.Key> {
+    /**
+     * Finds the latest checkpoint of a wallet at or before a specific date, using the primary key
+     */
+    Optional<BalanceCheckpointEntity> findFirstByWalletIdAndAsOfLessThanEqualOrderByAsOfDesc(UUID walletId, LocalDateTime at);
+}
@@ -2,8 +2,13 @@ package com.digital.wallet.adapter.repositories;
 
 import com.digital.wallet.adapter.entities.TransactionEntity;
 import com.digital.wallet.adapter.entities.WalletEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,4 +32,114 @@ public interface TransactionJpaRepository extends JpaRepository<TransactionEntit
      * Finds all transactions of a wallet within a specific period, ordered by timestamp
      */
     List<TransactionEntity> findByWalletIdAndTimestampBetweenOrderByTimestampAsc(UUID walletId, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    
+    /**
+     * Finds the transactions of a wallet after a sequence number, ordered by sequence number
+     */
+    List<TransactionEntity> findByWalletIdAndSeqGreaterThanOrderBySeqAsc(UUID walletId, Long seq, Limit limit);
+    
+    /**
+     * Finds the newest transactions of a wallet, newest first
+     */
+    List<TransactionEntity> findByWalletIdOrderBySeqDesc(UUID walletId, Limit limit);
+    
+    /**
+     * Finds the first transactions of a wallet in feed order (timestamp, then sequence number)
+     */
+    List<TransactionEntity> findByWalletIdOrderByTimestampAscSeqAsc(UUID walletId, Limit limit);
+    
+    /**
+     * Finds the transactions of a wallet after a feed position, in feed order. Served by the
+     * (wallet_id, timestamp) index, so only the requested rows are read.
+     */
+    @Query("SELECT t FROM TransactionEntity t WHERE t.wallet.id = :walletId "
+            + "AND (t.timestamp > :timestamp OR (t.timestamp = :timestamp AND t.seq > :seq)) "
+            + "ORDER BY t.timestamp ASC, t.seq ASC")
+    List<TransactionEntity> findFeedPageAfter(@Param("walletId") UUID walletId,
+                                              @Param("timestamp") LocalDateTime timestamp,
+                                              @Param("seq") long seq,
+                                              Limit limit);
+    
+    /**
+     * Aggregates the transactions of a wallet within a period by day and type, across the hot
+     * and archive tables. Each row holds day, type, count, sum, min and max.
+     */
+    @Query(value = """
+            SELECT CAST(t.timestamp AS DATE) AS day, t.type AS type, COUNT(*) AS cnt,
+                   SUM(t.amount) AS total, MIN(t.amount) AS min_amount, MAX(t.amount) AS max_amount
+            FROM (
+                SELECT timestamp, type, amount FROM transactions
+                WHERE wallet_id = :walletId AND timestamp BETWEEN :startDateTime AND :endDateTime
+                UNION ALL
+                SELECT timestamp, type, amount FROM transactions_archive
+                WHERE wallet_id = :walletId AND timestamp BETWEEN :startDateTime AND :endDateTime
+            ) t
+            GROUP BY CAST(t.timestamp AS DATE), t.type
+            ORDER BY day, type
+            """, nativeQuery = true)
+    List<Object[]> aggregateByDayAndType(@Param("walletId") UUID walletId,
+                                         @Param("startDateTime") LocalDateTime startDateTime,
+                                         @Param("endDateTime") LocalDateTime endDateTime);
+    
+    /**
+     * Sums the signed amounts of a wallet up to a date (inclusive) across the hot and archive
+     * tables: credits add and debits subtract. Served by the (wallet_id, timestamp) indexes of
+     * both tables and returns a single row.
+     */
+    @Query(value = """
+            SELECT COALESCE(SUM(CASE WHEN t.type IN (:creditTypes) THEN t.amount ELSE -t.amount END), 0)
+            FROM (
+                SELECT type, amount FROM transactions
+                WHERE wallet_id = :walletId AND timestamp <= :endDateTime
+                UNION ALL
+                SELECT type, amount FROM transactions_archive
+                WHERE wallet_id = :walletId AND timestamp <= :endDateTime
+            ) t
+            """, nativeQuery = true)
+    BigDecimal sumSignedAmountUpTo(@Param("walletId") UUID walletId,
+                                   @Param("endDateTime") LocalDateTime endDateTime,
+                                   @Param("creditTypes") Collection<String> creditTypes);
+    
+    /**
+     * Sums the signed amounts of a wallet after a date (exclusive) and up to another (inclusive)
+     * across the hot and archive tables
+     */
+    @Query(value = """
+            SELECT COALESCE(SUM(CASE WHEN t.type IN (:creditTypes) THEN t.amount ELSE -t.amount END), 0)
+            FROM (
+                SELECT type, amount FROM transactions
+                WHERE wallet_id = :walletId AND timestamp > :afterDateTime AND timestamp <= :endDateTime
+                UNION ALL
+                SELECT type, amount FROM transactions_archive
+                WHERE wallet_id = :walletId AND timestamp > :afterDateTime AND timestamp <= :endDateTime
+            ) t
+            """, nativeQuery = true)
+    BigDecimal sumSignedAmountBetween(@Param("walletId") UUID walletId,
+                                      @Param("afterDateTime") LocalDateTime afterDateTime,
+                                      @Param("endDateTime") LocalDateTime endDateTime,
+                                      @Param("creditTypes") Collection<String> creditTypes);
+    
+    /**
+     * Sums the signed amounts of a wallet per interval after a date, across the hot and archive
+     * tables. Each row holds the interval number (1 for the first interval) and its balance change;
+     * intervals without transactions have no row.
+     */
+    @Query(value = """
+            SELECT CAST(CEIL(EXTRACT(EPOCH FROM (t.timestamp - :fromDateTime)) / :intervalSeconds) AS BIGINT) AS bucket,
+                   SUM(CASE WHEN t.type IN (:creditTypes) THEN t.amount ELSE -t.amount END) AS balance_change
+            FROM (
+                SELECT timestamp, type, amount FROM transactions
+                WHERE wallet_id = :walletId AND timestamp > :fromDateTime AND timestamp <= :toDateTime
+                UNION ALL
+                SELECT timestamp, type, amount FROM transactions_archive
+                WHERE wallet_id = :walletId AND timestamp > :fromDateTime AND timestamp <= :toDateTime
+            ) t
+            GROUP BY bucket
+            ORDER BY bucket
+            """, nativeQuery = true)
+    List<Object[]> sumSignedAmountByInterval(@Param("walletId") UUID walletId,
+                                             @Param("fromDateTime") LocalDateTime fromDateTime,
+                                             @Param("toDateTime") LocalDateTime toDateTime,
+                                             @Param("intervalSeconds") long intervalSeconds,
+                                             @Param("creditTypes") Collection<String> creditTypes);
 }
@@ -1,10 +1,21 @@
 package com.digital.wallet.adapter.repositories;
 
 import com.digital.wallet.adapter.entities.WalletEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface WalletJpaRepository extends JpaRepository<WalletEntity, UUID> {
     Optional<WalletEntity> findByUser_Id(UUID userId);
+
+    @Query("SELECT w.id FROM WalletEntity w ORDER BY w.id")
+    List<UUID> findFirstIds(Limit limit);
+
+    @Query("SELECT w.id FROM WalletEntity w WHERE w.id > :afterId ORDER BY w.id")
+    List<UUID> findIdsAfter(@Param("afterId") UUID afterId, Limit limit);
 }
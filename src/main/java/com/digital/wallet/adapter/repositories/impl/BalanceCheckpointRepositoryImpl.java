@@ -0,0 +1,31 @@
+package com.digital.wallet.adapter.repositories.impl;
+
+import com.digital.wallet.adapter.entities.BalanceCheckpointEntity;
+import com.digital.wallet.adapter.repositories.BalanceCheckpointJpaRepository;
+import com.digital.wallet.core.domain.BalanceCheckpoint;
+import com.digital.wallet.core.ports.out.BalanceCheckpointRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class BalanceCheckpointRepositoryImpl implements BalanceCheckpointRepository {
+
+    private final BalanceCheckpointJpaRepository jpaRepository;
+
+    public BalanceCheckpointRepositoryImpl(BalanceCheckpointJpaRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    public Optional<BalanceCheckpoint> findLatestAtOrBefore(UUID walletId, LocalDateTime at) {
+        return jpaRepository.findFirstByWalletIdAndAsOfLessThanEqualOrderByAsOfDesc(walletId, at)
+            .map(this::toDomain);
+    }
+
+    private BalanceCheckpoint toDomain(BalanceCheckpointEntity entity) {
+        return new BalanceCheckpoint(entity.getWalletId(), entity.getAsOf(), entity.getBalance());
+    }
+}
@@ -1,35 +1,84 @@
 package com.digital.wallet.adapter.repositories.impl;
 
 import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionAggregate;
+import com.digital.wallet.core.domain.TransactionCursor;
+import com.digital.wallet.core.domain.TransactionSearchCriteria;
+import com.digital.wallet.core.domain.TransactionType;
 import com.digital.wallet.core.ports.out.TransactionRepository;
+import com.digital.wallet.adapter.entities.ArchivedTransactionEntity;
 import com.digital.wallet.adapter.entities.TransactionEntity;
 import com.digital.wallet.adapter.entities.WalletEntity;
+import com.digital.wallet.adapter.repositories.ArchivedTransactionJpaRepository;
 import com.digital.wallet.adapter.repositories.TransactionJpaRepository;
 import com.digital.wallet.adapter.repositories.WalletJpaRepository;
 import com.digital.wallet.adapter.converters.TransactionMapper;
 import com.digital.wallet.core.exceptions.WalletNotFoundException;
+import com.digital.wallet.infra.cache.HistoryCachePolicy;
+import com.digital.wallet.infra.cache.SettledHistoryCache;
+import com.digital.wallet.infra.config.CacheConfig;
+import com.digital.wallet.infra.jobs.TransactionArchivePolicy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
+/**
+ * Transaction repository backed by the hot transactions table and the archive table.
+ * Wallet history queries read both tiers and merge them in timestamp order.
+ */
 @Repository
 public class TransactionRepositoryImpl implements TransactionRepository {
 
+    // Transactions kept in a wallet's cached latest page
+    static final int LATEST_PAGE_SIZE = 100;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private final TransactionJpaRepository jpaRepository;
     private final WalletJpaRepository walletJpaRepository;
     private final TransactionMapper transactionMapper;
+    private final ArchivedTransactionJpaRepository archiveRepository;
+    private final TransactionArchivePolicy archivePolicy;
+    private final HistoryCachePolicy historyCachePolicy;
+    private final SettledHistoryCache settledHistoryCache;
 
     public TransactionRepositoryImpl(TransactionJpaRepository jpaRepository, 
                                     WalletJpaRepository walletJpaRepository,
-                                    TransactionMapper transactionMapper) {
+                                    TransactionMapper transactionMapper,
+                                    ArchivedTransactionJpaRepository archiveRepository,
+                                    TransactionArchivePolicy archivePolicy,
+                                    HistoryCachePolicy historyCachePolicy,
+                                    SettledHistoryCache settledHistoryCache) {
         this.jpaRepository = jpaRepository;
         this.walletJpaRepository = walletJpaRepository;
         this.transactionMapper = transactionMapper;
+        this.archiveRepository = archiveRepository;
+        this.archivePolicy = archivePolicy;
+        this.historyCachePolicy = historyCachePolicy;
+        this.settledHistoryCache = settledHistoryCache;
     }
 
     @Override
@@ -64,22 +113,254 @@ public class TransactionRepositoryImpl implements TransactionRepository {
     
     @Override
     public List<Transaction> findByWalletIdAndTimestampLessThanEqual(UUID walletId, LocalDateTime endDateTime) {
-        List<TransactionEntity> entities = jpaRepository.findByWalletIdAndTimestampLessThanEqualOrderByTimestampAsc(
-            walletId, endDateTime);
-        return entities.stream().map(transactionMapper::toDomain).toList();
+        List<Transaction> hot = jpaRepository.findByWalletIdAndTimestampLessThanEqualOrderByTimestampAsc(
+            walletId, endDateTime).stream().map(transactionMapper::toDomain).toList();
+        List<Transaction> archived = archiveRepository.findByWalletIdAndTimestampLessThanEqualOrderByTimestampAsc(
+            walletId, endDateTime).stream().map(transactionMapper::toDomain).toList();
+        return mergeByTimestamp(archived, hot);
+    }
+    
+    /**
+     * Balance change of a wallet computed by a single aggregate over both tiers. One statement
+     * sees one snapshot, so a transaction being archived concurrently is counted exactly once,
+     * and no row is loaded into memory. Sums over settled ranges never change: the range is cached
+     * up to the start of the bucket of its end, and only the rest of that bucket is summed.
+     */
+    @Override
+    public BigDecimal sumBalanceChange(UUID walletId, LocalDateTime afterDateTime, LocalDateTime endDateTime) {
+        LocalDateTime cacheableEnd = historyCachePolicy.cacheableEnd(afterDateTime, endDateTime);
+        if (cacheableEnd == null) {
+            return sumSignedAmount(walletId, afterDateTime, endDateTime);
+        }
+        BigDecimal settled = settledHistoryCache.balanceChange(walletId, afterDateTime, cacheableEnd,
+            () -> sumSignedAmount(walletId, afterDateTime, cacheableEnd));
+        return cacheableEnd.equals(endDateTime)
+            ? settled
+            : settled.add(sumSignedAmount(walletId, cacheableEnd, endDateTime));
+    }
+
+    /**
+     * Balance change per interval from one grouped aggregate over both tiers. Only intervals
+     * with transactions come back from the database; the others are filled with zero.
+     * Series over settled ranges never change and are cached.
+     */
+    @Override
+    @Cacheable(value = CacheConfig.CLOSED_HISTORY_CACHE,
+               key = "'series:' + #walletId + ':' + @historyCachePolicy.bucketKey(#from) + ':' + #interval + ':' + #intervalCount",
+               condition = "@historyCachePolicy.isCacheable(#from, #from.plus(#interval.multipliedBy(#intervalCount)))")
+    public List<BigDecimal> sumBalanceChangeByInterval(UUID walletId, LocalDateTime from, Duration interval, int intervalCount) {
+        LocalDateTime to = from.plus(interval.multipliedBy(intervalCount));
+        List<BigDecimal> changes = new ArrayList<>(Collections.nCopies(intervalCount, BigDecimal.ZERO));
+        for (Object[] row : jpaRepository.sumSignedAmountByInterval(
+                walletId, from, to, interval.toSeconds(), TransactionType.creditTypeNames())) {
+            int index = ((Number) row[0]).intValue() - 1;
+            if (index >= 0 && index < intervalCount) {
+                changes.set(index, toBigDecimal(row[1]));
+            }
+        }
+        return changes;
     }
     
     @Override
     public List<Transaction> findByWalletId(UUID walletId) {
-        List<TransactionEntity> entities = jpaRepository.findByWalletIdOrderByTimestampAsc(walletId);
-        return entities.stream().map(transactionMapper::toDomain).toList();
+        List<Transaction> hot = jpaRepository.findByWalletIdOrderByTimestampAsc(walletId)
+            .stream().map(transactionMapper::toDomain).toList();
+        List<Transaction> archived = archiveRepository.findByWalletIdOrderByTimestampAsc(walletId)
+            .stream().map(transactionMapper::toDomain).toList();
+        return mergeByTimestamp(archived, hot);
     }
     
+    /**
+     * History of a wallet within a period. Periods that ended before the settlement window
+     * can no longer receive transactions: they are cached up to the start of the bucket of their
+     * end and never invalidated, and only the rest of that bucket is loaded.
+     */
     @Override
     public List<Transaction> findByWalletIdAndTimestampBetween(UUID walletId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        List<TransactionEntity> entities = jpaRepository.findByWalletIdAndTimestampBetweenOrderByTimestampAsc(
-            walletId, startDateTime, endDateTime);
-        return entities.stream().map(transactionMapper::toDomain).toList();
+        LocalDateTime cacheableEnd = historyCachePolicy.cacheableEnd(startDateTime, endDateTime);
+        if (cacheableEnd == null) {
+            return loadBetween(walletId, startDateTime, endDateTime);
+        }
+        List<Transaction> settled = settledHistoryCache.transactions(walletId, startDateTime, cacheableEnd,
+            () -> loadBetween(walletId, startDateTime, cacheableEnd));
+        if (cacheableEnd.equals(endDateTime)) {
+            return settled;
+        }
+        
+        // The cached part ends at cacheableEnd inclusive, so the rest starts right after it
+        List<Transaction> rest = loadBetween(walletId, cacheableEnd, endDateTime).stream()
+            .filter(transaction -> transaction.getTimestamp().isAfter(cacheableEnd))
+            .toList();
+        if (rest.isEmpty()) {
+            return settled;
+        }
+        List<Transaction> merged = new ArrayList<>(settled.size() + rest.size());
+        merged.addAll(settled);
+        merged.addAll(rest);
+        return merged;
+    }
+
+    /**
+     * Transactions of a wallet after a sequence number. Sequence numbers have no gaps, so when
+     * the hot table already holds the next number nothing newer can be in the archive.
+     */
+    @Override
+    public List<Transaction> findByWalletIdAndSeqGreaterThan(UUID walletId, long sinceSeq, int limit) {
+        List<Transaction> hot = jpaRepository.findByWalletIdAndSeqGreaterThanOrderBySeqAsc(
+            walletId, sinceSeq, Limit.of(limit)).stream().map(transactionMapper::toDomain).toList();
+        if (!hot.isEmpty() && hot.get(0).getSeq() == sinceSeq + 1) {
+            return hot;
+        }
+        
+        // A transaction moved between the two queries is found in both and kept once
+        Map<Long, Transaction> bySeq = new TreeMap<>();
+        archiveRepository.findByWalletIdAndSeqGreaterThanOrderBySeqAsc(walletId, sinceSeq, Limit.of(limit))
+            .forEach(entity -> bySeq.put(entity.getSeq(), transactionMapper.toDomain(entity)));
+        hot.forEach(transaction -> bySeq.putIfAbsent(transaction.getSeq(), transaction));
+        return bySeq.values().stream().limit(limit).toList();
+    }
+
+    /**
+     * Newest page of a wallet's transactions, cached as the wallet's latest page. Every deposit,
+     * withdrawal and transfer evicts this entry for the affected wallets; older pages never change.
+     * The archive is only read when the hot table holds less than a page for the wallet.
+     */
+    @Override
+    @Cacheable(value = "wallet-transactions", key = "#walletId + ':latest'")
+    public List<Transaction> findLatestPage(UUID walletId) {
+        List<Transaction> hot = jpaRepository.findByWalletIdOrderBySeqDesc(walletId, Limit.of(LATEST_PAGE_SIZE))
+            .stream().map(transactionMapper::toDomain).toList();
+        Map<Long, Transaction> bySeq = new TreeMap<>(Comparator.reverseOrder());
+        hot.forEach(transaction -> bySeq.put(transaction.getSeq(), transaction));
+        if (hot.size() < LATEST_PAGE_SIZE) {
+            // A transaction moved between the two queries is found in both and kept once
+            archiveRepository.findByWalletIdOrderBySeqDesc(walletId, Limit.of(LATEST_PAGE_SIZE))
+                .forEach(entity -> bySeq.putIfAbsent(entity.getSeq(), transactionMapper.toDomain(entity)));
+        }
+        List<Transaction> page = new ArrayList<>(bySeq.values().stream().limit(LATEST_PAGE_SIZE).toList());
+        Collections.reverse(page);
+        return page;
+    }
+
+    /**
+     * One page of a wallet's feed. Both tiers are read by keyset, so at most limit rows
+     * come from each; the archive is skipped once the position is past its horizon.
+     */
+    @Override
+    public List<Transaction> findFeedPage(UUID walletId, TransactionCursor after, int limit) {
+        List<Transaction> hot = (after == null
+            ? jpaRepository.findByWalletIdOrderByTimestampAscSeqAsc(walletId, Limit.of(limit))
+            : jpaRepository.findFeedPageAfter(walletId, after.getTimestamp(), after.seqBoundFor(walletId), Limit.of(limit)))
+            .stream().map(transactionMapper::toDomain).toList();
+        if (after != null && !archivePolicy.mayContainArchived(after.getTimestamp())) {
+            return hot;
+        }
+        
+        List<Transaction> archived = (after == null
+            ? archiveRepository.findByWalletIdOrderByTimestampAscSeqAsc(walletId, Limit.of(limit))
+            : archiveRepository.findFeedPageAfter(walletId, after.getTimestamp(), after.seqBoundFor(walletId), Limit.of(limit)))
+            .stream().map(transactionMapper::toDomain).toList();
+        List<Transaction> merged = mergeByTimestamp(archived, hot);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    /**
+     * Transaction search over both tiers, newest first. The archive is skipped when the
+     * period starts after its horizon.
+     */
+    @Override
+    public List<Transaction> search(TransactionSearchCriteria criteria) {
+        List<Transaction> hot = runSearch(TransactionSearchQuery.forTransactions(criteria), TransactionEntity.class, criteria.getLimit())
+            .stream().map(transactionMapper::toDomain).toList();
+        if (criteria.getFrom() != null && !archivePolicy.mayContainArchived(criteria.getFrom())) {
+            return hot;
+        }
+        
+        List<Transaction> archived = runSearch(TransactionSearchQuery.forArchive(criteria), ArchivedTransactionEntity.class, criteria.getLimit())
+            .stream().map(transactionMapper::toDomain).toList();
+        Map<UUID, Transaction> byId = new LinkedHashMap<>();
+        hot.forEach(transaction -> byId.put(transaction.getId(), transaction));
+        archived.forEach(transaction -> byId.putIfAbsent(transaction.getId(), transaction));
+        return byId.values().stream()
+            .sorted(Comparator.comparing(Transaction::getTimestamp).reversed())
+            .limit(criteria.getLimit())
+            .toList();
+    }
+
+    private <E> List<E> runSearch(TransactionSearchQuery query, Class<E> entityType, int limit) {
+        TypedQuery<E> typedQuery = entityManager.createQuery(query.getJpql(), entityType).setMaxResults(limit);
+        query.getParameters().forEach(typedQuery::setParameter);
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<TransactionAggregate> aggregateByDayAndType(UUID walletId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return jpaRepository.aggregateByDayAndType(walletId, startDateTime, endDateTime)
+            .stream().map(this::toAggregate).toList();
+    }
+
+    private TransactionAggregate toAggregate(Object[] row) {
+        LocalDate day = row[0] instanceof Date date ? date.toLocalDate() : (LocalDate) row[0];
+        return new TransactionAggregate(
+            day,
+            TransactionType.valueOf(row[1].toString()),
+            ((Number) row[2]).longValue(),
+            toBigDecimal(row[3]),
+            toBigDecimal(row[4]),
+            toBigDecimal(row[5]));
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    private BigDecimal sumSignedAmount(UUID walletId, LocalDateTime afterDateTime, LocalDateTime endDateTime) {
+        BigDecimal sum = afterDateTime == null
+            ? jpaRepository.sumSignedAmountUpTo(walletId, endDateTime, TransactionType.creditTypeNames())
+            : jpaRepository.sumSignedAmountBetween(walletId, afterDateTime, endDateTime, TransactionType.creditTypeNames());
+        return sum != null ? sum : BigDecimal.ZERO;
+    }
+    
+    private List<Transaction> loadBetween(UUID walletId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        List<Transaction> hot = jpaRepository.findByWalletIdAndTimestampBetweenOrderByTimestampAsc(
+            walletId, startDateTime, endDateTime).stream().map(transactionMapper::toDomain).toList();
+        
+        // Recent periods never reach the archive, so the second query is skipped for them
+        if (!archivePolicy.mayContainArchived(startDateTime)) {
+            return hot;
+        }
+        List<Transaction> archived = archiveRepository.findByWalletIdAndTimestampBetweenOrderByTimestampAsc(
+            walletId, startDateTime, endDateTime).stream().map(transactionMapper::toDomain).toList();
+        return mergeByTimestamp(archived, hot);
+    }
+
+    /**
+     * Merges two timestamp-ordered lists of transactions into a single ordered list.
+     * The hot table is always read before the archive, so a transaction moved between
+     * the two queries shows up in both lists and is kept only once.
+     */
+    private List<Transaction> mergeByTimestamp(List<Transaction> archived, List<Transaction> hot) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        
+        List<Transaction> merged = new ArrayList<>(archived.size() + hot.size());
+        Set<UUID> seen = new HashSet<>();
+        int a = 0;
+        int h = 0;
+        while (a < archived.size() || h < hot.size()) {
+            Transaction next;
+            if (h >= hot.size() || (a < archived.size()
+                    && !archived.get(a).getTimestamp().isAfter(hot.get(h).getTimestamp()))) {
+                next = archived.get(a++);
+            } else {
+                next = hot.get(h++);
+            }
+            if (next.getId() == null || seen.add(next.getId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
     }
 
     private TransactionEntity toEntity(Transaction domain) {
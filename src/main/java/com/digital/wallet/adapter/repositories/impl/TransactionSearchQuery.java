@@ -0,0 +1,74 @@
+package com.digital.wallet.adapter.repositories.impl;
+
+import com.digital.wallet.core.domain.TransactionSearchCriteria;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPQL of a transaction search over the hot or the archive table. The predicate on the
+ * leading column of the index chosen by the criteria always comes first, and rows are ordered
+ * by timestamp, the next column of every search index, so the database walks the index in
+ * order and stops at the limit instead of sorting a full scan.
+ */
+final class TransactionSearchQuery {
+
+    private final String jpql;
+    private final Map<String, Object> parameters;
+
+    private TransactionSearchQuery(String jpql, Map<String, Object> parameters) {
+        this.jpql = jpql;
+        this.parameters = parameters;
+    }
+
+    static TransactionSearchQuery forTransactions(TransactionSearchCriteria criteria) {
+        return build(criteria, "TransactionEntity", "t.wallet.id");
+    }
+
+    static TransactionSearchQuery forArchive(TransactionSearchCriteria criteria) {
+        return build(criteria, "ArchivedTransactionEntity", "t.walletId");
+    }
+
+    private static TransactionSearchQuery build(TransactionSearchCriteria criteria, String entity, String walletIdPath) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        // Leading predicate of the index the search starts from
+        switch (criteria.getAccessPath()) {
+            case WALLET -> add(predicates, parameters, walletIdPath + " = :walletId", "walletId", criteria.getWalletId());
+            case RELATED_USER -> add(predicates, parameters, "t.relatedUserId = :relatedUserId", "relatedUserId", criteria.getRelatedUserId());
+            case TYPE_AND_PERIOD -> add(predicates, parameters, "t.type = :type", "type", criteria.getType());
+        }
+
+        // Remaining filters narrow the rows found through the index
+        add(predicates, parameters, walletIdPath + " = :walletId", "walletId", criteria.getWalletId());
+        add(predicates, parameters, "t.relatedUserId = :relatedUserId", "relatedUserId", criteria.getRelatedUserId());
+        add(predicates, parameters, "t.type = :type", "type", criteria.getType());
+        add(predicates, parameters, "t.timestamp >= :from", "from", criteria.getFrom());
+        add(predicates, parameters, "t.timestamp <= :to", "to", criteria.getTo());
+        add(predicates, parameters, "t.amount >= :minAmount", "minAmount", criteria.getMinAmount());
+        add(predicates, parameters, "t.amount <= :maxAmount", "maxAmount", criteria.getMaxAmount());
+
+        String jpql = "SELECT t FROM " + entity + " t WHERE " + String.join(" AND ", predicates)
+                + " ORDER BY t.timestamp DESC";
+        return new TransactionSearchQuery(jpql, parameters);
+    }
+
+    private static void add(List<String> predicates, Map<String, Object> parameters,
+                            String predicate, String name, Object value) {
+        if (value != null && !parameters.containsKey(name)) {
+            predicates.add(predicate);
+            parameters.put(name, value);
+        }
+    }
+
+    String getJpql() {
+        return jpql;
+    }
+
+    Map<String, Object> getParameters() {
+        return parameters;
+    }
+}
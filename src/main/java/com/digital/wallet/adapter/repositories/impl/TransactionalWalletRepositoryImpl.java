@@ -8,11 +8,13 @@ import com.digital.wallet.core.domain.Transaction;
 import com.digital.wallet.core.domain.TransactionType;
 import com.digital.wallet.core.domain.Wallet;
 import com.digital.wallet.core.ports.out.TransactionalWalletRepository;
+import com.digital.wallet.infra.events.WalletEventPublisher;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
@@ -20,7 +22,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -33,20 +39,64 @@ public class TransactionalWalletRepositoryImpl implements TransactionalWalletRep
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionalWalletRepositoryImpl.class);
 
+    static final String DAILY_SUMMARY_MODE_SYNC = "sync";
+
+    /**
+     * Per-wallet transaction counter. The increment locks the wallet row until commit, so
+     * concurrent transactions of a wallet get consecutive numbers and a rollback frees its number.
+     * The number is read together with the balance, which is the one this transaction commits
+     * since the row stays locked.
+     */
+    static final String NEXT_SEQ_SQL = "UPDATE wallets SET transaction_seq = transaction_seq + 1 WHERE id = :walletId";
+    static final String CURRENT_SEQ_SQL = "SELECT transaction_seq, balance FROM wallets WHERE id = :walletId";
+
+    /**
+     * Balance updates return the committed value of the row, so callers get the new balance
+     * without reading the wallet again
+     */
+    static final String CREDIT_SQL = "UPDATE wallets SET balance = balance + :amount WHERE id = :walletId RETURNING balance";
+    static final String DEBIT_SQL = "UPDATE wallets SET balance = balance - :amount WHERE id = :walletId RETURNING balance";
+
+    /**
+     * Daily summary upsert per transaction type. The closing balance is read from the wallet row,
+     * which the caller has already updated in the same database transaction.
+     */
+    private static final Map<TransactionType, String> DAILY_SUMMARY_UPSERT_SQL = new EnumMap<>(TransactionType.class);
+
+    static {
+        for (TransactionType type : TransactionType.values()) {
+            String column = type.name().toLowerCase(Locale.ROOT);
+            DAILY_SUMMARY_UPSERT_SQL.put(type,
+                    "INSERT INTO wallet_daily_summary AS s (wallet_id, day, " + column + "_count, " + column + "_sum, closing_balance, updated_at) "
+                    + "VALUES (:walletId, :day, 1, :amount, (SELECT w.balance FROM wallets w WHERE w.id = :walletId), :updatedAt) "
+                    + "ON CONFLICT (wallet_id, day) DO UPDATE SET "
+                    + column + "_count = s." + column + "_count + 1, "
+                    + column + "_sum = s." + column + "_sum + EXCLUDED." + column + "_sum, "
+                    + "closing_balance = EXCLUDED.closing_balance, "
+                    + "updated_at = EXCLUDED.updated_at");
+        }
+    }
+
     @PersistenceContext
     private EntityManager entityManager;
 
     private final WalletRepositoryImpl delegateWalletRepository;
     private final WalletMapper walletMapper;
     private final TransactionMapper transactionMapper;
+    private final WalletEventPublisher walletEventPublisher;
+    private final boolean inlineDailySummary;
 
     public TransactionalWalletRepositoryImpl(
             WalletRepositoryImpl delegateWalletRepository,
             WalletMapper walletMapper,
-            TransactionMapper transactionMapper) {
+            TransactionMapper transactionMapper,
+            WalletEventPublisher walletEventPublisher,
+            @Value("${app.rollups.daily-summary.mode:sync}") String dailySummaryMode) {
         this.delegateWalletRepository = delegateWalletRepository;
         this.walletMapper = walletMapper;
         this.transactionMapper = transactionMapper;
+        this.walletEventPublisher = walletEventPublisher;
+        this.inlineDailySummary = DAILY_SUMMARY_MODE_SYNC.equals(dailySummaryMode);
     }
 
     @Override
@@ -80,26 +130,37 @@ public class TransactionalWalletRepositoryImpl implements TransactionalWalletRep
     }
 
     @Override
-    public boolean updateWalletBalance(UUID walletId, BigDecimal amount, boolean isDebit) {
+    public long count() {
+        return delegateWalletRepository.count();
+    }
+
+    @Override
+    public List<Wallet> findAllById(Collection<UUID> walletIds) {
+        return delegateWalletRepository.findAllById(walletIds);
+    }
+
+    @Override
+    public List<UUID> findIdsAfter(UUID afterId, int limit) {
+        return delegateWalletRepository.findIdsAfter(afterId, limit);
+    }
+
+    @Override
+    public Optional<BigDecimal> updateWalletBalance(UUID walletId, BigDecimal amount, boolean isDebit) {
         String operation = isDebit ? "debit" : "credit";
         logger.debug("Updating wallet {} balance with {} of {}", walletId, operation, amount);
 
-        String jpql = isDebit
-                ? "UPDATE WalletEntity w SET w.balance = w.balance - :amount WHERE w.id = :walletId"
-                : "UPDATE WalletEntity w SET w.balance = w.balance + :amount WHERE w.id = :walletId";
-
-        int updated = entityManager.createQuery(jpql)
+        List<?> balances = entityManager.createNativeQuery(isDebit ? DEBIT_SQL : CREDIT_SQL)
                 .setParameter("amount", amount)
                 .setParameter("walletId", walletId)
-                .executeUpdate();
+                .getResultList();
 
-        if (updated > 0) {
-            logger.debug("Wallet {} balance updated successfully", walletId);
-        } else {
+        if (balances.isEmpty()) {
             logger.warn("Failed to update wallet {} balance", walletId);
+            return Optional.empty();
         }
 
-        return updated > 0;
+        logger.debug("Wallet {} balance updated successfully", walletId);
+        return Optional.of(toBigDecimal(balances.get(0)));
     }
 
     @Override
@@ -124,6 +185,8 @@ public class TransactionalWalletRepositoryImpl implements TransactionalWalletRep
             entity.setType(type);
             entity.setRelatedUserId(relatedUserId);
             entity.setTimestamp(timestamp);
+            Object[] seqAndBalance = nextSeq(walletId);
+            entity.setSeq(((Number) seqAndBalance[0]).longValue());
             
             // We don't need to manually define createdAt and updatedAt, as the @PrePersist
             // methods in the entity already do this automatically
@@ -133,11 +196,45 @@ public class TransactionalWalletRepositoryImpl implements TransactionalWalletRep
             
             logger.debug("Transaction {} created successfully", entity.getId());
 
+            // Keep the daily summary in step with the transaction; in async mode a catch-up job does it
+            if (inlineDailySummary) {
+                upsertDailySummary(walletId, type, amount, timestamp);
+            }
+
             // Convert to domain and return
-            return transactionMapper.toDomain(entity);
+            Transaction transaction = transactionMapper.toDomain(entity);
+
+            // Bumps the wallet version and notifies event stream subscribers once committed
+            walletEventPublisher.publishAfterCommit(transaction, toBigDecimal(seqAndBalance[1]));
+            return transaction;
         } catch (Exception e) {
             logger.error("Error creating transaction: {}", e.getMessage(), e);
             throw e;
         }
     }
+
+    private Object[] nextSeq(UUID walletId) {
+        entityManager.createNativeQuery(NEXT_SEQ_SQL)
+                .setParameter("walletId", walletId)
+                .executeUpdate();
+        return (Object[]) entityManager.createNativeQuery(CURRENT_SEQ_SQL)
+                .setParameter("walletId", walletId)
+                .getSingleResult();
+    }
+
+    private static BigDecimal toBigDecimal(Object balance) {
+        if (balance == null) {
+            return null;
+        }
+        return balance instanceof BigDecimal decimal ? decimal : new BigDecimal(balance.toString());
+    }
+
+    private void upsertDailySummary(UUID walletId, TransactionType type, BigDecimal amount, LocalDateTime timestamp) {
+        entityManager.createNativeQuery(DAILY_SUMMARY_UPSERT_SQL.get(type))
+                .setParameter("walletId", walletId)
+                .setParameter("day", timestamp.toLocalDate())
+                .setParameter("amount", amount)
+                .setParameter("updatedAt", LocalDateTime.now())
+                .executeUpdate();
+    }
 }
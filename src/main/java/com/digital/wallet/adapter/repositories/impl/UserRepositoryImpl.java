@@ -5,8 +5,12 @@ import com.digital.wallet.adapter.entities.UserEntity;
 import com.digital.wallet.adapter.repositories.UserJpaRepository;
 import com.digital.wallet.core.domain.User;
 import com.digital.wallet.core.ports.out.UserRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,6 +18,9 @@ import java.util.UUID;
 @Repository
 public class UserRepositoryImpl implements UserRepository {
 
+    // Keeps each IN clause well below the PostgreSQL limit of 32767 bind parameters
+    static final int ID_BATCH_SIZE = 1000;
+
     private final UserJpaRepository jpaRepository;
     private final UserMapper userMapper;
 
@@ -22,7 +29,11 @@ public class UserRepositoryImpl implements UserRepository {
         this.userMapper = userMapper;
     }
 
+    /**
+     * Owners are read for every wallet and transaction that is returned, so they are cached
+     */
     @Override
+    @Cacheable(value = "user-profile", key = "#userId", unless = "#result == null")
     public Optional<User> findById(UUID userId) {
         return jpaRepository.findById(userId).map(userMapper::toDomain);
     }
@@ -33,6 +44,7 @@ public class UserRepositoryImpl implements UserRepository {
     }
 
     @Override
+    @CacheEvict(value = "user-profile", key = "#user.id", condition = "#user.id != null")
     public User save(User user) {
         UserEntity entity = userMapper.toEntity(user);
         UserEntity saved = jpaRepository.save(entity);
@@ -40,11 +52,13 @@ public class UserRepositoryImpl implements UserRepository {
     }
 
     @Override
+    @CacheEvict(value = "user-profile", key = "#user.id")
     public void update(User user) {
         jpaRepository.save(userMapper.toEntity(user));
     }
 
     @Override
+    @CacheEvict(value = "user-profile", key = "#userId")
     public void delete(UUID userId) {
         jpaRepository.deleteById(userId);
     }
@@ -53,4 +67,19 @@ public class UserRepositoryImpl implements UserRepository {
     public List<User> findAll() {
         return jpaRepository.findAll().stream().map(userMapper::toDomain).toList();
     }
+
+    @Override
+    public List<User> findAllById(Collection<UUID> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ids = new ArrayList<>(userIds);
+        List<User> users = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size()));
+            jpaRepository.findAllById(batch).forEach(entity -> users.add(userMapper.toDomain(entity)));
+        }
+        return users;
+    }
 }
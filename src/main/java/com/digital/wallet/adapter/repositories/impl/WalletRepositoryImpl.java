@@ -6,11 +6,15 @@ import com.digital.wallet.adapter.entities.WalletEntity;
 import com.digital.wallet.adapter.repositories.WalletJpaRepository;
 import com.digital.wallet.adapter.repositories.UserJpaRepository;
 import com.digital.wallet.adapter.converters.WalletMapper;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -56,6 +60,7 @@ public class WalletRepositoryImpl implements WalletRepository {
     }
 
     @Override
+    @CacheEvict(value = "wallet-list", allEntries = true)
     public void delete(UUID walletId) {
         jpaRepository.deleteById(walletId);
     }
@@ -65,6 +70,31 @@ public class WalletRepositoryImpl implements WalletRepository {
         return jpaRepository.findAll().stream().map(walletMapper::toDomain).toList();
     }
 
+    @Override
+    public long count() {
+        return jpaRepository.count();
+    }
+
+    @Override
+    public List<Wallet> findAllById(Collection<UUID> walletIds) {
+        if (walletIds == null || walletIds.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findAllById(walletIds).stream().map(walletMapper::toDomain).toList();
+    }
+
+    /**
+     * Ids of one page of the wallet list. Only wallet creation and deletion change the members of
+     * a page, so pages are cached and balance changes leave them untouched.
+     */
+    @Override
+    @Cacheable(value = "wallet-list", key = "'page:' + #afterId + ':' + #limit", sync = true)
+    public List<UUID> findIdsAfter(UUID afterId, int limit) {
+        return afterId == null
+            ? jpaRepository.findFirstIds(Limit.of(limit))
+            : jpaRepository.findIdsAfter(afterId, Limit.of(limit));
+    }
+
     // Conversion using ModelMapper + UserJpaRepository to ensure correct relationship
     private WalletEntity toEntity(Wallet wallet) {
         if (wallet == null) return null;
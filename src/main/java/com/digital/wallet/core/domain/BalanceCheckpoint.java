@@ -0,0 +1,32 @@
+package com.digital.wallet.core.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Balance of a wallet as of a settled instant, counting every transaction up to and including it
+ */
+public class BalanceCheckpoint {
+    private final UUID walletId;
+    private final LocalDateTime asOf;
+    private final BigDecimal balance;
+
+    public BalanceCheckpoint(UUID walletId, LocalDateTime asOf, BigDecimal balance) {
+        this.walletId = walletId;
+        this.asOf = asOf;
+        this.balance = balance;
+    }
+
+    public UUID getWalletId() {
+        return walletId;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+}
@@ -0,0 +1,67 @@
+package com.digital.wallet.core.domain;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Balances of a wallet at evenly spaced instants. The first point is the balance at the start
+ * of the series; each following point is the balance at the end of one more interval, so the
+ * points of a daily series are the closing balances of each day.
+ */
+public class BalanceSeries {
+
+    /**
+     * Spacing between the points of a series
+     */
+    public enum Interval {
+        HOUR(Duration.ofHours(1)),
+        DAY(Duration.ofDays(1));
+
+        private final Duration duration;
+
+        Interval(Duration duration) {
+            this.duration = duration;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+    }
+
+    private final UUID walletId;
+    private final Interval interval;
+    private final List<LocalDateTime> timestamps;
+    private final List<BigDecimal> balances;
+
+    public BalanceSeries(UUID walletId, Interval interval, List<LocalDateTime> timestamps, List<BigDecimal> balances) {
+        this.walletId = walletId;
+        this.interval = interval;
+        this.timestamps = timestamps;
+        this.balances = balances;
+    }
+
+    public UUID getWalletId() {
+        return walletId;
+    }
+
+    public Interval getInterval() {
+        return interval;
+    }
+
+    /**
+     * Instants of the points, in ascending order
+     */
+    public List<LocalDateTime> getTimestamps() {
+        return timestamps;
+    }
+
+    /**
+     * Balance at each instant of {@link #getTimestamps()}, at the same position
+     */
+    public List<BigDecimal> getBalances() {
+        return balances;
+    }
+}
@@ -1,16 +1,20 @@
 package com.digital.wallet.core.domain;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-public class Transaction {
+public class Transaction implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private UUID id;
     private UUID walletId;
     private BigDecimal amount;
     private TransactionType type;
     private LocalDateTime timestamp;
     private UUID relatedUserId;
+    private Long seq;
 
     public Transaction(UUID id,
                        UUID walletId,
@@ -75,4 +79,15 @@ public class Transaction {
     public void setRelatedUserId(UUID relatedUserId) {
         this.relatedUserId = relatedUserId;
     }
+
+    /**
+     * Position of the transaction in its wallet's history, starting at 1 and without gaps
+     */
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
 }
\ No newline at end of file
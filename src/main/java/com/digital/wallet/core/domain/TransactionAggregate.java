@@ -0,0 +1,54 @@
+package com.digital.wallet.core.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Aggregated values of the transactions of one type on one day, as computed by the database
+ */
+public class TransactionAggregate {
+    private final LocalDate day;
+    private final TransactionType type;
+    private final long count;
+    private final BigDecimal sum;
+    private final BigDecimal min;
+    private final BigDecimal max;
+
+    public TransactionAggregate(LocalDate day,
+                                TransactionType type,
+                                long count,
+                                BigDecimal sum,
+                                BigDecimal min,
+                                BigDecimal max) {
+        this.day = day;
+        this.type = type;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public BigDecimal getSum() {
+        return sum;
+    }
+
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    public BigDecimal getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,67 @@
+package com.digital.wallet.core.domain;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position in a chronological transaction feed spanning several wallets.
+ * Transactions are ordered by timestamp, then wallet id, then the wallet sequence number,
+ * so every transaction has a unique position and pages never overlap or skip rows.
+ */
+public class TransactionCursor {
+
+    /**
+     * Feed order. Wallet ids are compared by their text form, which matches the byte order
+     * used by the database for UUID columns.
+     */
+    public static final Comparator<Transaction> FEED_ORDER = Comparator
+            .comparing(Transaction::getTimestamp)
+            .thenComparing(transaction -> transaction.getWalletId().toString())
+            .thenComparing(Transaction::getSeq, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final LocalDateTime timestamp;
+    private final UUID walletId;
+    private final long seq;
+
+    public TransactionCursor(LocalDateTime timestamp, UUID walletId, long seq) {
+        this.timestamp = timestamp;
+        this.walletId = walletId;
+        this.seq = seq;
+    }
+
+    /**
+     * Cursor positioned right after the given transaction
+     */
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(
+                transaction.getTimestamp(),
+                transaction.getWalletId(),
+                transaction.getSeq() != null ? transaction.getSeq() : 0L);
+    }
+
+    /**
+     * Smallest sequence number a transaction of the given wallet at this cursor's timestamp
+     * must exceed to come after the cursor. Wallets ordered before the cursor wallet have no
+     * transactions left at this timestamp; wallets ordered after it have all of them.
+     */
+    public long seqBoundFor(UUID otherWalletId) {
+        int order = otherWalletId.toString().compareTo(walletId.toString());
+        if (order < 0) {
+            return Long.MAX_VALUE;
+        }
+        return order == 0 ? seq : 0L;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public UUID getWalletId() {
+        return walletId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+}
@@ -0,0 +1,27 @@
+package com.digital.wallet.core.domain;
+
+import java.util.List;
+
+/**
+ * One page of the chronological transaction feed of several wallets
+ */
+public class TransactionFeed {
+    private final List<Transaction> transactions;
+    private final TransactionCursor next;
+
+    public TransactionFeed(List<Transaction> transactions, TransactionCursor next) {
+        this.transactions = transactions;
+        this.next = next;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    /**
+     * Cursor of the following page, or null when this page is the last one
+     */
+    public TransactionCursor getNext() {
+        return next;
+    }
+}
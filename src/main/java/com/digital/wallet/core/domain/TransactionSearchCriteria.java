@@ -0,0 +1,117 @@
+package com.digital.wallet.core.domain;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Filters of a transaction search. Every accepted search starts from an index: the wallet,
+ * the counterparty, or the transaction type within a bounded period. Amount ranges and the
+ * remaining filters only narrow the rows found through that index.
+ */
+public class TransactionSearchCriteria {
+
+    /**
+     * Longest period accepted when the search starts from the transaction type
+     */
+    public static final Duration MAX_TYPE_SEARCH_WINDOW = Duration.ofDays(92);
+
+    /**
+     * Index the search starts from
+     */
+    public enum AccessPath {
+        WALLET,
+        RELATED_USER,
+        TYPE_AND_PERIOD
+    }
+
+    private final UUID walletId;
+    private final TransactionType type;
+    private final BigDecimal minAmount;
+    private final BigDecimal maxAmount;
+    private final UUID relatedUserId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final int limit;
+    private final AccessPath accessPath;
+
+    /**
+     * @throws IllegalArgumentException if the filters are inconsistent or no index can serve them
+     */
+    public TransactionSearchCriteria(UUID walletId,
+                                     TransactionType type,
+                                     BigDecimal minAmount,
+                                     BigDecimal maxAmount,
+                                     UUID relatedUserId,
+                                     LocalDateTime from,
+                                     LocalDateTime to,
+                                     int limit) {
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        this.walletId = walletId;
+        this.type = type;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.relatedUserId = relatedUserId;
+        this.from = from;
+        this.to = to;
+        this.limit = limit;
+        this.accessPath = chooseAccessPath();
+    }
+
+    private AccessPath chooseAccessPath() {
+        if (walletId != null) {
+            return AccessPath.WALLET;
+        }
+        if (relatedUserId != null) {
+            return AccessPath.RELATED_USER;
+        }
+        if (type != null && from != null && to != null
+                && !Duration.between(from, to).minus(MAX_TYPE_SEARCH_WINDOW).isPositive()) {
+            return AccessPath.TYPE_AND_PERIOD;
+        }
+        throw new IllegalArgumentException("Search requires walletId, relatedUserId, or type with a period of at most "
+                + MAX_TYPE_SEARCH_WINDOW.toDays() + " days");
+    }
+
+    public UUID getWalletId() {
+        return walletId;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public UUID getRelatedUserId() {
+        return relatedUserId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public AccessPath getAccessPath() {
+        return accessPath;
+    }
+}
@@ -0,0 +1,111 @@
+package com.digital.wallet.core.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Transaction statistics of a wallet within a period: totals per transaction type
+ * and the net balance change of each day
+ */
+public class TransactionStatistics {
+    private final UUID walletId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final List<TypeStatistics> byType;
+    private final List<DailyNetFlow> dailyNetFlow;
+
+    public TransactionStatistics(UUID walletId,
+                                 LocalDateTime from,
+                                 LocalDateTime to,
+                                 List<TypeStatistics> byType,
+                                 List<DailyNetFlow> dailyNetFlow) {
+        this.walletId = walletId;
+        this.from = from;
+        this.to = to;
+        this.byType = byType;
+        this.dailyNetFlow = dailyNetFlow;
+    }
+
+    public UUID getWalletId() {
+        return walletId;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public List<TypeStatistics> getByType() {
+        return byType;
+    }
+
+    public List<DailyNetFlow> getDailyNetFlow() {
+        return dailyNetFlow;
+    }
+
+    /**
+     * Count, sum, minimum and maximum amount of the transactions of one type
+     */
+    public static class TypeStatistics {
+        private final TransactionType type;
+        private final long count;
+        private final BigDecimal sum;
+        private final BigDecimal min;
+        private final BigDecimal max;
+
+        public TypeStatistics(TransactionType type, long count, BigDecimal sum, BigDecimal min, BigDecimal max) {
+            this.type = type;
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+        }
+
+        public TransactionType getType() {
+            return type;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public BigDecimal getSum() {
+            return sum;
+        }
+
+        public BigDecimal getMin() {
+            return min;
+        }
+
+        public BigDecimal getMax() {
+            return max;
+        }
+    }
+
+    /**
+     * Credits minus debits of one day
+     */
+    public static class DailyNetFlow {
+        private final LocalDate day;
+        private final BigDecimal netFlow;
+
+        public DailyNetFlow(LocalDate day, BigDecimal netFlow) {
+            this.day = day;
+            this.netFlow = netFlow;
+        }
+
+        public LocalDate getDay() {
+            return day;
+        }
+
+        public BigDecimal getNetFlow() {
+            return netFlow;
+        }
+    }
+}
@@ -1,8 +1,31 @@
 package com.digital.wallet.core.domain;
 
+import java.util.Arrays;
+import java.util.List;
+
 public enum TransactionType {
-    DEPOSIT,
-    WITHDRAW,
-    TRANSFER_IN,
-    TRANSFER_OUT
+    DEPOSIT(true),
+    WITHDRAW(false),
+    TRANSFER_IN(true),
+    TRANSFER_OUT(false);
+
+    private final boolean credit;
+
+    TransactionType(boolean credit) {
+        this.credit = credit;
+    }
+
+    /**
+     * @return true if transactions of this type add to the wallet balance, false if they subtract from it
+     */
+    public boolean isCredit() {
+        return credit;
+    }
+
+    /**
+     * @return Names of the credit types, as stored in the type column, for signed sums computed by the database
+     */
+    public static List<String> creditTypeNames() {
+        return Arrays.stream(values()).filter(TransactionType::isCredit).map(Enum::name).toList();
+    }
 }
@@ -1,8 +1,11 @@
 package com.digital.wallet.core.domain;
 
+import java.io.Serializable;
 import java.util.UUID;
 
-public class User {
+public class User implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private UUID id;
     private String email;
     private String name;
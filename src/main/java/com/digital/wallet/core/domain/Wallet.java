@@ -61,4 +61,14 @@ public class Wallet implements Serializable {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    /**
+     * Copy of this wallet with another balance, e.g. the one returned by a balance update
+     */
+    public Wallet withBalance(BigDecimal balance) {
+        Wallet copy = new Wallet(id, userId, balance);
+        copy.setCreatedAt(createdAt);
+        copy.setUpdatedAt(updatedAt);
+        return copy;
+    }
 }
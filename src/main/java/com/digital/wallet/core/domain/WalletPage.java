@@ -0,0 +1,28 @@
+package com.digital.wallet.core.domain;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of the wallet list, ordered by wallet id
+ */
+public class WalletPage {
+    private final List<Wallet> wallets;
+    private final UUID next;
+
+    public WalletPage(List<Wallet> wallets, UUID next) {
+        this.wallets = wallets;
+        this.next = next;
+    }
+
+    public List<Wallet> getWallets() {
+        return wallets;
+    }
+
+    /**
+     * Id of the last wallet of this page, after which the following page starts, or null when this page is the last one
+     */
+    public UUID getNext() {
+        return next;
+    }
+}
@@ -1,5 +1,6 @@
 package com.digital.wallet.core.ports.in;
 
+import com.digital.wallet.core.domain.BalanceSeries;
 import com.digital.wallet.core.domain.Wallet;
 
 import java.util.UUID;
@@ -8,4 +9,16 @@ public interface CreateWalletUseCase {
     Wallet create(Wallet wallet);
     Wallet findById(UUID walletId);
     Wallet findBalanceAt(UUID walletId, String at);
+    
+    /**
+     * Retrieves the balances of a wallet at evenly spaced instants between two dates, in one pass:
+     * the balance at the start plus a running sum of the balance change of each interval.
+     * 
+     * @param walletId Wallet ID
+     * @param from Start of the series (ISO or simple format)
+     * @param to End of the series (ISO or simple format); a trailing partial interval is left out
+     * @param interval Spacing between the points
+     * @return Balance at the start and at the end of each interval
+     */
+    BalanceSeries getBalanceSeries(UUID walletId, String from, String to, BalanceSeries.Interval interval);
 }
@@ -1,7 +1,9 @@
 package com.digital.wallet.core.ports.in;
 
 import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.domain.WalletPage;
 import java.util.List;
+import java.util.UUID;
 
 public interface FindAllWalletsUseCase {
     /**
@@ -10,4 +12,21 @@ public interface FindAllWalletsUseCase {
      * @return List of found wallets
      */
     List<Wallet> findAll();
+
+    /**
+     * Counts the wallets in the system without loading them
+     * 
+     * @return Number of wallets
+     */
+    long count();
+
+    /**
+     * Finds one page of wallets, ordered by wallet id
+     * 
+     * @param afterId Id of the last wallet of the previous page, or null for the first page
+     * @param limit Maximum number of wallets in the page
+     * @return Wallets of the page and the position of the following page
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    WalletPage findPage(UUID afterId, int limit);
 }
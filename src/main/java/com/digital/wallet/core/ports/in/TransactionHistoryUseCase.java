@@ -1,8 +1,14 @@
 package com.digital.wallet.core.ports.in;
 
 import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionCursor;
+import com.digital.wallet.core.domain.TransactionFeed;
+import com.digital.wallet.core.domain.TransactionType;
+import com.digital.wallet.core.domain.TransactionStatistics;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -40,4 +46,79 @@ public interface TransactionHistoryUseCase {
      * @return List of wallet transactions filtered according to the parameters
      */
     List<Transaction> getFilteredTransactionHistory(UUID walletId, String date, String startDate, String endDate);
+    
+    /**
+     * Same as {@link #getFilteredTransactionHistory(UUID, String, String, String)} without checking
+     * that the wallet exists, for callers that look the wallet up themselves
+     * 
+     * @param walletId Wallet ID
+     * @param date Specific date (optional)
+     * @param startDate Start date of the period (optional)
+     * @param endDate End date of the period (optional)
+     * @return List of wallet transactions filtered according to the parameters
+     */
+    List<Transaction> findFilteredTransactions(UUID walletId, String date, String startDate, String endDate);
+    
+    /**
+     * Retrieves the transactions of a wallet created after a sequence number, for incremental sync.
+     * Results are ordered by sequence number and capped at a page size; clients request the next
+     * page from the last sequence number received.
+     * 
+     * @param walletId Wallet ID
+     * @param sinceSeq Last sequence number known to the client (0 for the whole history)
+     * @return Transactions newer than sinceSeq, ordered by sequence number
+     */
+    List<Transaction> getTransactionsSince(UUID walletId, long sinceSeq);
+    
+    /**
+     * Same as {@link #getTransactionsSince(UUID, long)} without checking that the wallet exists,
+     * for callers that look the wallet up themselves
+     * 
+     * @param walletId Wallet ID
+     * @param sinceSeq Last sequence number known to the client (0 for the whole history)
+     * @return Transactions newer than sinceSeq, ordered by sequence number
+     */
+    List<Transaction> findTransactionsSince(UUID walletId, long sinceSeq);
+    
+    /**
+     * Retrieves one page of the chronological feed of several wallets, ordered by timestamp.
+     * Pages are keyset-based: each wallet contributes at most one page of rows, so memory
+     * is bounded by the page size and the number of wallets, not by their history.
+     * 
+     * @param walletIds Wallets included in the feed
+     * @param after Position after which the page starts, or null for the beginning of history
+     * @param limit Maximum number of transactions in the page
+     * @return Transactions of the page and the cursor of the next page
+     */
+    TransactionFeed getTransactionFeed(Set<UUID> walletIds, TransactionCursor after, int limit);
+    
+    /**
+     * Searches transactions by wallet, type, amount range, counterparty and period.
+     * The search must start from an index: walletId, relatedUserId, or type together with
+     * a bounded period; other combinations are rejected instead of scanning every transaction.
+     * 
+     * @param walletId Wallet ID (optional)
+     * @param type Transaction type (optional)
+     * @param minAmount Minimum amount, inclusive (optional)
+     * @param maxAmount Maximum amount, inclusive (optional)
+     * @param relatedUserId Counterparty user ID (optional)
+     * @param from Start of the period (optional)
+     * @param to End of the period (optional)
+     * @param limit Maximum number of transactions returned
+     * @return Matching transactions, newest first
+     */
+    List<Transaction> searchTransactions(UUID walletId, TransactionType type, BigDecimal minAmount, BigDecimal maxAmount,
+                                         UUID relatedUserId, String from, String to, int limit);
+    
+    /**
+     * Retrieves transaction statistics for a wallet: count, sum, minimum and maximum amount
+     * per transaction type, and the net flow of each day within the period.
+     * Aggregation is performed by the database; no transaction rows are loaded.
+     * 
+     * @param walletId Wallet ID
+     * @param from Start of the period (optional, defaults to the beginning of history)
+     * @param to End of the period (optional, defaults to now)
+     * @return Statistics of the wallet transactions within the period
+     */
+    TransactionStatistics getTransactionStatistics(UUID walletId, String from, String to);
 }
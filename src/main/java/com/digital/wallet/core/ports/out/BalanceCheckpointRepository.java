@@ -0,0 +1,17 @@
+package com.digital.wallet.core.ports.out;
+
+import com.digital.wallet.core.domain.BalanceCheckpoint;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BalanceCheckpointRepository {
+
+    /**
+     * Busca o checkpoint de saldo mais recente de uma carteira até uma data específica
+     * @param walletId ID da carteira
+     * @param at Data/hora limite do checkpoint (inclusive)
+     * @return Checkpoint mais próximo da data, ou vazio se a carteira não tiver checkpoint até ela
+     */
+    Optional<BalanceCheckpoint> findLatestAtOrBefore(UUID walletId, LocalDateTime at);
+}
@@ -0,0 +1,17 @@
+package com.digital.wallet.core.ports.out;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BalanceIndex {
+
+    /**
+     * Busca o saldo de uma carteira em uma data específica no índice em memória
+     * @param walletId ID da carteira
+     * @param at Data/hora do saldo (inclusive)
+     * @return Saldo na data, ou vazio se o índice estiver desabilitado ou ainda não cobrir a carteira
+     */
+    Optional<BigDecimal> findBalanceAt(UUID walletId, LocalDateTime at);
+}
@@ -1,6 +1,11 @@
 package com.digital.wallet.core.ports.out;
 
 import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionAggregate;
+import com.digital.wallet.core.domain.TransactionCursor;
+import com.digital.wallet.core.domain.TransactionSearchCriteria;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +26,25 @@ public interface TransactionRepository {
      */
     List<Transaction> findByWalletIdAndTimestampLessThanEqual(UUID walletId, LocalDateTime endDateTime);
     
+    /**
+     * Calcula no banco de dados a variação de saldo de uma carteira em um período: créditos somam e débitos subtraem
+     * @param walletId ID da carteira
+     * @param afterDateTime Data/hora após a qual as transações são somadas (exclusive), ou null para o início do histórico
+     * @param endDateTime Data/hora limite para as transações (inclusive)
+     * @return Variação de saldo no período; zero se não houver transações
+     */
+    BigDecimal sumBalanceChange(UUID walletId, LocalDateTime afterDateTime, LocalDateTime endDateTime);
+    
+    /**
+     * Calcula no banco de dados, em uma única consulta, a variação de saldo de uma carteira em intervalos consecutivos
+     * @param walletId ID da carteira
+     * @param from Início do primeiro intervalo (exclusive)
+     * @param interval Duração de cada intervalo; cada intervalo inclui o seu fim
+     * @param intervalCount Quantidade de intervalos
+     * @return Variação de saldo de cada intervalo, em ordem; zero para intervalos sem transações
+     */
+    List<BigDecimal> sumBalanceChangeByInterval(UUID walletId, LocalDateTime from, Duration interval, int intervalCount);
+    
     /**
      * Busca todas as transações de uma carteira
      * @param walletId ID da carteira
@@ -36,4 +60,45 @@ public interface TransactionRepository {
      * @return Lista de transações da carteira dentro do período especificado
      */
     List<Transaction> findByWalletIdAndTimestampBetween(UUID walletId, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    
+    /**
+     * Busca as transações de uma carteira com número de sequência maior que o informado
+     * @param walletId ID da carteira
+     * @param sinceSeq Último número de sequência já conhecido pelo cliente
+     * @param limit Quantidade máxima de transações retornadas
+     * @return Transações mais novas que sinceSeq, ordenadas por número de sequência
+     */
+    List<Transaction> findByWalletIdAndSeqGreaterThan(UUID walletId, long sinceSeq, int limit);
+    
+    /**
+     * Busca a página mais recente das transações de uma carteira
+     * @param walletId ID da carteira
+     * @return Últimas transações da carteira (no máximo uma página), ordenadas por número de sequência
+     */
+    List<Transaction> findLatestPage(UUID walletId);
+    
+    /**
+     * Busca uma página das transações de uma carteira na ordem do feed (data/hora e número de sequência)
+     * @param walletId ID da carteira
+     * @param after Posição após a qual a página começa, ou null para o início do histórico
+     * @param limit Quantidade máxima de transações retornadas
+     * @return Transações da carteira posteriores à posição, na ordem do feed
+     */
+    List<Transaction> findFeedPage(UUID walletId, TransactionCursor after, int limit);
+    
+    /**
+     * Busca transações pelos filtros informados, partindo sempre de um índice
+     * @param criteria Filtros da busca e índice escolhido
+     * @return Transações encontradas, das mais recentes para as mais antigas, até o limite da busca
+     */
+    List<Transaction> search(TransactionSearchCriteria criteria);
+    
+    /**
+     * Agrega as transações de uma carteira dentro de um período por dia e tipo, no banco de dados
+     * @param walletId ID da carteira
+     * @param startDateTime Data/hora inicial do período (inclusive)
+     * @param endDateTime Data/hora final do período (inclusive)
+     * @return Quantidade, soma, mínimo e máximo dos valores de cada par dia/tipo
+     */
+    List<TransactionAggregate> aggregateByDayAndType(UUID walletId, LocalDateTime startDateTime, LocalDateTime endDateTime);
 }
@@ -5,6 +5,7 @@ import com.digital.wallet.core.domain.TransactionType;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -19,9 +20,9 @@ public interface TransactionalWalletRepository extends WalletRepository {
      * @param walletId Wallet ID
      * @param amount Amount to be added or subtracted
      * @param isDebit true for debit, false for credit
-     * @return true if the update was successful
+     * @return The balance after the update, or empty if the wallet was not found
      */
-    boolean updateWalletBalance(UUID walletId, BigDecimal amount, boolean isDebit);
+    Optional<BigDecimal> updateWalletBalance(UUID walletId, BigDecimal amount, boolean isDebit);
     
     /**
      * Creates a new transaction for a wallet
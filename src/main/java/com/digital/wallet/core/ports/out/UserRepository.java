@@ -1,6 +1,7 @@
 package com.digital.wallet.core.ports.out;
 
 import com.digital.wallet.core.domain.User;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +13,11 @@ public interface UserRepository {
     void update(User user);
     void delete(UUID userId);
     List<User> findAll();
+
+    /**
+     * Finds all users whose IDs are in the given collection, using bulk queries
+     * @param userIds IDs of the users to look up
+     * @return Users found; IDs without a matching user are skipped
+     */
+    List<User> findAllById(Collection<UUID> userIds);
 }
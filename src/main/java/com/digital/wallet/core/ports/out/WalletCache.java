@@ -0,0 +1,29 @@
+package com.digital.wallet.core.ports.out;
+
+import com.digital.wallet.core.domain.Wallet;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Port interface for reading cached wallets and caching the ones loaded from the database.
+ */
+public interface WalletCache {
+
+    /**
+     * Finds the cached wallets among the given ids
+     *
+     * @param walletIds Wallet IDs
+     * @return Cached wallets by id; ids without a cached wallet are left out
+     */
+    Map<UUID, Wallet> findAllById(Collection<UUID> walletIds);
+
+    /**
+     * Caches a wallet loaded from the database unless the cache already holds it, so a balance
+     * written through after a concurrent change is never replaced by an older read
+     *
+     * @param wallet Wallet as read from the database
+     */
+    void putIfAbsent(Wallet wallet);
+}
@@ -0,0 +1,19 @@
+package com.digital.wallet.core.ports.out;
+
+import com.digital.wallet.core.domain.Wallet;
+
+/**
+ * Port interface for keeping cached wallets in step with committed balance changes.
+ */
+public interface WalletCacheWriter {
+
+    /**
+     * Stores the state of a wallet in the cache once the current database transaction commits,
+     * or immediately when no transaction is active
+     *
+     * @param wallet Wallet with its post-update balance
+     * @param version Sequence of the transaction that produced the balance; an older version never
+     *                replaces a newer one. When null, the cached wallet is evicted instead.
+     */
+    void putAfterCommit(Wallet wallet, Long version);
+}
@@ -1,6 +1,7 @@
 package com.digital.wallet.core.ports.out;
 
 import com.digital.wallet.core.domain.Wallet;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,4 +13,7 @@ public interface WalletRepository {
     Wallet save(Wallet wallet);
     void delete(UUID walletId);
     List<Wallet> findAll();
+    long count();
+    List<Wallet> findAllById(Collection<UUID> walletIds);
+    List<UUID> findIdsAfter(UUID afterId, int limit);
 }
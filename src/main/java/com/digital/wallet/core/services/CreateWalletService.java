@@ -1,13 +1,15 @@
 package com.digital.wallet.core.services;
 
-import com.digital.wallet.core.domain.Transaction;
-import com.digital.wallet.core.domain.TransactionType;
+import com.digital.wallet.core.domain.BalanceCheckpoint;
+import com.digital.wallet.core.domain.BalanceSeries;
 import com.digital.wallet.core.domain.Wallet;
 import com.digital.wallet.core.exceptions.InvalidDateFormatException;
 import com.digital.wallet.core.exceptions.UserNotFoundException;
 import com.digital.wallet.core.exceptions.WalletAlreadyExistsException;
 import com.digital.wallet.core.exceptions.WalletNotFoundException;
 import com.digital.wallet.core.ports.in.CreateWalletUseCase;
+import com.digital.wallet.core.ports.out.BalanceCheckpointRepository;
+import com.digital.wallet.core.ports.out.BalanceIndex;
 import com.digital.wallet.core.ports.out.TransactionRepository;
 import com.digital.wallet.core.ports.out.UserRepository;
 import com.digital.wallet.core.ports.out.WalletRepository;
@@ -18,10 +20,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -29,6 +34,11 @@ public class CreateWalletService implements CreateWalletUseCase {
     private final WalletRepository walletRepository;
     private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
+    private final BalanceCheckpointRepository balanceCheckpointRepository;
+    private final BalanceIndex balanceIndex;
+    
+    // A year of hourly points, with room for leap years
+    static final int MAX_SERIES_INTERVALS = 8784;
     
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
     private static final DateTimeFormatter SIMPLE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
@@ -36,16 +46,20 @@ public class CreateWalletService implements CreateWalletUseCase {
     public CreateWalletService(
             WalletRepository walletRepository, 
             UserRepository userRepository,
-            TransactionRepository transactionRepository) {
+            TransactionRepository transactionRepository,
+            BalanceCheckpointRepository balanceCheckpointRepository,
+            BalanceIndex balanceIndex) {
         this.walletRepository = walletRepository;
         this.userRepository = userRepository;
         this.transactionRepository = transactionRepository;
+        this.balanceCheckpointRepository = balanceCheckpointRepository;
+        this.balanceIndex = balanceIndex;
     }
 
     @Override
     @Transactional
     @Caching(evict = {
-        @CacheEvict(value = "wallet-list", key = "'all'"),
+        @CacheEvict(value = "wallet-list", allEntries = true),
         @CacheEvict(value = "wallet-single", key = "#result.id", condition = "#result != null")
     })
     public Wallet create(Wallet wallet) {
@@ -63,7 +77,7 @@ public class CreateWalletService implements CreateWalletUseCase {
     }
 
     @Override
-    @Cacheable(value = "wallet-single", key = "#walletId")
+    @Cacheable(value = "wallet-single", key = "#walletId", sync = true)
     public Wallet findById(UUID walletId) {
         return walletRepository.findById(walletId)
             .orElseThrow(() -> new WalletNotFoundException("Wallet not found: " + walletId));
@@ -78,12 +92,7 @@ public class CreateWalletService implements CreateWalletUseCase {
         // Convert the date string to LocalDateTime
         LocalDateTime targetDateTime = parseDateTime(at);
         
-        // Find all transactions up to the specified date
-        List<Transaction> transactions = transactionRepository.findByWalletIdAndTimestampLessThanEqual(
-            walletId, targetDateTime);
-        
-        // Calculate the historical balance based on transactions
-        BigDecimal historicalBalance = calculateHistoricalBalance(transactions);
+        BigDecimal historicalBalance = balanceAt(walletId, targetDateTime);
         
         // Create a copy of the wallet with the historical balance
         Wallet historicalWallet = new Wallet();
@@ -95,25 +104,60 @@ public class CreateWalletService implements CreateWalletUseCase {
         return historicalWallet;
     }
     
+    @Override
+    public BalanceSeries getBalanceSeries(UUID walletId, String from, String to, BalanceSeries.Interval interval) {
+        // Get the wallet to ensure it exists
+        walletRepository.findById(walletId)
+            .orElseThrow(() -> new WalletNotFoundException("Wallet not found: " + walletId));
+        
+        LocalDateTime fromDateTime = parseDateTime(from);
+        LocalDateTime toDateTime = parseDateTime(to);
+        if (!fromDateTime.isBefore(toDateTime)) {
+            throw new InvalidDateFormatException(
+                "The start date (" + from + ") must be before the end date (" + to + ").");
+        }
+        
+        long intervalCount = Duration.between(fromDateTime, toDateTime).dividedBy(interval.getDuration());
+        if (intervalCount > MAX_SERIES_INTERVALS) {
+            throw new IllegalArgumentException(
+                "A balance series covers at most " + MAX_SERIES_INTERVALS + " intervals; use a wider interval or a shorter period");
+        }
+        
+        // One balance lookup for the start, one grouped sum for every interval, then a running sum
+        BigDecimal balance = balanceAt(walletId, fromDateTime);
+        List<BigDecimal> changes = intervalCount == 0
+            ? List.of()
+            : transactionRepository.sumBalanceChangeByInterval(walletId, fromDateTime, interval.getDuration(), (int) intervalCount);
+        
+        List<LocalDateTime> timestamps = new ArrayList<>(changes.size() + 1);
+        List<BigDecimal> balances = new ArrayList<>(changes.size() + 1);
+        timestamps.add(fromDateTime);
+        balances.add(balance);
+        LocalDateTime pointAt = fromDateTime;
+        for (BigDecimal change : changes) {
+            pointAt = pointAt.plus(interval.getDuration());
+            balance = balance.add(change);
+            timestamps.add(pointAt);
+            balances.add(balance);
+        }
+        return new BalanceSeries(walletId, interval, timestamps, balances);
+    }
+    
     /**
-     * Calculates the balance based on a list of transactions
+     * Balance of a wallet at an instant, including transactions at that instant. Answered by the
+     * in-memory index when it holds the wallet; otherwise starts from the nearest checkpoint so
+     * only the transactions after it are summed, or sums every transaction without one.
      */
-    private BigDecimal calculateHistoricalBalance(List<Transaction> transactions) {
-        BigDecimal balance = BigDecimal.ZERO;
-        
-        for (Transaction transaction : transactions) {
-            if (transaction.getType() == TransactionType.DEPOSIT) {
-                balance = balance.add(transaction.getAmount());
-            } else if (transaction.getType() == TransactionType.WITHDRAW) {
-                balance = balance.subtract(transaction.getAmount());
-            } else if (transaction.getType() == TransactionType.TRANSFER_IN) {
-                balance = balance.add(transaction.getAmount());
-            } else if (transaction.getType() == TransactionType.TRANSFER_OUT) {
-                balance = balance.subtract(transaction.getAmount());
-            }
+    private BigDecimal balanceAt(UUID walletId, LocalDateTime at) {
+        Optional<BigDecimal> indexed = balanceIndex.findBalanceAt(walletId, at);
+        if (indexed.isPresent()) {
+            return indexed.get();
         }
         
-        return balance;
+        Optional<BalanceCheckpoint> checkpoint = balanceCheckpointRepository.findLatestAtOrBefore(walletId, at);
+        return checkpoint
+            .map(cp -> cp.getBalance().add(transactionRepository.sumBalanceChange(walletId, cp.getAsOf(), at)))
+            .orElseGet(() -> transactionRepository.sumBalanceChange(walletId, null, at));
     }
     
     /**
@@ -7,11 +7,10 @@ import com.digital.wallet.core.exceptions.WalletNotFoundException;
 import com.digital.wallet.core.ports.in.DepositUseCase;
 import com.digital.wallet.core.ports.out.DomainLogger;
 import com.digital.wallet.core.ports.out.TransactionalWalletRepository;
+import com.digital.wallet.core.ports.out.WalletCacheWriter;
 import com.digital.wallet.infra.metrics.MetricsService;
 import com.digital.wallet.infra.tracing.Traced;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +28,7 @@ public class DepositService implements DepositUseCase {
     private final TransactionalWalletRepository walletRepository;
     private final MetricsService metricsService;
     private final DomainLogger logger;
+    private final WalletCacheWriter walletCacheWriter;
 
     /**
      * Constructor
@@ -36,13 +36,16 @@ public class DepositService implements DepositUseCase {
      * @param walletRepository wallet repository with support for transactional operations
      * @param metricsService service for recording wallet metrics
      * @param logger domain logger for structured logging
+     * @param walletCacheWriter writes the committed balance into the wallet cache
      */
     public DepositService(TransactionalWalletRepository walletRepository, 
                         MetricsService metricsService, 
-                        @Qualifier("depositLogger") DomainLogger logger) {
+                        @Qualifier("depositLogger") DomainLogger logger,
+                        WalletCacheWriter walletCacheWriter) {
         this.walletRepository = walletRepository;
         this.metricsService = metricsService;
         this.logger = logger;
+        this.walletCacheWriter = walletCacheWriter;
     }
 
     /**
@@ -57,10 +60,6 @@ public class DepositService implements DepositUseCase {
     @Override
     @Transactional(isolation = Isolation.READ_COMMITTED)
     @Traced(operation = "deposit")
-    @Caching(evict = {
-        @CacheEvict(value = "wallet-list", key = "'all'"),      // Invalidate wallet list cache
-        @CacheEvict(value = "wallet-single", key = "#walletId") // Invalidate individual wallet cache
-    })
     public Transaction deposit(UUID walletId, BigDecimal amount) {
         validateDepositParams(walletId, amount);
         logger.logOperationStart("DEPOSIT", walletId.toString(), amount.toString());
@@ -72,10 +71,11 @@ public class DepositService implements DepositUseCase {
                 });
         
         // Update wallet balance
-        if (!walletRepository.updateWalletBalance(walletId, amount, false)) {
-            logger.logOperationError("DEPOSIT", walletId.toString(), "UPDATE_FAILED", "Wallet not found or could not be updated: " + walletId);
-            throw new WalletNotFoundException("Wallet not found or could not be updated: " + walletId);
-        }
+        BigDecimal newBalance = walletRepository.updateWalletBalance(walletId, amount, false)
+                .orElseThrow(() -> {
+                    logger.logOperationError("DEPOSIT", walletId.toString(), "UPDATE_FAILED", "Wallet not found or could not be updated: " + walletId);
+                    return new WalletNotFoundException("Wallet not found or could not be updated: " + walletId);
+                });
         
         // Create transaction
         LocalDateTime now = LocalDateTime.now();
@@ -83,8 +83,8 @@ public class DepositService implements DepositUseCase {
             walletId, amount, TransactionType.DEPOSIT, wallet.getUserId(), now
         );
         
-        // Get updated wallet to record new balance in metrics
-        BigDecimal newBalance = wallet.getBalance().add(amount);
+        // The committed balance replaces the cached wallet, sparing the next read a database query
+        walletCacheWriter.putAfterCommit(wallet.withBalance(newBalance), transaction.getSeq());
         metricsService.recordWalletBalance(walletId.toString(), newBalance);
         
         logger.logOperationSuccess("DEPOSIT", walletId.toString(), amount.toString(), transaction.getId().toString());
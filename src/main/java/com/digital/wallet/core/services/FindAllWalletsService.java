@@ -1,26 +1,73 @@
 package com.digital.wallet.core.services;
 
 import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.domain.WalletPage;
 import com.digital.wallet.core.ports.in.FindAllWalletsUseCase;
+import com.digital.wallet.core.ports.out.WalletCache;
 import com.digital.wallet.core.ports.out.WalletRepository;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
 
 @Service
 public class FindAllWalletsService implements FindAllWalletsUseCase {
+    static final int MAX_PAGE_SIZE = 200;
+
     private final WalletRepository walletRepository;
+    private final WalletCache walletCache;
 
-    public FindAllWalletsService(WalletRepository walletRepository) {
+    public FindAllWalletsService(WalletRepository walletRepository, WalletCache walletCache) {
         this.walletRepository = walletRepository;
+        this.walletCache = walletCache;
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "wallet-list", key = "'all'")
     public List<Wallet> findAll() {
         return walletRepository.findAll();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return walletRepository.count();
+    }
+
+    /**
+     * Builds a page from its cached list of wallet ids and the cached wallets themselves, so a
+     * balance change only invalidates the changed wallet and not the pages that contain it.
+     * Wallets missing from the cache are loaded in one query and cached for the next pages,
+     * without replacing a balance written through to the cache since they were read.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public WalletPage findPage(UUID afterId, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<UUID> walletIds = walletRepository.findIdsAfter(afterId, limit);
+        Map<UUID, Wallet> wallets = new HashMap<>(walletCache.findAllById(walletIds));
+        List<UUID> missing = new ArrayList<>();
+        for (UUID walletId : walletIds) {
+            if (!wallets.containsKey(walletId)) {
+                missing.add(walletId);
+            }
+        }
+        for (Wallet wallet : walletRepository.findAllById(missing)) {
+            wallets.put(wallet.getId(), wallet);
+            walletCache.putIfAbsent(wallet);
+        }
+
+        // Wallets deleted since the page was cached are left out
+        List<Wallet> page = walletIds.stream().map(wallets::get).filter(Objects::nonNull).toList();
+        UUID next = walletIds.size() == limit ? walletIds.get(limit - 1) : null;
+        return new WalletPage(page, next);
+    }
 }
@@ -1,19 +1,39 @@
 package com.digital.wallet.core.services;
 
 import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionAggregate;
+import com.digital.wallet.core.domain.TransactionCursor;
+import com.digital.wallet.core.domain.TransactionFeed;
+import com.digital.wallet.core.domain.TransactionSearchCriteria;
+import com.digital.wallet.core.domain.TransactionStatistics;
+import com.digital.wallet.core.domain.TransactionStatistics.DailyNetFlow;
+import com.digital.wallet.core.domain.TransactionStatistics.TypeStatistics;
+import com.digital.wallet.core.domain.TransactionType;
 import com.digital.wallet.core.exceptions.InvalidDateFormatException;
 import com.digital.wallet.core.exceptions.WalletNotFoundException;
 import com.digital.wallet.core.ports.in.TransactionHistoryUseCase;
 import com.digital.wallet.core.ports.out.TransactionRepository;
 import com.digital.wallet.core.ports.out.WalletRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 @Service
@@ -21,23 +41,37 @@ public class TransactionHistoryService implements TransactionHistoryUseCase {
 
     private final WalletRepository walletRepository;
     private final TransactionRepository transactionRepository;
+    private final Clock clock;
     
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
     private static final DateTimeFormatter SIMPLE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     private static final DateTimeFormatter DATE_ONLY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final LocalDateTime BEGINNING_OF_HISTORY = LocalDate.of(1970, 1, 1).atStartOfDay();
+    static final int SINCE_SEQ_PAGE_SIZE = 500;
+    static final int MAX_FEED_WALLETS = 50;
+    static final int MAX_FEED_PAGE_SIZE = 200;
+    static final int MAX_SEARCH_RESULTS = 200;
 
+    @Autowired
     public TransactionHistoryService(
             WalletRepository walletRepository,
             TransactionRepository transactionRepository) {
+        this(walletRepository, transactionRepository, Clock.systemDefaultZone());
+    }
+
+    TransactionHistoryService(
+            WalletRepository walletRepository,
+            TransactionRepository transactionRepository,
+            Clock clock) {
         this.walletRepository = walletRepository;
         this.transactionRepository = transactionRepository;
+        this.clock = clock;
     }
     
     @Override
     public List<Transaction> getTransactionHistory(UUID walletId) {
         // Check if the wallet exists
-        walletRepository.findById(walletId)
-            .orElseThrow(() -> new WalletNotFoundException("Wallet not found: " + walletId));
+        requireWallet(walletId);
         
         // Get all wallet transactions
         return transactionRepository.findByWalletId(walletId);
@@ -46,9 +80,188 @@ public class TransactionHistoryService implements TransactionHistoryUseCase {
     @Override
     public List<Transaction> getTransactionHistory(UUID walletId, String startDate, String endDate) {
         // Check if the wallet exists
+        requireWallet(walletId);
+        
+        return findTransactionsBetween(walletId, startDate, endDate);
+    }
+    
+    @Override
+    public List<Transaction> getFilteredTransactionHistory(UUID walletId, String date, String startDate, String endDate) {
+        // Check if the wallet exists, once: the branches below query transactions directly
+        requireWallet(walletId);
+        
+        return findFilteredTransactions(walletId, date, startDate, endDate);
+    }
+    
+    @Override
+    public List<Transaction> findFilteredTransactions(UUID walletId, String date, String startDate, String endDate) {
+        // Filter logic based on parameters
+        if (date != null && !date.isEmpty()) {
+            // Case 1: Specific date
+            return findTransactionsBetween(walletId, date, date);
+        } else if (startDate != null && !startDate.isEmpty() && endDate != null && !endDate.isEmpty()) {
+            // Case 2: Date range
+            return findTransactionsBetween(walletId, startDate, endDate);
+        } else {
+            // Case 3: No filters - all transactions
+            return transactionRepository.findByWalletId(walletId);
+        }
+    }
+    
+    @Override
+    public List<Transaction> getTransactionsSince(UUID walletId, long sinceSeq) {
+        if (sinceSeq < 0) {
+            throw new IllegalArgumentException("sinceSeq must not be negative: " + sinceSeq);
+        }
+        
+        // Check if the wallet exists
+        requireWallet(walletId);
+        
+        return findTransactionsSince(walletId, sinceSeq);
+    }
+    
+    @Override
+    public List<Transaction> findTransactionsSince(UUID walletId, long sinceSeq) {
+        if (sinceSeq < 0) {
+            throw new IllegalArgumentException("sinceSeq must not be negative: " + sinceSeq);
+        }
+        
+        // Clients polling for new transactions are almost always within the cached latest page;
+        // sequence numbers have no gaps, so the page holds everything after sinceSeq when it starts at or before it
+        List<Transaction> latest = transactionRepository.findLatestPage(walletId);
+        if (latest.isEmpty() || latest.get(0).getSeq() <= sinceSeq + 1) {
+            return latest.stream()
+                .filter(transaction -> transaction.getSeq() > sinceSeq)
+                .limit(SINCE_SEQ_PAGE_SIZE)
+                .toList();
+        }
+        return transactionRepository.findByWalletIdAndSeqGreaterThan(walletId, sinceSeq, SINCE_SEQ_PAGE_SIZE);
+    }
+    
+    @Override
+    public TransactionFeed getTransactionFeed(Set<UUID> walletIds, TransactionCursor after, int limit) {
+        if (walletIds == null || walletIds.isEmpty() || walletIds.size() > MAX_FEED_WALLETS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_FEED_WALLETS + " wallet ids are required");
+        }
+        if (limit < 1 || limit > MAX_FEED_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_FEED_PAGE_SIZE);
+        }
+        requireWallets(walletIds);
+        
+        // K-way merge: each wallet's page is already in feed order, so the next transaction
+        // of the feed is always at the head of one of them
+        PriorityQueue<FeedSource> sources = new PriorityQueue<>(
+            Comparator.comparing(FeedSource::head, TransactionCursor.FEED_ORDER));
+        for (UUID walletId : walletIds) {
+            FeedSource source = new FeedSource(transactionRepository.findFeedPage(walletId, after, limit).iterator());
+            if (source.head() != null) {
+                sources.add(source);
+            }
+        }
+        
+        List<Transaction> page = new ArrayList<>(limit);
+        while (page.size() < limit && !sources.isEmpty()) {
+            FeedSource source = sources.poll();
+            page.add(source.head());
+            if (source.advance()) {
+                sources.add(source);
+            }
+        }
+        
+        TransactionCursor next = page.size() == limit ? TransactionCursor.after(page.get(page.size() - 1)) : null;
+        return new TransactionFeed(page, next);
+    }
+    
+    @Override
+    public List<Transaction> searchTransactions(UUID walletId, TransactionType type, BigDecimal minAmount, BigDecimal maxAmount,
+                                                UUID relatedUserId, String from, String to, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        
+        LocalDateTime fromDateTime = from != null && !from.isEmpty() ? parseToDateTime(from, true) : null;
+        LocalDateTime toDateTime = to != null && !to.isEmpty() ? parseToDateTime(to, false) : null;
+        
+        // The criteria reject filter combinations that no index can serve
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+            walletId, type, minAmount, maxAmount, relatedUserId, fromDateTime, toDateTime, limit);
+        return transactionRepository.search(criteria);
+    }
+    
+    @Override
+    public TransactionStatistics getTransactionStatistics(UUID walletId, String from, String to) {
+        // Check if the wallet exists
+        requireWallet(walletId);
+        
+        LocalDateTime fromDateTime = from != null && !from.isEmpty() ? parseToDateTime(from, true) : BEGINNING_OF_HISTORY;
+        LocalDateTime toDateTime = to != null && !to.isEmpty() ? parseToDateTime(to, false) : LocalDateTime.now(clock);
+        
+        if (fromDateTime.isAfter(toDateTime)) {
+            throw new InvalidDateFormatException(
+                "The start date (" + from + ") must be before the end date (" + to + ").");
+        }
+        
+        // The database returns at most one row per day and type, so the roll-up below stays small
+        List<TransactionAggregate> aggregates =
+            transactionRepository.aggregateByDayAndType(walletId, fromDateTime, toDateTime);
+        
+        Map<TransactionType, TypeStatistics> byType = new EnumMap<>(TransactionType.class);
+        Map<LocalDate, BigDecimal> netFlowByDay = new TreeMap<>();
+        for (TransactionAggregate aggregate : aggregates) {
+            byType.merge(aggregate.getType(), toTypeStatistics(aggregate), this::combine);
+            BigDecimal signedSum = aggregate.getType().isCredit() ? aggregate.getSum() : aggregate.getSum().negate();
+            netFlowByDay.merge(aggregate.getDay(), signedSum, BigDecimal::add);
+        }
+        
+        List<DailyNetFlow> dailyNetFlow = netFlowByDay.entrySet().stream()
+            .map(entry -> new DailyNetFlow(entry.getKey(), entry.getValue()))
+            .toList();
+        
+        return new TransactionStatistics(
+            walletId, fromDateTime, toDateTime, List.copyOf(byType.values()), dailyNetFlow);
+    }
+    
+    /**
+     * Ordered transactions of one wallet with the next one exposed for the merge
+     */
+    private static final class FeedSource {
+        private final Iterator<Transaction> rest;
+        private Transaction head;
+        
+        FeedSource(Iterator<Transaction> rest) {
+            this.rest = rest;
+            advance();
+        }
+        
+        Transaction head() {
+            return head;
+        }
+        
+        boolean advance() {
+            head = rest.hasNext() ? rest.next() : null;
+            return head != null;
+        }
+    }
+    
+    private void requireWallet(UUID walletId) {
         walletRepository.findById(walletId)
             .orElseThrow(() -> new WalletNotFoundException("Wallet not found: " + walletId));
-        
+    }
+    
+    /**
+     * Checks that every wallet exists with a single query
+     */
+    private void requireWallets(Set<UUID> walletIds) {
+        Set<UUID> found = new HashSet<>();
+        walletRepository.findAllById(walletIds).forEach(wallet -> found.add(wallet.getId()));
+        for (UUID walletId : walletIds) {
+            if (!found.contains(walletId)) {
+                throw new WalletNotFoundException("Wallet not found: " + walletId);
+            }
+        }
+    }
+    
+    private List<Transaction> findTransactionsBetween(UUID walletId, String startDate, String endDate) {
         // Convert date strings to LocalDateTime
         LocalDateTime startDateTime = parseToDateTime(startDate, true); // start of day for startDate
         LocalDateTime endDateTime = parseToDateTime(endDate, false);    // end of day for endDate
@@ -63,23 +276,18 @@ public class TransactionHistoryService implements TransactionHistoryUseCase {
         return transactionRepository.findByWalletIdAndTimestampBetween(walletId, startDateTime, endDateTime);
     }
     
-    @Override
-    public List<Transaction> getFilteredTransactionHistory(UUID walletId, String date, String startDate, String endDate) {
-        // Check if the wallet exists
-        walletRepository.findById(walletId)
-            .orElseThrow(() -> new WalletNotFoundException("Wallet not found: " + walletId));
-        
-        // Filter logic based on parameters
-        if (date != null && !date.isEmpty()) {
-            // Case 1: Specific date
-            return getTransactionHistory(walletId, date, date);
-        } else if (startDate != null && !startDate.isEmpty() && endDate != null && !endDate.isEmpty()) {
-            // Case 2: Date range
-            return getTransactionHistory(walletId, startDate, endDate);
-        } else {
-            // Case 3: No filters - all transactions
-            return getTransactionHistory(walletId);
-        }
+    private TypeStatistics toTypeStatistics(TransactionAggregate aggregate) {
+        return new TypeStatistics(
+            aggregate.getType(), aggregate.getCount(), aggregate.getSum(), aggregate.getMin(), aggregate.getMax());
+    }
+    
+    private TypeStatistics combine(TypeStatistics a, TypeStatistics b) {
+        return new TypeStatistics(
+            a.getType(),
+            a.getCount() + b.getCount(),
+            a.getSum().add(b.getSum()),
+            a.getMin().min(b.getMin()),
+            a.getMax().max(b.getMax()));
     }
     
     /**
@@ -9,11 +9,10 @@ import com.digital.wallet.core.exceptions.WalletNotFoundException;
 import com.digital.wallet.core.ports.in.TransferFundsUseCase;
 import com.digital.wallet.core.ports.out.DomainLogger;
 import com.digital.wallet.core.ports.out.TransactionalWalletRepository;
+import com.digital.wallet.core.ports.out.WalletCacheWriter;
 import com.digital.wallet.infra.metrics.MetricsService;
 import com.digital.wallet.infra.tracing.Traced;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +32,7 @@ public class TransferFundsService implements TransferFundsUseCase {
     private final TransactionalWalletRepository walletRepository;
     private final MetricsService metricsService;
     private final DomainLogger logger;
+    private final WalletCacheWriter walletCacheWriter;
 
     /**
      * Constructor
@@ -40,13 +40,16 @@ public class TransferFundsService implements TransferFundsUseCase {
      * @param walletRepository wallet repository with support for transactional operations
      * @param metricsService service for recording wallet metrics
      * @param logger domain logger for structured logging
+     * @param walletCacheWriter writes the committed balances into the wallet cache
      */
     public TransferFundsService(TransactionalWalletRepository walletRepository, 
                               MetricsService metricsService, 
-                              @Qualifier("transferLogger") DomainLogger logger) {
+                              @Qualifier("transferLogger") DomainLogger logger,
+                              WalletCacheWriter walletCacheWriter) {
         this.walletRepository = walletRepository;
         this.metricsService = metricsService;
         this.logger = logger;
+        this.walletCacheWriter = walletCacheWriter;
     }
 
     /**
@@ -63,11 +66,6 @@ public class TransferFundsService implements TransferFundsUseCase {
     @Override
     @Transactional(isolation = Isolation.READ_COMMITTED)
     @Traced(operation = "transfer")
-    @Caching(evict = {
-        @CacheEvict(value = "wallet-list", key = "'all'"),           // Invalidate wallet list cache
-        @CacheEvict(value = "wallet-single", key = "#fromWalletId"), // Invalidate source wallet cache
-        @CacheEvict(value = "wallet-single", key = "#toWalletId")    // Invalidate destination wallet cache
-    })
     public List<Transaction> transfer(UUID fromWalletId, UUID toWalletId, BigDecimal amount) {
         validateTransferParams(fromWalletId, toWalletId, amount);
         logger.logTransferStart("TRANSFER", fromWalletId.toString(), toWalletId.toString(), amount.toString());
@@ -94,18 +92,20 @@ public class TransferFundsService implements TransferFundsUseCase {
         }
 
         // Update source wallet balance
-        if (!walletRepository.updateWalletBalance(fromWalletId, amount, true)) {
-            logger.logOperationError("TRANSFER", fromWalletId.toString(), "SOURCE_UPDATE_FAILED", "Source wallet not found or could not be updated: " + fromWalletId);
-            throw new WalletNotFoundException("Source wallet not found or could not be updated: " + fromWalletId);
-        }
+        BigDecimal fromWalletNewBalance = walletRepository.updateWalletBalance(fromWalletId, amount, true)
+                .orElseThrow(() -> {
+                    logger.logOperationError("TRANSFER", fromWalletId.toString(), "SOURCE_UPDATE_FAILED", "Source wallet not found or could not be updated: " + fromWalletId);
+                    return new WalletNotFoundException("Source wallet not found or could not be updated: " + fromWalletId);
+                });
         
         // Update destination wallet balance
-        if (!walletRepository.updateWalletBalance(toWalletId, amount, false)) {
-            // Revert the previous operation
-            walletRepository.updateWalletBalance(fromWalletId, amount, false);
-            logger.logOperationError("TRANSFER", fromWalletId.toString(), "DESTINATION_UPDATE_FAILED", "Destination wallet not found or could not be updated: " + toWalletId);
-            throw new WalletNotFoundException("Destination wallet not found or could not be updated: " + toWalletId);
-        }
+        BigDecimal toWalletNewBalance = walletRepository.updateWalletBalance(toWalletId, amount, false)
+                .orElseThrow(() -> {
+                    // Revert the previous operation
+                    walletRepository.updateWalletBalance(fromWalletId, amount, false);
+                    logger.logOperationError("TRANSFER", fromWalletId.toString(), "DESTINATION_UPDATE_FAILED", "Destination wallet not found or could not be updated: " + toWalletId);
+                    return new WalletNotFoundException("Destination wallet not found or could not be updated: " + toWalletId);
+                });
         
         // Creating transactions
         LocalDateTime now = LocalDateTime.now();
@@ -123,10 +123,10 @@ public class TransferFundsService implements TransferFundsUseCase {
         );
         transactions.add(inTransaction);
 
-        // Record updated wallet balances in metrics
-        BigDecimal fromWalletNewBalance = fromWallet.getBalance().subtract(amount);
-        BigDecimal toWalletNewBalance = toWallet.getBalance().add(amount);
-        
+        // The committed balances replace the cached wallets, sparing the next reads a database query
+        walletCacheWriter.putAfterCommit(fromWallet.withBalance(fromWalletNewBalance), outTransaction.getSeq());
+        walletCacheWriter.putAfterCommit(toWallet.withBalance(toWalletNewBalance), inTransaction.getSeq());
+
         metricsService.recordWalletBalance(fromWalletId.toString(), fromWalletNewBalance);
         metricsService.recordWalletBalance(toWalletId.toString(), toWalletNewBalance);
 
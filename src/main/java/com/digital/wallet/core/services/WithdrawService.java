@@ -8,11 +8,10 @@ import com.digital.wallet.core.exceptions.WalletNotFoundException;
 import com.digital.wallet.core.ports.in.WithdrawUseCase;
 import com.digital.wallet.core.ports.out.DomainLogger;
 import com.digital.wallet.core.ports.out.TransactionalWalletRepository;
+import com.digital.wallet.core.ports.out.WalletCacheWriter;
 import com.digital.wallet.infra.metrics.MetricsService;
 import com.digital.wallet.infra.tracing.Traced;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +29,7 @@ public class WithdrawService implements WithdrawUseCase {
     private final TransactionalWalletRepository walletRepository;
     private final MetricsService metricsService;
     private final DomainLogger logger;
+    private final WalletCacheWriter walletCacheWriter;
 
     /**
      * Constructor
@@ -37,13 +37,16 @@ public class WithdrawService implements WithdrawUseCase {
      * @param walletRepository wallet repository with support for transactional operations
      * @param metricsService service for recording wallet metrics
      * @param logger domain logger for structured logging
+     * @param walletCacheWriter writes the committed balance into the wallet cache
      */
     public WithdrawService(TransactionalWalletRepository walletRepository, 
                          MetricsService metricsService, 
-                         @Qualifier("withdrawLogger") DomainLogger logger) {
+                         @Qualifier("withdrawLogger") DomainLogger logger,
+                         WalletCacheWriter walletCacheWriter) {
         this.walletRepository = walletRepository;
         this.metricsService = metricsService;
         this.logger = logger;
+        this.walletCacheWriter = walletCacheWriter;
     }
 
     /**
@@ -59,10 +62,6 @@ public class WithdrawService implements WithdrawUseCase {
     @Override
     @Transactional(isolation = Isolation.READ_COMMITTED)
     @Traced(operation = "withdraw")
-    @Caching(evict = {
-        @CacheEvict(value = "wallet-list", key = "'all'"),      // Invalidate wallet list cache
-        @CacheEvict(value = "wallet-single", key = "#walletId") // Invalidate individual wallet cache
-    })
     public Transaction withdraw(UUID walletId, BigDecimal amount) {
         validateWithdrawParams(walletId, amount);
         logger.logOperationStart("WITHDRAW", walletId.toString(), amount.toString());
@@ -82,10 +81,11 @@ public class WithdrawService implements WithdrawUseCase {
         }
         
         // Update wallet balance
-        if (!walletRepository.updateWalletBalance(walletId, amount, true)) {
-            logger.logOperationError("WITHDRAW", walletId.toString(), "UPDATE_FAILED", "Wallet not found or could not be updated: " + walletId);
-            throw new WalletNotFoundException("Wallet not found or could not be updated: " + walletId);
-        }
+        BigDecimal newBalance = walletRepository.updateWalletBalance(walletId, amount, true)
+                .orElseThrow(() -> {
+                    logger.logOperationError("WITHDRAW", walletId.toString(), "UPDATE_FAILED", "Wallet not found or could not be updated: " + walletId);
+                    return new WalletNotFoundException("Wallet not found or could not be updated: " + walletId);
+                });
         
         // Create transaction
         LocalDateTime now = LocalDateTime.now();
@@ -93,8 +93,8 @@ public class WithdrawService implements WithdrawUseCase {
             walletId, amount, TransactionType.WITHDRAW, wallet.getUserId(), now
         );
         
-        // Get updated wallet to record new balance in metrics
-        BigDecimal newBalance = wallet.getBalance().subtract(amount);
+        // The committed balance replaces the cached wallet, sparing the next read a database query
+        walletCacheWriter.putAfterCommit(wallet.withBalance(newBalance), transaction.getSeq());
         metricsService.recordWalletBalance(walletId.toString(), newBalance);
         
         logger.logOperationSuccess("WITHDRAW", walletId.toString(), amount.toString(), transaction.getId().toString());
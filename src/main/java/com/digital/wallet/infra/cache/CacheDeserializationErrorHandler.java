@@ -0,0 +1,41 @@
+package com.digital.wallet.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Cache error handler that treats an entry that cannot be deserialized as a miss.
+ * <p>
+ * Such an entry was written in a layout this node does not read (e.g. by a node running another
+ * release against the same Redis). It is evicted so the value loaded from the database replaces
+ * it, and the call goes on as if the cache were empty. Any other cache error is rethrown, as
+ * with the default handler.
+ */
+@Slf4j
+public class CacheDeserializationErrorHandler extends SimpleCacheErrorHandler {
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        if (!isDeserializationFailure(exception)) {
+            super.handleCacheGetError(exception, cache, key);
+            return;
+        }
+        log.warn("Unreadable entry {} in cache {}, loading it again: {}", key, cache.getName(), exception.getMessage());
+        try {
+            cache.evict(key);
+        } catch (RuntimeException e) {
+            log.debug("Could not evict unreadable entry {} from cache {}: {}", key, cache.getName(), e.getMessage());
+        }
+    }
+
+    static boolean isDeserializationFailure(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SerializationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
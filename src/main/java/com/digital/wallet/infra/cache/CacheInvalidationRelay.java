@@ -0,0 +1,91 @@
+package com.digital.wallet.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Invalidates the local tier of cache regions on every node through a Redis pub/sub channel.
+ * <p>
+ * Writes and evictions are announced by the node that made them; the other nodes drop their
+ * local copy of the entry and read it again from Redis on the next access. Messages from this
+ * node are ignored, as its local tier is already up to date. When Redis cannot be reached the
+ * message is lost and stale local entries live until their TTL.
+ */
+@Component
+@ConditionalOnProperty(value = "app.cache.local.invalidation.enabled", havingValue = "true")
+@Slf4j
+public class CacheInvalidationRelay implements MessageListener {
+
+    private static final String SEPARATOR = "\n";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TieredCache> caches = new ConcurrentHashMap<>();
+
+    public CacheInvalidationRelay(StringRedisTemplate redisTemplate,
+                                  @Value("${spring.application.name}") String applicationName) {
+        this.redisTemplate = redisTemplate;
+        this.channel = applicationName + ":cache-invalidation";
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Registers a region whose local tier is invalidated by messages from other nodes
+     */
+    public void register(TieredCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    /**
+     * Tells the other nodes to drop their local copy of an entry
+     */
+    public void publishEviction(String cacheName, String key) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    /**
+     * Tells the other nodes to drop every local entry of a region
+     */
+    public void publishClear(String cacheName) {
+        publish(nodeId + SEPARATOR + cacheName);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TieredCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts.length == 2) {
+            cache.invalidateLocal();
+        } else {
+            cache.invalidateLocal(parts[2]);
+        }
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.convertAndSend(channel, payload);
+        } catch (Exception e) {
+            log.warn("Could not publish cache invalidation through Redis: {}", e.getMessage());
+        }
+    }
+}
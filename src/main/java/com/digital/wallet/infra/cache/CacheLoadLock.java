@@ -0,0 +1,83 @@
+package com.digital.wallet.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short-lived Redis lock that lets a single node load a missing cache entry at a time.
+ * <p>
+ * The lock expires on its own, so a node that dies while loading only delays the others by the
+ * lock TTL. When Redis cannot be reached every node loads the entry itself, as without the lock.
+ */
+@Component
+@ConditionalOnProperty(value = "app.cache.single-flight.distributed.enabled", havingValue = "true")
+@Slf4j
+public class CacheLoadLock {
+
+    /**
+     * Token returned when Redis could not be reached; the caller loads without holding the lock
+     */
+    static final String UNLOCKED = "";
+
+    // Deletes the lock only if it still belongs to the caller, so an expired lock taken over by another node is kept
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final Duration lockTtl;
+
+    public CacheLoadLock(StringRedisTemplate redisTemplate,
+                         @Value("${spring.application.name}") String applicationName,
+                         @Value("${app.cache.single-flight.distributed.lock-ttl-ms:2000}") long lockTtlMillis) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = applicationName + ":cache-load-lock:";
+        this.lockTtl = Duration.ofMillis(lockTtlMillis);
+    }
+
+    public Duration getLockTtl() {
+        return lockTtl;
+    }
+
+    /**
+     * Tries to become the node that loads an entry
+     *
+     * @return Token to release the lock with, {@link #UNLOCKED} when Redis could not be reached,
+     *         or null when another node is already loading the entry
+     */
+    public String tryAcquire(String cacheName, String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(lockKey(cacheName, key), token, lockTtl);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (Exception e) {
+            log.warn("Could not acquire cache load lock for {}:{}, loading without it: {}", cacheName, key, e.getMessage());
+            return UNLOCKED;
+        }
+    }
+
+    public void release(String cacheName, String key, String token) {
+        if (token == null || UNLOCKED.equals(token)) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey(cacheName, key)), token);
+        } catch (Exception e) {
+            log.warn("Could not release cache load lock for {}:{}, it expires on its own: {}", cacheName, key, e.getMessage());
+        }
+    }
+
+    private String lockKey(String cacheName, String key) {
+        return keyPrefix + cacheName + ":" + key;
+    }
+}
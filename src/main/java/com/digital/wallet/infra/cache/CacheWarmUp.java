@@ -0,0 +1,247 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.User;
+import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.ports.out.UserRepository;
+import com.digital.wallet.core.ports.out.WalletRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.*;
+
+/**
+ * Fills the {@code wallet-single} and {@code user-profile} regions at startup with the wallets
+ * that had the most transactions in the last hours and their owners, so a new node does not
+ * send the first requests for the busiest wallets to the database.
+ * <p>
+ * Entries are written to Redis in one pipeline per batch, only where the key is absent: a
+ * balance written through by a running node is never replaced by the one read here. The local
+ * tier is not filled; it takes its entries from Redis on the first read.
+ * <p>
+ * Runs as an application runner, and Spring Boot reports the application ready to accept traffic
+ * only after every runner returns, so the readiness probe stays down until the warm-up completes
+ * or its time budget runs out. Failures are logged and never prevent the startup. Interrupting
+ * the warm-up does not stop a running JDBC query, so the query of the busiest wallets carries a
+ * statement timeout of the time left in the budget.
+ */
+@Component
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner {
+
+    static final String WALLET_REGION = "wallet-single";
+    static final String USER_REGION = "user-profile";
+
+    static final String ACTIVE_WALLETS_SQL = """
+            SELECT wallet_id
+            FROM transactions
+            WHERE timestamp >= :since
+            GROUP BY wallet_id
+            ORDER BY COUNT(*) DESC
+            LIMIT :limit""";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final WalletRepository walletRepository;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final int topWallets;
+    private final int lookbackHours;
+    private final long timeBudgetMs;
+    private final int batchSize;
+    private final Counter walletEntries;
+    private final Counter userEntries;
+
+    public CacheWarmUp(NamedParameterJdbcTemplate jdbcTemplate,
+                       WalletRepository walletRepository,
+                       UserRepository userRepository,
+                       CacheManager cacheManager,
+                       StringRedisTemplate redisTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.cache.warm-up.enabled:true}") boolean enabled,
+                       @Value("${app.cache.warm-up.top-wallets:1000}") int topWallets,
+                       @Value("${app.cache.warm-up.lookback-hours:6}") int lookbackHours,
+                       @Value("${app.cache.warm-up.time-budget-ms:10000}") long timeBudgetMs,
+                       @Value("${app.cache.warm-up.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.walletRepository = walletRepository;
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.topWallets = topWallets;
+        this.lookbackHours = lookbackHours;
+        this.timeBudgetMs = timeBudgetMs;
+        this.batchSize = Math.max(1, batchSize);
+        this.walletEntries = entries(meterRegistry, WALLET_REGION);
+        this.userEntries = entries(meterRegistry, USER_REGION);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled && topWallets > 0) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Warms the caches, waiting at most for the time budget. A warm-up still running when the
+     * budget ends is interrupted and the entries already written are kept.
+     *
+     * @return Number of wallets written to the cache, or -1 when the budget ran out
+     */
+    public int warmUp() {
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        Future<Integer> task = executor.submit(() -> warmUp(deadline));
+        try {
+            int wallets = task.get(timeBudgetMs, TimeUnit.MILLISECONDS);
+            log.info("Cache warm-up wrote {} wallets in {} ms", wallets,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            return wallets;
+        } catch (TimeoutException e) {
+            task.cancel(true);
+            log.warn("Cache warm-up did not finish within {} ms, starting with a partially warm cache", timeBudgetMs);
+            return -1;
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            log.warn("Cache warm-up interrupted");
+            return 0;
+        } catch (ExecutionException e) {
+            log.warn("Cache warm-up failed, starting with a cold cache: {}", e.getCause().getMessage());
+            return 0;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes the most active wallets and their owners batch by batch until all are written or
+     * the deadline passes
+     */
+    int warmUp(long deadline) {
+        RedisCache walletCache = TieredCache.redisTier(cacheManager.getCache(WALLET_REGION));
+        if (walletCache == null) {
+            log.debug("Cache warm-up skipped, {} is not kept in Redis", WALLET_REGION);
+            return 0;
+        }
+        RedisCache userCache = TieredCache.redisTier(cacheManager.getCache(USER_REGION));
+
+        List<UUID> walletIds = findMostActiveWallets(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        int written = 0;
+        for (int from = 0; from < walletIds.size(); from += batchSize) {
+            if (System.nanoTime() >= deadline || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            List<UUID> batch = walletIds.subList(from, Math.min(from + batchSize, walletIds.size()));
+            List<Wallet> wallets = walletRepository.findAllById(batch);
+            List<User> users = userCache != null
+                    ? userRepository.findAllById(wallets.stream().map(Wallet::getUserId).collect(Collectors.toSet()))
+                    : List.of();
+
+            List<CacheEntry> entries = new ArrayList<>(wallets.size() + users.size());
+            wallets.forEach(wallet -> entries.add(CacheEntry.of(walletCache, wallet.getId(), wallet)));
+            users.forEach(user -> entries.add(CacheEntry.of(userCache, user.getId(), user)));
+            writeAbsent(entries);
+            written += wallets.size();
+        }
+        return written;
+    }
+
+    /**
+     * Wallets with the most transactions within the lookback window, busiest first
+     *
+     * @param timeoutMs Time the query may run; the database cancels it afterwards
+     */
+    List<UUID> findMostActiveWallets(long timeoutMs) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("since", Timestamp.valueOf(LocalDateTime.now().minusHours(lookbackHours)))
+                .addValue("limit", topWallets);
+        return jdbcTemplate.execute(ACTIVE_WALLETS_SQL, params, (PreparedStatementCallback<List<UUID>>) statement -> {
+            // JDBC timeouts are whole seconds; rounded up so a budget under a second still runs the query
+            statement.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+            List<UUID> walletIds = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    walletIds.add(rows.getObject(1, UUID.class));
+                }
+            }
+            return walletIds;
+        });
+    }
+
+    private void writeAbsent(List<CacheEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (CacheEntry entry : entries) {
+                connection.stringCommands().set(entry.key(), entry.value(), entry.expiration(), SetOption.ifAbsent());
+            }
+            return null;
+        });
+        for (int i = 0; i < entries.size() && i < results.size(); i++) {
+            if (Boolean.TRUE.equals(results.get(i))) {
+                (WALLET_REGION.equals(entries.get(i).region()) ? walletEntries : userEntries).increment();
+            }
+        }
+    }
+
+    private Counter entries(MeterRegistry meterRegistry, String region) {
+        return Counter.builder(CACHE_WARM_UP_ENTRIES)
+                .tag(TAG_CACHE, region)
+                .description("Cache entries written to Redis by the startup warm-up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A cache entry in the same key and value layout RedisCache uses for its region
+     */
+    private record CacheEntry(String region, byte[] key, byte[] value, Expiration expiration) {
+
+        static CacheEntry of(RedisCache cache, Object key, Object value) {
+            RedisCacheConfiguration configuration = cache.getCacheConfiguration();
+            String entryKey = configuration.getKeyPrefixFor(cache.getName()) + key;
+            byte[] bytes = ByteUtils.getBytes(configuration.getValueSerializationPair().write(value));
+            Duration ttl = configuration.getTtlFunction().getTimeToLive(key, value);
+            Expiration expiration = ttl != null && !ttl.isZero() && !ttl.isNegative()
+                    ? Expiration.milliseconds(ttl.toMillis())
+                    : Expiration.persistent();
+            return new CacheEntry(cache.getName(), entryKey.getBytes(StandardCharsets.UTF_8), bytes, expiration);
+        }
+    }
+}
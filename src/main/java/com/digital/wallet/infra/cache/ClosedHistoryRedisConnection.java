@@ -0,0 +1,53 @@
+package com.digital.wallet.infra.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Connection to the Redis instance that holds the settled history region.
+ * <p>
+ * Settled results never change, so they are written without TTL and only evicted by size. They
+ * live in an instance of their own, run with maxmemory and allkeys-lru, so that eviction never
+ * reaches the keys of the main instance that must not be lost: the wallet versions behind ETags
+ * and stream ids, and the :version keys of the write-through wallet cache.
+ * <p>
+ * The connection factory is kept out of the application context, so the auto-configured
+ * connection to the main instance stays the only {@link RedisConnectionFactory} bean.
+ */
+@Component
+public class ClosedHistoryRedisConnection implements DisposableBean {
+
+    private final LettuceConnectionFactory connectionFactory;
+
+    public ClosedHistoryRedisConnection(
+            @Value("${app.cache.history.redis.host:localhost}") String host,
+            @Value("${app.cache.history.redis.port:6380}") int port,
+            @Value("${app.cache.history.redis.password:}") String password,
+            @Value("${app.cache.history.redis.timeout-ms:2000}") long timeoutMillis) {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(host, port);
+        if (!password.isEmpty()) {
+            configuration.setPassword(RedisPassword.of(password));
+        }
+        this.connectionFactory = new LettuceConnectionFactory(configuration,
+                LettuceClientConfiguration.builder().commandTimeout(Duration.ofMillis(timeoutMillis)).build());
+        this.connectionFactory.afterPropertiesSet();
+        this.connectionFactory.start();
+    }
+
+    public RedisConnectionFactory getConnectionFactory() {
+        return connectionFactory;
+    }
+
+    @Override
+    public void destroy() {
+        connectionFactory.destroy();
+    }
+}
@@ -0,0 +1,299 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionType;
+import com.digital.wallet.core.domain.User;
+import com.digital.wallet.core.domain.Wallet;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis value serializer with a compact binary layout for the cached domain types.
+ * <p>
+ * Wallets, users, transactions, amounts and lists of them are written field by field, without
+ * the class descriptors of JDK serialization, so entries are a fraction of the size and do not
+ * depend on the shape of the Java classes. Any other value, and any entry written by the JDK
+ * serializer, goes through the fallback serializer; compact entries start with a marker byte
+ * that a JDK stream never starts with.
+ * <p>
+ * Entries at or above the compression threshold are deflated when that makes them smaller.
+ * The layout of each type is fixed: changing it requires bumping {@link #LAYOUT_VERSION}, which
+ * is part of the key prefix of every region, so nodes of different releases never read each
+ * other's entries during a rollout.
+ */
+public class CompactCacheSerializer implements RedisSerializer<Object> {
+
+    /**
+     * Version of the compact layouts, added to the cache key prefix
+     */
+    public static final String LAYOUT_VERSION = "c1";
+
+    static final byte MAGIC = (byte) 0xC5;
+    private static final byte FLAG_COMPRESSED = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_WALLET = 1;
+    private static final byte TAG_USER = 2;
+    private static final byte TAG_TRANSACTION = 3;
+    private static final byte TAG_DECIMAL = 4;
+    private static final byte TAG_LIST = 5;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+
+    /**
+     * @param fallback             Serializer of the values without a compact layout
+     * @param compressionThreshold Size in bytes from which entries are compressed
+     */
+    public CompactCacheSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null || !hasCompactLayout(value)) {
+            return fallback.serialize(value);
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MAGIC);
+            out.writeByte(0);
+            writeValue(out, value);
+            byte[] entry = bytes.toByteArray();
+            return entry.length >= compressionThreshold ? compress(entry) : entry;
+        } catch (IOException e) {
+            throw new SerializationException("Could not serialize cache entry", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0 || bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 2, bytes.length - 2));
+            if ((bytes[1] & FLAG_COMPRESSED) != 0) {
+                in = new DataInputStream(new ByteArrayInputStream(decompress(in)));
+            }
+            return readValue(in);
+        } catch (IOException | DataFormatException e) {
+            throw new SerializationException("Could not deserialize cache entry", e);
+        }
+    }
+
+    private static boolean hasCompactLayout(Object value) {
+        if (value == null || value instanceof Wallet || value instanceof User
+                || value instanceof Transaction || value instanceof BigDecimal) {
+            return true;
+        }
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                if (!hasCompactLayout(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Wallet wallet) {
+            out.writeByte(TAG_WALLET);
+            writeUuid(out, wallet.getId());
+            writeUuid(out, wallet.getUserId());
+            writeDecimal(out, wallet.getBalance());
+            writeDateTime(out, wallet.getCreatedAt());
+            writeDateTime(out, wallet.getUpdatedAt());
+        } else if (value instanceof User user) {
+            out.writeByte(TAG_USER);
+            writeUuid(out, user.getId());
+            writeString(out, user.getEmail());
+            writeString(out, user.getName());
+        } else if (value instanceof Transaction transaction) {
+            out.writeByte(TAG_TRANSACTION);
+            writeUuid(out, transaction.getId());
+            writeUuid(out, transaction.getWalletId());
+            writeDecimal(out, transaction.getAmount());
+            writeString(out, transaction.getType() != null ? transaction.getType().name() : null);
+            writeDateTime(out, transaction.getTimestamp());
+            writeUuid(out, transaction.getRelatedUserId());
+            out.writeBoolean(transaction.getSeq() != null);
+            if (transaction.getSeq() != null) {
+                out.writeLong(transaction.getSeq());
+            }
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(TAG_DECIMAL);
+            writeDecimal(out, decimal);
+        } else {
+            List<?> list = (List<?>) value;
+            out.writeByte(TAG_LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_WALLET: {
+                Wallet wallet = new Wallet(readUuid(in), readUuid(in), readDecimal(in));
+                wallet.setCreatedAt(readDateTime(in));
+                wallet.setUpdatedAt(readDateTime(in));
+                return wallet;
+            }
+            case TAG_USER:
+                return new User(readUuid(in), readString(in), readString(in));
+            case TAG_TRANSACTION: {
+                Transaction transaction = new Transaction();
+                transaction.setId(readUuid(in));
+                transaction.setWalletId(readUuid(in));
+                transaction.setAmount(readDecimal(in));
+                String type = readString(in);
+                transaction.setType(type != null ? TransactionType.valueOf(type) : null);
+                transaction.setTimestamp(readDateTime(in));
+                transaction.setRelatedUserId(readUuid(in));
+                transaction.setSeq(in.readBoolean() ? in.readLong() : null);
+                return transaction;
+            }
+            case TAG_DECIMAL:
+                return readDecimal(in);
+            case TAG_LIST: {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            default:
+                throw new IOException("Unknown cache entry tag: " + tag);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal decimal) throws IOException {
+        out.writeBoolean(decimal != null);
+        if (decimal != null) {
+            byte[] unscaled = decimal.unscaledValue().toByteArray();
+            out.writeInt(decimal.scale());
+            out.writeInt(unscaled.length);
+            out.write(unscaled);
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readInt()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime dateTime) throws IOException {
+        out.writeBoolean(dateTime != null);
+        if (dateTime != null) {
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Deflates the body of an entry, keeping it as is when that does not make it smaller
+     */
+    private static byte[] compress(byte[] entry) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(entry, 2, entry.length - 2);
+            deflater.finish();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(entry.length / 2);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(MAGIC);
+            out.writeByte(FLAG_COMPRESSED);
+            out.writeInt(entry.length - 2);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+                if (bytes.size() >= entry.length) {
+                    return entry;
+                }
+            }
+            return bytes.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(DataInputStream in) throws IOException, DataFormatException {
+        byte[] body = new byte[in.readInt()];
+        byte[] compressed = in.readAllBytes();
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < body.length) {
+                int inflated = inflater.inflate(body, length, body.length - length);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated cache entry");
+                }
+                length += inflated;
+            }
+            return body;
+        } finally {
+            inflater.end();
+        }
+    }
+}
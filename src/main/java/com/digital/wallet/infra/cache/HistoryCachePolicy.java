@@ -0,0 +1,112 @@
+package com.digital.wallet.infra.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Decides which transaction history results can be cached without invalidation.
+ *
+ * Transactions are stamped with the time of the operation but only become visible
+ * once their database transaction commits. A range is therefore considered closed
+ * (immutable) only when it ends before the settlement window, after which no
+ * in-flight transaction can still land inside it.
+ * <p>
+ * Cache keys hold the time bucket of each instant. Only instants at the start of a bucket are
+ * cached, so every instant in a key stands for exactly one range and the result of the query
+ * is the result of the bucket. A range that ends inside a bucket is cached up to the start of
+ * that bucket (see {@link #cacheableEnd}), so every lookup ending in the same bucket shares the
+ * entry and only the rest of the bucket is queried.
+ */
+@Component("historyCachePolicy")
+public class HistoryCachePolicy {
+
+    private final Clock clock;
+    private final long settlementWindowSeconds;
+    private final long bucketSeconds;
+
+    @Autowired
+    public HistoryCachePolicy(
+            @Value("${app.cache.history.settlement-window-seconds:60}") long settlementWindowSeconds,
+            @Value("${app.cache.history.bucket-seconds:60}") long bucketSeconds) {
+        this(Clock.systemDefaultZone(), settlementWindowSeconds, bucketSeconds);
+    }
+
+    HistoryCachePolicy(Clock clock, long settlementWindowSeconds, long bucketSeconds) {
+        this.clock = clock;
+        this.settlementWindowSeconds = settlementWindowSeconds;
+        this.bucketSeconds = Math.max(1, bucketSeconds);
+    }
+
+    /**
+     * Checks if a range ending at the given instant can no longer receive new transactions
+     *
+     * @param endDateTime End of the range (inclusive)
+     * @return true if results for the range will never change
+     */
+    public boolean isClosed(LocalDateTime endDateTime) {
+        return endDateTime != null && endDateTime.isBefore(settledUntil());
+    }
+
+    /**
+     * Checks if the result of a range can be cached: the range is closed and both ends are at
+     * the start of a time bucket
+     *
+     * @param startDateTime Start of the range, or null when the range has no start
+     * @param endDateTime End of the range (inclusive)
+     * @return true if the result can be cached under the bucket keys of the range
+     */
+    public boolean isCacheable(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return isClosed(endDateTime) && isBucketStart(startDateTime) && isBucketStart(endDateTime);
+    }
+
+    /**
+     * End of the part of a range that can be cached: the start of the bucket of its end, when that
+     * instant is settled and the range starts at the start of an earlier bucket
+     *
+     * @param startDateTime Start of the range, or null when the range has no start
+     * @param endDateTime End of the range (inclusive)
+     * @return End of the cacheable part, or null when no part of the range can be cached
+     */
+    public LocalDateTime cacheableEnd(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        if (endDateTime == null || !isBucketStart(startDateTime)) {
+            return null;
+        }
+        LocalDateTime end = bucket(endDateTime);
+        return isClosed(end) && (startDateTime == null || end.isAfter(startDateTime)) ? end : null;
+    }
+
+    /**
+     * Cache key part for an instant: the epoch second of its time bucket; null maps to a fixed marker
+     */
+    public String bucketKey(LocalDateTime dateTime) {
+        return dateTime == null ? "-" : String.valueOf(bucketStart(dateTime));
+    }
+
+    /**
+     * @return Start of the time bucket of an instant
+     */
+    public LocalDateTime bucket(LocalDateTime dateTime) {
+        return LocalDateTime.ofEpochSecond(bucketStart(dateTime), 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * @return Instant up to which all transactions are guaranteed to be committed, at the start
+     * of a time bucket so results up to it can be cached
+     */
+    public LocalDateTime settledUntil() {
+        return bucket(LocalDateTime.now(clock).minusSeconds(settlementWindowSeconds));
+    }
+
+    private boolean isBucketStart(LocalDateTime dateTime) {
+        return dateTime == null || dateTime.equals(bucket(dateTime));
+    }
+
+    private long bucketStart(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), bucketSeconds) * bucketSeconds;
+    }
+}
@@ -0,0 +1,41 @@
+package com.digital.wallet.infra.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.*;
+
+/**
+ * Redis value serializer that records the size of every entry written to a cache region.
+ * One instance is created per region so the sizes can be compared between regions.
+ */
+public class MeteredRedisSerializer implements RedisSerializer<Object> {
+
+    private final RedisSerializer<Object> delegate;
+    private final DistributionSummary entrySize;
+
+    public MeteredRedisSerializer(RedisSerializer<Object> delegate, String cacheName, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.entrySize = DistributionSummary.builder(CACHE_ENTRY_SIZE)
+                .tag(TAG_CACHE, cacheName)
+                .baseUnit("bytes")
+                .description("Size of the values written to a cache region")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        byte[] bytes = delegate.serialize(value);
+        if (bytes != null) {
+            entrySize.record(bytes.length);
+        }
+        return bytes;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        return delegate.deserialize(bytes);
+    }
+}
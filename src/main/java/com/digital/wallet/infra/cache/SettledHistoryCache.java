@@ -0,0 +1,47 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.infra.config.CacheConfig;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cached results over settled, bucket-aligned ranges of a wallet's history.
+ * <p>
+ * Callers split a range at {@link HistoryCachePolicy#cacheableEnd} and pass the aligned part
+ * here with the query that loads it; the rest of the range is queried directly. The split lives
+ * in the caller, so the cached part goes through this bean's proxy.
+ */
+@Component
+public class SettledHistoryCache {
+
+    /**
+     * @param afterDateTime Exclusive start of the range, at the start of a bucket, or null for the whole history
+     * @param endDateTime Inclusive end of the range, at the start of a settled bucket
+     * @param loader Sums the balance change of the range on a miss
+     */
+    @Cacheable(value = CacheConfig.CLOSED_HISTORY_CACHE,
+               key = "'balance:' + #walletId + ':' + @historyCachePolicy.bucketKey(#afterDateTime) + ':' + @historyCachePolicy.bucketKey(#endDateTime)")
+    public BigDecimal balanceChange(UUID walletId, LocalDateTime afterDateTime, LocalDateTime endDateTime,
+                                    Supplier<BigDecimal> loader) {
+        return loader.get();
+    }
+
+    /**
+     * @param startDateTime Inclusive start of the range, at the start of a bucket
+     * @param endDateTime Inclusive end of the range, at the start of a settled bucket
+     * @param loader Loads the transactions of the range on a miss
+     */
+    @Cacheable(value = CacheConfig.CLOSED_HISTORY_CACHE,
+               key = "'range:' + #walletId + ':' + @historyCachePolicy.bucketKey(#startDateTime) + ':' + @historyCachePolicy.bucketKey(#endDateTime)")
+    public List<Transaction> transactions(UUID walletId, LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                          Supplier<List<Transaction>> loader) {
+        return loader.get();
+    }
+}
@@ -0,0 +1,338 @@
+package com.digital.wallet.infra.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.*;
+
+/**
+ * Cache region with a bounded in-process tier in front of a shared Redis tier.
+ * <p>
+ * Reads are answered from the local tier when possible and fall back to Redis, copying the
+ * entry into the local tier; writes and evictions go to both. Null values are not cached,
+ * matching the Redis configuration. Local entries are keyed by the string form of the cache key,
+ * which is also how Redis keys them, so invalidations can name them across nodes.
+ * <p>
+ * When the region holds data that can change, an invalidation relay is given and every write or
+ * eviction is announced to the other nodes so they drop their local copy.
+ * <p>
+ * Loads through {@link #get(Object, Callable)} are single-flight: concurrent misses of the same key
+ * on this node wait for the first one, and with a load lock the nodes also wait for each other,
+ * so a hot entry evicted by a write is read from the database once.
+ */
+public class TieredCache implements Cache {
+
+    private static final Duration REMOTE_POLL_INTERVAL = Duration.ofMillis(20);
+
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationRelay invalidationRelay;
+    private final CacheLoadLock loadLock;
+    private final ConcurrentMap<String, CompletableFuture<Object>> loadsInFlight = new ConcurrentHashMap<>();
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter localCoalescedLoads;
+    private final Counter remoteCoalescedLoads;
+
+    /**
+     * @param invalidationRelay Relay that announces writes to the other nodes, or null when the
+     *                          local entries never go stale
+     * @param loadLock          Lock that coalesces loads across nodes, or null to coalesce them on this node only
+     */
+    public TieredCache(com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                       Cache remote,
+                       MeterRegistry meterRegistry,
+                       CacheInvalidationRelay invalidationRelay,
+                       CacheLoadLock loadLock) {
+        this.local = local;
+        this.remote = remote;
+        this.invalidationRelay = invalidationRelay;
+        this.loadLock = loadLock;
+        this.localHits = gets(meterRegistry, "local", "hit");
+        this.localMisses = gets(meterRegistry, "local", "miss");
+        this.remoteHits = gets(meterRegistry, "remote", "hit");
+        this.remoteMisses = gets(meterRegistry, "remote", "miss");
+        Gauge.builder(CACHE_LOCAL_SIZE, local, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .tag(TAG_CACHE, getName())
+                .description("Entries held by the local tier of a cache region")
+                .register(meterRegistry);
+        this.localCoalescedLoads = coalescedLoads(meterRegistry, "local");
+        this.remoteCoalescedLoads = coalescedLoads(meterRegistry, "remote");
+        if (invalidationRelay != null) {
+            invalidationRelay.register(this);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = local.getIfPresent(localKey(key));
+        if (value != null) {
+            localHits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        localMisses.increment();
+        ValueWrapper wrapper = getRemote(key);
+        if (wrapper != null && wrapper.get() != null) {
+            local.put(localKey(key), wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        String localKey = localKey(key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = loadsInFlight.putIfAbsent(localKey, flight);
+        if (running != null) {
+            localCoalescedLoads.increment();
+            try {
+                return (T) running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            Object loaded = loadOnce(key, localKey, valueLoader);
+            flight.complete(loaded);
+            return (T) loaded;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadsInFlight.remove(localKey, flight);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        if (value != null) {
+            local.put(localKey(key), value);
+        }
+        announceEviction(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        Object current = existing != null ? existing.get() : value;
+        if (current != null) {
+            local.put(localKey(key), current);
+        }
+        if (existing == null) {
+            announceEviction(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        announceEviction(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        local.invalidate(localKey(key));
+        boolean evicted = remote.evictIfPresent(key);
+        announceEviction(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        announceClear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        local.invalidateAll();
+        boolean invalidated = remote.invalidate();
+        announceClear();
+        return invalidated;
+    }
+
+    /**
+     * The Redis tier, for callers that write to it directly
+     */
+    Cache getRemote() {
+        return remote;
+    }
+
+    /**
+     * The Redis cache behind a region, whether it is tiered or not
+     *
+     * @return The Redis cache, or null when the region is not kept in Redis
+     */
+    static RedisCache redisTier(Cache cache) {
+        Cache remote = cache instanceof TieredCache tieredCache ? tieredCache.getRemote() : cache;
+        return remote instanceof RedisCache redisCache ? redisCache : null;
+    }
+
+    /**
+     * Drops an entry from the local tier only, after another node changed it in Redis
+     */
+    void invalidateLocal(String key) {
+        local.invalidate(key);
+    }
+
+    /**
+     * Stores in the local tier a value already written to Redis by the caller, and has the
+     * other nodes drop their copy
+     */
+    void putLocal(Object key, Object value) {
+        local.put(localKey(key), value);
+        announceEviction(key);
+    }
+
+    /**
+     * Drops every entry from the local tier only, after another node cleared the region
+     */
+    void invalidateLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * Loads a missing entry as the single loader of this node, after checking the entry was not
+     * stored meanwhile. With a load lock, a node that finds another one loading waits for the entry
+     * to reach Redis for at most the lock TTL and only then loads it itself.
+     */
+    private Object loadOnce(Object key, String localKey, Callable<?> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return wrapper.get();
+        }
+        if (loadLock == null) {
+            return load(key, valueLoader);
+        }
+
+        String token = loadLock.tryAcquire(getName(), localKey);
+        if (token == null) {
+            remoteCoalescedLoads.increment();
+            wrapper = awaitRemote(key, loadLock.getLockTtl());
+            return wrapper != null ? wrapper.get() : load(key, valueLoader);
+        }
+        try {
+            wrapper = get(key);
+            return wrapper != null ? wrapper.get() : load(key, valueLoader);
+        } finally {
+            loadLock.release(getName(), localKey, token);
+        }
+    }
+
+    /**
+     * Loads an entry and stores it only if it is still absent, so a newer value written while
+     * the loader was reading (a write-through balance) is kept and returned instead
+     */
+    private Object load(Object key, Callable<?> valueLoader) {
+        Object loaded;
+        try {
+            loaded = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        ValueWrapper existing = putIfAbsent(key, loaded);
+        return existing != null && existing.get() != null ? existing.get() : loaded;
+    }
+
+    private ValueWrapper awaitRemote(Object key, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null) {
+                local.put(localKey(key), wrapper.get());
+                return wrapper;
+            }
+            try {
+                Thread.sleep(REMOTE_POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private ValueWrapper getRemote(Object key) {
+        ValueWrapper wrapper = remote.get(key);
+        (wrapper != null ? remoteHits : remoteMisses).increment();
+        return wrapper;
+    }
+
+    private void announceEviction(Object key) {
+        if (invalidationRelay != null) {
+            invalidationRelay.publishEviction(getName(), localKey(key));
+        }
+    }
+
+    private void announceClear() {
+        if (invalidationRelay != null) {
+            invalidationRelay.publishClear(getName());
+        }
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder(CACHE_GETS)
+                .tag(TAG_CACHE, getName())
+                .tag(TAG_TIER, tier)
+                .tag(TAG_RESULT, result)
+                .description("Reads of each tier of a cache region")
+                .register(meterRegistry);
+    }
+
+    private Counter coalescedLoads(MeterRegistry meterRegistry, String tier) {
+        return Counter.builder(CACHE_COALESCED_LOADS)
+                .tag(TAG_CACHE, getName())
+                .tag(TAG_TIER, tier)
+                .description("Cache misses that waited for a load already running on this node (local) or another node (remote)")
+                .register(meterRegistry);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
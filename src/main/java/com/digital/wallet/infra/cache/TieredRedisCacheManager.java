@@ -0,0 +1,121 @@
+package com.digital.wallet.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Redis cache manager that puts a size-bounded in-process tier in front of selected regions.
+ * <p>
+ * Regions of results that can never change keep local entries without expiry. Regions of data
+ * that changes keep them for a short TTL and, when an invalidation relay is available, have them
+ * dropped on every node after each write or eviction. Loads of a missing entry are single-flight
+ * per node and, when a load lock is available, across nodes. A region can be stored in a Redis
+ * instance of its own by giving it a cache writer of that instance.
+ */
+public class TieredRedisCacheManager extends RedisCacheManager {
+
+    private final Map<String, LocalTier> localTiers;
+    private final Map<String, RedisCacheWriter> regionWriters;
+    private final MeterRegistry meterRegistry;
+    private final CacheInvalidationRelay invalidationRelay;
+    private final CacheLoadLock loadLock;
+
+    /**
+     * @param localTiers        Regions with a local tier and the bounds of each
+     * @param invalidationRelay Relay used by the regions of data that changes, or null to rely on their TTL only
+     * @param loadLock          Lock that coalesces loads across nodes, or null to coalesce them per node only
+     */
+    public TieredRedisCacheManager(RedisCacheWriter cacheWriter,
+                                   RedisCacheConfiguration defaultConfiguration,
+                                   Map<String, RedisCacheConfiguration> initialConfigurations,
+                                   Map<String, LocalTier> localTiers,
+                                   MeterRegistry meterRegistry,
+                                   CacheInvalidationRelay invalidationRelay,
+                                   CacheLoadLock loadLock) {
+        this(cacheWriter, Map.of(), defaultConfiguration, initialConfigurations, localTiers, meterRegistry,
+                invalidationRelay, loadLock);
+    }
+
+    /**
+     * @param regionWriters     Regions stored in another Redis instance and the cache writer of each
+     * @param localTiers        Regions with a local tier and the bounds of each
+     * @param invalidationRelay Relay used by the regions of data that changes, or null to rely on their TTL only
+     * @param loadLock          Lock that coalesces loads across nodes, or null to coalesce them per node only
+     */
+    public TieredRedisCacheManager(RedisCacheWriter cacheWriter,
+                                   Map<String, RedisCacheWriter> regionWriters,
+                                   RedisCacheConfiguration defaultConfiguration,
+                                   Map<String, RedisCacheConfiguration> initialConfigurations,
+                                   Map<String, LocalTier> localTiers,
+                                   MeterRegistry meterRegistry,
+                                   CacheInvalidationRelay invalidationRelay,
+                                   CacheLoadLock loadLock) {
+        super(cacheWriter, defaultConfiguration, true, initialConfigurations);
+        this.regionWriters = Map.copyOf(regionWriters);
+        this.localTiers = Map.copyOf(localTiers);
+        this.meterRegistry = meterRegistry;
+        this.invalidationRelay = invalidationRelay;
+        this.loadLock = loadLock;
+    }
+
+    @Override
+    protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+        RedisCacheWriter regionWriter = regionWriters.get(name);
+        if (regionWriter == null) {
+            return super.createRedisCache(name, cacheConfiguration);
+        }
+        return new RedisCache(name, regionWriter,
+                cacheConfiguration != null ? cacheConfiguration : getDefaultCacheConfiguration()) {
+        };
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        Cache decorated = super.decorateCache(cache);
+        LocalTier tier = localTiers.get(cache.getName());
+        if (tier == null) {
+            return decorated;
+        }
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(tier.maxEntries());
+        if (tier.timeToLive() != null) {
+            builder.expireAfterWrite(tier.timeToLive());
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = builder.build();
+        // Local reads are counted by the region itself, in the same series as its Redis reads
+        return new TieredCache(local, decorated, meterRegistry, tier.timeToLive() != null ? invalidationRelay : null,
+                loadLock);
+    }
+
+    /**
+     * Bounds of the local tier of a region
+     *
+     * @param maxEntries Maximum number of local entries
+     * @param timeToLive Time a local entry is served after being written, or null when entries never go stale
+     */
+    public record LocalTier(long maxEntries, Duration timeToLive) {
+
+        /**
+         * Local tier of a region whose entries never change
+         */
+        public static LocalTier immutable(long maxEntries) {
+            return new LocalTier(maxEntries, null);
+        }
+
+        /**
+         * Local tier of a region whose entries change and are invalidated across nodes
+         */
+        public static LocalTier expiring(long maxEntries, Duration timeToLive) {
+            return new LocalTier(maxEntries, timeToLive);
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.TransactionType;
+import com.digital.wallet.core.ports.out.BalanceIndex;
+import com.digital.wallet.infra.events.WalletEvent;
+import com.digital.wallet.infra.events.WalletEventBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.*;
+
+/**
+ * Optional in-process index of the balance history of frequently queried wallets.
+ * <p>
+ * Each wallet is held as two parallel arrays, transaction instants in epoch microseconds and
+ * the cumulative balance in minor units after each transaction, so a point-in-time balance is
+ * a binary search. A wallet is indexed on first lookup by one ordered scan of both transaction
+ * tiers and kept current from the wallet events of committed transactions: events are applied
+ * in sequence order and a gap makes the wallet answer from the database until it is rebuilt.
+ * Wallets are evicted in least-recently-used order once the memory budget is exceeded.
+ * <p>
+ * An event lost on its way (a dropped pub/sub message leaves no gap until the next one arrives)
+ * is caught by comparing the wallet's sequence counter with the last applied event at most once
+ * per freshness interval: a wallet behind its counter answers from the database, and one still
+ * behind at the next check is rebuilt. A wallet whose scan failed or that lost track of its
+ * events answers from the database for the rebuild delay before it is scanned again.
+ * <p>
+ * Types are signed like the database sums do: credit types add, every other type subtracts.
+ */
+@Component
+@Slf4j
+public class WalletBalanceIndex implements BalanceIndex {
+
+    static final String SCAN_SQL =
+            "SELECT timestamp, seq, type, amount FROM ("
+            + " SELECT timestamp, seq, type, amount FROM transactions WHERE wallet_id = ?"
+            + " UNION ALL"
+            + " SELECT timestamp, seq, type, amount FROM transactions_archive WHERE wallet_id = ?"
+            + ") t ORDER BY timestamp, seq";
+
+    static final String LAST_SEQ_SQL = "SELECT transaction_seq FROM wallets WHERE id = ?";
+
+    static final int MINOR_UNIT_SCALE = 2;
+    static final int BYTES_PER_TRANSACTION = 2 * Long.BYTES;
+    // Events arriving out of sequence order are held back; more than this means one was lost
+    static final int MAX_PENDING_EVENTS = 64;
+    private static final int SCAN_FETCH_SIZE = 1000;
+    private static final Set<String> CREDIT_TYPE_NAMES = Set.copyOf(TransactionType.creditTypeNames());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WalletEventBus walletEventBus;
+    private final Clock clock;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final int maxTransactionsPerWallet;
+    private final long maxAgeMillis;
+    private final long freshnessCheckMillis;
+    private final long rebuildDelayMillis;
+
+    // Access-ordered, so iteration starts at the least recently used wallet; guarded by this
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public WalletBalanceIndex(
+            JdbcTemplate jdbcTemplate,
+            WalletEventBus walletEventBus,
+            MeterRegistry meterRegistry,
+            @Value("${app.balance-index.enabled:false}") boolean enabled,
+            @Value("${app.balance-index.max-bytes:67108864}") long maxBytes,
+            @Value("${app.balance-index.max-transactions-per-wallet:1000000}") int maxTransactionsPerWallet,
+            @Value("${app.balance-index.max-age-seconds:900}") long maxAgeSeconds,
+            @Value("${app.balance-index.freshness-check-ms:5000}") long freshnessCheckMillis,
+            @Value("${app.balance-index.rebuild-delay-seconds:30}") long rebuildDelaySeconds) {
+        this(jdbcTemplate, walletEventBus, meterRegistry, Clock.systemDefaultZone(),
+                enabled, maxBytes, maxTransactionsPerWallet, maxAgeSeconds, freshnessCheckMillis, rebuildDelaySeconds);
+    }
+
+    WalletBalanceIndex(JdbcTemplate jdbcTemplate,
+                       WalletEventBus walletEventBus,
+                       MeterRegistry meterRegistry,
+                       Clock clock,
+                       boolean enabled,
+                       long maxBytes,
+                       int maxTransactionsPerWallet,
+                       long maxAgeSeconds,
+                       long freshnessCheckMillis,
+                       long rebuildDelaySeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.walletEventBus = walletEventBus;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.maxTransactionsPerWallet = maxTransactionsPerWallet;
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+        this.freshnessCheckMillis = freshnessCheckMillis;
+        this.rebuildDelayMillis = rebuildDelaySeconds * 1000;
+        Gauge.builder(BALANCE_INDEX_BYTES, totalBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("Memory held by the in-process balance index")
+                .register(meterRegistry);
+        Gauge.builder(BALANCE_INDEX_WALLETS, this, WalletBalanceIndex::walletCount)
+                .description("Wallets held by the in-process balance index")
+                .register(meterRegistry);
+        this.hits = Counter.builder(BALANCE_INDEX_LOOKUPS).tag(TAG_RESULT, "hit")
+                .description("Point-in-time balance lookups answered by the in-process index")
+                .register(meterRegistry);
+        this.misses = Counter.builder(BALANCE_INDEX_LOOKUPS).tag(TAG_RESULT, "miss")
+                .description("Point-in-time balance lookups left to the database")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Optional<BigDecimal> findBalanceAt(UUID walletId, LocalDateTime at) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Entry entry = entryFor(walletId);
+        Long minorUnits = entry != null && isCurrent(entry) ? entry.balanceAt(toMicros(at)) : null;
+        if (minorUnits == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(BigDecimal.valueOf(minorUnits, MINOR_UNIT_SCALE));
+    }
+
+    /**
+     * Returns the entry of a wallet, building it on this thread when the wallet is not indexed.
+     * Lookups of a wallet being built are left to the database instead of waiting.
+     */
+    private Entry entryFor(UUID walletId) {
+        Entry entry;
+        Entry stale = null;
+        synchronized (this) {
+            entry = entries.get(walletId);
+            if (entry != null && !entry.isReusable(clock.millis())) {
+                stale = entries.remove(walletId);
+                entry = null;
+            }
+            if (entry == null) {
+                entry = new Entry(walletId, clock.millis());
+                entries.put(walletId, entry);
+            } else {
+                return entry;
+            }
+        }
+        if (stale != null) {
+            stale.close();
+        }
+        build(entry);
+        evictOverBudget();
+        return entry;
+    }
+
+    /**
+     * Compares the entry with the wallet's sequence counter when the last comparison is older
+     * than the freshness interval
+     */
+    private boolean isCurrent(Entry entry) {
+        long now = clock.millis();
+        if (!entry.isCheckDue(now)) {
+            return true;
+        }
+        try {
+            Long committedSeq = jdbcTemplate.queryForObject(LAST_SEQ_SQL, Long.class, entry.walletId);
+            return entry.verify(committedSeq, now);
+        } catch (Exception e) {
+            log.debug("Could not check balance index of wallet {}: {}", entry.walletId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void build(Entry entry) {
+        // Subscribe before scanning, so transactions committed during the scan are held as events
+        walletEventBus.subscribe(entry.walletId, null, entry);
+        try {
+            Scan scan = new Scan();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SCAN_SQL);
+                statement.setFetchSize(SCAN_FETCH_SIZE);
+                statement.setObject(1, entry.walletId);
+                statement.setObject(2, entry.walletId);
+                return statement;
+            }, resultSet -> {
+                if (scan.size < maxTransactionsPerWallet) {
+                    scan.add(toMicros(resultSet.getTimestamp(1).toLocalDateTime()),
+                            resultSet.getLong(2),
+                            signedMinorUnits(resultSet.getString(3), resultSet.getBigDecimal(4)));
+                } else {
+                    scan.truncated = true;
+                }
+            });
+            entry.load(scan);
+        } catch (Exception e) {
+            log.warn("Could not index balance history of wallet {}: {}", entry.walletId, e.getMessage());
+            entry.fail();
+        }
+    }
+
+    private void evictOverBudget() {
+        while (totalBytes.get() > maxBytes) {
+            Entry eldest;
+            synchronized (this) {
+                Iterator<Entry> iterator = entries.values().iterator();
+                if (!iterator.hasNext()) {
+                    return;
+                }
+                eldest = iterator.next();
+                iterator.remove();
+            }
+            eldest.close();
+        }
+    }
+
+    synchronized int walletCount() {
+        return entries.size();
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static long signedMinorUnits(TransactionType type, BigDecimal amount) {
+        return signedMinorUnits(type.name(), amount);
+    }
+
+    /**
+     * Signs an amount by its stored type name; names no longer in {@link TransactionType} are debits,
+     * as in the sums computed by the database
+     */
+    static long signedMinorUnits(String type, BigDecimal amount) {
+        long minorUnits = amount.movePointRight(MINOR_UNIT_SCALE).longValueExact();
+        return CREDIT_TYPE_NAMES.contains(type) ? minorUnits : -minorUnits;
+    }
+
+    /**
+     * Transactions read by the scan, in timestamp order
+     */
+    private static final class Scan {
+        private long[] micros = new long[64];
+        private long[] changes = new long[64];
+        private long lastSeq;
+        private int size;
+        private boolean truncated;
+
+        void add(long timestampMicros, long seq, long change) {
+            if (size == micros.length) {
+                micros = Arrays.copyOf(micros, size * 2);
+                changes = Arrays.copyOf(changes, size * 2);
+            }
+            micros[size] = timestampMicros;
+            changes[size] = change;
+            lastSeq = Math.max(lastSeq, seq);
+            size++;
+        }
+    }
+
+    private enum State { BUILDING, READY, SKIPPED, BROKEN, CLOSED }
+
+    /**
+     * Balance history of one wallet; also the subscriber of the wallet's events
+     */
+    private final class Entry implements Consumer<WalletEvent> {
+        private final UUID walletId;
+        private final long createdAtMillis;
+        private final TreeMap<Long, WalletEvent> pending = new TreeMap<>();
+        private State state = State.BUILDING;
+        private long brokenAtMillis;
+        private long checkedAtMillis;
+        // Sequence counter seen by the last check that found the entry behind it; answers wait for it
+        private long behindUntilSeq;
+        private long[] micros = new long[0];
+        private long[] balances = new long[0];
+        private int size;
+        private long lastSeq;
+        private long bytes;
+
+        Entry(UUID walletId, long createdAtMillis) {
+            this.walletId = walletId;
+            this.createdAtMillis = createdAtMillis;
+            this.checkedAtMillis = createdAtMillis;
+        }
+
+        /**
+         * Entries are rebuilt after the maximum age; broken entries are kept, answering nothing,
+         * until the rebuild delay has passed
+         */
+        synchronized boolean isReusable(long nowMillis) {
+            if (state == State.BROKEN) {
+                return nowMillis - brokenAtMillis < rebuildDelayMillis;
+            }
+            return nowMillis - createdAtMillis < maxAgeMillis;
+        }
+
+        synchronized boolean isCheckDue(long nowMillis) {
+            return state == State.READY && nowMillis - checkedAtMillis >= freshnessCheckMillis;
+        }
+
+        /**
+         * Records the wallet's sequence counter read by a freshness check
+         *
+         * @return Whether the entry has applied every committed transaction
+         */
+        synchronized boolean verify(Long committedSeq, long nowMillis) {
+            checkedAtMillis = nowMillis;
+            if (state != State.READY) {
+                return false;
+            }
+            if (committedSeq == null || committedSeq <= lastSeq) {
+                behindUntilSeq = 0;
+                return true;
+            }
+            if (behindUntilSeq > lastSeq) {
+                // Still missing transactions counted by the previous check: their events were lost
+                markBroken();
+            } else {
+                behindUntilSeq = committedSeq;
+            }
+            return false;
+        }
+
+        synchronized Long balanceAt(long atMicros) {
+            // Held-back events are committed transactions not applied yet
+            if (state != State.READY || !pending.isEmpty() || behindUntilSeq > lastSeq) {
+                return null;
+            }
+            int position = upperBound(atMicros);
+            return position == 0 ? 0L : balances[position - 1];
+        }
+
+        synchronized void load(Scan scan) {
+            if (state != State.BUILDING) {
+                return;
+            }
+            if (scan.truncated) {
+                // Too large to index: answered by the database until the entry expires
+                release(State.SKIPPED);
+                return;
+            }
+            micros = Arrays.copyOf(scan.micros, scan.size);
+            balances = new long[scan.size];
+            long balance = 0;
+            for (int i = 0; i < scan.size; i++) {
+                balance += scan.changes[i];
+                balances[i] = balance;
+            }
+            size = scan.size;
+            lastSeq = scan.lastSeq;
+            state = State.READY;
+            resize(micros.length);
+            drainPending();
+        }
+
+        synchronized void fail() {
+            if (state == State.BUILDING) {
+                release(State.BROKEN);
+            }
+        }
+
+        synchronized void close() {
+            release(State.CLOSED);
+        }
+
+        @Override
+        public synchronized void accept(WalletEvent event) {
+            if (state != State.BUILDING && state != State.READY) {
+                return;
+            }
+            if (event.getSeq() == null || event.getType() == null || event.getAmount() == null || event.getTimestamp() == null) {
+                markBroken();
+                return;
+            }
+            pending.put(event.getSeq(), event);
+            if (state == State.READY) {
+                try {
+                    drainPending();
+                } catch (RuntimeException e) {
+                    markBroken();
+                }
+            }
+        }
+
+        private void drainPending() {
+            while (!pending.isEmpty() && pending.firstKey() <= lastSeq + 1) {
+                WalletEvent event = pending.pollFirstEntry().getValue();
+                if (event.getSeq() == lastSeq + 1) {
+                    append(event);
+                }
+            }
+            if (pending.size() > MAX_PENDING_EVENTS) {
+                markBroken();
+            }
+        }
+
+        private void append(WalletEvent event) {
+            long change = signedMinorUnits(event.getType(), event.getAmount());
+            long atMicros = toMicros(event.getTimestamp());
+            if (size == micros.length) {
+                int capacity = Math.max(16, size * 2);
+                micros = Arrays.copyOf(micros, capacity);
+                balances = Arrays.copyOf(balances, capacity);
+                resize(capacity);
+            }
+            // Transactions are stamped before they take the wallet lock, so one can commit
+            // after a later-stamped one; it is inserted at its place and shifts the balances after it
+            int position = upperBound(atMicros);
+            System.arraycopy(micros, position, micros, position + 1, size - position);
+            System.arraycopy(balances, position, balances, position + 1, size - position);
+            micros[position] = atMicros;
+            balances[position] = (position == 0 ? 0L : balances[position - 1]) + change;
+            for (int i = position + 1; i <= size; i++) {
+                balances[i] += change;
+            }
+            size++;
+            lastSeq = event.getSeq();
+        }
+
+        private void markBroken() {
+            log.debug("Balance index of wallet {} lost track of its events; rebuilding after {} ms", walletId, rebuildDelayMillis);
+            release(State.BROKEN);
+        }
+
+        private void release(State finalState) {
+            state = finalState;
+            if (finalState == State.BROKEN) {
+                brokenAtMillis = clock.millis();
+            }
+            pending.clear();
+            micros = new long[0];
+            balances = new long[0];
+            size = 0;
+            resize(0);
+            walletEventBus.unsubscribe(walletId, this);
+        }
+
+        // Position of the first transaction after the given instant
+        private int upperBound(long atMicros) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (micros[middle] <= atMicros) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private void resize(int capacity) {
+            long newBytes = (long) capacity * BYTES_PER_TRANSACTION;
+            totalBytes.addAndGet(newBytes - bytes);
+            bytes = newBytes;
+        }
+    }
+}
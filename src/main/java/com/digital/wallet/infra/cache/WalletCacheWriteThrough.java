@@ -0,0 +1,167 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.ports.out.WalletCacheWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.*;
+
+/**
+ * Writes the committed state of a wallet into the {@code wallet-single} region after each
+ * balance change, so the read that usually follows a write is served from the cache.
+ * <p>
+ * Every entry is stored together with the sequence of the transaction that produced it, and a
+ * Redis script only replaces it with a higher sequence: two writes of a wallet that commit in
+ * one order and reach the cache in the other cannot bring back the older balance. The local tier
+ * of this node is refreshed and the other nodes drop theirs.
+ * The version key is written with the entry and touched by every write, so Redis evicts it long
+ * after the writes it orders have reached the cache; a key evicted anyway lets the next write
+ * replace the entry whatever its sequence, as an entry loaded by a read does.
+ * <p>
+ * The write runs before the other after-commit callbacks of the transaction, in particular before
+ * the wallet version is bumped: a client that sees the new ETag or event and reads the wallet
+ * again finds the new balance in the cache.
+ * <p>
+ * With write-through disabled, without a version or when the region is not kept in Redis, the wallet
+ * is evicted after commit instead, as before.
+ */
+@Component
+@Slf4j
+public class WalletCacheWriteThrough implements WalletCacheWriter {
+
+    static final String REGION = "wallet-single";
+
+    // KEYS: entry, version; ARGV: version, value, TTL in milliseconds (0 = no expiry)
+    static final String WRITE_SCRIPT = """
+            local current = tonumber(redis.call('get', KEYS[2]) or '0')
+            if tonumber(ARGV[1]) <= current then return 0 end
+            local ttl = tonumber(ARGV[3])
+            if ttl > 0 then
+              redis.call('set', KEYS[1], ARGV[2], 'PX', ttl)
+              redis.call('set', KEYS[2], ARGV[1], 'PX', ttl)
+            else
+              redis.call('set', KEYS[1], ARGV[2])
+              redis.call('set', KEYS[2], ARGV[1])
+            end
+            return 1""";
+
+    private static final byte[] WRITE_SCRIPT_BYTES = WRITE_SCRIPT.getBytes(StandardCharsets.UTF_8);
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final Counter written;
+    private final Counter stale;
+    private final Counter evicted;
+
+    public WalletCacheWriteThrough(CacheManager cacheManager,
+                                   StringRedisTemplate redisTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.cache.wallet-single.write-through.enabled:true}") boolean enabled) {
+        this.cacheManager = cacheManager;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.written = writes(meterRegistry, "written");
+        this.stale = writes(meterRegistry, "stale");
+        this.evicted = writes(meterRegistry, "evicted");
+    }
+
+    @Override
+    public void putAfterCommit(Wallet wallet, Long version) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    // The event publisher registers first; ordering puts this write ahead of its version bump
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCommit() {
+                    write(wallet, version);
+                }
+            });
+        } else {
+            write(wallet, version);
+        }
+    }
+
+    void write(Wallet wallet, Long version) {
+        Cache cache = cacheManager.getCache(REGION);
+        if (cache == null) {
+            return;
+        }
+        RedisCache redisCache = TieredCache.redisTier(cache);
+        RedisCacheConfiguration configuration = redisCache != null ? redisCache.getCacheConfiguration() : null;
+
+        try {
+            if (!enabled || version == null || configuration == null) {
+                cache.evict(wallet.getId());
+                evicted.increment();
+                return;
+            }
+
+            if (writeRemote(configuration, wallet, version)) {
+                if (cache instanceof TieredCache tieredCache) {
+                    tieredCache.putLocal(wallet.getId(), wallet);
+                }
+                written.increment();
+            } else {
+                // A newer balance is already cached; only this node's copy may be older
+                if (cache instanceof TieredCache tieredCache) {
+                    tieredCache.invalidateLocal(wallet.getId().toString());
+                }
+                stale.increment();
+            }
+        } catch (Exception e) {
+            log.warn("Could not write wallet {} to the cache, it expires on its own: {}", wallet.getId(), e.getMessage());
+            if (cache instanceof TieredCache tieredCache) {
+                tieredCache.invalidateLocal(wallet.getId().toString());
+            }
+        }
+    }
+
+    private boolean writeRemote(RedisCacheConfiguration configuration, Wallet wallet, long version) {
+        // Same key and value layout as the entries RedisCache writes for the region
+        String entryKey = configuration.getKeyPrefixFor(REGION) + wallet.getId();
+        byte[] value = ByteUtils.getBytes(configuration.getValueSerializationPair().write(wallet));
+        Duration ttl = configuration.getTtlFunction().getTimeToLive(wallet.getId(), wallet);
+        long ttlMillis = ttl != null && !ttl.isNegative() ? ttl.toMillis() : 0;
+
+        Long result = redisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands().eval(
+                WRITE_SCRIPT_BYTES, ReturnType.INTEGER, 2,
+                bytes(entryKey), bytes(entryKey + ":version"),
+                bytes(String.valueOf(version)), value, bytes(String.valueOf(ttlMillis))));
+        return result != null && result == 1L;
+    }
+
+    private Counter writes(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(CACHE_WRITE_THROUGH)
+                .tag(TAG_CACHE, REGION)
+                .tag(TAG_RESULT, result)
+                .description("Committed wallet balances written to the cache, skipped as older than the cached one, or evicted")
+                .register(meterRegistry);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
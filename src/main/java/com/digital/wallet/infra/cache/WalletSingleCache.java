@@ -0,0 +1,52 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.ports.out.WalletCache;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Wallets of the {@code wallet-single} region, the same entries the wallet lookups and the
+ * write-through keep
+ */
+@Component
+public class WalletSingleCache implements WalletCache {
+
+    static final String REGION = "wallet-single";
+
+    private final CacheManager cacheManager;
+
+    public WalletSingleCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Map<UUID, Wallet> findAllById(Collection<UUID> walletIds) {
+        Cache cache = cacheManager.getCache(REGION);
+        Map<UUID, Wallet> wallets = new HashMap<>();
+        if (cache == null) {
+            return wallets;
+        }
+        for (UUID walletId : walletIds) {
+            Wallet cached = cache.get(walletId, Wallet.class);
+            if (cached != null) {
+                wallets.put(walletId, cached);
+            }
+        }
+        return wallets;
+    }
+
+    @Override
+    public void putIfAbsent(Wallet wallet) {
+        Cache cache = cacheManager.getCache(REGION);
+        if (cache != null) {
+            cache.putIfAbsent(wallet.getId(), wallet);
+        }
+    }
+}
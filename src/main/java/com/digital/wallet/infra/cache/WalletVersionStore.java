@@ -0,0 +1,137 @@
+package com.digital.wallet.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-wallet change version kept in Redis and shared by every node.
+ *
+ * The version is bumped after each committed write to the wallet (see WalletEventPublisher) and drives the strong ETags of
+ * the balance and history endpoints, so a conditional GET is answered with a single Redis read
+ * instead of loading the wallet or its transactions.
+ * Versions of new keys start at the current time in milliseconds, so a version that expired or
+ * was lost by Redis never restarts at a value a client may still hold in an ETag. Versions are
+ * only created for wallets that exist.
+ */
+@Component
+@Slf4j
+public class WalletVersionStore {
+
+    /** Versions of wallets that are not polled expire; the next read starts a new, higher version */
+    static final Duration VERSION_TTL = Duration.ofDays(1);
+
+    // Increments the version, or starts a missing one at ARGV[1], and renews its TTL in one step,
+    // so concurrent bumps never repeat a version or move it backwards
+    static final RedisScript<Long> BUMP_SCRIPT = new DefaultRedisScript<>(
+            "local v = redis.call('incr', KEYS[1]) "
+            + "if v == 1 then redis.call('set', KEYS[1], ARGV[1]) v = tonumber(ARGV[1]) end "
+            + "redis.call('pexpire', KEYS[1], ARGV[2]) "
+            + "return v",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+
+    public WalletVersionStore(
+            StringRedisTemplate redisTemplate,
+            @Value("${spring.application.name}") String applicationName) {
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = applicationName + ":wallet-version:";
+    }
+
+    /**
+     * Returns the current version of a wallet without creating it, so lookups of unknown
+     * wallet ids leave nothing behind in Redis
+     *
+     * @param walletId Wallet ID
+     * @return Current version, or empty when the wallet has none yet or Redis is unavailable
+     */
+    public Optional<String> currentVersion(UUID walletId) {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(key(walletId)));
+        } catch (Exception e) {
+            log.warn("Could not read version of wallet {}: {}", walletId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Starts the version of a wallet that has none, so its next reads can carry an ETag.
+     * Only called for wallets that were found in the database; a version bumped meanwhile is kept.
+     *
+     * @param walletId Wallet ID
+     */
+    public void initVersion(UUID walletId) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(key(walletId), String.valueOf(System.currentTimeMillis()), VERSION_TTL);
+        } catch (Exception e) {
+            log.warn("Could not start version of wallet {}: {}", walletId, e.getMessage());
+        }
+    }
+
+    /**
+     * Builds a strong ETag for a representation of a wallet from its current version.
+     * The version must be read before the representation is loaded, so the ETag is never
+     * newer than the data it is sent with.
+     *
+     * @param walletId Wallet ID
+     * @param variant Values that select the representation, e.g. query parameters
+     * @return ETag value, or empty when the wallet has no version yet or Redis is unavailable
+     */
+    public Optional<String> etag(UUID walletId, String... variant) {
+        return currentVersion(walletId).map(version -> variant.length == 0
+                ? "\"" + version + "\""
+                : "\"" + version + "-" + digest(variant) + "\"");
+    }
+
+    /**
+     * Bumps the version of a wallet. Called once the write to the wallet has committed.
+     *
+     * @param walletId Wallet ID
+     * @return New version, or empty when Redis is unavailable
+     */
+    public Optional<Long> bump(UUID walletId) {
+        try {
+            // A missing key starts past any version handed out before it was lost
+            return Optional.ofNullable(redisTemplate.execute(BUMP_SCRIPT, List.of(key(walletId)),
+                    String.valueOf(System.currentTimeMillis()), String.valueOf(VERSION_TTL.toMillis())));
+        } catch (Exception e) {
+            log.warn("Could not bump version of wallet {}: {}", walletId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private String key(UUID walletId) {
+        return keyPrefix + walletId;
+    }
+
+    /**
+     * SHA-256 of the variant values, each prefixed with its length so that different splits of
+     * the same characters never produce the same input
+     */
+    static String digest(String... variant) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (String value : variant) {
+                String part = value != null ? value : "";
+                sha256.update((part.length() + ":" + part).getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.digital.wallet.infra.concurrency;
+
+import io.opentelemetry.context.Context;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the independent lookups of a request concurrently on virtual threads.
+ * <p>
+ * Each {@link Scope} behaves like a structured task scope that shuts down on failure:
+ * the first failing subtask cancels the others and its exception is rethrown to the
+ * caller, and closing the scope cancels whatever is still running. Subtasks inherit
+ * the OpenTelemetry context and the MDC of the request thread, so their spans and
+ * log lines stay attached to the request trace.
+ */
+@Component
+public class RequestFanOut {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMillis;
+
+    public RequestFanOut(@Value("${app.fan-out.timeout-ms:10000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Opens a scope for the subtasks of one request; use it in a try-with-resources block
+     */
+    public Scope open() {
+        return new Scope();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final List<Future<?>> subtasks = new ArrayList<>();
+        private final BlockingQueue<Future<?>> completed = new LinkedBlockingQueue<>();
+
+        private Scope() {
+        }
+
+        /**
+         * Starts a subtask with the trace context and MDC of the calling thread
+         */
+        public <T> Future<T> fork(Callable<T> task) {
+            Callable<T> traced = Context.current().wrap(withMdc(task));
+            FutureTask<T> subtask = new FutureTask<>(traced) {
+                @Override
+                protected void done() {
+                    completed.add(this);
+                }
+            };
+            subtasks.add(subtask);
+            executor.execute(subtask);
+            return subtask;
+        }
+
+        /**
+         * Waits for every subtask. The first failure cancels the remaining subtasks and is rethrown.
+         *
+         * @throws IllegalStateException if the subtasks time out or the calling thread is interrupted
+         */
+        public void join() {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            try {
+                for (int i = 0; i < subtasks.size(); i++) {
+                    Future<?> subtask = completed.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (subtask == null) {
+                        throw new IllegalStateException("Request lookups did not complete within " + timeoutMillis + " ms");
+                    }
+                    rethrowFailure(subtask);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for request lookups", e);
+            } finally {
+                cancelPending();
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelPending();
+        }
+
+        private void cancelPending() {
+            for (Future<?> subtask : subtasks) {
+                subtask.cancel(true);
+            }
+        }
+
+        private void rethrowFailure(Future<?> subtask) {
+            try {
+                subtask.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reading request lookup", e);
+            }
+        }
+    }
+
+    private static <T> Callable<T> withMdc(Callable<T> task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                return task.call();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        };
+    }
+}
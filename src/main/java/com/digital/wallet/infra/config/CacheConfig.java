@@ -1,20 +1,38 @@
 package com.digital.wallet.infra.config;
 
+import com.digital.wallet.infra.cache.CacheDeserializationErrorHandler;
+import com.digital.wallet.infra.cache.CacheInvalidationRelay;
+import com.digital.wallet.infra.cache.CacheLoadLock;
+import com.digital.wallet.infra.cache.ClosedHistoryRedisConnection;
+import com.digital.wallet.infra.cache.CompactCacheSerializer;
+import com.digital.wallet.infra.cache.MeteredRedisSerializer;
+import com.digital.wallet.infra.cache.TieredRedisCacheManager;
+import com.digital.wallet.infra.cache.TieredRedisCacheManager.LocalTier;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Redis Cache Configuration for distributed caching following industry best practices
@@ -24,11 +42,20 @@ import java.util.Map;
  * - Hierarchical key naming (namespace:entity:operation:version)
  * - Appropriate TTLs for financial data
  * - Consistent cache region naming
- * - JDK serialization for reliability
+ * - Compact binary serialization of the cached domain types, JDK serialization for any other value
+ * - Hit/miss statistics and entry size metrics per cache region
+ * - A local in-process tier for results that can never change, and a Redis instance of their own
+ * - A short-lived local tier for wallets, invalidated across nodes through Redis pub/sub
+ * - Entries that cannot be deserialized are treated as misses
  */
 @Configuration
 @EnableCaching
-public class CacheConfig {
+public class CacheConfig implements CachingConfigurer {
+
+    /**
+     * Region of results over settled time ranges (balances at past instants, closed history ranges)
+     */
+    public static final String CLOSED_HISTORY_CACHE = "wallet-history-closed";
 
     @Value("${spring.application.name}")
     private String applicationName;
@@ -54,46 +81,130 @@ public class CacheConfig {
     
     @Value("${app.cache.ttl.user-profile}")
     private int userProfileTtlMinutes;
+    
+    @Value("${app.cache.history.local-max-entries:10000}")
+    private long historyLocalMaxEntries;
+    
+    @Value("${app.cache.compression.threshold-bytes:1024}")
+    private int compressionThresholdBytes;
+    
+    @Value("${app.cache.local.max-entries:10000}")
+    private long walletLocalMaxEntries;
+    
+    @Value("${app.cache.local.ttl-seconds:5}")
+    private int walletLocalTtlSeconds;
 
     /**
      * Configure Redis Cache Manager with industry best practices
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        // Use JDK serialization for reliable serialization/deserialization
-        JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     ClosedHistoryRedisConnection closedHistoryRedis,
+                                     MeterRegistry meterRegistry,
+                                     Optional<CacheInvalidationRelay> invalidationRelay,
+                                     Optional<CacheLoadLock> loadLock) {
+        // Compact layout for wallets, users and transactions; JDK serialization for anything else
+        // and for entries written before the compact layout existed
+        RedisSerializer<Object> valueSerializer = new CompactCacheSerializer(
+                new JdkSerializationRedisSerializer(), compressionThresholdBytes);
         
-        // Default cache configuration with configurable TTL for financial data
+        // Default cache configuration with configurable TTL for financial data; the key prefix carries
+        // the layout version of the values, so entries written by a release with other layouts are not read
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(defaultTtlMinutes))
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(jdkSerializer))
+                        .fromSerializer(valueSerializer))
                 .disableCachingNullValues()
-                .computePrefixWith(cacheName -> applicationName + ":" + cacheName + ":" + cacheVersion + ":");
+                .computePrefixWith(cacheName -> applicationName + ":" + cacheName + ":" + cacheVersion
+                        + "-" + CompactCacheSerializer.LAYOUT_VERSION + ":");
 
         // Custom cache configurations following financial industry standards
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
         
         // Wallet list cache - configurable TTL for financial data consistency
-        cacheConfigurations.put("wallet-list", defaultConfig.entryTtl(Duration.ofMinutes(walletListTtlMinutes)));
+        cacheConfigurations.put("wallet-list", regionConfig(defaultConfig, valueSerializer, meterRegistry,
+                "wallet-list", Duration.ofMinutes(walletListTtlMinutes)));
         
         // Individual wallet cache - configurable TTL for balance accuracy
-        cacheConfigurations.put("wallet-single", defaultConfig.entryTtl(Duration.ofMinutes(walletSingleTtlMinutes)));
+        cacheConfigurations.put("wallet-single", regionConfig(defaultConfig, valueSerializer, meterRegistry,
+                "wallet-single", Duration.ofMinutes(walletSingleTtlMinutes)));
         
         // Balance cache - configurable TTL for critical financial data
-        cacheConfigurations.put("wallet-balance", defaultConfig.entryTtl(Duration.ofSeconds(walletBalanceSeconds)));
+        cacheConfigurations.put("wallet-balance", regionConfig(defaultConfig, valueSerializer, meterRegistry,
+                "wallet-balance", Duration.ofSeconds(walletBalanceSeconds)));
         
-        // Transaction history cache - configurable TTL as historical data changes less
-        cacheConfigurations.put("wallet-transactions", defaultConfig.entryTtl(Duration.ofMinutes(walletTransactionsTtlMinutes)));
+        // Transaction history cache - the latest page is evicted on every write, so the TTL only
+        // bounds how long unused pages stay in Redis
+        cacheConfigurations.put("wallet-transactions", regionConfig(defaultConfig, valueSerializer, meterRegistry,
+                "wallet-transactions", Duration.ofMinutes(walletTransactionsTtlMinutes)));
         
         // User profile cache - configurable TTL for relatively static data
-        cacheConfigurations.put("user-profile", defaultConfig.entryTtl(Duration.ofMinutes(userProfileTtlMinutes)));
+        cacheConfigurations.put("user-profile", regionConfig(defaultConfig, valueSerializer, meterRegistry,
+                "user-profile", Duration.ofMinutes(userProfileTtlMinutes)));
+        
+        // Settled history results never change, so they have no TTL and are only evicted by size:
+        // by entry count in the local tier, and by the maxmemory of their own Redis instance, where
+        // allkeys-lru cannot reach the keys of the main instance
+        cacheConfigurations.put(CLOSED_HISTORY_CACHE, regionConfig(defaultConfig, valueSerializer, meterRegistry,
+                CLOSED_HISTORY_CACHE, Duration.ZERO));
+
+        // Clearing a region (wallet-list pages on wallet creation) scans its keys instead of a blocking KEYS
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000))
+                .withStatisticsCollector(CacheStatisticsCollector.create());
+        RedisCacheWriter closedHistoryWriter = RedisCacheWriter.nonLockingRedisCacheWriter(
+                        closedHistoryRedis.getConnectionFactory(), BatchStrategies.scan(1000))
+                .withStatisticsCollector(CacheStatisticsCollector.create());
+        
+        // Wallet reads are served from memory for a few seconds; other nodes drop their copy
+        // as soon as a wallet is written, so the TTL only bounds staleness when a message is lost
+        Duration walletLocalTtl = Duration.ofSeconds(walletLocalTtlSeconds);
+        Map<String, LocalTier> localTiers = Map.of(
+                "wallet-single", LocalTier.expiring(walletLocalMaxEntries, walletLocalTtl),
+                "wallet-list", LocalTier.expiring(walletLocalMaxEntries, walletLocalTtl),
+                CLOSED_HISTORY_CACHE, LocalTier.immutable(historyLocalMaxEntries));
+
+        // Concurrent misses of a wallet or page load it once per node; with the distributed
+        // single-flight lock enabled, once across all nodes
+        return new TieredRedisCacheManager(cacheWriter, Map.of(CLOSED_HISTORY_CACHE, closedHistoryWriter),
+                defaultConfig, cacheConfigurations, localTiers, meterRegistry, invalidationRelay.orElse(null), loadLock.orElse(null));
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultConfig)
-                .withInitialCacheConfigurations(cacheConfigurations)
-                .build();
+    /**
+     * Cache error handler of the caching annotations: an entry that cannot be deserialized
+     * is evicted and read as a miss, any other error is rethrown
+     */
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new CacheDeserializationErrorHandler();
+    }
+
+    /**
+     * Redis pub/sub subscription that drops local cache entries written by other nodes
+     */
+    @Bean
+    @ConditionalOnProperty(value = "app.cache.local.invalidation.enabled", havingValue = "true")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                           CacheInvalidationRelay relay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(relay, new ChannelTopic(relay.getChannel()));
+        return container;
+    }
+
+    /**
+     * Builds the configuration of a cache region with its own TTL and a serializer
+     * that reports the size of the region entries
+     */
+    private RedisCacheConfiguration regionConfig(RedisCacheConfiguration defaultConfig,
+                                                 RedisSerializer<Object> valueSerializer,
+                                                 MeterRegistry meterRegistry,
+                                                 String cacheName,
+                                                 Duration ttl) {
+        return defaultConfig
+                .entryTtl(ttl)
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new MeteredRedisSerializer(valueSerializer, cacheName, meterRegistry)));
     }
 }
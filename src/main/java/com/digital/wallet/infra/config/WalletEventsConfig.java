@@ -0,0 +1,27 @@
+package com.digital.wallet.infra.config;
+
+import com.digital.wallet.infra.events.WalletEventRedisRelay;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Redis pub/sub subscription that feeds wallet events published by any node
+ * into the event bus of this node
+ */
+@Configuration
+@ConditionalOnProperty(value = "app.events.redis-fanout.enabled", havingValue = "true")
+public class WalletEventsConfig {
+
+    @Bean
+    public RedisMessageListenerContainer walletEventListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                      WalletEventRedisRelay relay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(relay, new ChannelTopic(relay.getChannel()));
+        return container;
+    }
+}
@@ -0,0 +1,29 @@
+package com.digital.wallet.infra.events;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Change of a wallet pushed to event stream subscribers: a committed transaction and the
+ * wallet balance after it. The id is the wallet version the change produced, so clients
+ * can resume a stream from the last event they received.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WalletEvent {
+    private Long id;
+    private UUID walletId;
+    private BigDecimal balance;
+    private UUID transactionId;
+    private Long seq;
+    private String type;
+    private BigDecimal amount;
+    private LocalDateTime timestamp;
+    private UUID relatedUserId;
+}
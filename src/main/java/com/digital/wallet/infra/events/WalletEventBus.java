@@ -0,0 +1,153 @@
+package com.digital.wallet.infra.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe bus for wallet events.
+ *
+ * Every node dispatches every event it receives (locally or through the Redis relay) to the
+ * subscribers of the wallet on that node and keeps the most recent events of each wallet,
+ * so a reconnecting subscriber can resume from the last event id it saw.
+ * Subscribers are callbacks, not threads, so idle subscriptions cost only their registration.
+ * <p>
+ * A wallet gets a channel and a replay buffer on its first subscription; events of wallets
+ * nobody on this node has subscribed to are dropped without allocating anything. The channel
+ * outlives its last subscriber for the replay window, which is what reconnecting clients need.
+ */
+@Component
+@Slf4j
+public class WalletEventBus {
+
+    private final Map<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final int replaySize;
+    private final long replayWindowMillis;
+
+    public WalletEventBus(
+            @Value("${app.events.replay-size:100}") int replaySize,
+            @Value("${app.events.replay-window-seconds:300}") long replayWindowSeconds) {
+        this.replaySize = replaySize;
+        this.replayWindowMillis = replayWindowSeconds * 1000;
+    }
+
+    /**
+     * Subscribes to the events of a wallet. Buffered events newer than the given id are
+     * delivered first, atomically with the registration, so no event is missed in between.
+     *
+     * @param walletId Wallet ID
+     * @param lastEventId Id of the last event the subscriber received, or null for live events only
+     * @param subscriber Callback invoked for each event
+     */
+    public void subscribe(UUID walletId, Long lastEventId, Consumer<WalletEvent> subscriber) {
+        while (!channel(walletId).subscribe(lastEventId, subscriber)) {
+            // The channel was purged concurrently; retry on a fresh one
+        }
+    }
+
+    public void unsubscribe(UUID walletId, Consumer<WalletEvent> subscriber) {
+        Channel channel = channels.get(walletId);
+        if (channel != null) {
+            channel.unsubscribe(subscriber);
+        }
+    }
+
+    /**
+     * Buffers an event and delivers it to the subscribers of its wallet on this node.
+     * Events of wallets without a channel are dropped.
+     */
+    public void dispatch(WalletEvent event) {
+        List<Consumer<WalletEvent>> subscribers;
+        do {
+            Channel channel = channels.get(event.getWalletId());
+            if (channel == null) {
+                return;
+            }
+            subscribers = channel.append(event);
+        } while (subscribers == null);
+        for (Consumer<WalletEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (Exception e) {
+                log.debug("Dropping wallet event subscriber after delivery failure: {}", e.getMessage());
+                unsubscribe(event.getWalletId(), subscriber);
+            }
+        }
+    }
+
+    /**
+     * Drops the buffers of wallets without subscribers whose last event left the replay window
+     */
+    @Scheduled(fixedDelayString = "${app.events.purge-interval-ms:60000}")
+    public void purgeIdleChannels() {
+        long cutoff = System.currentTimeMillis() - replayWindowMillis;
+        channels.forEach((walletId, channel) -> {
+            if (channel.closeIfIdleSince(cutoff)) {
+                channels.remove(walletId, channel);
+            }
+        });
+    }
+
+    private Channel channel(UUID walletId) {
+        return channels.computeIfAbsent(walletId, id -> new Channel());
+    }
+
+    int channelCount() {
+        return channels.size();
+    }
+
+    private final class Channel {
+        private final Deque<WalletEvent> recent = new ArrayDeque<>();
+        private final Set<Consumer<WalletEvent>> subscribers = new LinkedHashSet<>();
+        private long lastEventAt = System.currentTimeMillis();
+        private boolean closed;
+
+        synchronized boolean subscribe(Long lastEventId, Consumer<WalletEvent> subscriber) {
+            if (closed) {
+                return false;
+            }
+            if (lastEventId != null) {
+                for (WalletEvent event : recent) {
+                    if (event.getId() != null && event.getId() > lastEventId) {
+                        subscriber.accept(event);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+            return true;
+        }
+
+        synchronized void unsubscribe(Consumer<WalletEvent> subscriber) {
+            subscribers.remove(subscriber);
+        }
+
+        synchronized List<Consumer<WalletEvent>> append(WalletEvent event) {
+            if (closed) {
+                return null;
+            }
+            recent.addLast(event);
+            while (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            lastEventAt = System.currentTimeMillis();
+            return new ArrayList<>(subscribers);
+        }
+
+        synchronized boolean closeIfIdleSince(long cutoff) {
+            closed = subscribers.isEmpty() && lastEventAt < cutoff;
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.digital.wallet.infra.events;
+
+import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.infra.cache.WalletVersionStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+/**
+ * Publishes a wallet event for each committed transaction.
+ *
+ * After the database transaction commits, the cached latest history page of the wallet is
+ * evicted, then the wallet version is bumped (invalidating the ETags of the balance and history
+ * endpoints) and the event, identified by the new version, is sent through the Redis relay to
+ * every node, or dispatched locally when the relay is disabled. Rolled back writes publish nothing.
+ * <p>
+ * Evicting after commit means a concurrent read cannot cache the page as it was before the
+ * write, and evicting before the bump means no read can pair the new version with the old page.
+ */
+@Component
+@Slf4j
+public class WalletEventPublisher {
+
+    static final String HISTORY_CACHE = "wallet-transactions";
+
+    private final WalletVersionStore walletVersionStore;
+    private final WalletEventBus walletEventBus;
+    private final ObjectProvider<WalletEventRedisRelay> redisRelay;
+    private final CacheManager cacheManager;
+
+    public WalletEventPublisher(WalletVersionStore walletVersionStore,
+                                WalletEventBus walletEventBus,
+                                ObjectProvider<WalletEventRedisRelay> redisRelay,
+                                CacheManager cacheManager) {
+        this.walletVersionStore = walletVersionStore;
+        this.walletEventBus = walletEventBus;
+        this.redisRelay = redisRelay;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Publishes the event of a transaction once the current database transaction commits,
+     * or immediately when no transaction is active
+     *
+     * @param transaction Created transaction
+     * @param balance Wallet balance this transaction commits
+     */
+    public void publishAfterCommit(Transaction transaction, BigDecimal balance) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(transaction, balance);
+                }
+            });
+        } else {
+            publish(transaction, balance);
+        }
+    }
+
+    void publish(Transaction transaction, BigDecimal balance) {
+        evictLatestHistoryPage(transaction);
+        try {
+            Long version = walletVersionStore.bump(transaction.getWalletId()).orElse(null);
+            WalletEvent event = WalletEvent.builder()
+                    .id(version)
+                    .walletId(transaction.getWalletId())
+                    .balance(balance)
+                    .transactionId(transaction.getId())
+                    .seq(transaction.getSeq())
+                    .type(transaction.getType() != null ? transaction.getType().toString() : null)
+                    .amount(transaction.getAmount())
+                    .timestamp(transaction.getTimestamp())
+                    .relatedUserId(transaction.getRelatedUserId())
+                    .build();
+
+            WalletEventRedisRelay relay = redisRelay.getIfAvailable();
+            if (relay != null) {
+                relay.send(event);
+            } else {
+                walletEventBus.dispatch(event);
+            }
+        } catch (Exception e) {
+            log.warn("Could not publish event of transaction {}: {}", transaction.getId(), e.getMessage());
+        }
+    }
+
+    private void evictLatestHistoryPage(Transaction transaction) {
+        try {
+            Cache cache = cacheManager.getCache(HISTORY_CACHE);
+            if (cache != null) {
+                cache.evict(transaction.getWalletId() + ":latest");
+            }
+        } catch (Exception e) {
+            log.warn("Could not evict latest history page of wallet {}, it expires on its own: {}",
+                    transaction.getWalletId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.digital.wallet.infra.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fans wallet events out to every node through a Redis pub/sub channel.
+ * Each node, including the publisher, receives the event and dispatches it to its own subscribers.
+ * When Redis cannot be reached the event is still dispatched to the subscribers of this node.
+ */
+@Component
+@ConditionalOnProperty(value = "app.events.redis-fanout.enabled", havingValue = "true")
+@Slf4j
+public class WalletEventRedisRelay implements MessageListener {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final WalletEventBus walletEventBus;
+    private final String channel;
+
+    public WalletEventRedisRelay(StringRedisTemplate redisTemplate,
+                                 ObjectMapper objectMapper,
+                                 WalletEventBus walletEventBus,
+                                 @Value("${spring.application.name}") String applicationName) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.walletEventBus = walletEventBus;
+        this.channel = applicationName + ":wallet-events";
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Publishes an event to every node
+     */
+    public void send(WalletEvent event) {
+        try {
+            redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            log.warn("Could not relay wallet event {} through Redis, dispatching locally: {}", event.getId(), e.getMessage());
+            walletEventBus.dispatch(event);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            walletEventBus.dispatch(objectMapper.readValue(message.getBody(), WalletEvent.class));
+        } catch (Exception e) {
+            log.warn("Could not read wallet event from Redis: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.digital.wallet.infra.events;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Server-Sent Events streams of wallet events.
+ *
+ * Streams run on asynchronous servlet requests, so an idle stream holds no thread, and a single
+ * scheduled task sends the heartbeats that keep idle connections open through proxies.
+ * <p>
+ * Events are not written by the thread that dispatches them: each stream queues its events and
+ * a bounded pool of sender threads writes them in order, so a slow client never delays the
+ * dispatch of an event to the other streams. A stream whose queue fills up, or that cannot get
+ * a sender, is completed; its client reconnects and resumes from the Last-Event-ID it saw.
+ */
+@Component
+@Slf4j
+public class WalletEventStreams {
+
+    static final String EVENT_NAME = "wallet-change";
+
+    private final WalletEventBus walletEventBus;
+    private final long timeoutMillis;
+    private final int maxPendingEvents;
+    private final ExecutorService sender;
+    private final Map<SseEmitter, UUID> emitters = new ConcurrentHashMap<>();
+
+    public WalletEventStreams(
+            WalletEventBus walletEventBus,
+            @Value("${app.events.stream-timeout-ms:1800000}") long timeoutMillis,
+            @Value("${app.events.sender-threads:4}") int senderThreads,
+            @Value("${app.events.sender-queue-size:10000}") int senderQueueSize,
+            @Value("${app.events.max-pending-per-stream:256}") int maxPendingEvents) {
+        this.walletEventBus = walletEventBus;
+        this.timeoutMillis = timeoutMillis;
+        this.maxPendingEvents = Math.max(1, maxPendingEvents);
+        this.sender = newSender(Math.max(1, senderThreads), Math.max(1, senderQueueSize));
+    }
+
+    /**
+     * Opens a stream of the events of a wallet
+     *
+     * @param walletId Wallet ID
+     * @param lastEventId Last event id received by the client (Last-Event-ID header), or null
+     * @return Emitter bound to the request
+     */
+    public SseEmitter open(UUID walletId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Stream stream = new Stream(emitter);
+        Consumer<WalletEvent> subscriber = stream::enqueue;
+
+        Runnable close = () -> {
+            emitters.remove(emitter);
+            walletEventBus.unsubscribe(walletId, subscriber);
+        };
+        emitter.onCompletion(close);
+        emitter.onTimeout(close);
+        emitter.onError(error -> close.run());
+
+        emitters.put(emitter, walletId);
+        walletEventBus.subscribe(walletId, lastEventId, subscriber);
+        return emitter;
+    }
+
+    /**
+     * Sends a comment line to every open stream so idle connections are not dropped.
+     * Streams whose client went away are completed.
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        emitters.keySet().forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    int openStreams() {
+        return emitters.size();
+    }
+
+    private static ExecutorService newSender(int threads, int queueSize) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "wallet-event-sender-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Events of one stream waiting to be written. At most one sender drains a stream at a time,
+     * which keeps its events in order.
+     */
+    private final class Stream {
+        private final SseEmitter emitter;
+        private final Deque<WalletEvent> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(WalletEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= maxPendingEvents) {
+                    close(new IllegalStateException("Wallet event stream is not keeping up"));
+                    return;
+                }
+                pending.addLast(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    close(e);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                WalletEvent event;
+                synchronized (this) {
+                    event = closed ? null : pending.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    send(emitter, event);
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        close(e);
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+
+        // Called holding the lock of the stream
+        private void close(Exception cause) {
+            closed = true;
+            pending.clear();
+            log.debug("Closing wallet event stream: {}", cause.getMessage());
+            emitter.completeWithError(cause);
+        }
+    }
+
+    private static void send(SseEmitter emitter, WalletEvent event) throws IOException {
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(EVENT_NAME).data(event);
+        if (event.getId() != null) {
+            builder.id(String.valueOf(event.getId()));
+        }
+        emitter.send(builder);
+    }
+}
@@ -11,7 +11,7 @@ import java.time.Instant;
 
 /**
  * Custom health indicator for the Wallet Service.
- * Checks if the service is operating correctly by performing a lightweight fetch operation.
+ * Checks if the service is operating correctly by performing a lightweight count query.
  */
 @Component
 public class WalletServiceHealthIndicator implements HealthIndicator {
@@ -28,8 +28,8 @@ public class WalletServiceHealthIndicator implements HealthIndicator {
         try {
             Instant start = Instant.now();
             
-            // Fetch the first wallet as a lightweight operation to check service functionality
-            long walletCount = findAllWalletsUseCase.findAll().size();
+            // Count the wallets in the database as a lightweight operation to check service functionality
+            long walletCount = findAllWalletsUseCase.count();
             
             Duration duration = Duration.between(start, Instant.now());
             
@@ -0,0 +1,72 @@
+package com.digital.wallet.infra.jobs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Scheduled job that moves old transactions from the hot transactions table to the archive table.
+ * Each batch is moved by a single statement, so a transaction is always in exactly one of the
+ * tables and the hot table and its indexes only hold the recent working set. A transaction that
+ * is already in the archive fails its batch, and the whole statement is rolled back, instead of
+ * being deleted from the hot table without being archived.
+ */
+@Component
+@ConditionalOnProperty(value = "app.archive.transactions.enabled", havingValue = "true")
+@Slf4j
+public class TransactionArchiveJob {
+
+    static final String MOVE_BATCH_SQL =
+            "WITH batch AS ("
+            + " SELECT id, timestamp FROM transactions WHERE timestamp < ? ORDER BY timestamp LIMIT ?"
+            + "), moved AS ("
+            + " DELETE FROM transactions t USING batch b WHERE t.id = b.id AND t.timestamp = b.timestamp"
+            + " RETURNING t.id, t.wallet_id, t.amount, t.type, t.timestamp, t.related_user_id, t.seq"
+            + ") "
+            + "INSERT INTO transactions_archive (id, wallet_id, amount, type, timestamp, related_user_id, seq, archived_at) "
+            + "SELECT id, wallet_id, amount, type, timestamp, related_user_id, seq, NOW() FROM moved";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionArchivePolicy archivePolicy;
+    private final int batchSize;
+
+    public TransactionArchiveJob(
+            JdbcTemplate jdbcTemplate,
+            TransactionArchivePolicy archivePolicy,
+            @Value("${app.archive.transactions.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archivePolicy = archivePolicy;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archives every transaction older than the archive horizon, in batches.
+     * Runs daily by default.
+     *
+     * @return Number of transactions archived
+     */
+    @Scheduled(cron = "${app.archive.transactions.cron:0 30 3 * * *}")
+    public long archiveOldTransactions() {
+        LocalDateTime horizon = archivePolicy.archiveHorizon();
+        long archived = 0;
+
+        try {
+            int moved;
+            do {
+                moved = jdbcTemplate.update(MOVE_BATCH_SQL, Timestamp.valueOf(horizon), batchSize);
+                archived += moved;
+            } while (moved == batchSize);
+
+            log.info("Archived {} transactions older than {}", archived, horizon);
+        } catch (Exception e) {
+            log.error("Error archiving transactions after {} rows: {}", archived, e.getMessage(), e);
+        }
+        return archived;
+    }
+}
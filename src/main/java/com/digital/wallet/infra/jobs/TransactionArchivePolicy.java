@@ -0,0 +1,47 @@
+package com.digital.wallet.infra.jobs;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Defines which transactions belong to the archive tier.
+ * Only transactions older than the configured age are ever archived, so queries that
+ * start after the archive horizon can skip the archive table entirely.
+ */
+@Component
+public class TransactionArchivePolicy {
+
+    private final Clock clock;
+    private final int minAgeDays;
+
+    @Autowired
+    public TransactionArchivePolicy(@Value("${app.archive.transactions.min-age-days:90}") int minAgeDays) {
+        this(Clock.systemDefaultZone(), minAgeDays);
+    }
+
+    TransactionArchivePolicy(Clock clock, int minAgeDays) {
+        this.clock = clock;
+        this.minAgeDays = minAgeDays;
+    }
+
+    /**
+     * @return Instant before which transactions are eligible for archiving
+     */
+    public LocalDateTime archiveHorizon() {
+        return LocalDateTime.now(clock).minusDays(minAgeDays);
+    }
+
+    /**
+     * Checks if a query starting at the given instant may need archived transactions
+     *
+     * @param startDateTime Start of the queried period, or null for an unbounded start
+     * @return true if the archive must be consulted
+     */
+    public boolean mayContainArchived(LocalDateTime startDateTime) {
+        return startDateTime == null || startDateTime.isBefore(archiveHorizon());
+    }
+}
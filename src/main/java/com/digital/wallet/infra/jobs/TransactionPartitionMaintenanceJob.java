@@ -0,0 +1,95 @@
+package com.digital.wallet.infra.jobs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Scheduled job that keeps the monthly partitions of the transactions table in place.
+ * Partitions for the coming months are created ahead of time so inserts never fall into
+ * the default partition, and partitions older than the retention period can be detached.
+ * The rows of a detached partition are moved to the archive tier first, so reads that consult
+ * the archive keep seeing them. The partition DDL lives in database functions created by the
+ * V7 migration and redefined by V16.
+ */
+@Component
+@ConditionalOnProperty(value = "app.partitioning.transactions.enabled", havingValue = "true")
+@Slf4j
+public class TransactionPartitionMaintenanceJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionArchivePolicy archivePolicy;
+    private final Clock clock;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    @Autowired
+    public TransactionPartitionMaintenanceJob(
+            JdbcTemplate jdbcTemplate,
+            TransactionArchivePolicy archivePolicy,
+            @Value("${app.partitioning.transactions.months-ahead:3}") int monthsAhead,
+            @Value("${app.partitioning.transactions.retention-months:0}") int retentionMonths) {
+        this(jdbcTemplate, archivePolicy, Clock.systemDefaultZone(), monthsAhead, retentionMonths);
+    }
+
+    TransactionPartitionMaintenanceJob(JdbcTemplate jdbcTemplate, TransactionArchivePolicy archivePolicy, Clock clock,
+                                       int monthsAhead, int retentionMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archivePolicy = archivePolicy;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Ensures the partitions exist as soon as the application is ready to receive traffic.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        maintainPartitions();
+    }
+
+    /**
+     * Creates the partitions for the current and the next months and, when a retention
+     * period is configured, detaches the partitions that fall entirely before it. The cutoff never
+     * passes the archive horizon: queries starting after the horizon skip the archive, so rows
+     * moved there from a more recent partition would disappear from them.
+     * Runs daily by default.
+     */
+    @Scheduled(cron = "${app.partitioning.transactions.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        try {
+            LocalDate currentMonth = LocalDate.now(clock).withDayOfMonth(1);
+            for (int i = 0; i <= monthsAhead; i++) {
+                String partition = jdbcTemplate.queryForObject(
+                        "SELECT create_transactions_partition(?)", String.class, Date.valueOf(currentMonth.plusMonths(i)));
+                log.debug("Transactions partition {} is in place", partition);
+            }
+
+            if (retentionMonths > 0) {
+                LocalDate horizonMonth = archivePolicy.archiveHorizon().toLocalDate().withDayOfMonth(1);
+                LocalDate cutoff = currentMonth.minusMonths(retentionMonths);
+                if (cutoff.isAfter(horizonMonth)) {
+                    cutoff = horizonMonth;
+                }
+                Integer detached = jdbcTemplate.queryForObject(
+                        "SELECT detach_transactions_partitions_before(?)", Integer.class, Date.valueOf(cutoff));
+                if (detached != null && detached > 0) {
+                    log.info("Detached {} transactions partitions older than {}", detached, cutoff);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error maintaining transactions partitions: {}", e.getMessage(), e);
+        }
+    }
+}
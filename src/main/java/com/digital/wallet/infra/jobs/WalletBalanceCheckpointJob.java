@@ -0,0 +1,76 @@
+package com.digital.wallet.infra.jobs;
+
+import com.digital.wallet.core.domain.TransactionType;
+import com.digital.wallet.infra.cache.HistoryCachePolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Scheduled job that writes a balance checkpoint for every wallet that moved since its last checkpoint.
+ * Each checkpoint is the previous one plus the transactions after it, so a run only reads the
+ * transactions of one interval. Checkpoints are taken at the settled instant of the history cache
+ * policy, after which no in-flight transaction can still land before them.
+ */
+@Component
+@ConditionalOnProperty(value = "app.balance-checkpoints.enabled", havingValue = "true")
+@Slf4j
+public class WalletBalanceCheckpointJob {
+
+    static final String WRITE_CHECKPOINTS_SQL =
+            "INSERT INTO wallet_balance_checkpoints (wallet_id, as_of, balance, created_at) "
+            + "SELECT w.id, :asOf, COALESCE(last.balance, 0) + delta.amount, NOW() "
+            + "FROM wallets w "
+            + "LEFT JOIN LATERAL ("
+            + " SELECT c.as_of, c.balance FROM wallet_balance_checkpoints c"
+            + " WHERE c.wallet_id = w.id ORDER BY c.as_of DESC LIMIT 1"
+            + ") last ON TRUE "
+            + "CROSS JOIN LATERAL ("
+            + " SELECT COUNT(*) AS movements,"
+            + " COALESCE(SUM(CASE WHEN t.type IN (:creditTypes) THEN t.amount ELSE -t.amount END), 0) AS amount"
+            + " FROM ("
+            + " SELECT type, amount FROM transactions"
+            + " WHERE wallet_id = w.id AND timestamp > COALESCE(last.as_of, CAST('-infinity' AS TIMESTAMP)) AND timestamp <= :asOf"
+            + " UNION ALL"
+            + " SELECT type, amount FROM transactions_archive"
+            + " WHERE wallet_id = w.id AND timestamp > COALESCE(last.as_of, CAST('-infinity' AS TIMESTAMP)) AND timestamp <= :asOf"
+            + " ) t"
+            + ") delta "
+            + "WHERE delta.movements > 0 "
+            + "ON CONFLICT (wallet_id, as_of) DO NOTHING";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final HistoryCachePolicy historyCachePolicy;
+
+    public WalletBalanceCheckpointJob(NamedParameterJdbcTemplate jdbcTemplate, HistoryCachePolicy historyCachePolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.historyCachePolicy = historyCachePolicy;
+    }
+
+    /**
+     * Writes the checkpoints of the wallets with transactions since their last checkpoint.
+     * Runs hourly by default, which bounds the transactions summed by a historical balance query.
+     *
+     * @return Number of checkpoints written
+     */
+    @Scheduled(cron = "${app.balance-checkpoints.cron:0 15 * * * *}")
+    public int writeCheckpoints() {
+        LocalDateTime asOf = historyCachePolicy.settledUntil();
+        try {
+            int written = jdbcTemplate.update(WRITE_CHECKPOINTS_SQL, new MapSqlParameterSource()
+                    .addValue("asOf", Timestamp.valueOf(asOf))
+                    .addValue("creditTypes", TransactionType.creditTypeNames()));
+            log.info("Wrote {} wallet balance checkpoints as of {}", written, asOf);
+            return written;
+        } catch (Exception e) {
+            log.error("Error writing wallet balance checkpoints as of {}: {}", asOf, e.getMessage(), e);
+            return 0;
+        }
+    }
+}
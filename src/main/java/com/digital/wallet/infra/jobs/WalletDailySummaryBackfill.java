@@ -0,0 +1,115 @@
+package com.digital.wallet.infra.jobs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Builds the wallet daily summaries for existing data. Wallets are split into chunks that are
+ * rebuilt in parallel, each chunk by a single statement.
+ * Runs once at startup when app.rollups.daily-summary.backfill.on-startup is true.
+ */
+@Component
+@Slf4j
+public class WalletDailySummaryBackfill {
+
+    private final WalletDailySummaryRebuilder rebuilder;
+    private final boolean runOnStartup;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public WalletDailySummaryBackfill(
+            WalletDailySummaryRebuilder rebuilder,
+            @Value("${app.rollups.daily-summary.backfill.on-startup:false}") boolean runOnStartup,
+            @Value("${app.rollups.daily-summary.backfill.chunk-size:500}") int chunkSize,
+            @Value("${app.rollups.daily-summary.backfill.parallelism:4}") int parallelism) {
+        this.rebuilder = rebuilder;
+        this.runOnStartup = runOnStartup;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (runOnStartup) {
+            backfillAll();
+        }
+    }
+
+    /**
+     * Rebuilds the summaries of every wallet with transactions.
+     *
+     * @return Number of summary rows written
+     */
+    public long backfillAll() {
+        try {
+            LocalDateTime refreshedAt = LocalDateTime.now();
+            List<UUID> walletIds = rebuilder.findWalletsWithTransactions();
+            long rows = rebuild(walletIds, refreshedAt);
+            log.info("Backfilled {} daily summary rows for {} wallets", rows, walletIds.size());
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Wallet daily summary backfill interrupted");
+            return 0;
+        } catch (Exception e) {
+            log.error("Error backfilling wallet daily summaries: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    /**
+     * Rebuilds the summaries of the given wallets in parallel chunks.
+     *
+     * @param walletIds Wallets to rebuild
+     * @param refreshedAt Value stored as the update time of the rebuilt rows
+     * @return Number of summary rows written
+     */
+    public long rebuild(List<UUID> walletIds, LocalDateTime refreshedAt) throws InterruptedException, ExecutionException {
+        return rebuild(walletIds, null, refreshedAt);
+    }
+
+    /**
+     * Rebuilds the summaries of the given wallets from a day on, in parallel chunks.
+     *
+     * @param walletIds Wallets to rebuild
+     * @param fromDay First day to rebuild, or null for the whole history
+     * @param refreshedAt Value stored as the update time of the rebuilt rows
+     * @return Number of summary rows written
+     */
+    public long rebuild(List<UUID> walletIds, LocalDate fromDay, LocalDateTime refreshedAt)
+            throws InterruptedException, ExecutionException {
+        if (walletIds.isEmpty()) {
+            return 0;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            List<Future<Integer>> chunks = new ArrayList<>();
+            for (int from = 0; from < walletIds.size(); from += chunkSize) {
+                List<UUID> chunk = walletIds.subList(from, Math.min(from + chunkSize, walletIds.size()));
+                chunks.add(executor.submit(() -> rebuilder.rebuild(chunk, fromDay, refreshedAt)));
+            }
+
+            long rows = 0;
+            for (Future<Integer> chunk : chunks) {
+                rows += chunk.get();
+            }
+            return rows;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.digital.wallet.infra.jobs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Scheduled job that brings the wallet daily summaries up to date in asynchronous mode, where
+ * transactions are written without the inline summary upsert (e.g. during bulk loads).
+ * Wallets with transactions created since the last refresh are rebuilt from the earliest day of
+ * those transactions on, so only the affected days are recomputed; an overlap window covers
+ * transactions that were still uncommitted when the previous run read them.
+ */
+@Component
+@ConditionalOnProperty(value = "app.rollups.daily-summary.mode", havingValue = "async")
+@Slf4j
+public class WalletDailySummaryCatchUpJob {
+
+    private final WalletDailySummaryRebuilder rebuilder;
+    private final WalletDailySummaryBackfill backfill;
+    private final Clock clock;
+    private final long overlapSeconds;
+
+    @Autowired
+    public WalletDailySummaryCatchUpJob(
+            WalletDailySummaryRebuilder rebuilder,
+            WalletDailySummaryBackfill backfill,
+            @Value("${app.rollups.daily-summary.catch-up-overlap-seconds:60}") long overlapSeconds) {
+        this(rebuilder, backfill, Clock.systemDefaultZone(), overlapSeconds);
+    }
+
+    WalletDailySummaryCatchUpJob(WalletDailySummaryRebuilder rebuilder,
+                                 WalletDailySummaryBackfill backfill,
+                                 Clock clock,
+                                 long overlapSeconds) {
+        this.rebuilder = rebuilder;
+        this.backfill = backfill;
+        this.clock = clock;
+        this.overlapSeconds = overlapSeconds;
+    }
+
+    /**
+     * Rebuilds the summaries of the wallets changed since the last refresh.
+     * An empty summary table is filled by a full backfill.
+     *
+     * @return Number of summary rows written
+     */
+    @Scheduled(fixedDelayString = "${app.rollups.daily-summary.catch-up-interval-ms:30000}")
+    public long catchUp() {
+        try {
+            LocalDateTime lastRefresh = rebuilder.findLastRefresh();
+            if (lastRefresh == null) {
+                return backfill.backfillAll();
+            }
+
+            LocalDateTime refreshedAt = LocalDateTime.now(clock);
+            LocalDateTime since = lastRefresh.minusSeconds(overlapSeconds);
+            List<UUID> walletIds = rebuilder.findWalletsChangedSince(since);
+            if (walletIds.isEmpty()) {
+                return 0;
+            }
+            long rows = backfill.rebuild(walletIds, rebuilder.findEarliestDayChangedSince(since), refreshedAt);
+            if (rows > 0) {
+                log.debug("Caught up {} daily summary rows for {} wallets", rows, walletIds.size());
+            }
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Wallet daily summary catch-up interrupted");
+            return 0;
+        } catch (Exception e) {
+            log.error("Error catching up wallet daily summaries: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+}
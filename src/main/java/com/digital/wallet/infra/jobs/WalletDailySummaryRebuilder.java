@@ -0,0 +1,149 @@
+package com.digital.wallet.infra.jobs;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rebuilds the rows of the wallet_daily_summary table from the hot and archive transaction tables.
+ * Used by the asynchronous catch-up job and by the backfill; regular writes upsert the summary
+ * inline with each transaction.
+ */
+@Component
+public class WalletDailySummaryRebuilder {
+
+    /**
+     * Closing balances are anchored on the current wallet balance, as in the inline upsert: the
+     * balance at the end of a day is the wallet balance minus the net flow of every later day.
+     * This also holds for wallets whose opening balance has no transactions behind it and for
+     * history that is no longer in the database, and only needs the days being rebuilt onwards.
+     */
+    static final String REBUILD_SQL =
+            "INSERT INTO wallet_daily_summary (wallet_id, day, deposit_count, deposit_sum, withdraw_count, withdraw_sum,"
+            + " transfer_in_count, transfer_in_sum, transfer_out_count, transfer_out_sum, closing_balance, updated_at) "
+            + "SELECT d.wallet_id, d.day, d.deposit_count, d.deposit_sum, d.withdraw_count, d.withdraw_sum,"
+            + " d.transfer_in_count, d.transfer_in_sum, d.transfer_out_count, d.transfer_out_sum,"
+            + " w.balance - COALESCE(SUM(d.deposit_sum + d.transfer_in_sum - d.withdraw_sum - d.transfer_out_sum)"
+            + " OVER (PARTITION BY d.wallet_id ORDER BY d.day DESC ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0),"
+            + " :refreshedAt "
+            + "FROM ("
+            + " SELECT wallet_id, CAST(timestamp AS DATE) AS day,"
+            + " COUNT(*) FILTER (WHERE type = 'DEPOSIT') AS deposit_count,"
+            + " COALESCE(SUM(amount) FILTER (WHERE type = 'DEPOSIT'), 0) AS deposit_sum,"
+            + " COUNT(*) FILTER (WHERE type = 'WITHDRAW') AS withdraw_count,"
+            + " COALESCE(SUM(amount) FILTER (WHERE type = 'WITHDRAW'), 0) AS withdraw_sum,"
+            + " COUNT(*) FILTER (WHERE type = 'TRANSFER_IN') AS transfer_in_count,"
+            + " COALESCE(SUM(amount) FILTER (WHERE type = 'TRANSFER_IN'), 0) AS transfer_in_sum,"
+            + " COUNT(*) FILTER (WHERE type = 'TRANSFER_OUT') AS transfer_out_count,"
+            + " COALESCE(SUM(amount) FILTER (WHERE type = 'TRANSFER_OUT'), 0) AS transfer_out_sum"
+            + " FROM ("
+            + " SELECT wallet_id, timestamp, type, amount FROM transactions"
+            + " WHERE wallet_id IN (:walletIds) AND timestamp >= :fromDay"
+            + " UNION ALL"
+            + " SELECT wallet_id, timestamp, type, amount FROM transactions_archive"
+            + " WHERE wallet_id IN (:walletIds) AND timestamp >= :fromDay"
+            + " ) t"
+            + " GROUP BY wallet_id, CAST(timestamp AS DATE)"
+            + ") d "
+            + "JOIN wallets w ON w.id = d.wallet_id "
+            + "ON CONFLICT (wallet_id, day) DO UPDATE SET"
+            + " deposit_count = EXCLUDED.deposit_count, deposit_sum = EXCLUDED.deposit_sum,"
+            + " withdraw_count = EXCLUDED.withdraw_count, withdraw_sum = EXCLUDED.withdraw_sum,"
+            + " transfer_in_count = EXCLUDED.transfer_in_count, transfer_in_sum = EXCLUDED.transfer_in_sum,"
+            + " transfer_out_count = EXCLUDED.transfer_out_count, transfer_out_sum = EXCLUDED.transfer_out_sum,"
+            + " closing_balance = EXCLUDED.closing_balance, updated_at = EXCLUDED.updated_at";
+
+    static final String WALLETS_WITH_TRANSACTIONS_SQL =
+            "SELECT DISTINCT wallet_id FROM transactions "
+            + "UNION SELECT DISTINCT wallet_id FROM transactions_archive";
+
+    static final String WALLETS_CHANGED_SINCE_SQL =
+            "SELECT DISTINCT wallet_id FROM transactions WHERE created_at > :since";
+
+    static final String EARLIEST_DAY_CHANGED_SINCE_SQL =
+            "SELECT MIN(CAST(timestamp AS DATE)) FROM transactions WHERE created_at > :since";
+
+    static final String LAST_REFRESH_SQL = "SELECT MAX(updated_at) FROM wallet_daily_summary";
+
+    private static final LocalDate BEGINNING_OF_HISTORY = LocalDate.of(1970, 1, 1);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public WalletDailySummaryRebuilder(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Recomputes every daily summary row of the given wallets in a single statement.
+     *
+     * @param walletIds Wallets to rebuild
+     * @param refreshedAt Value stored as the update time of the rebuilt rows
+     * @return Number of summary rows written
+     */
+    public int rebuild(Collection<UUID> walletIds, LocalDateTime refreshedAt) {
+        return rebuild(walletIds, null, refreshedAt);
+    }
+
+    /**
+     * Recomputes the daily summary rows of the given wallets from a day on, in a single statement.
+     * Rows of earlier days are left as they are: a transaction never changes the closing balance
+     * of the days before its own.
+     *
+     * @param walletIds Wallets to rebuild
+     * @param fromDay First day to rebuild, or null for the whole history
+     * @param refreshedAt Value stored as the update time of the rebuilt rows
+     * @return Number of summary rows written
+     */
+    public int rebuild(Collection<UUID> walletIds, LocalDate fromDay, LocalDateTime refreshedAt) {
+        if (walletIds.isEmpty()) {
+            return 0;
+        }
+        LocalDate firstDay = fromDay != null ? fromDay : BEGINNING_OF_HISTORY;
+        return jdbcTemplate.update(REBUILD_SQL, new MapSqlParameterSource()
+                .addValue("walletIds", walletIds)
+                .addValue("fromDay", Timestamp.valueOf(firstDay.atStartOfDay()))
+                .addValue("refreshedAt", Timestamp.valueOf(refreshedAt)));
+    }
+
+    /**
+     * @return IDs of every wallet with at least one transaction, hot or archived
+     */
+    public List<UUID> findWalletsWithTransactions() {
+        return jdbcTemplate.queryForList(WALLETS_WITH_TRANSACTIONS_SQL, new MapSqlParameterSource(), UUID.class);
+    }
+
+    /**
+     * @param since Exclusive lower bound of the transaction creation time
+     * @return IDs of the wallets with transactions created after the given instant
+     */
+    public List<UUID> findWalletsChangedSince(LocalDateTime since) {
+        return jdbcTemplate.queryForList(WALLETS_CHANGED_SINCE_SQL,
+                new MapSqlParameterSource("since", Timestamp.valueOf(since)), UUID.class);
+    }
+
+    /**
+     * @param since Exclusive lower bound of the transaction creation time
+     * @return Earliest day of the transactions created after the given instant, or null when there are none
+     */
+    public LocalDate findEarliestDayChangedSince(LocalDateTime since) {
+        Date day = jdbcTemplate.queryForObject(EARLIEST_DAY_CHANGED_SINCE_SQL,
+                new MapSqlParameterSource("since", Timestamp.valueOf(since)), Date.class);
+        return day != null ? day.toLocalDate() : null;
+    }
+
+    /**
+     * @return Most recent update time of the summary table, or null when it is empty
+     */
+    public LocalDateTime findLastRefresh() {
+        Timestamp lastRefresh = jdbcTemplate.queryForObject(LAST_REFRESH_SQL, new MapSqlParameterSource(), Timestamp.class);
+        return lastRefresh != null ? lastRefresh.toLocalDateTime() : null;
+    }
+}
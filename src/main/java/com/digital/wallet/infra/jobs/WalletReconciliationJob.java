@@ -0,0 +1,181 @@
+package com.digital.wallet.infra.jobs;
+
+import com.digital.wallet.core.domain.TransactionType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.*;
+
+/**
+ * Scheduled job that checks that every wallet balance equals the sum of its transactions.
+ * <p>
+ * The ledger of a wallet is its baseline plus its transactions in both tiers. The baseline holds
+ * the opening balances recorded without transactions; partitions detached by the retention move
+ * their rows to the archive tier first, so the two tiers still hold every transaction.
+ * <p>
+ * Wallets are walked in id order in keyset batches, and each batch is compared by a single
+ * grouped statement over both transaction tiers that records its mismatches. A statement reads
+ * balances and transactions from one snapshot and a transaction updates both atomically, so
+ * in-flight transfers are never reported. Batches run on virtual threads, with at most the
+ * configured number of statements on the database at a time.
+ */
+@Component
+@ConditionalOnProperty(value = "app.reconciliation.enabled", havingValue = "true")
+@Slf4j
+public class WalletReconciliationJob {
+
+    static final UUID FIRST_WALLET_ID = new UUID(0L, 0L);
+    static final UUID LAST_WALLET_ID = new UUID(-1L, -1L);
+
+    static final String NEXT_BATCH_END_SQL =
+            "SELECT id FROM wallets WHERE id > :after ORDER BY id OFFSET :offset LIMIT 1";
+
+    static final String RECORD_MISMATCHES_SQL =
+            "INSERT INTO wallet_reconciliation_mismatches"
+            + " (run_id, wallet_id, wallet_balance, ledger_balance, drift, detected_at) "
+            + "SELECT :runId, w.id, w.balance, COALESCE(b.amount, 0) + COALESCE(l.amount, 0),"
+            + " w.balance - COALESCE(b.amount, 0) - COALESCE(l.amount, 0), NOW() "
+            + "FROM wallets w "
+            + "LEFT JOIN wallet_ledger_baselines b ON b.wallet_id = w.id "
+            + "LEFT JOIN ("
+            + " SELECT t.wallet_id, SUM(CASE WHEN t.type IN (:creditTypes) THEN t.amount ELSE -t.amount END) AS amount"
+            + " FROM ("
+            + " SELECT wallet_id, type, amount FROM transactions WHERE wallet_id > :after AND wallet_id <= :upTo"
+            + " UNION ALL"
+            + " SELECT wallet_id, type, amount FROM transactions_archive WHERE wallet_id > :after AND wallet_id <= :upTo"
+            + " ) t GROUP BY t.wallet_id"
+            + ") l ON l.wallet_id = w.id "
+            + "WHERE w.id > :after AND w.id <= :upTo AND w.balance <> COALESCE(b.amount, 0) + COALESCE(l.amount, 0)";
+
+    static final String RUN_TOTALS_SQL =
+            "SELECT COUNT(*) AS wallets, COALESCE(SUM(ABS(drift)), 0) AS drift"
+            + " FROM wallet_reconciliation_mismatches WHERE run_id = :runId";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int dbConcurrency;
+    private volatile long lastMismatchedWallets;
+    private volatile BigDecimal lastDrift = BigDecimal.ZERO;
+
+    public WalletReconciliationJob(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.reconciliation.batch-size:5000}") int batchSize,
+            @Value("${app.reconciliation.db-concurrency:4}") int dbConcurrency) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.dbConcurrency = Math.max(1, dbConcurrency);
+        Gauge.builder(RECONCILIATION_DRIFT, this, job -> job.lastDrift.doubleValue())
+                .description("Total absolute difference between wallet balances and their ledgers in the last reconciliation")
+                .register(meterRegistry);
+        Gauge.builder(RECONCILIATION_MISMATCHES, this, job -> job.lastMismatchedWallets)
+                .description("Wallets whose balance differed from their ledger in the last reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compares every wallet with its ledger and records the mismatches under a new run id.
+     * Runs nightly by default.
+     *
+     * @return Number of mismatched wallets, or -1 if the run did not complete
+     */
+    @Scheduled(cron = "${app.reconciliation.cron:0 0 2 * * *}")
+    public long reconcile() {
+        UUID runId = UUID.randomUUID();
+        try {
+            long batches = compareAll(runId);
+            Map<String, Object> totals = jdbcTemplate.queryForMap(RUN_TOTALS_SQL, new MapSqlParameterSource("runId", runId));
+            lastMismatchedWallets = ((Number) totals.get("wallets")).longValue();
+            lastDrift = new BigDecimal(totals.get("drift").toString());
+
+            if (lastMismatchedWallets > 0) {
+                log.warn("Reconciliation run {} found {} mismatched wallets in {} batches, total drift {}",
+                        runId, lastMismatchedWallets, batches, lastDrift);
+            } else {
+                log.info("Reconciliation run {} found every wallet consistent in {} batches", runId, batches);
+            }
+            return lastMismatchedWallets;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Reconciliation run {} interrupted", runId);
+            return -1;
+        } catch (Exception e) {
+            log.error("Error in reconciliation run {}: {}", runId, e.getMessage(), e);
+            return -1;
+        }
+    }
+
+    /**
+     * Compares every wallet in keyset batches. The next batch boundary is read only once a
+     * statement slot is free, so the ids of at most the running batches are held at a time.
+     *
+     * @return Number of batches compared
+     */
+    private long compareAll(UUID runId) throws InterruptedException, ExecutionException {
+        Semaphore statements = new Semaphore(dbConcurrency);
+        List<Future<Integer>> batches = new ArrayList<>();
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            UUID after = FIRST_WALLET_ID;
+            boolean last = false;
+            while (!last) {
+                statements.acquire();
+                UUID batchEnd = nextBatchEnd(after);
+                last = batchEnd == null;
+                UUID from = after;
+                UUID upTo = last ? LAST_WALLET_ID : batchEnd;
+                batches.add(executor.submit(() -> {
+                    try {
+                        return recordMismatches(runId, from, upTo);
+                    } finally {
+                        statements.release();
+                    }
+                }));
+                after = upTo;
+            }
+
+            for (Future<Integer> batch : batches) {
+                batch.get();
+            }
+            return batches.size();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Last wallet id of the batch after the given id, or null when the remaining wallets fit in one batch
+     */
+    private UUID nextBatchEnd(UUID after) {
+        List<UUID> ids = jdbcTemplate.queryForList(NEXT_BATCH_END_SQL, new MapSqlParameterSource()
+                .addValue("after", after)
+                .addValue("offset", batchSize - 1), UUID.class);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    private int recordMismatches(UUID runId, UUID after, UUID upTo) {
+        return jdbcTemplate.update(RECORD_MISMATCHES_SQL, new MapSqlParameterSource()
+                .addValue("runId", runId)
+                .addValue("after", after)
+                .addValue("upTo", upTo)
+                .addValue("creditTypes", TransactionType.creditTypeNames()));
+    }
+}
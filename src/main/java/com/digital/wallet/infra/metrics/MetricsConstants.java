@@ -17,6 +17,18 @@ public final class MetricsConstants {
     public static final String TRANSACTION_ERRORS = "wallet_transaction_errors_total";
     public static final String WALLET_BALANCE = "wallet_balance";
     public static final String HTTP_REQUEST_DURATION = "http_request_duration_seconds";
+    public static final String CACHE_ENTRY_SIZE = "wallet_cache_entry_size";
+    public static final String BALANCE_INDEX_BYTES = "wallet_balance_index_bytes";
+    public static final String BALANCE_INDEX_WALLETS = "wallet_balance_index_wallets";
+    public static final String BALANCE_INDEX_LOOKUPS = "wallet_balance_index_lookups_total";
+    public static final String RECONCILIATION_DRIFT = "wallet_reconciliation_drift";
+    public static final String RECONCILIATION_MISMATCHES = "wallet_reconciliation_mismatched_wallets";
+    // Own name: the Micrometer cache binders registered by Spring Boot use cache.gets with other tag keys
+    public static final String CACHE_GETS = "wallet.cache.gets";
+    public static final String CACHE_LOCAL_SIZE = "wallet.cache.local.size";
+    public static final String CACHE_COALESCED_LOADS = "wallet_cache_coalesced_loads_total";
+    public static final String CACHE_WRITE_THROUGH = "wallet_cache_write_through_total";
+    public static final String CACHE_WARM_UP_ENTRIES = "wallet_cache_warm_up_entries_total";
     
     // Common tag keys
     public static final String TAG_OPERATION = "operation";
@@ -24,6 +36,9 @@ public final class MetricsConstants {
     public static final String TAG_CURRENCY = "currency";
     public static final String TAG_WALLET_ID = "wallet_id";
     public static final String TAG_ENDPOINT = "endpoint";
+    public static final String TAG_CACHE = "cache";
+    public static final String TAG_RESULT = "result";
+    public static final String TAG_TIER = "tier";
     public static final String TAG_APPLICATION = "application";
     public static final String TAG_ENVIRONMENT = "environment";
     
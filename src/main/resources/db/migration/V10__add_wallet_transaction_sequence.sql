@@ -0,0 +1,39 @@
+-- Migration V10: Número de sequência por carteira, sem lacunas, atribuído na inserção
+-- O contador fica na linha da carteira, já bloqueada pela atualização de saldo da mesma transação,
+-- e é revertido junto com ela; clientes sincronizam incrementalmente por (wallet_id, seq)
+
+ALTER TABLE wallets ADD COLUMN IF NOT EXISTS transaction_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS seq BIGINT;
+ALTER TABLE transactions_archive ADD COLUMN IF NOT EXISTS seq BIGINT;
+
+-- Numera o histórico existente das duas camadas na ordem cronológica de cada carteira
+CREATE TEMPORARY TABLE transaction_seq_backfill ON COMMIT DROP AS
+SELECT id, ROW_NUMBER() OVER (PARTITION BY wallet_id ORDER BY timestamp, created_at, id) AS seq
+FROM (
+    SELECT id, wallet_id, timestamp, created_at FROM transactions
+    UNION ALL
+    SELECT id, wallet_id, timestamp, archived_at AS created_at FROM transactions_archive
+) history;
+
+UPDATE transactions t SET seq = b.seq FROM transaction_seq_backfill b WHERE t.id = b.id;
+UPDATE transactions_archive a SET seq = b.seq FROM transaction_seq_backfill b WHERE a.id = b.id;
+
+-- Uma linha por carteira: com uma linha por camada, o UPDATE ... FROM aplicaria uma delas ao acaso
+UPDATE wallets w SET transaction_seq = s.last_seq
+FROM (
+    SELECT wallet_id, MAX(last_seq) AS last_seq
+    FROM (
+        SELECT wallet_id, MAX(seq) AS last_seq FROM transactions GROUP BY wallet_id
+        UNION ALL
+        SELECT wallet_id, MAX(seq) FROM transactions_archive GROUP BY wallet_id
+    ) tiers
+    GROUP BY wallet_id
+) s
+WHERE w.id = s.wallet_id AND s.last_seq > w.transaction_seq;
+
+-- Tabela particionada: o índice é criado em cada partição; a unicidade vem do contador
+CREATE INDEX IF NOT EXISTS idx_transactions_wallet_seq ON transactions (wallet_id, seq);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_transactions_archive_wallet_seq ON transactions_archive (wallet_id, seq);
+
+COMMENT ON COLUMN wallets.transaction_seq IS 'Último número de sequência atribuído a uma transação da carteira';
+COMMENT ON COLUMN transactions.seq IS 'Posição da transação no histórico da carteira (1, 2, 3, ...), sem lacunas';
@@ -0,0 +1,17 @@
+-- Migration V11: Índices para a busca de transações por contraparte, tipo, valor e período
+-- Cada filtro aceito pela busca começa por um destes índices (ou pelo de carteira e data),
+-- então nenhuma combinação aceita percorre a tabela inteira
+
+-- Contraparte: só transferências têm related_user_id, o índice parcial ignora o restante
+CREATE INDEX IF NOT EXISTS idx_transactions_related_user_timestamp
+    ON transactions (related_user_id, timestamp) WHERE related_user_id IS NOT NULL;
+
+-- Tipo e período, com o valor no próprio índice para filtrar faixas sem ler as linhas descartadas
+CREATE INDEX IF NOT EXISTS idx_transactions_type_timestamp_amount
+    ON transactions (type, timestamp, amount);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_archive_related_user_timestamp
+    ON transactions_archive (related_user_id, timestamp) WHERE related_user_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_archive_type_timestamp_amount
+    ON transactions_archive (type, timestamp, amount);
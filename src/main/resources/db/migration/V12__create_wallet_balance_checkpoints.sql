@@ -0,0 +1,13 @@
+-- Migration V12: Checkpoints periódicos de saldo por carteira
+-- Cada linha guarda o saldo da carteira em um instante já liquidado: o saldo histórico parte do
+-- checkpoint mais próximo e soma só as transações posteriores a ele, em vez de todo o histórico
+
+CREATE TABLE IF NOT EXISTS wallet_balance_checkpoints (
+    wallet_id UUID NOT NULL,
+    as_of TIMESTAMP NOT NULL,
+    balance NUMERIC(19,2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (wallet_id, as_of)
+);
+
+COMMENT ON TABLE wallet_balance_checkpoints IS 'Saldo de cada carteira em instantes liquidados; gravado pelo job de checkpoints, nunca alterado';
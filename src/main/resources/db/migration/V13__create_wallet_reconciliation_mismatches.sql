@@ -0,0 +1,19 @@
+-- Migration V13: Divergências encontradas pela reconciliação do razão
+-- Cada execução do job de reconciliação grava as carteiras cujo saldo difere da soma das suas
+-- transações (nas duas camadas), com o saldo de cada lado e a diferença
+
+CREATE TABLE IF NOT EXISTS wallet_reconciliation_mismatches (
+    run_id UUID NOT NULL,
+    wallet_id UUID NOT NULL,
+    wallet_balance NUMERIC(19,2) NOT NULL,
+    ledger_balance NUMERIC(19,2) NOT NULL,
+    drift NUMERIC(19,2) NOT NULL,
+    detected_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (run_id, wallet_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_wallet_reconciliation_mismatches_wallet
+    ON wallet_reconciliation_mismatches (wallet_id, detected_at);
+
+COMMENT ON TABLE wallet_reconciliation_mismatches IS 'Carteiras com saldo diferente da soma das transações, por execução da reconciliação';
+COMMENT ON COLUMN wallet_reconciliation_mismatches.drift IS 'Saldo da carteira menos o saldo do razão';
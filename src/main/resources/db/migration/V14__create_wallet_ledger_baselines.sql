@@ -0,0 +1,83 @@
+-- Migration V14: Saldo de abertura do razão de cada carteira
+-- A reconciliação compara o saldo com linha de base + soma das transações. A linha de base guarda
+-- o que o razão não mostra mais: saldos iniciais sem transações (como os da massa de dados da V1)
+-- e as transações de partições desanexadas pela retenção
+
+CREATE TABLE IF NOT EXISTS wallet_ledger_baselines (
+    wallet_id UUID PRIMARY KEY REFERENCES wallets(id) ON DELETE CASCADE,
+    amount NUMERIC(19,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Partições já desanexadas continuam como tabelas avulsas; suas transações entram na linha de base
+DO $$
+DECLARE
+    part RECORD;
+BEGIN
+    FOR part IN
+        SELECT c.relname
+        FROM pg_class c
+        WHERE c.relkind = 'r'
+          AND c.relname ~ '^transactions_[0-9]{4}_[0-9]{2}$'
+          AND NOT EXISTS (SELECT 1 FROM pg_inherits inh WHERE inh.inhrelid = c.oid)
+    LOOP
+        EXECUTE format(
+            'INSERT INTO wallet_ledger_baselines AS b (wallet_id, amount, updated_at) '
+            || 'SELECT wallet_id, SUM(CASE WHEN type IN (''DEPOSIT'', ''TRANSFER_IN'') THEN amount ELSE -amount END), NOW() '
+            || 'FROM %I GROUP BY wallet_id '
+            || 'ON CONFLICT (wallet_id) DO UPDATE SET amount = b.amount + EXCLUDED.amount, updated_at = EXCLUDED.updated_at',
+            part.relname);
+    END LOOP;
+END $$;
+
+-- Carteiras cujo saldo já difere do razão ao introduzir a reconciliação (saldos iniciais sem
+-- transações): a diferença vira saldo de abertura e só divergências posteriores são apontadas
+INSERT INTO wallet_ledger_baselines AS b (wallet_id, amount, updated_at)
+SELECT w.id, w.balance - COALESCE(b0.amount, 0) - COALESCE(l.amount, 0), NOW()
+FROM wallets w
+LEFT JOIN wallet_ledger_baselines b0 ON b0.wallet_id = w.id
+LEFT JOIN (
+    SELECT t.wallet_id, SUM(CASE WHEN t.type IN ('DEPOSIT', 'TRANSFER_IN') THEN t.amount ELSE -t.amount END) AS amount
+    FROM (
+        SELECT wallet_id, type, amount FROM transactions
+        UNION ALL
+        SELECT wallet_id, type, amount FROM transactions_archive
+    ) t
+    GROUP BY t.wallet_id
+) l ON l.wallet_id = w.id
+WHERE w.balance <> COALESCE(b0.amount, 0) + COALESCE(l.amount, 0)
+ON CONFLICT (wallet_id) DO UPDATE SET amount = b.amount + EXCLUDED.amount, updated_at = EXCLUDED.updated_at;
+
+-- A retenção passa a levar as transações de cada partição para a linha de base antes de desanexá-la,
+-- na mesma transação
+CREATE OR REPLACE FUNCTION detach_transactions_partitions_before(cutoff DATE) RETURNS INTEGER AS $$
+DECLARE
+    part RECORD;
+    detached INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT child.relname
+        FROM pg_inherits inh
+        JOIN pg_class child ON child.oid = inh.inhrelid
+        JOIN pg_class parent ON parent.oid = inh.inhparent
+        WHERE parent.relname = 'transactions'
+          AND child.relname ~ '^transactions_[0-9]{4}_[0-9]{2}$'
+    LOOP
+        IF to_date(substring(part.relname FROM 14), 'YYYY_MM') + INTERVAL '1 month' <= cutoff THEN
+            EXECUTE format(
+                'INSERT INTO wallet_ledger_baselines AS b (wallet_id, amount, updated_at) '
+                || 'SELECT wallet_id, SUM(CASE WHEN type IN (''DEPOSIT'', ''TRANSFER_IN'') THEN amount ELSE -amount END), NOW() '
+                || 'FROM %I GROUP BY wallet_id '
+                || 'ON CONFLICT (wallet_id) DO UPDATE SET amount = b.amount + EXCLUDED.amount, updated_at = EXCLUDED.updated_at',
+                part.relname);
+            EXECUTE format('ALTER TABLE transactions DETACH PARTITION %I', part.relname);
+            detached := detached + 1;
+        END IF;
+    END LOOP;
+
+    RETURN detached;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON TABLE wallet_ledger_baselines IS 'Parte do saldo de cada carteira que não está nas transações das duas camadas';
+COMMENT ON COLUMN wallet_ledger_baselines.amount IS 'Saldo de abertura mais o efeito das transações de partições desanexadas';
@@ -0,0 +1,7 @@
+-- Migration V15: Índice por data para as transações recentes de todas as carteiras
+-- O aquecimento do cache conta as transações de cada carteira nas últimas horas; sem um índice que
+-- comece pela data, a consulta percorre a partição do mês inteira. Com a carteira no próprio índice,
+-- a contagem é feita só com o índice (criado em cada partição)
+
+CREATE INDEX IF NOT EXISTS idx_transactions_timestamp_wallet
+    ON transactions (timestamp, wallet_id);
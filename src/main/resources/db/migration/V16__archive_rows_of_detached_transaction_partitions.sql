@@ -0,0 +1,68 @@
+-- Migration V16: Partições desanexadas pela retenção levam suas transações para a camada fria
+-- Somar o efeito delas à linha de base (V14) só mantinha a reconciliação: saldos históricos,
+-- extratos, estatísticas e o índice de saldos perdiam essas transações. Agora as linhas vão para
+-- transactions_archive antes de desanexar, e a linha de base volta a guardar só saldos de abertura
+
+-- Partições já desanexadas: as linhas vão para o arquivo e a V14 é desfeita na linha de base.
+-- A soma usa os mesmos tipos de crédito com que a V14 somou essas linhas, para ser o seu inverso exato
+DO $$
+DECLARE
+    part RECORD;
+BEGIN
+    FOR part IN
+        SELECT c.relname
+        FROM pg_class c
+        WHERE c.relkind = 'r'
+          AND c.relname ~ '^transactions_[0-9]{4}_[0-9]{2}$'
+          AND NOT EXISTS (SELECT 1 FROM pg_inherits inh WHERE inh.inhrelid = c.oid)
+    LOOP
+        EXECUTE format(
+            'UPDATE wallet_ledger_baselines b SET amount = b.amount - f.amount, updated_at = NOW() '
+            || 'FROM (SELECT wallet_id, SUM(CASE WHEN type IN (''DEPOSIT'', ''TRANSFER_IN'') THEN amount ELSE -amount END) AS amount '
+            || 'FROM %I GROUP BY wallet_id) f '
+            || 'WHERE b.wallet_id = f.wallet_id',
+            part.relname);
+        EXECUTE format(
+            'WITH moved AS (DELETE FROM %I RETURNING id, wallet_id, amount, type, timestamp, related_user_id, seq) '
+            || 'INSERT INTO transactions_archive (id, wallet_id, amount, type, timestamp, related_user_id, seq, archived_at) '
+            || 'SELECT id, wallet_id, amount, type, timestamp, related_user_id, seq, NOW() FROM moved '
+            || 'ON CONFLICT (id) DO NOTHING',
+            part.relname);
+    END LOOP;
+END $$;
+
+-- Saldos de abertura que ficaram zerados não precisam de linha
+DELETE FROM wallet_ledger_baselines WHERE amount = 0;
+
+-- A retenção move as linhas de cada partição para o arquivo e depois a desanexa (vazia), na mesma
+-- transação; as leituras que consultam o arquivo continuam vendo essas transações
+CREATE OR REPLACE FUNCTION detach_transactions_partitions_before(cutoff DATE) RETURNS INTEGER AS $$
+DECLARE
+    part RECORD;
+    detached INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT child.relname
+        FROM pg_inherits inh
+        JOIN pg_class child ON child.oid = inh.inhrelid
+        JOIN pg_class parent ON parent.oid = inh.inhparent
+        WHERE parent.relname = 'transactions'
+          AND child.relname ~ '^transactions_[0-9]{4}_[0-9]{2}$'
+    LOOP
+        IF to_date(substring(part.relname FROM 14), 'YYYY_MM') + INTERVAL '1 month' <= cutoff THEN
+            EXECUTE format(
+                'WITH moved AS (DELETE FROM %I RETURNING id, wallet_id, amount, type, timestamp, related_user_id, seq) '
+                || 'INSERT INTO transactions_archive (id, wallet_id, amount, type, timestamp, related_user_id, seq, archived_at) '
+                || 'SELECT id, wallet_id, amount, type, timestamp, related_user_id, seq, NOW() FROM moved '
+                || 'ON CONFLICT (id) DO NOTHING',
+                part.relname);
+            EXECUTE format('ALTER TABLE transactions DETACH PARTITION %I', part.relname);
+            detached := detached + 1;
+        END IF;
+    END LOOP;
+
+    RETURN detached;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON COLUMN wallet_ledger_baselines.amount IS 'Saldo de abertura registrado sem transações';
@@ -0,0 +1,100 @@
+-- Migration V7: Particionamento mensal da tabela transactions por timestamp
+-- A chave primária passa a incluir a coluna de particionamento, exigência do PostgreSQL
+
+-- Preserva a tabela atual para cópia dos dados
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+ALTER INDEX transactions_pkey RENAME TO transactions_unpartitioned_pkey;
+
+CREATE TABLE transactions (
+    id UUID NOT NULL,
+    wallet_id UUID NOT NULL REFERENCES wallets(id),
+    amount NUMERIC(19,2) NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    related_user_id UUID,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- Índice usado pelas consultas de histórico por carteira e período (criado em cada partição)
+CREATE INDEX idx_transactions_wallet_timestamp ON transactions (wallet_id, timestamp);
+
+-- Partição padrão para registros fora dos meses já criados
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Cria a partição do mês informado, movendo para ela registros que tenham caído na partição padrão
+CREATE OR REPLACE FUNCTION create_transactions_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    start_date DATE := date_trunc('month', month_start)::date;
+    end_date DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := 'transactions_' || to_char(date_trunc('month', month_start), 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM transactions_default WHERE timestamp >= start_date AND timestamp < end_date) THEN
+        EXECUTE format('CREATE TABLE %I (LIKE transactions INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+        EXECUTE format('INSERT INTO %I SELECT * FROM transactions_default WHERE timestamp >= %L AND timestamp < %L',
+                       partition_name, start_date, end_date);
+        DELETE FROM transactions_default WHERE timestamp >= start_date AND timestamp < end_date;
+        EXECUTE format('ALTER TABLE transactions ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, start_date, end_date);
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, start_date, end_date);
+    END IF;
+
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Desanexa (sem remover) as partições mensais totalmente anteriores à data de corte
+CREATE OR REPLACE FUNCTION detach_transactions_partitions_before(cutoff DATE) RETURNS INTEGER AS $$
+DECLARE
+    part RECORD;
+    detached INTEGER := 0;
+BEGIN
+    FOR part IN
+        SELECT child.relname
+        FROM pg_inherits inh
+        JOIN pg_class child ON child.oid = inh.inhrelid
+        JOIN pg_class parent ON parent.oid = inh.inhparent
+        WHERE parent.relname = 'transactions'
+          AND child.relname ~ '^transactions_[0-9]{4}_[0-9]{2}$'
+    LOOP
+        IF to_date(substring(part.relname FROM 14), 'YYYY_MM') + INTERVAL '1 month' <= cutoff THEN
+            EXECUTE format('ALTER TABLE transactions DETACH PARTITION %I', part.relname);
+            detached := detached + 1;
+        END IF;
+    END LOOP;
+
+    RETURN detached;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Cria as partições desde o mês da transação mais antiga até três meses à frente
+DO $$
+DECLARE
+    current_month DATE;
+    last_month DATE := (date_trunc('month', NOW()) + INTERVAL '3 months')::date;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(timestamp), NOW()))::date
+    INTO current_month
+    FROM transactions_unpartitioned;
+
+    WHILE current_month <= last_month LOOP
+        PERFORM create_transactions_partition(current_month);
+        current_month := (current_month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- Copia os dados existentes para a tabela particionada
+INSERT INTO transactions (id, wallet_id, amount, type, timestamp, related_user_id, created_at, updated_at)
+SELECT id, wallet_id, amount, type, timestamp, related_user_id, created_at, updated_at
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+COMMENT ON TABLE transactions IS 'Transações particionadas mensalmente por timestamp; partições futuras criadas por job agendado';
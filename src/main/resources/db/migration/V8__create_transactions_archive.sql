@@ -0,0 +1,21 @@
+-- Migration V8: Tabela de arquivo para transações antigas (camada fria)
+-- Registros imutáveis, gravados em lote e lidos por carteira e período:
+-- fillfactor 100 mantém as páginas compactas e o índice BRIN cobre o tempo com poucas páginas
+
+CREATE TABLE IF NOT EXISTS transactions_archive (
+    id UUID PRIMARY KEY,
+    wallet_id UUID NOT NULL,
+    amount NUMERIC(19,2) NOT NULL,
+    type VARCHAR(32) NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    related_user_id UUID,
+    archived_at TIMESTAMP NOT NULL DEFAULT NOW()
+) WITH (fillfactor = 100);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_archive_wallet_timestamp
+    ON transactions_archive (wallet_id, timestamp);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_archive_timestamp_brin
+    ON transactions_archive USING BRIN (timestamp);
+
+COMMENT ON TABLE transactions_archive IS 'Transações movidas da tabela transactions após a idade configurada; lidas junto com a tabela quente';
@@ -0,0 +1,29 @@
+-- Migration V9: Resumo diário por carteira mantido incrementalmente
+-- Uma linha por carteira e dia com quantidade e soma por tipo de transação e o saldo de fechamento:
+-- extratos e estatísticas por período leem O(dias) linhas em vez de O(transações)
+
+CREATE TABLE IF NOT EXISTS wallet_daily_summary (
+    wallet_id UUID NOT NULL,
+    day DATE NOT NULL,
+    deposit_count BIGINT NOT NULL DEFAULT 0,
+    deposit_sum NUMERIC(19,2) NOT NULL DEFAULT 0,
+    withdraw_count BIGINT NOT NULL DEFAULT 0,
+    withdraw_sum NUMERIC(19,2) NOT NULL DEFAULT 0,
+    transfer_in_count BIGINT NOT NULL DEFAULT 0,
+    transfer_in_sum NUMERIC(19,2) NOT NULL DEFAULT 0,
+    transfer_out_count BIGINT NOT NULL DEFAULT 0,
+    transfer_out_sum NUMERIC(19,2) NOT NULL DEFAULT 0,
+    closing_balance NUMERIC(19,2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (wallet_id, day)
+);
+
+-- Usado pela recuperação assíncrona para encontrar a última atualização
+CREATE INDEX IF NOT EXISTS idx_wallet_daily_summary_updated_at
+    ON wallet_daily_summary (updated_at);
+
+-- Usado pela recuperação assíncrona para encontrar carteiras com transações novas
+CREATE INDEX IF NOT EXISTS idx_transactions_created_at
+    ON transactions (created_at);
+
+COMMENT ON TABLE wallet_daily_summary IS 'Resumo diário por carteira; atualizado junto com cada transação ou reconstruído pelo backfill';
@@ -2,6 +2,7 @@ package com.digital.wallet.adapter.controllers.v1;
 
 import com.digital.wallet.adapter.converters.WalletMapper;
 import com.digital.wallet.adapter.converters.TransactionMapper;
+import com.digital.wallet.adapter.dtos.BalanceSeriesResponseDTO;
 import com.digital.wallet.adapter.dtos.DepositRequestDTO;
 import com.digital.wallet.core.ports.in.CreateWalletUseCase;
 import com.digital.wallet.core.ports.in.DepositUseCase;
@@ -10,12 +11,17 @@ import com.digital.wallet.core.ports.in.TransferFundsUseCase;
 import com.digital.wallet.core.ports.in.WithdrawUseCase;
 import com.digital.wallet.adapter.dtos.CreateWalletRequestDTO;
 import com.digital.wallet.adapter.dtos.WalletDTO;
+import com.digital.wallet.adapter.dtos.WalletPageResponseDTO;
+import com.digital.wallet.core.domain.BalanceSeries;
 import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.domain.WalletPage;
 import com.digital.wallet.core.exceptions.WalletAlreadyExistsException;
 import com.digital.wallet.core.exceptions.WalletNotFoundException;
 import com.digital.wallet.adapter.dtos.TransactionDTO;
 import com.digital.wallet.adapter.dtos.WithdrawRequestDTO;
 import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.infra.cache.WalletVersionStore;
+import com.digital.wallet.infra.events.WalletEventStreams;
 import com.digital.wallet.infra.config.TestOpenTelemetryConfig;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,15 +37,20 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.math.BigDecimal;
 import java.util.UUID;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -81,6 +92,14 @@ class WalletControllerTest {
         public FindAllWalletsUseCase findAllWalletsUseCase() {
             return mock(FindAllWalletsUseCase.class);
         }
+        @Bean
+        public WalletVersionStore walletVersionStore() {
+            return mock(WalletVersionStore.class);
+        }
+        @Bean
+        public WalletEventStreams walletEventStreams() {
+            return mock(WalletEventStreams.class);
+        }
     }
 
     @Autowired
@@ -103,6 +122,12 @@ class WalletControllerTest {
     
     @Autowired
     private FindAllWalletsUseCase findAllWalletsUseCase;
+    
+    @Autowired
+    private WalletVersionStore walletVersionStore;
+    
+    @Autowired
+    private WalletEventStreams walletEventStreams;
 
     // --- WALLET CREATION TESTS ---
 
@@ -293,6 +318,90 @@ class WalletControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser
+    @DisplayName("Should return balance with ETag from the wallet version")
+    void shouldReturnBalanceWithETag() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        Wallet wallet = new Wallet();
+        wallet.setId(walletId);
+        wallet.setBalance(BigDecimal.TEN);
+        WalletDTO walletDTO = new WalletDTO(walletId, UUID.randomUUID(), "Test User", BigDecimal.TEN);
+        Mockito.when(walletVersionStore.etag(walletId)).thenReturn(Optional.of("\"42\""));
+        Mockito.when(createWalletUseCase.findById(walletId)).thenReturn(wallet);
+        Mockito.when(walletMapper.toDTO(wallet)).thenReturn(walletDTO);
+        mockMvc.perform(get("/api/v1/wallets/" + walletId + "/balance"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"42\""));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should start the version of a wallet without one and answer without ETag")
+    void shouldStartVersionWhenMissing() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        Wallet wallet = new Wallet();
+        wallet.setId(walletId);
+        wallet.setBalance(BigDecimal.TEN);
+        Mockito.when(walletVersionStore.etag(walletId)).thenReturn(Optional.empty());
+        Mockito.when(createWalletUseCase.findById(walletId)).thenReturn(wallet);
+        Mockito.when(walletMapper.toDTO(wallet)).thenReturn(new WalletDTO(walletId, UUID.randomUUID(), "Test User", BigDecimal.TEN));
+        mockMvc.perform(get("/api/v1/wallets/" + walletId + "/balance"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+        verify(walletVersionStore).initVersion(walletId);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should not start a version for an unknown wallet")
+    void shouldNotStartVersionForUnknownWallet() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        Mockito.when(walletVersionStore.etag(walletId)).thenReturn(Optional.empty());
+        Mockito.when(createWalletUseCase.findById(walletId)).thenThrow(new WalletNotFoundException("Wallet not found"));
+        mockMvc.perform(get("/api/v1/wallets/" + walletId + "/balance"))
+                .andExpect(status().isNotFound());
+        verify(walletVersionStore, never()).initVersion(walletId);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should return 304 without loading the wallet when version is unchanged")
+    void shouldReturn304WhenBalanceVersionUnchanged() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        Mockito.when(walletVersionStore.etag(walletId)).thenReturn(Optional.of("\"42\""));
+        mockMvc.perform(get("/api/v1/wallets/" + walletId + "/balance")
+                .header("If-None-Match", "\"42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"42\""));
+        verify(createWalletUseCase, never()).findById(walletId);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should open event stream resuming from Last-Event-ID")
+    void shouldOpenEventStream() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        Mockito.when(createWalletUseCase.findById(walletId)).thenReturn(new Wallet());
+        Mockito.when(walletEventStreams.open(walletId, 41L)).thenReturn(new SseEmitter());
+        mockMvc.perform(get("/api/v1/wallets/" + walletId + "/events")
+                .header("Last-Event-ID", "41")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk());
+        verify(walletEventStreams).open(walletId, 41L);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should return 404 when opening event stream of unknown wallet")
+    void shouldReturn404OnEventStreamOfUnknownWallet() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        Mockito.when(createWalletUseCase.findById(walletId)).thenThrow(new WalletNotFoundException("Wallet not found"));
+        mockMvc.perform(get("/api/v1/wallets/" + walletId + "/events"))
+                .andExpect(status().isNotFound());
+        verify(walletEventStreams, never()).open(walletId, null);
+    }
+
     @Test
     @WithMockUser
     @DisplayName("Should return 404 when wallet not found on balance")
@@ -312,6 +421,43 @@ class WalletControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    // --- BALANCE SERIES TESTS ---
+    @Test
+    @WithMockUser
+    @DisplayName("Should return 200 with balance series")
+    void shouldReturn200OnBalanceSeries() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        BalanceSeries series = new BalanceSeries(walletId, BalanceSeries.Interval.HOUR, List.of(), List.of());
+        BalanceSeriesResponseDTO dto = BalanceSeriesResponseDTO.builder()
+                .walletId(walletId)
+                .interval("hour")
+                .timestamps(List.of())
+                .balances(List.of(BigDecimal.TEN))
+                .build();
+        Mockito.when(createWalletUseCase.getBalanceSeries(walletId, "2024-01-01T00:00:00", "2024-01-02T00:00:00", BalanceSeries.Interval.HOUR))
+                .thenReturn(series);
+        Mockito.when(walletMapper.toBalanceSeriesDTO(series)).thenReturn(dto);
+        mockMvc.perform(get("/api/v1/wallets/" + walletId + "/balance/series")
+                .param("from", "2024-01-01T00:00:00")
+                .param("to", "2024-01-02T00:00:00")
+                .param("interval", "hour"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.interval").value("hour"))
+                .andExpect(jsonPath("$.balances[0]").value(10));
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Should return 400 on unknown balance series interval")
+    void shouldReturn400OnUnknownBalanceSeriesInterval() throws Exception {
+        UUID walletId = UUID.randomUUID();
+        mockMvc.perform(get("/api/v1/wallets/" + walletId + "/balance/series")
+                .param("from", "2024-01-01T00:00:00")
+                .param("to", "2024-01-02T00:00:00")
+                .param("interval", "week"))
+                .andExpect(status().isBadRequest());
+    }
+
     // --- DEPOSIT TESTS ---
     @Test
     @WithMockUser
@@ -473,23 +619,52 @@ class WalletControllerTest {
         WalletDTO walletDTO2 = new WalletDTO(walletId2, userId2, "Test User", BigDecimal.valueOf(200));
         
         List<WalletDTO> walletDTOs = Arrays.asList(walletDTO1, walletDTO2);
+        WalletPage page = new WalletPage(wallets, null);
+        
+        when(findAllWalletsUseCase.findPage(null, 50)).thenReturn(page);
+        when(walletMapper.toPageDTO(page)).thenReturn(new WalletPageResponseDTO(walletDTOs, null));
+        
+        // Act and Assert
+        mockMvc.perform(get("/api/v1/wallets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.wallets").isArray())
+                .andExpect(jsonPath("$.wallets.length()").value(2))
+                .andExpect(jsonPath("$.wallets[0].id").value(walletId1.toString()))
+                .andExpect(jsonPath("$.wallets[0].userId").value(userId1.toString()))
+                .andExpect(jsonPath("$.wallets[0].balance").value(100))
+                .andExpect(jsonPath("$.wallets[1].id").value(walletId2.toString()))
+                .andExpect(jsonPath("$.wallets[1].userId").value(userId2.toString()))
+                .andExpect(jsonPath("$.wallets[1].balance").value(200))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+    
+    @Test
+    @DisplayName("Should return the wallet page after the cursor")
+    @WithMockUser(roles = {"ADMIN"})
+    void shouldReturnWalletPageAfterCursor() throws Exception {
+        // Arrange
+        UUID afterId = UUID.fromString("11111111-1111-1111-1111-111111111111");
+        UUID walletId = UUID.fromString("22222222-2222-2222-2222-222222222222");
+        Wallet wallet = new Wallet(walletId, UUID.randomUUID(), BigDecimal.TEN);
+        WalletPage page = new WalletPage(List.of(wallet), walletId);
         
-        when(findAllWalletsUseCase.findAll()).thenReturn(wallets);
-        when(walletMapper.toDTOList(wallets)).thenReturn(walletDTOs);
+        when(walletMapper.decodeCursor("cursor-1")).thenReturn(afterId);
+        when(findAllWalletsUseCase.findPage(afterId, 1)).thenReturn(page);
+        when(walletMapper.toPageDTO(page)).thenReturn(new WalletPageResponseDTO(
+                List.of(new WalletDTO(walletId, wallet.getUserId(), "Test User", BigDecimal.TEN)), "cursor-2"));
         
         // Act and Assert
         mockMvc.perform(get("/api/v1/wallets")
+                .param("cursor", "cursor-1")
+                .param("limit", "1")
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(SecurityMockMvcRequestPostProcessors.csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(walletId1.toString()))
-                .andExpect(jsonPath("$[0].userId").value(userId1.toString()))
-                .andExpect(jsonPath("$[0].balance").value(100))
-                .andExpect(jsonPath("$[1].id").value(walletId2.toString()))
-                .andExpect(jsonPath("$[1].userId").value(userId2.toString()))
-                .andExpect(jsonPath("$[1].balance").value(200));
+                .andExpect(jsonPath("$.wallets.length()").value(1))
+                .andExpect(jsonPath("$.wallets[0].id").value(walletId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("cursor-2"));
     }
     
     @Test
@@ -497,16 +672,17 @@ class WalletControllerTest {
     @WithMockUser(roles = {"ADMIN"})
     void shouldReturnEmptyListWhenNoWallets() throws Exception {
         // Arrange
-        when(findAllWalletsUseCase.findAll()).thenReturn(List.of());
-        when(walletMapper.toDTOList(List.of())).thenReturn(List.of());
+        WalletPage page = new WalletPage(List.of(), null);
+        when(findAllWalletsUseCase.findPage(null, 50)).thenReturn(page);
+        when(walletMapper.toPageDTO(page)).thenReturn(new WalletPageResponseDTO(List.of(), null));
         
         // Act and Assert
         mockMvc.perform(get("/api/v1/wallets")
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(SecurityMockMvcRequestPostProcessors.csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(0));
+                .andExpect(jsonPath("$.wallets").isArray())
+                .andExpect(jsonPath("$.wallets.length()").value(0));
     }
     
     @Test
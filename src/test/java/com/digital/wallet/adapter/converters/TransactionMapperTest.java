@@ -1,9 +1,15 @@
 package com.digital.wallet.adapter.converters;
 
 import com.digital.wallet.adapter.dtos.TransactionDTO;
+import com.digital.wallet.adapter.dtos.TransactionFeedResponseDTO;
+import com.digital.wallet.adapter.dtos.TransactionStatisticsResponseDTO;
+import com.digital.wallet.adapter.entities.ArchivedTransactionEntity;
 import com.digital.wallet.adapter.entities.TransactionEntity;
 import com.digital.wallet.adapter.entities.WalletEntity;
 import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionCursor;
+import com.digital.wallet.core.domain.TransactionFeed;
+import com.digital.wallet.core.domain.TransactionStatistics;
 import com.digital.wallet.core.domain.TransactionType;
 import com.digital.wallet.core.domain.User;
 import com.digital.wallet.core.ports.out.UserRepository;
@@ -16,6 +22,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -65,6 +72,7 @@ class TransactionMapperTest {
         entity.setWallet(walletEntity);
         
         entity.setRelatedUserId(relatedUserId);
+        entity.setSeq(7L);
         
         // Act
         Transaction transaction = transactionMapper.toDomain(entity);
@@ -77,6 +85,7 @@ class TransactionMapperTest {
         assertEquals(entity.getType(), transaction.getType());
         assertEquals(entity.getTimestamp(), transaction.getTimestamp());
         assertEquals(entity.getRelatedUserId(), transaction.getRelatedUserId());
+        assertEquals(7L, transaction.getSeq());
     }
     
     @Test
@@ -89,6 +98,7 @@ class TransactionMapperTest {
         transaction.setType(TransactionType.DEPOSIT);
         transaction.setWalletId(walletId);
         transaction.setRelatedUserId(relatedUserId);
+        transaction.setSeq(12L);
         
         // Act
         TransactionDTO dto = transactionMapper.toDTO(transaction);
@@ -102,6 +112,7 @@ class TransactionMapperTest {
         assertEquals(transaction.getWalletId(), dto.getWalletId());
         assertEquals(transaction.getRelatedUserId(), dto.getRelatedUserId());
         assertEquals(relatedUser.getName(), dto.getRelatedUserName());
+        assertEquals(12L, dto.getSeq());
     }
     
     @Test
@@ -111,7 +122,38 @@ class TransactionMapperTest {
     
     @Test
     void toDomain_withNullEntity_shouldReturnNull() {
-        assertNull(transactionMapper.toDomain(null));
+        assertNull(transactionMapper.toDomain((TransactionEntity) null));
+    }
+    
+    @Test
+    void toDomainFromArchivedEntity_shouldMapFields() {
+        // Arrange
+        ArchivedTransactionEntity entity = ArchivedTransactionEntity.builder()
+            .id(UUID.randomUUID())
+            .walletId(walletId)
+            .amount(new BigDecimal("42.00"))
+            .type(TransactionType.TRANSFER_OUT)
+            .timestamp(LocalDateTime.of(2023, 1, 1, 10, 0))
+            .relatedUserId(relatedUserId)
+            .seq(3L)
+            .build();
+        
+        // Act
+        Transaction transaction = transactionMapper.toDomain(entity);
+        
+        // Assert
+        assertEquals(entity.getId(), transaction.getId());
+        assertEquals(walletId, transaction.getWalletId());
+        assertEquals(entity.getAmount(), transaction.getAmount());
+        assertEquals(TransactionType.TRANSFER_OUT, transaction.getType());
+        assertEquals(entity.getTimestamp(), transaction.getTimestamp());
+        assertEquals(relatedUserId, transaction.getRelatedUserId());
+        assertEquals(3L, transaction.getSeq());
+    }
+    
+    @Test
+    void toDomain_withNullArchivedEntity_shouldReturnNull() {
+        assertNull(transactionMapper.toDomain((ArchivedTransactionEntity) null));
     }
     
     @Test
@@ -150,4 +192,69 @@ class TransactionMapperTest {
         assertNotNull(dtos);
         assertTrue(dtos.isEmpty());
     }
+    
+    @Test
+    void encodeCursor_andDecodeCursor_shouldRoundTrip() {
+        // Arrange
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2024, 3, 1, 10, 15, 30), walletId, 42L);
+        
+        // Act
+        TransactionCursor decoded = transactionMapper.decodeCursor(transactionMapper.encodeCursor(cursor));
+        
+        // Assert
+        assertEquals(cursor.getTimestamp(), decoded.getTimestamp());
+        assertEquals(walletId, decoded.getWalletId());
+        assertEquals(42L, decoded.getSeq());
+    }
+    
+    @Test
+    void decodeCursor_withMalformedToken_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> transactionMapper.decodeCursor("not-a-cursor"));
+        assertNull(transactionMapper.decodeCursor(null));
+    }
+    
+    @Test
+    void toFeedDTO_shouldMapTransactionsAndNextCursor() {
+        // Arrange
+        Transaction transaction = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, LocalDateTime.now(), null);
+        TransactionFeed feed = new TransactionFeed(List.of(transaction), null);
+        
+        // Act
+        TransactionFeedResponseDTO dto = transactionMapper.toFeedDTO(List.of(walletId), feed);
+        
+        // Assert
+        assertEquals(List.of(walletId), dto.getWalletIds());
+        assertEquals(transaction.getId(), dto.getTransactions().get(0).getId());
+        assertNull(dto.getNextCursor());
+    }
+    
+    @Test
+    void toStatisticsDTO_shouldMapFields() {
+        // Arrange
+        TransactionStatistics statistics = new TransactionStatistics(
+            walletId,
+            LocalDateTime.of(2023, 1, 1, 0, 0),
+            LocalDateTime.of(2023, 1, 31, 23, 59),
+            List.of(new TransactionStatistics.TypeStatistics(
+                TransactionType.DEPOSIT, 2, new BigDecimal("30.00"), new BigDecimal("10.00"), new BigDecimal("20.00"))),
+            List.of(new TransactionStatistics.DailyNetFlow(LocalDate.of(2023, 1, 2), new BigDecimal("30.00"))));
+        
+        // Act
+        TransactionStatisticsResponseDTO dto = transactionMapper.toStatisticsDTO(statistics);
+        
+        // Assert
+        assertEquals(walletId, dto.getWalletId());
+        assertEquals(statistics.getFrom(), dto.getFrom());
+        assertEquals(statistics.getTo(), dto.getTo());
+        assertEquals("DEPOSIT", dto.getByType().get(0).getType());
+        assertEquals(2, dto.getByType().get(0).getCount());
+        assertEquals(new BigDecimal("30.00"), dto.getByType().get(0).getSum());
+        assertEquals(LocalDate.of(2023, 1, 2), dto.getDailyNetFlow().get(0).getDay());
+        assertEquals(new BigDecimal("30.00"), dto.getDailyNetFlow().get(0).getNetFlow());
+    }
+    
+    @Test
+    void toStatisticsDTO_withNull_shouldReturnNull() {
+        assertNull(transactionMapper.toStatisticsDTO(null));
+    }
 }
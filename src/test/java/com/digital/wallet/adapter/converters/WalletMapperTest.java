@@ -1,13 +1,17 @@
 package com.digital.wallet.adapter.converters;
 
+import com.digital.wallet.adapter.dtos.BalanceSeriesResponseDTO;
 import com.digital.wallet.adapter.dtos.CreateWalletRequestDTO;
 import com.digital.wallet.adapter.dtos.DepositRequestDTO;
 import com.digital.wallet.adapter.dtos.WalletDTO;
+import com.digital.wallet.adapter.dtos.WalletPageResponseDTO;
 import com.digital.wallet.adapter.dtos.WithdrawRequestDTO;
 import com.digital.wallet.adapter.entities.UserEntity;
 import com.digital.wallet.adapter.entities.WalletEntity;
+import com.digital.wallet.core.domain.BalanceSeries;
 import com.digital.wallet.core.domain.User;
 import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.domain.WalletPage;
 import com.digital.wallet.core.ports.out.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +22,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +33,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -384,4 +390,83 @@ class WalletMapperTest {
         assertEquals(userName, dto.getUserName());
         verify(userRepository).findById(userId);
     }
+
+    @Test
+    void toDTOList_shouldResolveUserNamesWithSingleBulkLookup() {
+        // Given
+        UUID otherUserId = UUID.randomUUID();
+        User otherUser = new User(otherUserId, "other@example.com", "Other User");
+        User owner = new User(userId, "owner@example.com", userName);
+        when(userRepository.findAllById(any())).thenReturn(List.of(owner, otherUser));
+        
+        List<Wallet> wallets = List.of(
+            new Wallet(UUID.randomUUID(), userId, balance),
+            new Wallet(UUID.randomUUID(), otherUserId, balance),
+            new Wallet(UUID.randomUUID(), null, balance));
+        
+        // When
+        List<WalletDTO> result = walletMapper.toDTOList(wallets);
+        
+        // Then
+        assertEquals(3, result.size());
+        assertEquals(userName, result.get(0).getUserName());
+        assertEquals("Other User", result.get(1).getUserName());
+        assertNull(result.get(2).getUserName());
+        verify(userRepository, times(1)).findAllById(any());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void toDTOList_withBulkLookupException_shouldMapWithoutUserNames() {
+        // Given
+        when(userRepository.findAllById(any())).thenThrow(new RuntimeException("Database error"));
+        List<Wallet> wallets = List.of(new Wallet(id, userId, balance));
+        
+        // When
+        List<WalletDTO> result = walletMapper.toDTOList(wallets);
+        
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(id, result.get(0).getId());
+        assertNull(result.get(0).getUserName());
+    }
+
+    @Test
+    void toBalanceSeriesDTO_shouldMapPointsAndInterval() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        BalanceSeries series = new BalanceSeries(id, BalanceSeries.Interval.DAY,
+            List.of(start, start.plusDays(1)), List.of(BigDecimal.ZERO, balance));
+        
+        // Act
+        BalanceSeriesResponseDTO dto = walletMapper.toBalanceSeriesDTO(series);
+        
+        // Assert
+        assertEquals(id, dto.getWalletId());
+        assertEquals("day", dto.getInterval());
+        assertEquals(List.of(start, start.plusDays(1)), dto.getTimestamps());
+        assertEquals(List.of(BigDecimal.ZERO, balance), dto.getBalances());
+        assertNull(walletMapper.toBalanceSeriesDTO(null));
+    }
+
+    @Test
+    void toPageDTO_shouldMapWalletsAndNextCursor() {
+        // Arrange
+        Wallet wallet = new Wallet(id, userId, balance);
+        
+        // Act
+        WalletPageResponseDTO dto = walletMapper.toPageDTO(new WalletPage(List.of(wallet), id));
+        
+        // Assert
+        assertEquals(id, dto.getWallets().get(0).getId());
+        assertEquals(userId, dto.getWallets().get(0).getUserId());
+        assertEquals(id, walletMapper.decodeCursor(dto.getNextCursor()));
+        assertNull(walletMapper.toPageDTO(new WalletPage(List.of(), null)).getNextCursor());
+    }
+    
+    @Test
+    void decodeCursor_withMalformedToken_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> walletMapper.decodeCursor("not-a-cursor"));
+        assertNull(walletMapper.decodeCursor(null));
+    }
 }
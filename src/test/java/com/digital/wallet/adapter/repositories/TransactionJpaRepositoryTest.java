@@ -0,0 +1,106 @@
+package com.digital.wallet.adapter.repositories;
+
+import com.digital.wallet.adapter.entities.ArchivedTransactionEntity;
+import com.digital.wallet.adapter.entities.TransactionEntity;
+import com.digital.wallet.adapter.entities.UserEntity;
+import com.digital.wallet.adapter.entities.WalletEntity;
+import com.digital.wallet.core.domain.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the signed sums against the H2 test database (PostgreSQL mode), with rows of every
+ * transaction type split between the hot and the archive tables
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("TransactionJpaRepository Tests")
+class TransactionJpaRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionJpaRepository transactionJpaRepository;
+
+    private WalletEntity wallet;
+
+    @BeforeEach
+    void setUp() {
+        UserEntity user = entityManager.persist(UserEntity.builder().email("owner@example.com").name("Owner").build());
+        wallet = entityManager.persist(WalletEntity.builder().user(user).balance(new BigDecimal("100.00")).build());
+
+        // 100 - 30 + 50 - 20, the first two archived
+        archived(new BigDecimal("100.00"), TransactionType.DEPOSIT, BASE, 1L);
+        archived(new BigDecimal("30.00"), TransactionType.WITHDRAW, BASE.plusDays(1), 2L);
+        hot(new BigDecimal("50.00"), TransactionType.TRANSFER_IN, BASE.plusDays(2), 3L);
+        hot(new BigDecimal("20.00"), TransactionType.TRANSFER_OUT, BASE.plusDays(3), 4L);
+
+        // Another wallet's rows never count
+        WalletEntity other = entityManager.persist(WalletEntity.builder()
+                .user(entityManager.persist(UserEntity.builder().email("other@example.com").name("Other").build()))
+                .balance(new BigDecimal("999.00")).build());
+        entityManager.persist(TransactionEntity.builder().wallet(other).amount(new BigDecimal("999.00"))
+                .type(TransactionType.DEPOSIT).timestamp(BASE.plusDays(1)).seq(1L).build());
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Should add credits and subtract debits from both tables")
+    void shouldSumSignedAmountUpTo() {
+        assertSum("100.00", transactionJpaRepository.sumSignedAmountUpTo(
+                wallet.getId(), BASE.plusDays(3), TransactionType.creditTypeNames()));
+        assertSum("120.00", transactionJpaRepository.sumSignedAmountUpTo(
+                wallet.getId(), BASE.plusDays(2), TransactionType.creditTypeNames()));
+        assertSum("70.00", transactionJpaRepository.sumSignedAmountUpTo(
+                wallet.getId(), BASE.plusDays(1), TransactionType.creditTypeNames()));
+    }
+
+    @Test
+    @DisplayName("Should sum only the transactions after the start and up to the end")
+    void shouldSumSignedAmountBetween() {
+        // Excludes the deposit at BASE, includes the transfer out at the end
+        assertSum("0.00", transactionJpaRepository.sumSignedAmountBetween(
+                wallet.getId(), BASE, BASE.plusDays(3), TransactionType.creditTypeNames()));
+        assertSum("-30.00", transactionJpaRepository.sumSignedAmountBetween(
+                wallet.getId(), BASE, BASE.plusDays(1), TransactionType.creditTypeNames()));
+    }
+
+    @Test
+    @DisplayName("Should return zero for a wallet without transactions in the period")
+    void shouldReturnZeroWithoutTransactions() {
+        assertSum("0", transactionJpaRepository.sumSignedAmountUpTo(
+                wallet.getId(), BASE.minusDays(1), TransactionType.creditTypeNames()));
+        assertSum("0", transactionJpaRepository.sumSignedAmountUpTo(
+                UUID.randomUUID(), BASE.plusDays(3), TransactionType.creditTypeNames()));
+    }
+
+    private void hot(BigDecimal amount, TransactionType type, LocalDateTime timestamp, long seq) {
+        entityManager.persist(TransactionEntity.builder().wallet(wallet).amount(amount)
+                .type(type).timestamp(timestamp).seq(seq).build());
+    }
+
+    private void archived(BigDecimal amount, TransactionType type, LocalDateTime timestamp, long seq) {
+        entityManager.persist(ArchivedTransactionEntity.builder().id(UUID.randomUUID()).walletId(wallet.getId())
+                .amount(amount).type(type).timestamp(timestamp).seq(seq).archivedAt(BASE.plusDays(30)).build());
+    }
+
+    private static void assertSum(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,62 @@
+package com.digital.wallet.adapter.repositories.impl;
+
+import com.digital.wallet.adapter.entities.BalanceCheckpointEntity;
+import com.digital.wallet.adapter.repositories.BalanceCheckpointJpaRepository;
+import com.digital.wallet.core.domain.BalanceCheckpoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceCheckpointRepositoryImplTest {
+
+    @Mock
+    private BalanceCheckpointJpaRepository jpaRepository;
+
+    @InjectMocks
+    private BalanceCheckpointRepositoryImpl checkpointRepository;
+
+    @Test
+    void findLatestAtOrBefore_shouldMapCheckpoint() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 12, 0);
+        BalanceCheckpointEntity entity = BalanceCheckpointEntity.builder()
+            .walletId(walletId)
+            .asOf(at.minusHours(1))
+            .balance(new BigDecimal("250.00"))
+            .createdAt(at)
+            .build();
+        when(jpaRepository.findFirstByWalletIdAndAsOfLessThanEqualOrderByAsOfDesc(walletId, at)).thenReturn(Optional.of(entity));
+
+        // Act
+        Optional<BalanceCheckpoint> result = checkpointRepository.findLatestAtOrBefore(walletId, at);
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(walletId, result.get().getWalletId());
+        assertEquals(at.minusHours(1), result.get().getAsOf());
+        assertEquals(new BigDecimal("250.00"), result.get().getBalance());
+    }
+
+    @Test
+    void findLatestAtOrBefore_shouldReturnEmptyWithoutCheckpoint() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime at = LocalDateTime.of(2024, 5, 1, 12, 0);
+        when(jpaRepository.findFirstByWalletIdAndAsOfLessThanEqualOrderByAsOfDesc(walletId, at)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(checkpointRepository.findLatestAtOrBefore(walletId, at).isEmpty());
+    }
+}
@@ -1,24 +1,40 @@
 package com.digital.wallet.adapter.repositories.impl;
 
 import com.digital.wallet.adapter.converters.TransactionMapper;
+import com.digital.wallet.adapter.entities.ArchivedTransactionEntity;
 import com.digital.wallet.adapter.entities.TransactionEntity;
 import com.digital.wallet.adapter.entities.WalletEntity;
+import com.digital.wallet.adapter.repositories.ArchivedTransactionJpaRepository;
 import com.digital.wallet.adapter.repositories.TransactionJpaRepository;
 import com.digital.wallet.adapter.repositories.WalletJpaRepository;
 import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionAggregate;
+import com.digital.wallet.core.domain.TransactionCursor;
+import com.digital.wallet.core.domain.TransactionSearchCriteria;
 import com.digital.wallet.core.domain.TransactionType;
 import com.digital.wallet.core.exceptions.WalletNotFoundException;
+import com.digital.wallet.infra.cache.HistoryCachePolicy;
+import com.digital.wallet.infra.cache.SettledHistoryCache;
+import com.digital.wallet.infra.jobs.TransactionArchivePolicy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -31,6 +47,27 @@ class TransactionRepositoryImplTest {
     
     @Mock
     private TransactionMapper transactionMapper;
+    
+    @Mock
+    private ArchivedTransactionJpaRepository archiveRepository;
+    
+    @Mock
+    private TransactionArchivePolicy archivePolicy;
+
+    @Mock
+    private HistoryCachePolicy historyCachePolicy;
+
+    @Mock
+    private SettledHistoryCache settledHistoryCache;
+
+    @Mock
+    private EntityManager entityManager;
+    
+    @Mock
+    private TypedQuery<TransactionEntity> transactionQuery;
+    
+    @Mock
+    private TypedQuery<ArchivedTransactionEntity> archiveQuery;
 
     @InjectMocks
     private TransactionRepositoryImpl transactionRepository;
@@ -38,6 +75,7 @@ class TransactionRepositoryImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(transactionRepository, "entityManager", entityManager);
     }
 
     @Test
@@ -133,4 +171,332 @@ class TransactionRepositoryImplTest {
         assertEquals(tx1, result.get(0));
         assertEquals(tx2, result.get(1));
     }
+
+    @Test
+    void findByWalletId_shouldMergeArchivedAndHotTransactionsInOrder() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        TransactionEntity hotEntity = new TransactionEntity();
+        ArchivedTransactionEntity archivedEntity = new ArchivedTransactionEntity();
+        ArchivedTransactionEntity duplicatedEntity = new ArchivedTransactionEntity();
+        Transaction hotTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.TEN, TransactionType.DEPOSIT, LocalDateTime.of(2024, 3, 1, 10, 0), null);
+        Transaction archivedTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, LocalDateTime.of(2023, 1, 1, 10, 0), null);
+        Transaction duplicatedTx = new Transaction(hotTx.getId(), walletId, BigDecimal.TEN, TransactionType.DEPOSIT, hotTx.getTimestamp(), null);
+        when(jpaRepository.findByWalletIdOrderByTimestampAsc(walletId)).thenReturn(List.of(hotEntity));
+        when(archiveRepository.findByWalletIdOrderByTimestampAsc(walletId)).thenReturn(List.of(archivedEntity, duplicatedEntity));
+        when(transactionMapper.toDomain(hotEntity)).thenReturn(hotTx);
+        when(transactionMapper.toDomain(archivedEntity)).thenReturn(archivedTx);
+        when(transactionMapper.toDomain(duplicatedEntity)).thenReturn(duplicatedTx);
+        
+        // Act
+        List<Transaction> result = transactionRepository.findByWalletId(walletId);
+        
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals(archivedTx, result.get(0));
+        assertEquals(hotTx.getId(), result.get(1).getId());
+    }
+
+    @Test
+    void findByWalletIdAndTimestampBetween_shouldSkipArchiveForRecentPeriods() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        LocalDateTime end = LocalDateTime.now();
+        TransactionEntity entity = new TransactionEntity();
+        Transaction tx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.TEN, TransactionType.DEPOSIT, start.plusHours(1), null);
+        when(jpaRepository.findByWalletIdAndTimestampBetweenOrderByTimestampAsc(walletId, start, end)).thenReturn(List.of(entity));
+        when(transactionMapper.toDomain(entity)).thenReturn(tx);
+        when(archivePolicy.mayContainArchived(start)).thenReturn(false);
+        
+        // Act
+        List<Transaction> result = transactionRepository.findByWalletIdAndTimestampBetween(walletId, start, end);
+        
+        // Assert
+        assertEquals(List.of(tx), result);
+        verifyNoInteractions(archiveRepository);
+    }
+
+    @Test
+    void findByWalletIdAndTimestampBetween_shouldQueryArchiveForOldPeriods() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2020, 12, 31, 23, 59);
+        ArchivedTransactionEntity archivedEntity = new ArchivedTransactionEntity();
+        Transaction archivedTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.WITHDRAW, start.plusDays(3), null);
+        when(jpaRepository.findByWalletIdAndTimestampBetweenOrderByTimestampAsc(walletId, start, end)).thenReturn(List.of());
+        when(archivePolicy.mayContainArchived(start)).thenReturn(true);
+        when(archiveRepository.findByWalletIdAndTimestampBetweenOrderByTimestampAsc(walletId, start, end)).thenReturn(List.of(archivedEntity));
+        when(transactionMapper.toDomain(archivedEntity)).thenReturn(archivedTx);
+        
+        // Act
+        List<Transaction> result = transactionRepository.findByWalletIdAndTimestampBetween(walletId, start, end);
+        
+        // Assert
+        assertEquals(List.of(archivedTx), result);
+    }
+
+    @Test
+    void sumBalanceChange_shouldSumWholeHistoryInDatabaseWithoutLowerBound() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime end = LocalDateTime.of(2024, 1, 31, 23, 59);
+        when(jpaRepository.sumSignedAmountUpTo(walletId, end, List.of("DEPOSIT", "TRANSFER_IN")))
+            .thenReturn(new BigDecimal("150.00"));
+        
+        // Act
+        BigDecimal result = transactionRepository.sumBalanceChange(walletId, null, end);
+        
+        // Assert
+        assertEquals(new BigDecimal("150.00"), result);
+        verifyNoInteractions(transactionMapper, archiveRepository);
+    }
+
+    @Test
+    void sumBalanceChange_shouldSumOnlyAfterLowerBound() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime after = LocalDateTime.of(2024, 1, 31, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 31, 23, 59);
+        when(jpaRepository.sumSignedAmountBetween(walletId, after, end, List.of("DEPOSIT", "TRANSFER_IN")))
+            .thenReturn(null);
+        
+        // Act
+        BigDecimal result = transactionRepository.sumBalanceChange(walletId, after, end);
+        
+        // Assert
+        assertEquals(BigDecimal.ZERO, result);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sumBalanceChange_shouldCacheSettledBucketsAndSumOnlyTheRest() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime after = LocalDateTime.of(2024, 1, 31, 0, 0);
+        LocalDateTime bucketStart = LocalDateTime.of(2024, 1, 31, 23, 59);
+        LocalDateTime end = bucketStart.plusSeconds(30);
+        when(historyCachePolicy.cacheableEnd(after, end)).thenReturn(bucketStart);
+        when(settledHistoryCache.balanceChange(eq(walletId), eq(after), eq(bucketStart), any()))
+            .thenAnswer(invocation -> ((Supplier<BigDecimal>) invocation.getArgument(3)).get());
+        when(jpaRepository.sumSignedAmountBetween(walletId, after, bucketStart, List.of("DEPOSIT", "TRANSFER_IN")))
+            .thenReturn(new BigDecimal("100.00"));
+        when(jpaRepository.sumSignedAmountBetween(walletId, bucketStart, end, List.of("DEPOSIT", "TRANSFER_IN")))
+            .thenReturn(new BigDecimal("-5.00"));
+        
+        // Act
+        BigDecimal result = transactionRepository.sumBalanceChange(walletId, after, end);
+        
+        // Assert
+        assertEquals(new BigDecimal("95.00"), result);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findByWalletIdAndTimestampBetween_shouldCacheSettledBucketsAndLoadOnlyTheRest() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 31, 0, 0);
+        LocalDateTime bucketStart = LocalDateTime.of(2024, 1, 31, 23, 59);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 31, 23, 59, 59, 999_999_999);
+        Transaction settledTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.TEN, TransactionType.DEPOSIT, bucketStart, null);
+        Transaction restTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.WITHDRAW, bucketStart.plusSeconds(10), null);
+        TransactionEntity boundaryEntity = new TransactionEntity();
+        TransactionEntity restEntity = new TransactionEntity();
+        when(historyCachePolicy.cacheableEnd(start, end)).thenReturn(bucketStart);
+        when(settledHistoryCache.transactions(eq(walletId), eq(start), eq(bucketStart), any(Supplier.class)))
+            .thenReturn(List.of(settledTx));
+        when(jpaRepository.findByWalletIdAndTimestampBetweenOrderByTimestampAsc(walletId, bucketStart, end))
+            .thenReturn(List.of(boundaryEntity, restEntity));
+        when(transactionMapper.toDomain(boundaryEntity)).thenReturn(settledTx);
+        when(transactionMapper.toDomain(restEntity)).thenReturn(restTx);
+        when(archivePolicy.mayContainArchived(bucketStart)).thenReturn(false);
+        
+        // Act
+        List<Transaction> result = transactionRepository.findByWalletIdAndTimestampBetween(walletId, start, end);
+        
+        // Assert
+        assertEquals(List.of(settledTx, restTx), result);
+    }
+
+    @Test
+    void sumBalanceChangeByInterval_shouldFillIntervalsWithoutTransactionsWithZero() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> rows = List.<Object[]>of(
+            new Object[]{1L, new BigDecimal("10.00")},
+            new Object[]{3L, new BigDecimal("-4.00")});
+        when(jpaRepository.sumSignedAmountByInterval(walletId, from, from.plusDays(3), 86400L, List.of("DEPOSIT", "TRANSFER_IN")))
+            .thenReturn(rows);
+        
+        // Act
+        List<BigDecimal> result = transactionRepository.sumBalanceChangeByInterval(walletId, from, Duration.ofDays(1), 3);
+        
+        // Assert
+        assertEquals(List.of(new BigDecimal("10.00"), BigDecimal.ZERO, new BigDecimal("-4.00")), result);
+    }
+
+    @Test
+    void findByWalletIdAndSeqGreaterThan_shouldSkipArchiveWhenHotRowsAreContiguous() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        TransactionEntity entity = new TransactionEntity();
+        Transaction tx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.TEN, TransactionType.DEPOSIT, LocalDateTime.now(), null);
+        tx.setSeq(11L);
+        when(jpaRepository.findByWalletIdAndSeqGreaterThanOrderBySeqAsc(walletId, 10L, Limit.of(500))).thenReturn(List.of(entity));
+        when(transactionMapper.toDomain(entity)).thenReturn(tx);
+        
+        // Act
+        List<Transaction> result = transactionRepository.findByWalletIdAndSeqGreaterThan(walletId, 10L, 500);
+        
+        // Assert
+        assertEquals(List.of(tx), result);
+        verifyNoInteractions(archiveRepository);
+    }
+
+    @Test
+    void findByWalletIdAndSeqGreaterThan_shouldReadArchiveWhenHotRowsStartLater() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        TransactionEntity hotEntity = new TransactionEntity();
+        ArchivedTransactionEntity archivedEntity = ArchivedTransactionEntity.builder().seq(3L).build();
+        ArchivedTransactionEntity movedEntity = ArchivedTransactionEntity.builder().seq(4L).build();
+        Transaction archivedTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, LocalDateTime.of(2023, 1, 1, 10, 0), null);
+        archivedTx.setSeq(3L);
+        Transaction movedTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, LocalDateTime.of(2023, 1, 2, 10, 0), null);
+        movedTx.setSeq(4L);
+        Transaction hotTx = new Transaction(movedTx.getId(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, movedTx.getTimestamp(), null);
+        hotTx.setSeq(4L);
+        when(jpaRepository.findByWalletIdAndSeqGreaterThanOrderBySeqAsc(walletId, 2L, Limit.of(2))).thenReturn(List.of(hotEntity));
+        when(archiveRepository.findByWalletIdAndSeqGreaterThanOrderBySeqAsc(walletId, 2L, Limit.of(2))).thenReturn(List.of(archivedEntity, movedEntity));
+        when(transactionMapper.toDomain(hotEntity)).thenReturn(hotTx);
+        when(transactionMapper.toDomain(archivedEntity)).thenReturn(archivedTx);
+        when(transactionMapper.toDomain(movedEntity)).thenReturn(movedTx);
+        
+        // Act
+        List<Transaction> result = transactionRepository.findByWalletIdAndSeqGreaterThan(walletId, 2L, 2);
+        
+        // Assert
+        assertEquals(List.of(archivedTx, movedTx), result);
+    }
+
+    @Test
+    void findLatestPage_shouldReturnNewestTransactionsOfBothTiersInSequenceOrder() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        TransactionEntity hotEntity = new TransactionEntity();
+        ArchivedTransactionEntity archivedEntity = ArchivedTransactionEntity.builder().seq(4L).build();
+        ArchivedTransactionEntity movedEntity = ArchivedTransactionEntity.builder().seq(5L).build();
+        Transaction hotTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, LocalDateTime.of(2023, 1, 2, 10, 0), null);
+        hotTx.setSeq(5L);
+        Transaction archivedTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, LocalDateTime.of(2023, 1, 1, 10, 0), null);
+        archivedTx.setSeq(4L);
+        Transaction movedTx = new Transaction(hotTx.getId(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, hotTx.getTimestamp(), null);
+        movedTx.setSeq(5L);
+        Limit page = Limit.of(TransactionRepositoryImpl.LATEST_PAGE_SIZE);
+        when(jpaRepository.findByWalletIdOrderBySeqDesc(walletId, page)).thenReturn(List.of(hotEntity));
+        when(archiveRepository.findByWalletIdOrderBySeqDesc(walletId, page)).thenReturn(List.of(movedEntity, archivedEntity));
+        when(transactionMapper.toDomain(hotEntity)).thenReturn(hotTx);
+        when(transactionMapper.toDomain(archivedEntity)).thenReturn(archivedTx);
+        when(transactionMapper.toDomain(movedEntity)).thenReturn(movedTx);
+        
+        // Act
+        List<Transaction> result = transactionRepository.findLatestPage(walletId);
+        
+        // Assert
+        assertEquals(List.of(archivedTx, hotTx), result);
+    }
+
+    @Test
+    void findFeedPage_shouldReadOnlyHotTierPastArchiveHorizon() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        TransactionCursor after = new TransactionCursor(LocalDateTime.now().minusHours(1), walletId, 5L);
+        TransactionEntity entity = new TransactionEntity();
+        Transaction tx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.TEN, TransactionType.DEPOSIT, LocalDateTime.now(), null);
+        when(jpaRepository.findFeedPageAfter(walletId, after.getTimestamp(), 5L, Limit.of(10))).thenReturn(List.of(entity));
+        when(transactionMapper.toDomain(entity)).thenReturn(tx);
+        when(archivePolicy.mayContainArchived(after.getTimestamp())).thenReturn(false);
+        
+        // Act
+        List<Transaction> result = transactionRepository.findFeedPage(walletId, after, 10);
+        
+        // Assert
+        assertEquals(List.of(tx), result);
+        verifyNoInteractions(archiveRepository);
+    }
+
+    @Test
+    void findFeedPage_shouldMergeArchiveFromBeginningOfHistory() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        TransactionEntity hotEntity = new TransactionEntity();
+        ArchivedTransactionEntity archivedEntity = new ArchivedTransactionEntity();
+        Transaction hotTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.TEN, TransactionType.DEPOSIT, LocalDateTime.of(2024, 3, 1, 10, 0), null);
+        Transaction archivedTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, LocalDateTime.of(2023, 1, 1, 10, 0), null);
+        when(jpaRepository.findByWalletIdOrderByTimestampAscSeqAsc(walletId, Limit.of(1))).thenReturn(List.of(hotEntity));
+        when(archiveRepository.findByWalletIdOrderByTimestampAscSeqAsc(walletId, Limit.of(1))).thenReturn(List.of(archivedEntity));
+        when(transactionMapper.toDomain(hotEntity)).thenReturn(hotTx);
+        when(transactionMapper.toDomain(archivedEntity)).thenReturn(archivedTx);
+        
+        // Act
+        List<Transaction> result = transactionRepository.findFeedPage(walletId, null, 1);
+        
+        // Assert
+        assertEquals(List.of(archivedTx), result);
+    }
+
+    @Test
+    void search_shouldMergeBothTiersNewestFirst() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+            walletId, TransactionType.DEPOSIT, null, null, null, null, null, 10);
+        TransactionEntity hotEntity = new TransactionEntity();
+        ArchivedTransactionEntity archivedEntity = new ArchivedTransactionEntity();
+        Transaction hotTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.TEN, TransactionType.DEPOSIT, LocalDateTime.of(2024, 3, 1, 10, 0), null);
+        Transaction archivedTx = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, LocalDateTime.of(2023, 1, 1, 10, 0), null);
+        when(entityManager.createQuery(TransactionSearchQuery.forTransactions(criteria).getJpql(), TransactionEntity.class)).thenReturn(transactionQuery);
+        when(entityManager.createQuery(TransactionSearchQuery.forArchive(criteria).getJpql(), ArchivedTransactionEntity.class)).thenReturn(archiveQuery);
+        when(transactionQuery.setMaxResults(10)).thenReturn(transactionQuery);
+        when(archiveQuery.setMaxResults(10)).thenReturn(archiveQuery);
+        when(transactionQuery.getResultList()).thenReturn(List.of(hotEntity));
+        when(archiveQuery.getResultList()).thenReturn(List.of(archivedEntity));
+        when(transactionMapper.toDomain(hotEntity)).thenReturn(hotTx);
+        when(transactionMapper.toDomain(archivedEntity)).thenReturn(archivedTx);
+        
+        // Act
+        List<Transaction> result = transactionRepository.search(criteria);
+        
+        // Assert
+        assertEquals(List.of(hotTx, archivedTx), result);
+        verify(transactionQuery).setParameter("walletId", walletId);
+        verify(transactionQuery).setParameter("type", TransactionType.DEPOSIT);
+    }
+
+    @Test
+    void aggregateByDayAndType_shouldMapDatabaseRows() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 1, 31, 23, 59);
+        Object[] row = {Date.valueOf("2023-01-05"), "DEPOSIT", 3L, new BigDecimal("150.00"), new BigDecimal("10.00"), new BigDecimal("100.00")};
+        when(jpaRepository.aggregateByDayAndType(walletId, start, end)).thenReturn(List.<Object[]>of(row));
+        
+        // Act
+        List<TransactionAggregate> result = transactionRepository.aggregateByDayAndType(walletId, start, end);
+        
+        // Assert
+        assertEquals(1, result.size());
+        TransactionAggregate aggregate = result.get(0);
+        assertEquals(LocalDate.of(2023, 1, 5), aggregate.getDay());
+        assertEquals(TransactionType.DEPOSIT, aggregate.getType());
+        assertEquals(3, aggregate.getCount());
+        assertEquals(new BigDecimal("150.00"), aggregate.getSum());
+        assertEquals(new BigDecimal("10.00"), aggregate.getMin());
+        assertEquals(new BigDecimal("100.00"), aggregate.getMax());
+        verifyNoInteractions(archiveRepository);
+    }
 }
@@ -0,0 +1,63 @@
+package com.digital.wallet.adapter.repositories.impl;
+
+import com.digital.wallet.core.domain.TransactionSearchCriteria;
+import com.digital.wallet.core.domain.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSearchQueryTest {
+
+    @Test
+    void forTransactions_shouldLeadWithCounterpartyPredicate() {
+        // Arrange
+        UUID relatedUserId = UUID.randomUUID();
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+            null, TransactionType.TRANSFER_OUT, new BigDecimal("1000"), null, relatedUserId,
+            LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 2, 29, 23, 59), 50);
+
+        // Act
+        TransactionSearchQuery query = TransactionSearchQuery.forTransactions(criteria);
+
+        // Assert
+        assertEquals("SELECT t FROM TransactionEntity t WHERE t.relatedUserId = :relatedUserId AND t.type = :type "
+            + "AND t.timestamp >= :from AND t.timestamp <= :to AND t.amount >= :minAmount ORDER BY t.timestamp DESC",
+            query.getJpql());
+        assertEquals(List.of("relatedUserId", "type", "from", "to", "minAmount"), List.copyOf(query.getParameters().keySet()));
+        assertEquals(relatedUserId, query.getParameters().get("relatedUserId"));
+    }
+
+    @Test
+    void forArchive_shouldLeadWithWalletPredicate() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+            walletId, TransactionType.DEPOSIT, null, BigDecimal.TEN, null, null, null, 20);
+
+        // Act
+        TransactionSearchQuery query = TransactionSearchQuery.forArchive(criteria);
+
+        // Assert
+        assertEquals("SELECT t FROM ArchivedTransactionEntity t WHERE t.walletId = :walletId AND t.type = :type "
+            + "AND t.amount <= :maxAmount ORDER BY t.timestamp DESC", query.getJpql());
+    }
+
+    @Test
+    void forTransactions_shouldLeadWithTypePredicateForPeriodSearches() {
+        // Arrange
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+            null, TransactionType.WITHDRAW, null, null, null,
+            LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 2, 2, 0, 0), 20);
+
+        // Act
+        TransactionSearchQuery query = TransactionSearchQuery.forTransactions(criteria);
+
+        // Assert
+        assertTrue(query.getJpql().startsWith("SELECT t FROM TransactionEntity t WHERE t.type = :type AND t.timestamp >= :from"));
+    }
+}
@@ -8,6 +8,7 @@ import com.digital.wallet.adapter.entities.WalletEntity;
 import com.digital.wallet.core.domain.Transaction;
 import com.digital.wallet.core.domain.TransactionType;
 import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.infra.events.WalletEventPublisher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,6 +48,12 @@ class TransactionalWalletRepositoryImplTest {
     
     @Mock
     private Query query;
+    
+    @Mock
+    private Query sequenceQuery;
+    
+    @Mock
+    private WalletEventPublisher walletEventPublisher;
 
     @InjectMocks
     private TransactionalWalletRepositoryImpl transactionalWalletRepository;
@@ -97,6 +104,12 @@ class TransactionalWalletRepositoryImplTest {
         
         // Inject the mocked EntityManager into the @PersistenceContext field
         ReflectionTestUtils.setField(transactionalWalletRepository, "entityManager", entityManager);
+        
+        // Sequence allocation runs for every created transaction
+        lenient().when(entityManager.createNativeQuery(TransactionalWalletRepositoryImpl.NEXT_SEQ_SQL)).thenReturn(sequenceQuery);
+        lenient().when(entityManager.createNativeQuery(TransactionalWalletRepositoryImpl.CURRENT_SEQ_SQL)).thenReturn(sequenceQuery);
+        lenient().when(sequenceQuery.setParameter("walletId", walletId)).thenReturn(sequenceQuery);
+        lenient().when(sequenceQuery.getSingleResult()).thenReturn(new Object[]{42L, new BigDecimal("150.00")});
     }
 
     @Test
@@ -173,57 +186,65 @@ class TransactionalWalletRepositoryImplTest {
     }
 
     @Test
-    void updateWalletBalance_WithCreditOperation_ShouldReturnTrue() {
+    void findPageMethods_ShouldDelegateToWalletRepository() {
+        // Given
+        UUID afterId = UUID.randomUUID();
+        when(delegateWalletRepository.findIdsAfter(afterId, 10)).thenReturn(List.of(walletId));
+        when(delegateWalletRepository.findAllById(List.of(walletId))).thenReturn(List.of(wallet));
+
+        // When & Then
+        assertEquals(List.of(walletId), transactionalWalletRepository.findIdsAfter(afterId, 10));
+        assertEquals(List.of(wallet), transactionalWalletRepository.findAllById(List.of(walletId)));
+    }
+
+    @Test
+    void updateWalletBalance_WithCreditOperation_ShouldReturnNewBalance() {
         // Given
-        when(entityManager.createQuery(anyString())).thenReturn(query);
+        when(entityManager.createNativeQuery(TransactionalWalletRepositoryImpl.CREDIT_SQL)).thenReturn(query);
         when(query.setParameter("amount", amount)).thenReturn(query);
         when(query.setParameter("walletId", walletId)).thenReturn(query);
-        when(query.executeUpdate()).thenReturn(1);
+        when(query.getResultList()).thenReturn(List.of(new BigDecimal("150.00")));
 
         // When
-        boolean result = transactionalWalletRepository.updateWalletBalance(walletId, amount, false);
+        Optional<BigDecimal> result = transactionalWalletRepository.updateWalletBalance(walletId, amount, false);
 
         // Then
-        assertTrue(result);
-        verify(entityManager).createQuery("UPDATE WalletEntity w SET w.balance = w.balance + :amount WHERE w.id = :walletId");
+        assertEquals(Optional.of(new BigDecimal("150.00")), result);
         verify(query).setParameter("amount", amount);
         verify(query).setParameter("walletId", walletId);
-        verify(query).executeUpdate();
+        verify(query).getResultList();
     }
 
     @Test
-    void updateWalletBalance_WithDebitOperation_ShouldReturnTrue() {
+    void updateWalletBalance_WithDebitOperation_ShouldReturnNewBalance() {
         // Given
-        when(entityManager.createQuery(anyString())).thenReturn(query);
+        when(entityManager.createNativeQuery(TransactionalWalletRepositoryImpl.DEBIT_SQL)).thenReturn(query);
         when(query.setParameter("amount", amount)).thenReturn(query);
         when(query.setParameter("walletId", walletId)).thenReturn(query);
-        when(query.executeUpdate()).thenReturn(1);
+        when(query.getResultList()).thenReturn(List.of(50.5d));
 
         // When
-        boolean result = transactionalWalletRepository.updateWalletBalance(walletId, amount, true);
+        Optional<BigDecimal> result = transactionalWalletRepository.updateWalletBalance(walletId, amount, true);
 
         // Then
-        assertTrue(result);
-        verify(entityManager).createQuery("UPDATE WalletEntity w SET w.balance = w.balance - :amount WHERE w.id = :walletId");
-        verify(query).setParameter("amount", amount);
-        verify(query).setParameter("walletId", walletId);
-        verify(query).executeUpdate();
+        assertEquals(Optional.of(new BigDecimal("50.5")), result);
+        verify(entityManager).createNativeQuery(TransactionalWalletRepositoryImpl.DEBIT_SQL);
     }
 
     @Test
-    void updateWalletBalance_WhenNoRowsUpdated_ShouldReturnFalse() {
+    void updateWalletBalance_WhenNoRowsUpdated_ShouldReturnEmpty() {
         // Given
-        when(entityManager.createQuery(anyString())).thenReturn(query);
+        when(entityManager.createNativeQuery(TransactionalWalletRepositoryImpl.CREDIT_SQL)).thenReturn(query);
         when(query.setParameter("amount", amount)).thenReturn(query);
         when(query.setParameter("walletId", walletId)).thenReturn(query);
-        when(query.executeUpdate()).thenReturn(0);
+        when(query.getResultList()).thenReturn(List.of());
 
         // When
-        boolean result = transactionalWalletRepository.updateWalletBalance(walletId, amount, false);
+        Optional<BigDecimal> result = transactionalWalletRepository.updateWalletBalance(walletId, amount, false);
 
         // Then
-        assertFalse(result);
-        verify(query).executeUpdate();
+        assertTrue(result.isEmpty());
+        verify(query).getResultList();
     }
 
     @Test
@@ -252,8 +273,11 @@ class TransactionalWalletRepositoryImplTest {
         assertEquals(TransactionType.DEPOSIT, capturedEntity.getType());
         assertEquals(userId, capturedEntity.getRelatedUserId());
         assertEquals(timestamp, capturedEntity.getTimestamp());
+        assertEquals(42L, capturedEntity.getSeq());
         
+        verify(sequenceQuery).executeUpdate();
         verify(transactionMapper).toDomain(capturedEntity);
+        verify(walletEventPublisher).publishAfterCommit(transaction, new BigDecimal("150.00"));
     }
 
     @Test
@@ -272,7 +296,7 @@ class TransactionalWalletRepositoryImplTest {
         assertEquals("Wallet not found: " + walletId, exception.getMessage());
         verify(entityManager).find(WalletEntity.class, walletId);
         verify(entityManager, never()).persist(any());
-        verify(transactionMapper, never()).toDomain(any());
+        verify(transactionMapper, never()).toDomain(any(TransactionEntity.class));
     }
 
     @Test
@@ -353,6 +377,41 @@ class TransactionalWalletRepositoryImplTest {
         assertEquals("Database error", exception.getMessage());
         verify(entityManager).find(WalletEntity.class, walletId);
         verify(entityManager).persist(any());
-        verify(transactionMapper, never()).toDomain(any());
+        verify(transactionMapper, never()).toDomain(any(TransactionEntity.class));
+    }
+
+    @Test
+    void createTransaction_InSyncSummaryMode_ShouldUpsertDailySummary() {
+        // Given
+        TransactionalWalletRepositoryImpl syncRepository = new TransactionalWalletRepositoryImpl(
+            delegateWalletRepository, walletMapper, transactionMapper, walletEventPublisher, TransactionalWalletRepositoryImpl.DAILY_SUMMARY_MODE_SYNC);
+        ReflectionTestUtils.setField(syncRepository, "entityManager", entityManager);
+        when(entityManager.find(WalletEntity.class, walletId)).thenReturn(walletEntity);
+        when(entityManager.createNativeQuery(contains("wallet_daily_summary"))).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(transactionMapper.toDomain(any(TransactionEntity.class))).thenReturn(transaction);
+
+        // When
+        syncRepository.createTransaction(walletId, amount, TransactionType.TRANSFER_IN, userId, timestamp);
+
+        // Then
+        verify(entityManager).createNativeQuery(contains("transfer_in_count = s.transfer_in_count + 1"));
+        verify(query).setParameter("walletId", walletId);
+        verify(query).setParameter("day", timestamp.toLocalDate());
+        verify(query).setParameter("amount", amount);
+        verify(query).executeUpdate();
+    }
+
+    @Test
+    void createTransaction_WithoutSyncSummaryMode_ShouldNotTouchDailySummary() {
+        // Given
+        when(entityManager.find(WalletEntity.class, walletId)).thenReturn(walletEntity);
+        when(transactionMapper.toDomain(any(TransactionEntity.class))).thenReturn(transaction);
+
+        // When
+        transactionalWalletRepository.createTransaction(walletId, amount, TransactionType.DEPOSIT, userId, timestamp);
+
+        // Then
+        verify(entityManager, never()).createNativeQuery(contains("wallet_daily_summary"));
     }
 }
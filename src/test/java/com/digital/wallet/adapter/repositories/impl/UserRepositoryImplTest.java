@@ -11,6 +11,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +19,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -193,4 +195,32 @@ class UserRepositoryImplTest {
         assertTrue(result.isEmpty());
         verify(jpaRepository).findAll();
     }
+
+    @Test
+    void findAllById_ShouldQueryInBatches() {
+        // Arrange
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < UserRepositoryImpl.ID_BATCH_SIZE + 1; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        when(jpaRepository.findAllById(anyIterable())).thenReturn(List.of(userEntity));
+        when(userMapper.toDomain(userEntity)).thenReturn(user);
+
+        // Act
+        List<User> result = userRepository.findAllById(ids);
+
+        // Assert
+        assertEquals(2, result.size());
+        verify(jpaRepository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    void findAllById_ShouldReturnEmptyList_WhenNoIdsGiven() {
+        // Act
+        List<User> result = userRepository.findAllById(List.of());
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(jpaRepository);
+    }
 }
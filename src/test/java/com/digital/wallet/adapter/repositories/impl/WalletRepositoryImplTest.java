@@ -12,6 +12,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -297,4 +298,26 @@ class WalletRepositoryImplTest {
         assertTrue(result.isEmpty());
         verify(jpaRepository).findAll();
     }
+
+    @Test
+    void findIdsAfter_withoutCursor_shouldReturnFirstIds() {
+        when(jpaRepository.findFirstIds(Limit.of(2))).thenReturn(List.of(walletId));
+        assertEquals(List.of(walletId), walletRepository.findIdsAfter(null, 2));
+        verify(jpaRepository, never()).findIdsAfter(any(), any());
+    }
+
+    @Test
+    void findIdsAfter_withCursor_shouldReturnIdsAfterIt() {
+        UUID afterId = UUID.randomUUID();
+        when(jpaRepository.findIdsAfter(afterId, Limit.of(2))).thenReturn(List.of(walletId));
+        assertEquals(List.of(walletId), walletRepository.findIdsAfter(afterId, 2));
+    }
+
+    @Test
+    void findAllById_shouldMapWalletsAndSkipEmptyQuery() {
+        when(jpaRepository.findAllById(List.of(walletId))).thenReturn(List.of(savedEntity));
+        assertEquals(List.of(wallet), walletRepository.findAllById(List.of(walletId)));
+        assertTrue(walletRepository.findAllById(List.of()).isEmpty());
+        verify(jpaRepository, times(1)).findAllById(any());
+    }
 }
@@ -0,0 +1,54 @@
+package com.digital.wallet.core.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionCursorTest {
+
+    private static final UUID LOW_WALLET = UUID.fromString("10000000-0000-0000-0000-000000000000");
+    private static final UUID HIGH_WALLET = UUID.fromString("f0000000-0000-0000-0000-000000000000");
+
+    @Test
+    void seqBoundFor_shouldDependOnWalletOrder() {
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2024, 3, 1, 10, 0), LOW_WALLET, 7L);
+
+        assertEquals(7L, cursor.seqBoundFor(LOW_WALLET));
+        assertEquals(0L, cursor.seqBoundFor(HIGH_WALLET));
+        assertEquals(Long.MAX_VALUE, new TransactionCursor(cursor.getTimestamp(), HIGH_WALLET, 7L).seqBoundFor(LOW_WALLET));
+    }
+
+    @Test
+    void feedOrder_shouldSortByTimestampThenWalletThenSeq() {
+        LocalDateTime at = LocalDateTime.of(2024, 3, 1, 10, 0);
+        Transaction high = transaction(HIGH_WALLET, at, 1L);
+        Transaction lowFirst = transaction(LOW_WALLET, at, 1L);
+        Transaction lowSecond = transaction(LOW_WALLET, at, 2L);
+        Transaction earlier = transaction(HIGH_WALLET, at.minusSeconds(1), 9L);
+
+        assertTrue(TransactionCursor.FEED_ORDER.compare(earlier, lowFirst) < 0);
+        assertTrue(TransactionCursor.FEED_ORDER.compare(lowFirst, lowSecond) < 0);
+        assertTrue(TransactionCursor.FEED_ORDER.compare(lowSecond, high) < 0);
+    }
+
+    @Test
+    void after_shouldPointAtTransaction() {
+        Transaction transaction = transaction(LOW_WALLET, LocalDateTime.of(2024, 3, 1, 10, 0), 3L);
+
+        TransactionCursor cursor = TransactionCursor.after(transaction);
+
+        assertEquals(transaction.getTimestamp(), cursor.getTimestamp());
+        assertEquals(LOW_WALLET, cursor.getWalletId());
+        assertEquals(3L, cursor.getSeq());
+    }
+
+    private Transaction transaction(UUID walletId, LocalDateTime timestamp, long seq) {
+        Transaction transaction = new Transaction(UUID.randomUUID(), walletId, BigDecimal.ONE, TransactionType.DEPOSIT, timestamp, null);
+        transaction.setSeq(seq);
+        return transaction;
+    }
+}
@@ -0,0 +1,58 @@
+package com.digital.wallet.core.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionSearchCriteriaTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Test
+    void shouldStartFromWalletIndexWhenWalletIsGiven() {
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+            UUID.randomUUID(), TransactionType.DEPOSIT, null, null, UUID.randomUUID(), null, null, 50);
+
+        assertEquals(TransactionSearchCriteria.AccessPath.WALLET, criteria.getAccessPath());
+    }
+
+    @Test
+    void shouldStartFromCounterpartyIndexWhenRelatedUserIsGiven() {
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+            null, TransactionType.TRANSFER_OUT, new BigDecimal("1000"), null, UUID.randomUUID(), null, null, 50);
+
+        assertEquals(TransactionSearchCriteria.AccessPath.RELATED_USER, criteria.getAccessPath());
+    }
+
+    @Test
+    void shouldStartFromTypeIndexWithinBoundedPeriod() {
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+            null, TransactionType.TRANSFER_OUT, new BigDecimal("1000"), null, null, FROM, FROM.plusDays(31), 50);
+
+        assertEquals(TransactionSearchCriteria.AccessPath.TYPE_AND_PERIOD, criteria.getAccessPath());
+    }
+
+    @Test
+    void shouldRejectSearchesThatWouldScanEveryTransaction() {
+        assertThrows(IllegalArgumentException.class, () -> new TransactionSearchCriteria(
+            null, null, new BigDecimal("1000"), null, null, FROM, FROM.plusDays(1), 50));
+        assertThrows(IllegalArgumentException.class, () -> new TransactionSearchCriteria(
+            null, TransactionType.DEPOSIT, null, null, null, null, null, 50));
+        assertThrows(IllegalArgumentException.class, () -> new TransactionSearchCriteria(
+            null, TransactionType.DEPOSIT, null, null, null, FROM, FROM.plusDays(200), 50));
+    }
+
+    @Test
+    void shouldRejectInvertedRanges() {
+        UUID walletId = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> new TransactionSearchCriteria(
+            walletId, null, BigDecimal.TEN, BigDecimal.ONE, null, null, null, 50));
+        assertThrows(IllegalArgumentException.class, () -> new TransactionSearchCriteria(
+            walletId, null, null, null, null, FROM, FROM.minusDays(1), 50));
+    }
+}
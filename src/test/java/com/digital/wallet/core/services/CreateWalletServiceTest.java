@@ -1,13 +1,15 @@
 package com.digital.wallet.core.services;
 
-import com.digital.wallet.core.domain.Transaction;
-import com.digital.wallet.core.domain.TransactionType;
+import com.digital.wallet.core.domain.BalanceCheckpoint;
+import com.digital.wallet.core.domain.BalanceSeries;
 import com.digital.wallet.core.domain.User;
 import com.digital.wallet.core.domain.Wallet;
 import com.digital.wallet.core.exceptions.InvalidDateFormatException;
 import com.digital.wallet.core.exceptions.UserNotFoundException;
 import com.digital.wallet.core.exceptions.WalletAlreadyExistsException;
 import com.digital.wallet.core.exceptions.WalletNotFoundException;
+import com.digital.wallet.core.ports.out.BalanceCheckpointRepository;
+import com.digital.wallet.core.ports.out.BalanceIndex;
 import com.digital.wallet.core.ports.out.TransactionRepository;
 import com.digital.wallet.core.ports.out.UserRepository;
 import com.digital.wallet.core.ports.out.WalletRepository;
@@ -15,8 +17,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,6 +30,8 @@ class CreateWalletServiceTest {
     private WalletRepository walletRepository;
     private UserRepository userRepository;
     private TransactionRepository transactionRepository;
+    private BalanceCheckpointRepository balanceCheckpointRepository;
+    private BalanceIndex balanceIndex;
     private CreateWalletService service;
 
     @BeforeEach
@@ -35,7 +39,9 @@ class CreateWalletServiceTest {
         walletRepository = mock(WalletRepository.class);
         userRepository = mock(UserRepository.class);
         transactionRepository = mock(TransactionRepository.class);
-        service = new CreateWalletService(walletRepository, userRepository, transactionRepository);
+        balanceCheckpointRepository = mock(BalanceCheckpointRepository.class);
+        balanceIndex = mock(BalanceIndex.class);
+        service = new CreateWalletService(walletRepository, userRepository, transactionRepository, balanceCheckpointRepository, balanceIndex);
     }
 
     @Test
@@ -173,7 +179,7 @@ class CreateWalletServiceTest {
     }
     
     @Test
-    void findBalanceAt_shouldCalculateCorrectHistoricalBalance() {
+    void findBalanceAt_shouldUseDatabaseSumWithoutCheckpoint() {
         // Arrange
         UUID walletId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
@@ -183,68 +189,21 @@ class CreateWalletServiceTest {
         String targetDate = "2023-01-10T12:00:00";
         LocalDateTime targetDateTime = LocalDateTime.of(2023, 1, 10, 12, 0, 0);
         
-        // Create test transactions
-        List<Transaction> transactions = new ArrayList<>();
-        
-        // Deposit of 100
-        Transaction deposit = new Transaction();
-        deposit.setId(UUID.randomUUID());
-        deposit.setWalletId(walletId);
-        deposit.setAmount(new BigDecimal("100.00"));
-        deposit.setType(TransactionType.DEPOSIT);
-        deposit.setTimestamp(LocalDateTime.of(2023, 1, 5, 10, 0, 0));
-        transactions.add(deposit);
-        
-        // Withdrawal of 30
-        Transaction withdrawal = new Transaction();
-        withdrawal.setId(UUID.randomUUID());
-        withdrawal.setWalletId(walletId);
-        withdrawal.setAmount(new BigDecimal("30.00"));
-        withdrawal.setType(TransactionType.WITHDRAW);
-        withdrawal.setTimestamp(LocalDateTime.of(2023, 1, 7, 14, 0, 0));
-        transactions.add(withdrawal);
-        
-        // Incoming transfer of 50
-        Transaction transferIn = new Transaction();
-        transferIn.setId(UUID.randomUUID());
-        transferIn.setWalletId(walletId);
-        transferIn.setAmount(new BigDecimal("50.00"));
-        transferIn.setType(TransactionType.TRANSFER_IN);
-        transferIn.setTimestamp(LocalDateTime.of(2023, 1, 8, 9, 0, 0));
-        transactions.add(transferIn);
-        
-        // Outgoing transfer of 20
-        Transaction transferOut = new Transaction();
-        transferOut.setId(UUID.randomUUID());
-        transferOut.setWalletId(walletId);
-        transferOut.setAmount(new BigDecimal("20.00"));
-        transferOut.setType(TransactionType.TRANSFER_OUT);
-        transferOut.setTimestamp(LocalDateTime.of(2023, 1, 9, 16, 0, 0));
-        transactions.add(transferOut);
-        
-        // This transaction is after the target date and should not be considered
-        Transaction laterDeposit = new Transaction();
-        laterDeposit.setId(UUID.randomUUID());
-        laterDeposit.setWalletId(walletId);
-        laterDeposit.setAmount(new BigDecimal("200.00"));
-        laterDeposit.setType(TransactionType.DEPOSIT);
-        laterDeposit.setTimestamp(LocalDateTime.of(2023, 1, 11, 10, 0, 0));
-        
         when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
-        when(transactionRepository.findByWalletIdAndTimestampLessThanEqual(walletId, targetDateTime))
-            .thenReturn(transactions);
+        when(balanceCheckpointRepository.findLatestAtOrBefore(walletId, targetDateTime)).thenReturn(Optional.empty());
+        when(transactionRepository.sumBalanceChange(walletId, null, targetDateTime)).thenReturn(new BigDecimal("100.00"));
         
         // Act
         Wallet historicalWallet = service.findBalanceAt(walletId, targetDate);
         
         // Assert
-        // Expected calculation: 100 (deposit) - 30 (withdrawal) + 50 (incoming transfer) - 20 (outgoing transfer) = 100
         assertEquals(new BigDecimal("100.00"), historicalWallet.getBalance());
         assertEquals(walletId, historicalWallet.getId());
         assertEquals(userId, historicalWallet.getUserId());
         
         verify(walletRepository).findById(walletId);
-        verify(transactionRepository).findByWalletIdAndTimestampLessThanEqual(walletId, targetDateTime);
+        verify(transactionRepository).sumBalanceChange(walletId, null, targetDateTime);
+        verify(transactionRepository, never()).findByWalletIdAndTimestampLessThanEqual(any(UUID.class), any(LocalDateTime.class));
     }
     
     @Test
@@ -257,15 +216,38 @@ class CreateWalletServiceTest {
         LocalDateTime targetDateTime = LocalDateTime.of(2023, 1, 10, 12, 0, 0);
         
         when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
-        when(transactionRepository.findByWalletIdAndTimestampLessThanEqual(eq(walletId), any(LocalDateTime.class)))
-            .thenReturn(new ArrayList<>());
+        when(transactionRepository.sumBalanceChange(eq(walletId), isNull(), any(LocalDateTime.class)))
+            .thenReturn(BigDecimal.ZERO);
         
         // Act
         service.findBalanceAt(walletId, simpleDate);
         
         // Assert
         verify(walletRepository).findById(walletId);
-        verify(transactionRepository).findByWalletIdAndTimestampLessThanEqual(eq(walletId), any(LocalDateTime.class));
+        verify(transactionRepository).sumBalanceChange(eq(walletId), isNull(), eq(targetDateTime));
+    }
+    
+    @Test
+    void findBalanceAt_shouldStartFromNearestCheckpoint() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        Wallet wallet = new Wallet(walletId, UUID.randomUUID(), BigDecimal.ZERO);
+        LocalDateTime checkpointAt = LocalDateTime.of(2023, 1, 10, 0, 0, 0);
+        LocalDateTime targetDateTime = LocalDateTime.of(2023, 1, 10, 12, 0, 0);
+        
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(balanceCheckpointRepository.findLatestAtOrBefore(walletId, targetDateTime))
+            .thenReturn(Optional.of(new BalanceCheckpoint(walletId, checkpointAt, new BigDecimal("100.00"))));
+        when(transactionRepository.sumBalanceChange(walletId, checkpointAt, targetDateTime))
+            .thenReturn(new BigDecimal("20.00"));
+        
+        // Act
+        Wallet historicalWallet = service.findBalanceAt(walletId, "2023-01-10T12:00:00");
+        
+        // Assert
+        // Expected calculation: 100 (checkpoint) + 20 (net change after the checkpoint) = 120
+        assertEquals(new BigDecimal("120.00"), historicalWallet.getBalance());
+        verify(transactionRepository, never()).sumBalanceChange(eq(walletId), isNull(), any(LocalDateTime.class));
     }
     
     @Test
@@ -284,6 +266,53 @@ class CreateWalletServiceTest {
         );
         
         verify(walletRepository).findById(walletId);
+        verify(transactionRepository, never()).sumBalanceChange(any(UUID.class), any(), any(LocalDateTime.class));
+    }
+    
+    @Test
+    void getBalanceSeries_shouldRunSumFromOpeningBalance() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0, 0);
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(new Wallet(walletId, UUID.randomUUID(), BigDecimal.ZERO)));
+        when(transactionRepository.sumBalanceChange(walletId, null, from)).thenReturn(new BigDecimal("50.00"));
+        when(transactionRepository.sumBalanceChangeByInterval(walletId, from, Duration.ofDays(1), 3))
+            .thenReturn(List.of(new BigDecimal("10.00"), BigDecimal.ZERO, new BigDecimal("-20.00")));
+        
+        // Act
+        BalanceSeries series = service.getBalanceSeries(walletId, "2024-01-01T00:00:00", "2024-01-04T00:00:00", BalanceSeries.Interval.DAY);
+        
+        // Assert
+        assertEquals(List.of(from, from.plusDays(1), from.plusDays(2), from.plusDays(3)), series.getTimestamps());
+        assertEquals(List.of(new BigDecimal("50.00"), new BigDecimal("60.00"), new BigDecimal("60.00"), new BigDecimal("40.00")),
+            series.getBalances());
         verify(transactionRepository, never()).findByWalletIdAndTimestampLessThanEqual(any(UUID.class), any(LocalDateTime.class));
     }
+    
+    @Test
+    void getBalanceSeries_shouldRejectTooManyIntervals() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(new Wallet(walletId, UUID.randomUUID(), BigDecimal.ZERO)));
+        
+        // Act & Assert
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> service.getBalanceSeries(walletId, "2020-01-01T00:00:00", "2024-01-01T00:00:00", BalanceSeries.Interval.HOUR)
+        );
+        verifyNoInteractions(transactionRepository);
+    }
+    
+    @Test
+    void getBalanceSeries_shouldRejectEndBeforeStart() {
+        // Arrange
+        UUID walletId = UUID.randomUUID();
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(new Wallet(walletId, UUID.randomUUID(), BigDecimal.ZERO)));
+        
+        // Act & Assert
+        assertThrows(
+            InvalidDateFormatException.class,
+            () -> service.getBalanceSeries(walletId, "2024-02-01T00:00:00", "2024-01-01T00:00:00", BalanceSeries.Interval.DAY)
+        );
+    }
 }
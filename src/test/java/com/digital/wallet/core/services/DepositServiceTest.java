@@ -6,6 +6,7 @@ import com.digital.wallet.core.domain.Wallet;
 import com.digital.wallet.core.exceptions.WalletNotFoundException;
 import com.digital.wallet.core.ports.out.DomainLogger;
 import com.digital.wallet.core.ports.out.TransactionalWalletRepository;
+import com.digital.wallet.core.ports.out.WalletCacheWriter;
 import com.digital.wallet.infra.metrics.MetricsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,9 @@ class DepositServiceTest {
     @Mock
     private DomainLogger logger;
 
+    @Mock
+    private WalletCacheWriter walletCacheWriter;
+
     private DepositService depositService;
     private UUID walletId;
     private BigDecimal depositAmount;
@@ -47,7 +51,7 @@ class DepositServiceTest {
     void setUp() {
         walletId = UUID.randomUUID();
         depositAmount = new BigDecimal("100.00");
-        depositService = new DepositService(walletRepository, metricsService, logger);
+        depositService = new DepositService(walletRepository, metricsService, logger, walletCacheWriter);
     }
 
     @Test
@@ -63,9 +67,10 @@ class DepositServiceTest {
         expectedTransaction.setWalletId(walletId);
         expectedTransaction.setAmount(depositAmount);
         expectedTransaction.setType(TransactionType.DEPOSIT);
+        expectedTransaction.setSeq(7L);
         
         when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
-        when(walletRepository.updateWalletBalance(walletId, depositAmount, false)).thenReturn(true);
+        when(walletRepository.updateWalletBalance(walletId, depositAmount, false)).thenReturn(Optional.of(new BigDecimal("150.00")));
         when(walletRepository.createTransaction(eq(walletId), eq(depositAmount), eq(TransactionType.DEPOSIT), any(), any(LocalDateTime.class)))
                 .thenReturn(expectedTransaction);
         
@@ -83,6 +88,10 @@ class DepositServiceTest {
         verify(walletRepository).updateWalletBalance(walletId, depositAmount, false);
         verify(walletRepository).createTransaction(eq(walletId), eq(depositAmount), eq(TransactionType.DEPOSIT), any(), any(LocalDateTime.class));
         
+        // Verify the committed balance is written to the cache
+        verify(walletCacheWriter).putAfterCommit(
+                argThat(cached -> walletId.equals(cached.getId()) && new BigDecimal("150.00").equals(cached.getBalance())), eq(7L));
+
         // Verify metrics recording
         verify(metricsService).recordWalletBalance(eq(walletId.toString()), eq(new BigDecimal("150.00")));
         
@@ -117,7 +126,7 @@ class DepositServiceTest {
         wallet.setBalance(new BigDecimal("50.00"));
         
         when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
-        when(walletRepository.updateWalletBalance(walletId, depositAmount, false)).thenReturn(false);
+        when(walletRepository.updateWalletBalance(walletId, depositAmount, false)).thenReturn(Optional.empty());
         
         // Act & Assert
         assertThrows(WalletNotFoundException.class, () -> depositService.deposit(walletId, depositAmount));
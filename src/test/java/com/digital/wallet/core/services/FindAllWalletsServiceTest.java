@@ -1,6 +1,8 @@
 package com.digital.wallet.core.services;
 
 import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.domain.WalletPage;
+import com.digital.wallet.core.ports.out.WalletCache;
 import com.digital.wallet.core.ports.out.WalletRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -15,12 +18,14 @@ import static org.mockito.Mockito.*;
 
 class FindAllWalletsServiceTest {
     private WalletRepository walletRepository;
+    private WalletCache walletCache;
     private FindAllWalletsService service;
 
     @BeforeEach
     void setUp() {
         walletRepository = mock(WalletRepository.class);
-        service = new FindAllWalletsService(walletRepository);
+        walletCache = mock(WalletCache.class);
+        service = new FindAllWalletsService(walletRepository, walletCache);
     }
 
     @Test
@@ -59,4 +64,61 @@ class FindAllWalletsServiceTest {
         assertTrue(actualWallets.isEmpty());
         verify(walletRepository).findAll();
     }
+
+    @Test
+    void shouldCountWalletsWithoutLoadingThem() {
+        // Arrange
+        when(walletRepository.count()).thenReturn(3L);
+        
+        // Act
+        long count = service.count();
+        
+        // Assert
+        assertEquals(3L, count);
+        verify(walletRepository, never()).findAll();
+    }
+
+    @Test
+    void findPage_shouldLoadOnlyWalletsMissingFromCache() {
+        // Arrange
+        Wallet cached = new Wallet(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.ONE);
+        Wallet missing = new Wallet(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN);
+        when(walletRepository.findIdsAfter(null, 2)).thenReturn(List.of(cached.getId(), missing.getId()));
+        when(walletCache.findAllById(List.of(cached.getId(), missing.getId()))).thenReturn(Map.of(cached.getId(), cached));
+        when(walletRepository.findAllById(List.of(missing.getId()))).thenReturn(List.of(missing));
+        
+        // Act
+        WalletPage page = service.findPage(null, 2);
+        
+        // Assert
+        assertEquals(List.of(cached, missing), page.getWallets());
+        assertEquals(missing.getId(), page.getNext());
+        verify(walletCache).putIfAbsent(missing);
+        verify(walletCache, never()).putIfAbsent(cached);
+    }
+
+    @Test
+    void findPage_shouldEndWhenPageIsNotFull() {
+        // Arrange
+        UUID afterId = UUID.randomUUID();
+        Wallet wallet = new Wallet(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.ONE);
+        UUID deletedId = UUID.randomUUID();
+        when(walletRepository.findIdsAfter(afterId, 3)).thenReturn(List.of(wallet.getId(), deletedId));
+        when(walletCache.findAllById(List.of(wallet.getId(), deletedId))).thenReturn(Map.of());
+        when(walletRepository.findAllById(List.of(wallet.getId(), deletedId))).thenReturn(List.of(wallet));
+        
+        // Act
+        WalletPage page = service.findPage(afterId, 3);
+        
+        // Assert
+        assertEquals(List.of(wallet), page.getWallets());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void findPage_shouldRejectLimitOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> service.findPage(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.findPage(null, FindAllWalletsService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(walletRepository, walletCache);
+    }
 }
@@ -3,6 +3,11 @@ package com.digital.wallet.core.services;
 import com.digital.wallet.core.ports.out.TransactionRepository;
 import com.digital.wallet.core.ports.out.WalletRepository;
 import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionAggregate;
+import com.digital.wallet.core.domain.TransactionFeed;
+import com.digital.wallet.core.domain.TransactionSearchCriteria;
+import com.digital.wallet.core.domain.TransactionStatistics;
+import com.digital.wallet.core.domain.TransactionType;
 import com.digital.wallet.core.domain.Wallet;
 import com.digital.wallet.core.exceptions.InvalidDateFormatException;
 import com.digital.wallet.core.exceptions.WalletNotFoundException;
@@ -10,20 +15,34 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -236,6 +255,181 @@ class TransactionHistoryServiceTest {
         assertEquals(mockTransactions, result);
     }
 
+    @Test
+    @DisplayName("Should look up the wallet only once for filtered history")
+    void shouldLookUpWalletOnceForFilteredHistory() {
+        // Given
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(transactionRepository.findByWalletIdAndTimestampBetween(
+            eq(walletId), any(LocalDateTime.class), any(LocalDateTime.class)))
+            .thenReturn(mockTransactions);
+
+        // When
+        transactionHistoryService.getFilteredTransactionHistory(walletId, "2023-01-15", null, null);
+
+        // Then
+        verify(walletRepository, times(1)).findById(walletId);
+    }
+
+    @Test
+    @DisplayName("Should not look up the wallet when the caller looks it up itself")
+    void shouldReuseLoadedWallet() {
+        // Given
+        when(transactionRepository.findByWalletId(walletId)).thenReturn(mockTransactions);
+        when(transactionRepository.findLatestPage(walletId)).thenReturn(List.of());
+
+        // When
+        List<Transaction> history = transactionHistoryService.findFilteredTransactions(walletId, null, null, null);
+        List<Transaction> since = transactionHistoryService.findTransactionsSince(walletId, 0L);
+
+        // Then
+        assertEquals(mockTransactions, history);
+        assertTrue(since.isEmpty());
+        verifyNoInteractions(walletRepository);
+    }
+
+    @Test
+    @DisplayName("Should serve transactions after a sequence number from the latest page")
+    void shouldGetTransactionsSinceSequenceFromLatestPage() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Transaction t10 = feedTransaction(walletId, now, 10L);
+        Transaction t11 = feedTransaction(walletId, now, 11L);
+        Transaction t12 = feedTransaction(walletId, now, 12L);
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(transactionRepository.findLatestPage(walletId)).thenReturn(List.of(t10, t11, t12));
+
+        // When
+        List<Transaction> result = transactionHistoryService.getTransactionsSince(walletId, 10L);
+
+        // Then
+        assertEquals(List.of(t11, t12), result);
+        verify(transactionRepository, never()).findByWalletIdAndSeqGreaterThan(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should get transactions after a sequence number older than the latest page")
+    void shouldGetTransactionsSinceSequence() {
+        // Given
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(transactionRepository.findLatestPage(walletId)).thenReturn(List.of(feedTransaction(walletId, LocalDateTime.now(), 200L)));
+        when(transactionRepository.findByWalletIdAndSeqGreaterThan(walletId, 10L, TransactionHistoryService.SINCE_SEQ_PAGE_SIZE))
+            .thenReturn(mockTransactions);
+
+        // When
+        List<Transaction> result = transactionHistoryService.getTransactionsSince(walletId, 10L);
+
+        // Then
+        assertEquals(mockTransactions, result);
+    }
+
+    @Test
+    @DisplayName("Should reject a negative sequence number")
+    void shouldRejectNegativeSinceSequence() {
+        assertThrows(IllegalArgumentException.class,
+            () -> transactionHistoryService.getTransactionsSince(walletId, -1L));
+    }
+
+    @Test
+    @DisplayName("Should merge the pages of several wallets in chronological order")
+    void shouldMergeWalletFeedsChronologically() {
+        // Given
+        UUID otherWalletId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2024, 3, 1, 10, 0);
+        Transaction a1 = feedTransaction(walletId, base, 1L);
+        Transaction a2 = feedTransaction(walletId, base.plusMinutes(2), 2L);
+        Transaction b1 = feedTransaction(otherWalletId, base.plusMinutes(1), 1L);
+        Transaction b2 = feedTransaction(otherWalletId, base.plusMinutes(3), 2L);
+        Wallet otherWallet = new Wallet();
+        otherWallet.setId(otherWalletId);
+        when(walletRepository.findAllById(anyCollection())).thenReturn(List.of(wallet, otherWallet));
+        when(transactionRepository.findFeedPage(walletId, null, 3)).thenReturn(List.of(a1, a2));
+        when(transactionRepository.findFeedPage(otherWalletId, null, 3)).thenReturn(List.of(b1, b2));
+
+        // When
+        TransactionFeed feed = transactionHistoryService.getTransactionFeed(
+            new LinkedHashSet<>(List.of(walletId, otherWalletId)), null, 3);
+
+        // Then
+        verify(walletRepository, times(1)).findAllById(anyCollection());
+        verify(walletRepository, never()).findById(any(UUID.class));
+        assertEquals(List.of(a1, b1, a2), feed.getTransactions());
+        assertEquals(a2.getTimestamp(), feed.getNext().getTimestamp());
+        assertEquals(walletId, feed.getNext().getWalletId());
+        assertEquals(2L, feed.getNext().getSeq());
+    }
+
+    @Test
+    @DisplayName("Should end the feed when a page is not full")
+    void shouldReturnNoCursorOnLastFeedPage() {
+        // Given
+        when(walletRepository.findAllById(Set.of(walletId))).thenReturn(List.of(wallet));
+        when(transactionRepository.findFeedPage(walletId, null, 10))
+            .thenReturn(List.of(feedTransaction(walletId, LocalDateTime.of(2024, 3, 1, 10, 0), 1L)));
+
+        // When
+        TransactionFeed feed = transactionHistoryService.getTransactionFeed(Set.of(walletId), null, 10);
+
+        // Then
+        assertEquals(1, feed.getTransactions().size());
+        assertNull(feed.getNext());
+    }
+
+    @Test
+    @DisplayName("Should reject a feed including a wallet that does not exist")
+    void shouldRejectFeedWithMissingWallet() {
+        // Given
+        UUID missingWalletId = UUID.randomUUID();
+        when(walletRepository.findAllById(anyCollection())).thenReturn(List.of(wallet));
+
+        // When & Then
+        WalletNotFoundException exception = assertThrows(WalletNotFoundException.class,
+            () -> transactionHistoryService.getTransactionFeed(
+                new LinkedHashSet<>(List.of(walletId, missingWalletId)), null, 10));
+        assertEquals("Wallet not found: " + missingWalletId, exception.getMessage());
+        verify(transactionRepository, never()).findFeedPage(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should reject feeds without wallets or with an invalid limit")
+    void shouldRejectInvalidFeedRequests() {
+        assertThrows(IllegalArgumentException.class,
+            () -> transactionHistoryService.getTransactionFeed(Set.of(), null, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> transactionHistoryService.getTransactionFeed(Set.of(walletId), null, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> transactionHistoryService.getTransactionFeed(
+                Set.of(walletId), null, TransactionHistoryService.MAX_FEED_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Should search transactions through the chosen index")
+    void shouldSearchTransactions() {
+        // Given
+        UUID relatedUserId = UUID.randomUUID();
+        when(transactionRepository.search(any(TransactionSearchCriteria.class))).thenReturn(mockTransactions);
+
+        // When
+        List<Transaction> result = transactionHistoryService.searchTransactions(
+            null, TransactionType.TRANSFER_OUT, new BigDecimal("1000"), null, relatedUserId, "2024-02-01", "2024-02-29", 50);
+
+        // Then
+        assertEquals(mockTransactions, result);
+        ArgumentCaptor<TransactionSearchCriteria> captor = ArgumentCaptor.forClass(TransactionSearchCriteria.class);
+        verify(transactionRepository).search(captor.capture());
+        assertEquals(TransactionSearchCriteria.AccessPath.RELATED_USER, captor.getValue().getAccessPath());
+        assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), captor.getValue().getFrom());
+    }
+
+    @Test
+    @DisplayName("Should reject searches without an indexed filter")
+    void shouldRejectUnindexedSearch() {
+        assertThrows(IllegalArgumentException.class, () -> transactionHistoryService.searchTransactions(
+            null, null, new BigDecimal("1000"), null, null, null, null, 50));
+        assertThrows(IllegalArgumentException.class, () -> transactionHistoryService.searchTransactions(
+            walletId, null, null, null, null, null, null, TransactionHistoryService.MAX_SEARCH_RESULTS + 1));
+    }
+
     @Test
     @DisplayName("Should get filtered transaction history without filters")
     void shouldGetFilteredTransactionHistoryWithoutFilters() {
@@ -302,4 +496,93 @@ class TransactionHistoryServiceTest {
         assertNotNull(result);
         assertEquals(mockTransactions, result);
     }
+
+    @Test
+    @DisplayName("Should roll up database aggregates into per-type statistics and daily net flow")
+    void shouldRollUpAggregatesIntoStatistics() {
+        // Given
+        LocalDate day1 = LocalDate.of(2023, 1, 1);
+        LocalDate day2 = LocalDate.of(2023, 1, 2);
+        List<TransactionAggregate> aggregates = List.of(
+            new TransactionAggregate(day1, TransactionType.DEPOSIT, 2, new BigDecimal("300.00"), new BigDecimal("100.00"), new BigDecimal("200.00")),
+            new TransactionAggregate(day1, TransactionType.WITHDRAW, 1, new BigDecimal("50.00"), new BigDecimal("50.00"), new BigDecimal("50.00")),
+            new TransactionAggregate(day2, TransactionType.DEPOSIT, 1, new BigDecimal("20.00"), new BigDecimal("20.00"), new BigDecimal("20.00")),
+            new TransactionAggregate(day2, TransactionType.TRANSFER_OUT, 1, new BigDecimal("80.00"), new BigDecimal("80.00"), new BigDecimal("80.00")));
+        
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(transactionRepository.aggregateByDayAndType(
+            walletId, day1.atStartOfDay(), LocalDateTime.of(2023, 1, 31, 23, 59, 59, 999_999_999)))
+            .thenReturn(aggregates);
+
+        // When
+        TransactionStatistics result = transactionHistoryService.getTransactionStatistics(walletId, "2023-01-01", "2023-01-31");
+
+        // Then
+        assertEquals(3, result.getByType().size());
+        TransactionStatistics.TypeStatistics deposits = result.getByType().get(0);
+        assertEquals(TransactionType.DEPOSIT, deposits.getType());
+        assertEquals(3, deposits.getCount());
+        assertEquals(new BigDecimal("320.00"), deposits.getSum());
+        assertEquals(new BigDecimal("20.00"), deposits.getMin());
+        assertEquals(new BigDecimal("200.00"), deposits.getMax());
+        
+        assertEquals(2, result.getDailyNetFlow().size());
+        assertEquals(day1, result.getDailyNetFlow().get(0).getDay());
+        assertEquals(new BigDecimal("250.00"), result.getDailyNetFlow().get(0).getNetFlow());
+        assertEquals(new BigDecimal("-60.00"), result.getDailyNetFlow().get(1).getNetFlow());
+    }
+
+    @Test
+    @DisplayName("Should default statistics period to the whole history until now")
+    void shouldDefaultStatisticsPeriodToWholeHistory() {
+        // Given
+        Clock clock = Clock.fixed(Instant.parse("2024-05-10T12:00:00Z"), ZoneOffset.UTC);
+        TransactionHistoryService service = new TransactionHistoryService(walletRepository, transactionRepository, clock);
+        LocalDateTime from = LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 5, 10, 12, 0);
+        
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+        when(transactionRepository.aggregateByDayAndType(walletId, from, to)).thenReturn(List.of());
+
+        // When
+        TransactionStatistics result = service.getTransactionStatistics(walletId, null, null);
+
+        // Then
+        assertEquals(from, result.getFrom());
+        assertEquals(to, result.getTo());
+        assertTrue(result.getByType().isEmpty());
+        assertTrue(result.getDailyNetFlow().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should throw exception when statistics period is inverted")
+    void shouldThrowExceptionWhenStatisticsPeriodIsInverted() {
+        // Given
+        when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
+
+        // When & Then
+        assertThrows(
+            InvalidDateFormatException.class,
+            () -> transactionHistoryService.getTransactionStatistics(walletId, "2023-01-31", "2023-01-01")
+        );
+    }
+
+    @Test
+    @DisplayName("Should throw WalletNotFoundException in statistics when wallet not found")
+    void shouldThrowWalletNotFoundExceptionInStatisticsWhenWalletNotFound() {
+        // Given
+        when(walletRepository.findById(walletId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(
+            WalletNotFoundException.class,
+            () -> transactionHistoryService.getTransactionStatistics(walletId, null, null)
+        );
+    }
+
+    private Transaction feedTransaction(UUID walletId, LocalDateTime timestamp, long seq) {
+        Transaction transaction = new Transaction(UUID.randomUUID(), walletId, BigDecimal.TEN, TransactionType.DEPOSIT, timestamp, null);
+        transaction.setSeq(seq);
+        return transaction;
+    }
 }
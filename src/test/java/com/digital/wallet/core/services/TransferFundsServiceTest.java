@@ -8,6 +8,7 @@ import com.digital.wallet.core.exceptions.SameWalletTransferException;
 import com.digital.wallet.core.exceptions.WalletNotFoundException;
 import com.digital.wallet.core.ports.out.DomainLogger;
 import com.digital.wallet.core.ports.out.TransactionalWalletRepository;
+import com.digital.wallet.core.ports.out.WalletCacheWriter;
 import com.digital.wallet.infra.metrics.MetricsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,9 @@ class TransferFundsServiceTest {
     @Mock
     private DomainLogger logger;
 
+    @Mock
+    private WalletCacheWriter walletCacheWriter;
+
     private TransferFundsService transferFundsService;
     private UUID fromWalletId;
     private UUID toWalletId;
@@ -49,7 +53,7 @@ class TransferFundsServiceTest {
 
     @BeforeEach
     void setUp() {
-        transferFundsService = new TransferFundsService(walletRepository, metricsService, logger);
+        transferFundsService = new TransferFundsService(walletRepository, metricsService, logger, walletCacheWriter);
         
         // Initialize test data
         fromWalletId = UUID.randomUUID();
@@ -72,20 +76,22 @@ class TransferFundsServiceTest {
         // Arrange
         when(walletRepository.findById(fromWalletId)).thenReturn(Optional.of(fromWallet));
         when(walletRepository.findById(toWalletId)).thenReturn(Optional.of(toWallet));
-        when(walletRepository.updateWalletBalance(fromWalletId, transferAmount, true)).thenReturn(true);
-        when(walletRepository.updateWalletBalance(toWalletId, transferAmount, false)).thenReturn(true);
+        when(walletRepository.updateWalletBalance(fromWalletId, transferAmount, true)).thenReturn(Optional.of(new BigDecimal("50.00")));
+        when(walletRepository.updateWalletBalance(toWalletId, transferAmount, false)).thenReturn(Optional.of(new BigDecimal("70.00")));
         
         Transaction outTransaction = new Transaction();
         outTransaction.setId(UUID.randomUUID());
         outTransaction.setWalletId(fromWalletId);
         outTransaction.setAmount(transferAmount);
         outTransaction.setType(TransactionType.TRANSFER_OUT);
+        outTransaction.setSeq(4L);
         
         Transaction inTransaction = new Transaction();
         inTransaction.setId(UUID.randomUUID());
         inTransaction.setWalletId(toWalletId);
         inTransaction.setAmount(transferAmount);
         inTransaction.setType(TransactionType.TRANSFER_IN);
+        inTransaction.setSeq(9L);
         
         when(walletRepository.createTransaction(eq(fromWalletId), eq(transferAmount), eq(TransactionType.TRANSFER_OUT), eq(toWallet.getUserId()), any(LocalDateTime.class)))
             .thenReturn(outTransaction);
@@ -110,6 +116,12 @@ class TransferFundsServiceTest {
         verify(walletRepository).createTransaction(eq(fromWalletId), eq(transferAmount), eq(TransactionType.TRANSFER_OUT), eq(toWallet.getUserId()), any(LocalDateTime.class));
         verify(walletRepository).createTransaction(eq(toWalletId), eq(transferAmount), eq(TransactionType.TRANSFER_IN), eq(fromWallet.getUserId()), any(LocalDateTime.class));
         
+        // Verify the committed balances are written to the cache
+        verify(walletCacheWriter).putAfterCommit(
+                argThat(cached -> fromWalletId.equals(cached.getId()) && new BigDecimal("50.00").equals(cached.getBalance())), eq(4L));
+        verify(walletCacheWriter).putAfterCommit(
+                argThat(cached -> toWalletId.equals(cached.getId()) && new BigDecimal("70.00").equals(cached.getBalance())), eq(9L));
+
         // Verify metrics recording
         verify(metricsService).recordWalletBalance(eq(fromWalletId.toString()), eq(new BigDecimal("50.00")));
         verify(metricsService).recordWalletBalance(eq(toWalletId.toString()), eq(new BigDecimal("70.00")));
@@ -196,7 +208,7 @@ class TransferFundsServiceTest {
         // Arrange
         when(walletRepository.findById(fromWalletId)).thenReturn(Optional.of(fromWallet));
         when(walletRepository.findById(toWalletId)).thenReturn(Optional.of(toWallet));
-        when(walletRepository.updateWalletBalance(fromWalletId, transferAmount, true)).thenReturn(false);
+        when(walletRepository.updateWalletBalance(fromWalletId, transferAmount, true)).thenReturn(Optional.empty());
         
         // Act & Assert
         assertThrows(WalletNotFoundException.class, () -> 
@@ -221,8 +233,8 @@ class TransferFundsServiceTest {
         // Arrange
         when(walletRepository.findById(fromWalletId)).thenReturn(Optional.of(fromWallet));
         when(walletRepository.findById(toWalletId)).thenReturn(Optional.of(toWallet));
-        when(walletRepository.updateWalletBalance(fromWalletId, transferAmount, true)).thenReturn(true);
-        when(walletRepository.updateWalletBalance(toWalletId, transferAmount, false)).thenReturn(false);
+        when(walletRepository.updateWalletBalance(fromWalletId, transferAmount, true)).thenReturn(Optional.of(new BigDecimal("50.00")));
+        when(walletRepository.updateWalletBalance(toWalletId, transferAmount, false)).thenReturn(Optional.empty());
         
         // Act & Assert
         assertThrows(WalletNotFoundException.class, () -> 
@@ -7,6 +7,7 @@ import com.digital.wallet.core.exceptions.InsufficientFundsException;
 import com.digital.wallet.core.exceptions.WalletNotFoundException;
 import com.digital.wallet.core.ports.out.DomainLogger;
 import com.digital.wallet.core.ports.out.TransactionalWalletRepository;
+import com.digital.wallet.core.ports.out.WalletCacheWriter;
 import com.digital.wallet.infra.metrics.MetricsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +41,9 @@ class WithdrawServiceTest {
     @Mock
     private DomainLogger logger;
 
+    @Mock
+    private WalletCacheWriter walletCacheWriter;
+
     private WithdrawService withdrawService;
     private UUID walletId;
     private Wallet wallet;
@@ -47,7 +51,7 @@ class WithdrawServiceTest {
 
     @BeforeEach
     void setUp() {
-        withdrawService = new WithdrawService(walletRepository, metricsService, logger);
+        withdrawService = new WithdrawService(walletRepository, metricsService, logger, walletCacheWriter);
         walletId = UUID.randomUUID();
         wallet = new Wallet();
         wallet.setId(walletId);
@@ -67,8 +71,9 @@ class WithdrawServiceTest {
         mockTransaction.setWalletId(walletId);
         mockTransaction.setAmount(withdrawAmount);
         mockTransaction.setType(TransactionType.WITHDRAW);
+        mockTransaction.setSeq(3L);
         
-        when(walletRepository.updateWalletBalance(walletId, withdrawAmount, true)).thenReturn(true);
+        when(walletRepository.updateWalletBalance(walletId, withdrawAmount, true)).thenReturn(Optional.of(new BigDecimal("50.00")));
         when(walletRepository.createTransaction(eq(walletId), eq(withdrawAmount), eq(TransactionType.WITHDRAW), any(UUID.class), any(LocalDateTime.class)))
                 .thenReturn(mockTransaction);
         
@@ -86,8 +91,12 @@ class WithdrawServiceTest {
         verify(walletRepository).updateWalletBalance(walletId, withdrawAmount, true);
         verify(walletRepository).createTransaction(eq(walletId), eq(withdrawAmount), eq(TransactionType.WITHDRAW), eq(wallet.getUserId()), any(LocalDateTime.class));
         
+        // Verify the committed balance is written to the cache
+        verify(walletCacheWriter).putAfterCommit(
+                argThat(cached -> walletId.equals(cached.getId()) && new BigDecimal("50.00").equals(cached.getBalance())), eq(3L));
+
         // Verify metrics recording
-        verify(metricsService).recordWalletBalance(eq(walletId.toString()), eq(BigDecimal.valueOf(50.0)));
+        verify(metricsService).recordWalletBalance(eq(walletId.toString()), eq(new BigDecimal("50.00")));
         
         // Verify logging
         verify(logger).logOperationStart("WITHDRAW", walletId.toString(), withdrawAmount.toString());
@@ -139,7 +148,7 @@ class WithdrawServiceTest {
     void withdraw_shouldThrowWalletNotFoundException_whenWalletUpdateFails() {
         // Arrange
         when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
-        when(walletRepository.updateWalletBalance(walletId, withdrawAmount, true)).thenReturn(false);
+        when(walletRepository.updateWalletBalance(walletId, withdrawAmount, true)).thenReturn(Optional.empty());
         
         // Act & Assert
         assertThrows(WalletNotFoundException.class, () -> 
@@ -160,7 +169,7 @@ class WithdrawServiceTest {
     void withdraw_shouldThrowWalletNotFoundException_whenUpdateFails() {
         // Arrange
         when(walletRepository.findById(walletId)).thenReturn(Optional.of(wallet));
-        when(walletRepository.updateWalletBalance(eq(walletId), eq(withdrawAmount), eq(true))).thenReturn(false);
+        when(walletRepository.updateWalletBalance(eq(walletId), eq(withdrawAmount), eq(true))).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(WalletNotFoundException.class, () -> 
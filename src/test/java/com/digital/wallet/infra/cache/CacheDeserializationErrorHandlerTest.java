@@ -0,0 +1,65 @@
+package com.digital.wallet.infra.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CacheDeserializationErrorHandler Tests")
+class CacheDeserializationErrorHandlerTest {
+
+    private final CacheDeserializationErrorHandler handler = new CacheDeserializationErrorHandler();
+
+    @Test
+    @DisplayName("Should evict an unreadable entry and treat it as a miss")
+    void shouldEvictUnreadableEntry() {
+        Cache cache = new ConcurrentMapCache("wallet-single");
+        cache.put("wallet:1", BigDecimal.ONE);
+
+        assertDoesNotThrow(() -> handler.handleCacheGetError(
+                new SerializationException("Could not deserialize cache entry"), cache, "wallet:1"));
+
+        assertNull(cache.get("wallet:1"));
+    }
+
+    @Test
+    @DisplayName("Should recognize a deserialization failure wrapped in another exception")
+    void shouldRecognizeWrappedFailure() {
+        Cache cache = mock(Cache.class);
+        when(cache.getName()).thenReturn("wallet-single");
+
+        handler.handleCacheGetError(new IllegalStateException("read failed",
+                new SerializationException("Could not deserialize cache entry")), cache, "wallet:1");
+
+        verify(cache).evict("wallet:1");
+    }
+
+    @Test
+    @DisplayName("Should not fail when the unreadable entry cannot be evicted")
+    void shouldIgnoreEvictionFailure() {
+        Cache cache = mock(Cache.class);
+        when(cache.getName()).thenReturn("wallet-single");
+        doThrow(new QueryTimeoutException("down")).when(cache).evict("wallet:1");
+
+        assertDoesNotThrow(() -> handler.handleCacheGetError(
+                new SerializationException("Could not deserialize cache entry"), cache, "wallet:1"));
+    }
+
+    @Test
+    @DisplayName("Should rethrow any other cache error")
+    void shouldRethrowOtherErrors() {
+        Cache cache = mock(Cache.class);
+        QueryTimeoutException error = new QueryTimeoutException("down");
+
+        assertSame(error, assertThrows(QueryTimeoutException.class,
+                () -> handler.handleCacheGetError(error, cache, "wallet:1")));
+        verify(cache, never()).evict(any());
+    }
+}
@@ -0,0 +1,102 @@
+package com.digital.wallet.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationRelayTest {
+
+    private static final String CHANNEL = "wallet-api:cache-invalidation";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private CacheInvalidationRelay relay;
+    private Cache<String, Object> local;
+    private TieredCache cache;
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        relay = new CacheInvalidationRelay(redisTemplate, "wallet-api");
+        local = Caffeine.newBuilder().maximumSize(100).build();
+        cache = new TieredCache(local, new ConcurrentMapCache("wallet-single", false), new SimpleMeterRegistry(), relay, null);
+        walletId = UUID.randomUUID();
+    }
+
+    @Test
+    void onMessage_fromAnotherNode_shouldDropLocalEntry() {
+        // Arrange
+        cache.put(walletId, BigDecimal.ONE);
+        CacheInvalidationRelay otherNode = new CacheInvalidationRelay(redisTemplate, "wallet-api");
+
+        // Act
+        otherNode.publishEviction("wallet-single", walletId.toString());
+        relay.onMessage(new DefaultMessage(CHANNEL.getBytes(), lastPayload().getBytes()), null);
+
+        // Assert
+        assertNull(local.getIfPresent(walletId.toString()));
+    }
+
+    @Test
+    void onMessage_clearFromAnotherNode_shouldDropEveryLocalEntry() {
+        // Arrange
+        cache.put(walletId, BigDecimal.ONE);
+        cache.put(UUID.randomUUID(), BigDecimal.TEN);
+        CacheInvalidationRelay otherNode = new CacheInvalidationRelay(redisTemplate, "wallet-api");
+
+        // Act
+        otherNode.publishClear("wallet-single");
+        relay.onMessage(new DefaultMessage(CHANNEL.getBytes(), lastPayload().getBytes()), null);
+
+        // Assert
+        assertEquals(0, local.estimatedSize());
+    }
+
+    @Test
+    void onMessage_fromSameNode_shouldKeepLocalEntry() {
+        // Arrange
+        cache.put(walletId, BigDecimal.ONE);
+
+        // Act
+        relay.onMessage(new DefaultMessage(CHANNEL.getBytes(), lastPayload().getBytes()), null);
+
+        // Assert
+        assertEquals(BigDecimal.ONE, local.getIfPresent(walletId.toString()));
+    }
+
+    @Test
+    void publishEviction_shouldNotFailWhenRedisIsDown() {
+        // Arrange
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> cache.put(walletId, BigDecimal.ONE));
+        assertEquals(BigDecimal.ONE, local.getIfPresent(walletId.toString()));
+    }
+
+    private String lastPayload() {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, atLeastOnce()).convertAndSend(eq(CHANNEL), payload.capture());
+        return payload.getValue();
+    }
+}
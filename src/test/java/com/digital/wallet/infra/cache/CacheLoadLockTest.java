@@ -0,0 +1,77 @@
+package com.digital.wallet.infra.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheLoadLock Tests")
+class CacheLoadLockTest {
+
+    private static final String KEY = "wallet-api:cache-load-lock:wallet-single:42";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private CacheLoadLock lock;
+
+    @BeforeEach
+    void setUp() {
+        lock = new CacheLoadLock(redisTemplate, "wallet-api", 2000);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("Should take the lock with the configured TTL and release it with its token")
+    void shouldAcquireAndRelease() {
+        when(valueOperations.setIfAbsent(eq(KEY), anyString(), eq(Duration.ofSeconds(2)))).thenReturn(true);
+
+        String token = lock.tryAcquire("wallet-single", "42");
+        lock.release("wallet-single", "42", token);
+
+        assertNotNull(token);
+        assertNotEquals(CacheLoadLock.UNLOCKED, token);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(KEY)), eq(token));
+    }
+
+    @Test
+    @DisplayName("Should report a lock held by another node")
+    void shouldReportLockHeldElsewhere() {
+        when(valueOperations.setIfAbsent(eq(KEY), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertNull(lock.tryAcquire("wallet-single", "42"));
+        assertEquals(Duration.ofSeconds(2), lock.getLockTtl());
+    }
+
+    @Test
+    @DisplayName("Should let the caller load without the lock when Redis is down")
+    void shouldLoadWithoutLockWhenRedisIsDown() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        String token = lock.tryAcquire("wallet-single", "42");
+        lock.release("wallet-single", "42", token);
+
+        assertEquals(CacheLoadLock.UNLOCKED, token);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+    }
+}
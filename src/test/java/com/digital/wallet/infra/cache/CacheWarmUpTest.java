@@ -0,0 +1,205 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.User;
+import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.core.ports.out.UserRepository;
+import com.digital.wallet.core.ports.out.WalletRepository;
+import com.digital.wallet.infra.cache.TieredRedisCacheManager.LocalTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheWarmUp Tests")
+class CacheWarmUpTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private WalletRepository walletRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisCacheWriter cacheWriter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TieredRedisCacheManager cacheManager;
+    private Wallet wallet;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(1))
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new CompactCacheSerializer(new JdkSerializationRedisSerializer(), 1024)))
+                .disableCachingNullValues()
+                .computePrefixWith(cacheName -> "wallet-api:" + cacheName + ":v1:");
+        cacheManager = new TieredRedisCacheManager(cacheWriter, configuration,
+                Map.of(CacheWarmUp.WALLET_REGION, configuration, CacheWarmUp.USER_REGION, configuration),
+                Map.of(CacheWarmUp.WALLET_REGION, LocalTier.expiring(100, Duration.ofSeconds(5))),
+                meterRegistry, null, null);
+        cacheManager.afterPropertiesSet();
+        user = new User(UUID.randomUUID(), "owner@example.com", "Owner");
+        wallet = new Wallet(UUID.randomUUID(), user.getId(), new BigDecimal("150.00"));
+    }
+
+    @Test
+    @DisplayName("Should write the busiest wallets and their owners in one pipeline without replacing entries")
+    void shouldWriteWalletsAndOwnersIfAbsent() {
+        when(jdbcTemplate.execute(eq(CacheWarmUp.ACTIVE_WALLETS_SQL), any(MapSqlParameterSource.class), any(PreparedStatementCallback.class)))
+                .thenReturn(List.of(wallet.getId()));
+        when(walletRepository.findAllById(List.of(wallet.getId()))).thenReturn(List.of(wallet));
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(user));
+
+        List<String> keys = new ArrayList<>();
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(stringCommands.set(any(), any(), any(Expiration.class), eq(SetOption.ifAbsent())))
+                .thenAnswer(invocation -> {
+                    keys.add(new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8));
+                    return null;
+                });
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of(true, false);
+        });
+
+        int written = warmUp(true, 10000).warmUp();
+
+        assertEquals(1, written);
+        assertEquals(List.of("wallet-api:wallet-single:v1:" + wallet.getId(),
+                "wallet-api:user-profile:v1:" + user.getId()), keys);
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        assertEquals(1.0, meterRegistry.get(CACHE_WARM_UP_ENTRIES).tag(TAG_CACHE, CacheWarmUp.WALLET_REGION).counter().count());
+        assertEquals(0.0, meterRegistry.get(CACHE_WARM_UP_ENTRIES).tag(TAG_CACHE, CacheWarmUp.USER_REGION).counter().count());
+    }
+
+    @Test
+    @DisplayName("Should give up when the time budget runs out")
+    void shouldStopAtTimeBudget() {
+        when(jdbcTemplate.execute(eq(CacheWarmUp.ACTIVE_WALLETS_SQL), any(MapSqlParameterSource.class), any(PreparedStatementCallback.class)))
+                .thenReturn(List.of(wallet.getId()));
+        when(walletRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of(wallet);
+        });
+
+        long startedAt = System.nanoTime();
+        int written = warmUp(true, 100).warmUp();
+
+        assertEquals(-1, written);
+        assertTrue(Duration.ofNanos(System.nanoTime() - startedAt).toMillis() < 5000);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should start with a cold cache when the database query fails")
+    void shouldNotFailStartup() {
+        when(jdbcTemplate.execute(eq(CacheWarmUp.ACTIVE_WALLETS_SQL), any(MapSqlParameterSource.class), any(PreparedStatementCallback.class)))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertEquals(0, warmUp(true, 10000).warmUp());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should skip the warm-up when the caches are not kept in Redis")
+    void shouldSkipWithoutRedis() {
+        CacheWarmUp warmUp = new CacheWarmUp(jdbcTemplate, walletRepository, userRepository,
+                new ConcurrentMapCacheManager(CacheWarmUp.WALLET_REGION, CacheWarmUp.USER_REGION),
+                redisTemplate, meterRegistry, true, 1000, 6, 10000, 500);
+
+        assertEquals(0, warmUp.warmUp());
+        verifyNoInteractions(jdbcTemplate, redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should bound the query of the busiest wallets by the time left in the budget")
+    void shouldSetStatementTimeout() throws Exception {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet rows = mock(ResultSet.class);
+        when(statement.executeQuery()).thenReturn(rows);
+        when(rows.next()).thenReturn(true, false, true, false);
+        when(rows.getObject(1, UUID.class)).thenReturn(wallet.getId());
+        when(jdbcTemplate.execute(eq(CacheWarmUp.ACTIVE_WALLETS_SQL), any(MapSqlParameterSource.class), any(PreparedStatementCallback.class)))
+                .thenAnswer(invocation -> invocation.<PreparedStatementCallback<?>>getArgument(2).doInPreparedStatement(statement));
+
+        assertEquals(List.of(wallet.getId()), warmUp(true, 10000).findMostActiveWallets(2500));
+        assertEquals(List.of(wallet.getId()), warmUp(true, 10000).findMostActiveWallets(100));
+
+        verify(statement).setQueryTimeout(3);
+        verify(statement).setQueryTimeout(1);
+        verify(rows, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Should not run when disabled")
+    void shouldNotRunWhenDisabled() {
+        warmUp(false, 10000).run(null);
+
+        verifyNoInteractions(jdbcTemplate, walletRepository, userRepository, redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should not query wallets when none were active")
+    void shouldHandleNoActiveWallets() {
+        when(jdbcTemplate.execute(eq(CacheWarmUp.ACTIVE_WALLETS_SQL), any(MapSqlParameterSource.class), any(PreparedStatementCallback.class)))
+                .thenReturn(Collections.emptyList());
+
+        assertEquals(0, warmUp(true, 10000).warmUp());
+        verifyNoInteractions(walletRepository, redisTemplate);
+    }
+
+    private CacheWarmUp warmUp(boolean enabled, long timeBudgetMs) {
+        return new CacheWarmUp(jdbcTemplate, walletRepository, userRepository, cacheManager, redisTemplate,
+                meterRegistry, enabled, 1000, 6, timeBudgetMs, 500);
+    }
+}
@@ -0,0 +1,127 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionType;
+import com.digital.wallet.core.domain.User;
+import com.digital.wallet.core.domain.Wallet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompactCacheSerializer Tests")
+class CompactCacheSerializerTest {
+
+    private final JdkSerializationRedisSerializer jdkSerializer = new JdkSerializationRedisSerializer();
+    private final CompactCacheSerializer serializer = new CompactCacheSerializer(jdkSerializer, 1024);
+
+    @Test
+    @DisplayName("Should round trip a wallet in fewer bytes than JDK serialization")
+    void shouldRoundTripWallet() {
+        Wallet wallet = wallet(new BigDecimal("1234.56"));
+
+        byte[] bytes = serializer.serialize(wallet);
+        Wallet read = (Wallet) serializer.deserialize(bytes);
+
+        assertEquals(wallet.getId(), read.getId());
+        assertEquals(wallet.getUserId(), read.getUserId());
+        assertEquals(wallet.getBalance(), read.getBalance());
+        assertEquals(wallet.getCreatedAt(), read.getCreatedAt());
+        assertNull(read.getUpdatedAt());
+        assertTrue(bytes.length * 4 < jdkSerializer.serialize(wallet).length);
+    }
+
+    @Test
+    @DisplayName("Should round trip transactions with missing optional fields")
+    void shouldRoundTripTransactions() {
+        Transaction deposit = new Transaction(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"),
+                TransactionType.DEPOSIT, LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000), null);
+        Transaction transfer = new Transaction(UUID.randomUUID(), deposit.getWalletId(), new BigDecimal("2.50"),
+                TransactionType.TRANSFER_OUT, LocalDateTime.of(2024, 3, 1, 11, 0), UUID.randomUUID());
+        transfer.setSeq(2L);
+
+        @SuppressWarnings("unchecked")
+        List<Transaction> read = (List<Transaction>) serializer.deserialize(serializer.serialize(List.of(deposit, transfer)));
+
+        assertEquals(2, read.size());
+        assertEquals(deposit.getTimestamp(), read.get(0).getTimestamp());
+        assertNull(read.get(0).getRelatedUserId());
+        assertNull(read.get(0).getSeq());
+        assertEquals(TransactionType.TRANSFER_OUT, read.get(1).getType());
+        assertEquals(transfer.getRelatedUserId(), read.get(1).getRelatedUserId());
+        assertEquals(new BigDecimal("2.50"), read.get(1).getAmount());
+        assertEquals(2L, read.get(1).getSeq());
+    }
+
+    @Test
+    @DisplayName("Should round trip users and amounts")
+    void shouldRoundTripUsersAndAmounts() {
+        User user = new User(UUID.randomUUID(), "jane@example.com", "Jane Smith");
+
+        User read = (User) serializer.deserialize(serializer.serialize(user));
+
+        assertEquals(user.getId(), read.getId());
+        assertEquals("jane@example.com", read.getEmail());
+        assertEquals("Jane Smith", read.getName());
+        assertEquals(new BigDecimal("-0.07"), serializer.deserialize(serializer.serialize(new BigDecimal("-0.07"))));
+    }
+
+    @Test
+    @DisplayName("Should compress large lists")
+    void shouldCompressLargeLists() {
+        List<Wallet> wallets = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            wallets.add(wallet(BigDecimal.valueOf(i, 2)));
+        }
+
+        byte[] bytes = serializer.serialize(wallets);
+        byte[] uncompressed = new CompactCacheSerializer(jdkSerializer, Integer.MAX_VALUE).serialize(wallets);
+
+        assertEquals(1, bytes[1]);
+        assertTrue(bytes.length < uncompressed.length);
+        @SuppressWarnings("unchecked")
+        List<Wallet> read = (List<Wallet>) serializer.deserialize(bytes);
+        assertEquals(200, read.size());
+        assertEquals(wallets.get(199).getId(), read.get(199).getId());
+        assertEquals(new BigDecimal("1.99"), read.get(199).getBalance());
+    }
+
+    @Test
+    @DisplayName("Should use JDK serialization for other values and read entries written by it")
+    void shouldFallBackToJdkSerialization() {
+        Wallet wallet = wallet(BigDecimal.TEN);
+
+        byte[] other = serializer.serialize(LocalDate.of(2024, 3, 1));
+        Wallet legacy = (Wallet) serializer.deserialize(jdkSerializer.serialize(wallet));
+
+        assertNotEquals(CompactCacheSerializer.MAGIC, other[0]);
+        assertEquals(LocalDate.of(2024, 3, 1), serializer.deserialize(other));
+        assertEquals(wallet.getId(), legacy.getId());
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    @DisplayName("Should reject truncated entries")
+    void shouldRejectTruncatedEntries() {
+        byte[] bytes = serializer.serialize(wallet(BigDecimal.ONE));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 4);
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(truncated));
+    }
+
+    private static Wallet wallet(BigDecimal balance) {
+        Wallet wallet = new Wallet(UUID.randomUUID(), UUID.randomUUID(), balance);
+        wallet.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 30));
+        return wallet;
+    }
+}
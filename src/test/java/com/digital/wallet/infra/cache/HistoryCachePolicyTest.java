@@ -0,0 +1,120 @@
+package com.digital.wallet.infra.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HistoryCachePolicy Tests")
+class HistoryCachePolicyTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 10, 12, 0, 0);
+
+    private HistoryCachePolicy policy;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.from(NOW.atOffset(ZoneOffset.UTC)), ZoneOffset.UTC);
+        policy = new HistoryCachePolicy(clock, 60, 1);
+    }
+
+    @Test
+    @DisplayName("Should consider ranges ending before the settlement window closed")
+    void shouldConsiderPastRangesClosed() {
+        assertTrue(policy.isClosed(NOW.minusMinutes(5)));
+        assertTrue(policy.isClosed(NOW.minusDays(30)));
+    }
+
+    @Test
+    @DisplayName("Should consider ranges ending inside the settlement window open")
+    void shouldConsiderRecentRangesOpen() {
+        assertFalse(policy.isClosed(NOW.minusSeconds(30)));
+        assertFalse(policy.isClosed(NOW));
+        assertFalse(policy.isClosed(NOW.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should key instants by their time bucket")
+    void shouldKeyInstantsByBucket() {
+        assertEquals(policy.bucketKey(NOW), policy.bucketKey(NOW.withNano(999_999_000)));
+        assertNotEquals(policy.bucketKey(NOW), policy.bucketKey(NOW.plusSeconds(1)));
+        assertEquals(String.valueOf(NOW.toEpochSecond(ZoneOffset.UTC)), policy.bucketKey(NOW));
+        assertEquals("-", policy.bucketKey(null));
+    }
+
+    @Test
+    @DisplayName("Should cache only closed ranges whose ends start a bucket")
+    void shouldCacheOnlyBucketAlignedRanges() {
+        LocalDateTime end = NOW.minusMinutes(5);
+        assertTrue(policy.isCacheable(end.minusDays(1), end));
+        assertTrue(policy.isCacheable(null, end));
+        assertFalse(policy.isCacheable(end.minusDays(1), end.withNano(500_000)));
+        assertFalse(policy.isCacheable(end.minusDays(1).withNano(500_000), end));
+        assertFalse(policy.isCacheable(null, NOW));
+    }
+
+    @Test
+    @DisplayName("Should truncate instants to buckets of the configured size")
+    void shouldTruncateToConfiguredBuckets() {
+        Clock clock = Clock.fixed(Instant.from(NOW.atOffset(ZoneOffset.UTC)), ZoneOffset.UTC);
+        HistoryCachePolicy minutes = new HistoryCachePolicy(clock, 60, 60);
+
+        assertEquals(NOW.minusMinutes(5), minutes.bucket(NOW.minusMinutes(5).plusSeconds(59)));
+        assertEquals(minutes.bucketKey(NOW.minusSeconds(1)), minutes.bucketKey(NOW.minusSeconds(59)));
+        assertFalse(minutes.isCacheable(null, NOW.minusMinutes(5).plusSeconds(30)));
+        assertTrue(minutes.isCacheable(null, NOW.minusMinutes(5)));
+    }
+
+    @Test
+    @DisplayName("Should cache a range up to the start of the bucket of its end")
+    void shouldCacheUpToBucketOfEnd() {
+        Clock clock = Clock.fixed(Instant.from(NOW.atOffset(ZoneOffset.UTC)), ZoneOffset.UTC);
+        HistoryCachePolicy minutes = new HistoryCachePolicy(clock, 60, 60);
+        LocalDateTime day = NOW.minusDays(1).toLocalDate().atStartOfDay();
+
+        assertEquals(day.plusHours(23).plusMinutes(59), minutes.cacheableEnd(day, day.plusDays(1).minusNanos(1)));
+        assertEquals(day.plusHours(10), minutes.cacheableEnd(null, day.plusHours(10).plusSeconds(42)));
+        assertEquals(day.plusHours(10), minutes.cacheableEnd(day, day.plusHours(10)));
+        assertEquals(minutes.cacheableEnd(day, day.plusHours(10).plusSeconds(1)),
+                minutes.cacheableEnd(day, day.plusHours(10).plusSeconds(59)));
+    }
+
+    @Test
+    @DisplayName("Should not cache ranges that start inside a bucket, end in it or are not settled")
+    void shouldNotCacheUnalignedOrOpenRanges() {
+        Clock clock = Clock.fixed(Instant.from(NOW.atOffset(ZoneOffset.UTC)), ZoneOffset.UTC);
+        HistoryCachePolicy minutes = new HistoryCachePolicy(clock, 60, 60);
+        LocalDateTime day = NOW.minusDays(1).toLocalDate().atStartOfDay();
+
+        assertNull(minutes.cacheableEnd(day.plusSeconds(30), day.plusHours(1)));
+        assertNull(minutes.cacheableEnd(day, day.plusSeconds(30)));
+        assertNull(minutes.cacheableEnd(day, NOW.minusSeconds(30)));
+        assertNull(minutes.cacheableEnd(day, null));
+    }
+
+    @Test
+    @DisplayName("Should consider ranges without end open")
+    void shouldConsiderNullEndOpen() {
+        assertFalse(policy.isClosed(null));
+    }
+
+    @Test
+    @DisplayName("Should report the settled instant")
+    void shouldReportSettledInstant() {
+        assertEquals(NOW.minusSeconds(60), policy.settledUntil());
+    }
+
+    @Test
+    @DisplayName("Should report the settled instant at the start of its bucket")
+    void shouldReportSettledInstantAtBucketStart() {
+        Clock clock = Clock.fixed(Instant.from(NOW.withNano(250_000_000).atOffset(ZoneOffset.UTC)), ZoneOffset.UTC);
+
+        assertEquals(NOW.minusSeconds(60), new HistoryCachePolicy(clock, 60, 1).settledUntil());
+    }
+}
@@ -0,0 +1,35 @@
+package com.digital.wallet.infra.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.CACHE_ENTRY_SIZE;
+import static com.digital.wallet.infra.metrics.MetricsConstants.TAG_CACHE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MeteredRedisSerializer Tests")
+class MeteredRedisSerializerTest {
+
+    @Test
+    @DisplayName("Should record the size of serialized entries per region")
+    void shouldRecordEntrySize() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MeteredRedisSerializer serializer = new MeteredRedisSerializer(
+                new JdkSerializationRedisSerializer(), "wallet-single", registry);
+
+        // When
+        byte[] bytes = serializer.serialize("value");
+        Object value = serializer.deserialize(bytes);
+
+        // Then
+        assertEquals("value", value);
+        DistributionSummary summary = registry.find(CACHE_ENTRY_SIZE).tag(TAG_CACHE, "wallet-single").summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(bytes.length, summary.totalAmount());
+    }
+}
@@ -0,0 +1,247 @@
+package com.digital.wallet.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueRetrievalException;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("TieredCache Tests")
+class TieredCacheTest {
+
+    private Cache<String, Object> local;
+    private ConcurrentMapCache remote;
+    private SimpleMeterRegistry meterRegistry;
+    private TieredCache cache;
+
+    @BeforeEach
+    void setUp() {
+        local = Caffeine.newBuilder().maximumSize(100).build();
+        remote = new ConcurrentMapCache("wallet-history-closed", false);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TieredCache(local, remote, meterRegistry, null, null);
+    }
+
+    @Test
+    @DisplayName("Should write to both tiers")
+    void shouldWriteToBothTiers() {
+        cache.put("balance:1", BigDecimal.TEN);
+
+        assertEquals(BigDecimal.TEN, local.getIfPresent("balance:1"));
+        assertEquals(BigDecimal.TEN, remote.get("balance:1").get());
+        assertEquals("wallet-history-closed", cache.getName());
+    }
+
+    @Test
+    @DisplayName("Should copy entries read from Redis into the local tier")
+    void shouldPromoteRemoteEntries() {
+        remote.put("balance:1", BigDecimal.ONE);
+
+        assertEquals(BigDecimal.ONE, cache.get("balance:1", BigDecimal.class));
+        assertEquals(BigDecimal.ONE, local.getIfPresent("balance:1"));
+        assertNull(cache.get("balance:2"));
+    }
+
+    @Test
+    @DisplayName("Should answer from the local tier without reading Redis")
+    void shouldPreferLocalTier() {
+        local.put("balance:1", BigDecimal.ONE);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(BigDecimal.ONE, cache.get("balance:1", () -> {
+            loads.incrementAndGet();
+            return BigDecimal.TEN;
+        }));
+        assertEquals(0, loads.get());
+        assertNull(remote.get("balance:1"));
+    }
+
+    @Test
+    @DisplayName("Should load missing entries once into both tiers")
+    void shouldLoadMissingEntries() {
+        assertEquals(BigDecimal.TEN, cache.get("balance:1", () -> BigDecimal.TEN));
+
+        assertEquals(BigDecimal.TEN, local.getIfPresent("balance:1"));
+        assertEquals(BigDecimal.TEN, remote.get("balance:1").get());
+    }
+
+    @Test
+    @DisplayName("Should keep a value written while the loader was reading")
+    void shouldKeepNewerValueWrittenDuringLoad() {
+        assertEquals(BigDecimal.ONE, cache.get("balance:1", () -> {
+            remote.put("balance:1", BigDecimal.ONE);
+            return BigDecimal.TEN;
+        }));
+
+        assertEquals(BigDecimal.ONE, remote.get("balance:1").get());
+        assertEquals(BigDecimal.ONE, local.getIfPresent("balance:1"));
+    }
+
+    @Test
+    @DisplayName("Should evict and clear both tiers")
+    void shouldEvictBothTiers() {
+        cache.put("balance:1", BigDecimal.ONE);
+        cache.put("balance:2", BigDecimal.TEN);
+
+        cache.evict("balance:1");
+        assertNull(local.getIfPresent("balance:1"));
+        assertNull(remote.get("balance:1"));
+
+        cache.clear();
+        assertNull(cache.get("balance:2"));
+    }
+
+    @Test
+    @DisplayName("Should count the reads of each tier in one series")
+    void shouldCountHitsAndMissesPerTier() {
+        remote.put("balance:1", BigDecimal.ONE);
+
+        cache.get("balance:1");
+        cache.get("balance:1");
+        cache.get("balance:2");
+
+        assertEquals(1.0, meterRegistry.get(CACHE_GETS).tag(TAG_TIER, "local").tag(TAG_RESULT, "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get(CACHE_GETS).tag(TAG_TIER, "local").tag(TAG_RESULT, "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get(CACHE_GETS).tag(TAG_TIER, "remote").tag(TAG_RESULT, "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get(CACHE_GETS).tag(TAG_TIER, "remote").tag(TAG_RESULT, "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should announce writes and evictions to the other nodes")
+    void shouldAnnounceChanges() {
+        CacheInvalidationRelay relay = mock(CacheInvalidationRelay.class);
+        ConcurrentMapCache walletRemote = new ConcurrentMapCache("wallet-single", false);
+        TieredCache walletCache = new TieredCache(Caffeine.newBuilder().maximumSize(100).build(), walletRemote, meterRegistry, relay, null);
+        UUID walletId = UUID.randomUUID();
+
+        walletCache.put(walletId, BigDecimal.ONE);
+        walletCache.evict(walletId);
+        walletCache.clear();
+
+        verify(relay).register(walletCache);
+        verify(relay, times(2)).publishEviction("wallet-single", walletId.toString());
+        verify(relay).publishClear("wallet-single");
+    }
+
+    @Test
+    @DisplayName("Should drop local entries only when another node changed them")
+    void shouldInvalidateLocalTierOnly() {
+        UUID walletId = UUID.randomUUID();
+        cache.put(walletId, BigDecimal.ONE);
+
+        cache.invalidateLocal(walletId.toString());
+
+        assertNull(local.getIfPresent(walletId.toString()));
+        assertEquals(BigDecimal.ONE, remote.get(walletId).get());
+        assertEquals(BigDecimal.ONE, cache.get(walletId, BigDecimal.class));
+    }
+
+    @Test
+    @DisplayName("Should load an entry once for concurrent misses on the same node")
+    void shouldCoalesceConcurrentLoads() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<BigDecimal> first = executor.submit(() -> cache.get("balance:1", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return BigDecimal.TEN;
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<BigDecimal> second = executor.submit(() -> cache.get("balance:1", () -> {
+                loads.incrementAndGet();
+                return BigDecimal.ONE;
+            }));
+            while (meterRegistry.get(CACHE_COALESCED_LOADS).tag(TAG_TIER, "local").counter().count() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertEquals(BigDecimal.TEN, first.get(5, TimeUnit.SECONDS));
+            assertEquals(BigDecimal.TEN, second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not keep failed loads")
+    void shouldPropagateLoadFailures() {
+        ValueRetrievalException failure = assertThrows(ValueRetrievalException.class,
+                () -> cache.get("balance:1", () -> {
+                    throw new IllegalStateException("database down");
+                }));
+
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertNull(remote.get("balance:1"));
+        assertEquals(BigDecimal.ONE, cache.get("balance:1", () -> BigDecimal.ONE));
+    }
+
+    @Test
+    @DisplayName("Should load and release the lock when no other node is loading")
+    void shouldLoadUnderDistributedLock() {
+        CacheLoadLock loadLock = mock(CacheLoadLock.class);
+        when(loadLock.tryAcquire("wallet-history-closed", "balance:1")).thenReturn("token");
+        TieredCache lockedCache = new TieredCache(Caffeine.newBuilder().maximumSize(100).build(), remote, meterRegistry, null, loadLock);
+
+        assertEquals(BigDecimal.TEN, lockedCache.get("balance:1", () -> BigDecimal.TEN));
+
+        assertEquals(BigDecimal.TEN, remote.get("balance:1").get());
+        verify(loadLock).release("wallet-history-closed", "balance:1", "token");
+    }
+
+    @Test
+    @DisplayName("Should wait for the entry loaded by another node")
+    void shouldWaitForAnotherNode() {
+        CacheLoadLock loadLock = mock(CacheLoadLock.class);
+        when(loadLock.getLockTtl()).thenReturn(Duration.ofSeconds(5));
+        when(loadLock.tryAcquire("wallet-history-closed", "balance:1")).thenAnswer(invocation -> {
+            remote.put("balance:1", BigDecimal.ONE);
+            return null;
+        });
+        TieredCache lockedCache = new TieredCache(Caffeine.newBuilder().maximumSize(100).build(), remote, meterRegistry, null, loadLock);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(BigDecimal.ONE, lockedCache.get("balance:1", () -> {
+            loads.incrementAndGet();
+            return BigDecimal.TEN;
+        }));
+
+        assertEquals(0, loads.get());
+        assertEquals(1.0, meterRegistry.get(CACHE_COALESCED_LOADS).tag(TAG_TIER, "remote").counter().count());
+        verify(loadLock, never()).release(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should load itself when the other node does not store the entry in time")
+    void shouldLoadAfterWaitingForTheLockTtl() {
+        CacheLoadLock loadLock = mock(CacheLoadLock.class);
+        when(loadLock.getLockTtl()).thenReturn(Duration.ofMillis(50));
+        when(loadLock.tryAcquire("wallet-history-closed", "balance:1")).thenReturn(null);
+        TieredCache lockedCache = new TieredCache(Caffeine.newBuilder().maximumSize(100).build(), remote, meterRegistry, null, loadLock);
+
+        assertEquals(BigDecimal.TEN, lockedCache.get("balance:1", () -> BigDecimal.TEN));
+        assertEquals(BigDecimal.TEN, remote.get("balance:1").get());
+    }
+}
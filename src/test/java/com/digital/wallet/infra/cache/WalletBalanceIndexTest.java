@@ -0,0 +1,263 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.TransactionType;
+import com.digital.wallet.infra.events.WalletEvent;
+import com.digital.wallet.infra.events.WalletEventBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("WalletBalanceIndex Tests")
+class WalletBalanceIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private WalletEventBus walletEventBus;
+    private SimpleMeterRegistry meterRegistry;
+    private Clock clock;
+    private AtomicLong now;
+    private UUID walletId;
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        walletEventBus = new WalletEventBus(100, 300);
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong(Instant.parse("2024-03-02T00:00:00Z").toEpochMilli());
+        clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        walletId = UUID.randomUUID();
+        rows = new ArrayList<>();
+        rows.add(row(DAY.plusHours(1), 1, TransactionType.DEPOSIT, "100.00"));
+        rows.add(row(DAY.plusHours(2), 2, TransactionType.WITHDRAW, "30.50"));
+        rows.add(row(DAY.plusHours(3), 3, TransactionType.TRANSFER_IN, "10.00"));
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Should leave lookups to the database when disabled")
+    void shouldReturnEmptyWhenDisabled() {
+        WalletBalanceIndex index = index(false, 1024 * 1024);
+
+        assertEquals(Optional.empty(), index.findBalanceAt(walletId, DAY.plusHours(5)));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should answer point-in-time balances from the cumulative history")
+    void shouldFindBalanceAtInstant() {
+        WalletBalanceIndex index = index(true, 1024 * 1024);
+
+        assertEquals(Optional.of(new BigDecimal("0.00")), index.findBalanceAt(walletId, DAY));
+        assertEquals(Optional.of(new BigDecimal("100.00")), index.findBalanceAt(walletId, DAY.plusHours(1)));
+        assertEquals(Optional.of(new BigDecimal("69.50")), index.findBalanceAt(walletId, DAY.plusHours(2).plusMinutes(30)));
+        assertEquals(Optional.of(new BigDecimal("79.50")), index.findBalanceAt(walletId, DAY.plusDays(1)));
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Should apply committed transactions from wallet events")
+    void shouldAppendTransactionsFromEvents() {
+        WalletBalanceIndex index = index(true, 1024 * 1024);
+        index.findBalanceAt(walletId, DAY);
+
+        walletEventBus.dispatch(event(4, TransactionType.DEPOSIT, "20.00", DAY.plusHours(4)));
+        // Stamped before the previous transaction but committed after it
+        walletEventBus.dispatch(event(5, TransactionType.WITHDRAW, "5.00", DAY.plusHours(2).plusMinutes(30)));
+
+        assertEquals(Optional.of(new BigDecimal("64.50")), index.findBalanceAt(walletId, DAY.plusHours(2).plusMinutes(45)));
+        assertEquals(Optional.of(new BigDecimal("94.50")), index.findBalanceAt(walletId, DAY.plusHours(5)));
+    }
+
+    @Test
+    @DisplayName("Should miss while an event is missing and rebuild once the wallet is broken")
+    void shouldMissOnSequenceGap() {
+        WalletBalanceIndex index = index(true, 1024 * 1024);
+        index.findBalanceAt(walletId, DAY);
+
+        walletEventBus.dispatch(event(5, TransactionType.DEPOSIT, "20.00", DAY.plusHours(5)));
+
+        assertEquals(Optional.empty(), index.findBalanceAt(walletId, DAY.plusHours(6)));
+
+        for (long seq = 6; seq <= 6 + WalletBalanceIndex.MAX_PENDING_EVENTS; seq++) {
+            walletEventBus.dispatch(event(seq, TransactionType.DEPOSIT, "1.00", DAY.plusHours(6)));
+        }
+        rows.add(row(DAY.plusHours(4), 4, TransactionType.DEPOSIT, "1.00"));
+
+        // Broken wallets are not rescanned before the rebuild delay
+        assertEquals(Optional.empty(), index.findBalanceAt(walletId, DAY.plusHours(4)));
+        now.addAndGet(30_000);
+        assertEquals(Optional.of(new BigDecimal("80.50")), index.findBalanceAt(walletId, DAY.plusHours(4)));
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Should not rescan a wallet whose scan failed on every lookup")
+    void shouldDelayRebuildAfterFailure() {
+        WalletBalanceIndex index = index(true, 1024 * 1024);
+        doThrow(new IllegalStateException("database down"))
+                .when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(Optional.empty(), index.findBalanceAt(walletId, DAY));
+        }
+        verify(jdbcTemplate, times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        now.addAndGet(30_000);
+        index.findBalanceAt(walletId, DAY);
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Should subtract types it does not know, like the database sums")
+    void shouldTreatUnknownTypesAsDebits() {
+        rows.add(new Object[]{DAY.plusHours(4), 4L, "TRANSFER", "9.50"});
+        WalletBalanceIndex index = index(true, 1024 * 1024);
+
+        assertEquals(Optional.of(new BigDecimal("70.00")), index.findBalanceAt(walletId, DAY.plusHours(5)));
+
+        walletEventBus.dispatch(WalletEvent.builder().id(5L).walletId(walletId).seq(5L).type("REVERSAL")
+                .amount(new BigDecimal("10.00")).timestamp(DAY.plusHours(6)).build());
+        assertEquals(Optional.of(new BigDecimal("60.00")), index.findBalanceAt(walletId, DAY.plusHours(7)));
+    }
+
+    @Test
+    @DisplayName("Should answer from the database while behind the wallet counter and rebuild when events were lost")
+    void shouldCheckFreshnessAgainstSequenceCounter() {
+        WalletBalanceIndex index = index(true, 1024 * 1024);
+        index.findBalanceAt(walletId, DAY);
+
+        // Transaction 4 committed but its event never arrives
+        when(jdbcTemplate.queryForObject(WalletBalanceIndex.LAST_SEQ_SQL, Long.class, walletId)).thenReturn(4L);
+        now.addAndGet(5_000);
+        assertEquals(Optional.empty(), index.findBalanceAt(walletId, DAY.plusHours(5)));
+        // Not checked again within the interval, and still not answered
+        assertEquals(Optional.empty(), index.findBalanceAt(walletId, DAY.plusHours(5)));
+        verify(jdbcTemplate, times(1)).queryForObject(WalletBalanceIndex.LAST_SEQ_SQL, Long.class, walletId);
+
+        now.addAndGet(5_000);
+        assertEquals(Optional.empty(), index.findBalanceAt(walletId, DAY.plusHours(5)));
+        rows.add(row(DAY.plusHours(4), 4, TransactionType.DEPOSIT, "1.00"));
+        now.addAndGet(30_000);
+        assertEquals(Optional.of(new BigDecimal("80.50")), index.findBalanceAt(walletId, DAY.plusHours(5)));
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Should answer again once the events behind the counter arrive")
+    void shouldResumeWhenEventsCatchUp() {
+        WalletBalanceIndex index = index(true, 1024 * 1024);
+        index.findBalanceAt(walletId, DAY);
+        when(jdbcTemplate.queryForObject(WalletBalanceIndex.LAST_SEQ_SQL, Long.class, walletId)).thenReturn(4L);
+        now.addAndGet(5_000);
+        assertEquals(Optional.empty(), index.findBalanceAt(walletId, DAY.plusHours(5)));
+
+        walletEventBus.dispatch(event(4, TransactionType.DEPOSIT, "20.00", DAY.plusHours(4)));
+
+        assertEquals(Optional.of(new BigDecimal("99.50")), index.findBalanceAt(walletId, DAY.plusHours(5)));
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used wallet beyond the memory budget")
+    void shouldEvictOverBudget() {
+        WalletBalanceIndex index = index(true, 3L * WalletBalanceIndex.BYTES_PER_TRANSACTION);
+        UUID otherWalletId = UUID.randomUUID();
+
+        index.findBalanceAt(walletId, DAY);
+        index.findBalanceAt(otherWalletId, DAY);
+
+        assertEquals(1.0, meterRegistry.get(BALANCE_INDEX_WALLETS).gauge().value());
+        assertEquals(3.0 * WalletBalanceIndex.BYTES_PER_TRANSACTION, meterRegistry.get(BALANCE_INDEX_BYTES).gauge().value());
+        index.findBalanceAt(otherWalletId, DAY);
+        verify(jdbcTemplate, times(2)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Should count hits and misses")
+    void shouldCountHitsAndMisses() {
+        WalletBalanceIndex index = index(true, 1024 * 1024);
+        index.findBalanceAt(walletId, DAY);
+        doThrow(new IllegalStateException("database down"))
+                .when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        assertEquals(Optional.empty(), index.findBalanceAt(UUID.randomUUID(), DAY));
+
+        assertEquals(1.0, meterRegistry.get(BALANCE_INDEX_LOOKUPS).tag(TAG_RESULT, "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get(BALANCE_INDEX_LOOKUPS).tag(TAG_RESULT, "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not index wallets with more transactions than allowed")
+    void shouldSkipLargeWallets() {
+        WalletBalanceIndex index = new WalletBalanceIndex(jdbcTemplate, walletEventBus, meterRegistry, clock, true, 1024 * 1024, 2, 900, 5000, 30);
+
+        assertEquals(Optional.empty(), index.findBalanceAt(walletId, DAY.plusHours(5)));
+        assertEquals(0.0, meterRegistry.get(BALANCE_INDEX_BYTES).gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should convert amounts to signed minor units")
+    void shouldConvertSignedMinorUnits() {
+        assertEquals(1050L, WalletBalanceIndex.signedMinorUnits(TransactionType.DEPOSIT, new BigDecimal("10.50")));
+        assertEquals(-7L, WalletBalanceIndex.signedMinorUnits(TransactionType.TRANSFER_OUT, new BigDecimal("0.07")));
+    }
+
+    private WalletBalanceIndex index(boolean enabled, long maxBytes) {
+        return new WalletBalanceIndex(jdbcTemplate, walletEventBus, meterRegistry, clock, enabled, maxBytes, 1000, 900, 5000, 30);
+    }
+
+    private WalletEvent event(long seq, TransactionType type, String amount, LocalDateTime timestamp) {
+        return WalletEvent.builder()
+                .id(seq)
+                .walletId(walletId)
+                .seq(seq)
+                .type(type.name())
+                .amount(new BigDecimal(amount))
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private static Object[] row(LocalDateTime timestamp, long seq, TransactionType type, String amount) {
+        return new Object[]{timestamp, seq, type, amount};
+    }
+
+    private static ResultSet resultSet(Object[] row) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getTimestamp(1)).thenReturn(Timestamp.valueOf((LocalDateTime) row[0]));
+        when(resultSet.getLong(2)).thenReturn((Long) row[1]);
+        when(resultSet.getString(3)).thenReturn(row[2] instanceof TransactionType type ? type.name() : (String) row[2]);
+        when(resultSet.getBigDecimal(4)).thenReturn(new BigDecimal((String) row[3]));
+        return resultSet;
+    }
+}
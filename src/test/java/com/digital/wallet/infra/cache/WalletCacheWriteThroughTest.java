@@ -0,0 +1,199 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.Wallet;
+import com.digital.wallet.infra.cache.TieredRedisCacheManager.LocalTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WalletCacheWriteThrough Tests")
+class WalletCacheWriteThroughTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisCacheWriter cacheWriter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TieredRedisCacheManager cacheManager;
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(1))
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new CompactCacheSerializer(new JdkSerializationRedisSerializer(), 1024)))
+                .disableCachingNullValues()
+                .computePrefixWith(cacheName -> "wallet-api:" + cacheName + ":v1:");
+        cacheManager = new TieredRedisCacheManager(cacheWriter, configuration,
+                Map.of(WalletCacheWriteThrough.REGION, configuration),
+                Map.of(WalletCacheWriteThrough.REGION, LocalTier.expiring(100, Duration.ofSeconds(5))),
+                meterRegistry, null, null);
+        cacheManager.afterPropertiesSet();
+        wallet = new Wallet(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("150.00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write the wallet and its version in one script and keep it in the local tier")
+    void shouldWriteThroughWithVersion() {
+        List<byte[]> arguments = new ArrayList<>();
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        when(scripting.eval(any(), eq(ReturnType.INTEGER), eq(2), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            for (int i = 3; i < 8; i++) {
+                arguments.add(invocation.getArgument(i));
+            }
+            return 1L;
+        });
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+
+        writer(true).putAfterCommit(wallet, 7L);
+
+        String entryKey = "wallet-api:wallet-single:v1:" + wallet.getId();
+        assertEquals(entryKey, text(arguments.get(0)));
+        assertEquals(entryKey + ":version", text(arguments.get(1)));
+        assertEquals("7", text(arguments.get(2)));
+        assertEquals(CompactCacheSerializer.MAGIC, arguments.get(3)[0]);
+        assertEquals("60000", text(arguments.get(4)));
+
+        Wallet cached = cacheManager.getCache(WalletCacheWriteThrough.REGION).get(wallet.getId(), Wallet.class);
+        assertEquals(new BigDecimal("150.00"), cached.getBalance());
+        assertEquals(1.0, meterRegistry.get(CACHE_WRITE_THROUGH).tag(TAG_RESULT, "written").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should drop the local copy when a newer version is already cached")
+    void shouldSkipOlderVersions() {
+        TieredCache cache = (TieredCache) cacheManager.getCache(WalletCacheWriteThrough.REGION);
+        cache.putLocal(wallet.getId(), wallet.withBalance(BigDecimal.ONE));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(0L);
+
+        writer(true).putAfterCommit(wallet, 3L);
+
+        assertNull(cache.get(wallet.getId()));
+        assertEquals(1.0, meterRegistry.get(CACHE_WRITE_THROUGH).tag(TAG_RESULT, "stale").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should write only once the transaction commits")
+    void shouldWaitForCommit() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        writer(true).putAfterCommit(wallet, 7L);
+        verifyNoInteractions(redisTemplate);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(redisTemplate).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should write before the after-commit callbacks registered earlier, such as the version bump")
+    void shouldWriteBeforeEarlierCallbacks() {
+        List<String> calls = new ArrayList<>();
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation -> {
+            calls.add("write");
+            return 1L;
+        });
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                calls.add("bump");
+            }
+        });
+        writer(true).putAfterCommit(wallet, 7L);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(List.of("write", "bump"), calls);
+    }
+
+    @Test
+    @DisplayName("Should evict the wallet when write-through is disabled or the version is unknown")
+    void shouldEvictWithoutWriteThrough() {
+        writer(false).putAfterCommit(wallet, 7L);
+        writer(true).putAfterCommit(wallet, null);
+
+        verify(cacheWriter, times(2)).remove(eq(WalletCacheWriteThrough.REGION), any());
+        verifyNoInteractions(redisTemplate);
+        assertEquals(2.0, meterRegistry.get(CACHE_WRITE_THROUGH).tag(TAG_RESULT, "evicted").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should evict the wallet when the cache is not backed by Redis")
+    void shouldEvictFromOtherCacheManagers() {
+        ConcurrentMapCacheManager simpleCacheManager = new ConcurrentMapCacheManager(WalletCacheWriteThrough.REGION);
+        Cache cache = simpleCacheManager.getCache(WalletCacheWriteThrough.REGION);
+        cache.put(wallet.getId(), wallet);
+
+        new WalletCacheWriteThrough(simpleCacheManager, redisTemplate, meterRegistry, true).putAfterCommit(wallet, 7L);
+
+        assertNull(cache.get(wallet.getId()));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should not fail the caller when Redis is down")
+    void shouldNotFailWhenRedisIsDown() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertDoesNotThrow(() -> writer(true).putAfterCommit(wallet, 7L));
+    }
+
+    private WalletCacheWriteThrough writer(boolean enabled) {
+        return new WalletCacheWriteThrough(cacheManager, redisTemplate, meterRegistry, enabled);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
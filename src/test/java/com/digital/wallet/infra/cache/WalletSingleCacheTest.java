@@ -0,0 +1,71 @@
+package com.digital.wallet.infra.cache;
+
+import com.digital.wallet.core.domain.Wallet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WalletSingleCache Tests")
+class WalletSingleCacheTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private WalletSingleCache walletCache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(WalletSingleCache.REGION);
+        walletCache = new WalletSingleCache(cacheManager);
+    }
+
+    @Test
+    @DisplayName("Should return only the wallets found in the region")
+    void shouldFindCachedWallets() {
+        Wallet cached = new Wallet(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.ONE);
+        cacheManager.getCache(WalletSingleCache.REGION).put(cached.getId(), cached);
+
+        Map<UUID, Wallet> wallets = walletCache.findAllById(List.of(cached.getId(), UUID.randomUUID()));
+
+        assertEquals(Map.of(cached.getId(), cached), wallets);
+    }
+
+    @Test
+    @DisplayName("Should cache a wallet under its id")
+    void shouldPutWallet() {
+        Wallet wallet = new Wallet(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN);
+
+        walletCache.putIfAbsent(wallet);
+
+        assertEquals(wallet, cacheManager.getCache(WalletSingleCache.REGION).get(wallet.getId(), Wallet.class));
+    }
+
+    @Test
+    @DisplayName("Should keep a wallet cached meanwhile, e.g. written through by a balance change")
+    void shouldNotReplaceCachedWallet() {
+        UUID walletId = UUID.randomUUID();
+        Wallet writtenThrough = new Wallet(walletId, UUID.randomUUID(), new BigDecimal("20.00"));
+        cacheManager.getCache(WalletSingleCache.REGION).put(walletId, writtenThrough);
+
+        walletCache.putIfAbsent(new Wallet(walletId, writtenThrough.getUserId(), BigDecimal.TEN));
+
+        assertEquals(writtenThrough, cacheManager.getCache(WalletSingleCache.REGION).get(walletId, Wallet.class));
+    }
+
+    @Test
+    @DisplayName("Should find nothing and cache nothing when the region does not exist")
+    void shouldIgnoreMissingRegion() {
+        WalletSingleCache withoutRegion = new WalletSingleCache(new ConcurrentMapCacheManager("other"));
+        Wallet wallet = new Wallet(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN);
+
+        withoutRegion.putIfAbsent(wallet);
+
+        assertTrue(withoutRegion.findAllById(List.of(wallet.getId())).isEmpty());
+    }
+}
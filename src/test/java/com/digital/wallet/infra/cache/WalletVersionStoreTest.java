@@ -0,0 +1,124 @@
+package com.digital.wallet.infra.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WalletVersionStore Tests")
+class WalletVersionStoreTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private WalletVersionStore store;
+    private UUID walletId;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        store = new WalletVersionStore(redisTemplate, "wallet-api");
+        walletId = UUID.randomUUID();
+        key = "wallet-api:wallet-version:" + walletId;
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("Should build strong ETags from the current version")
+    void shouldBuildStrongETags() {
+        when(valueOperations.get(key)).thenReturn("42");
+
+        assertEquals(Optional.of("\"42\""), store.etag(walletId));
+        assertTrue(store.etag(walletId, "2024-01-01").orElseThrow().startsWith("\"42-"));
+        assertNotEquals(store.etag(walletId, "2024-01-01"), store.etag(walletId, "2024-01-02"));
+    }
+
+    @Test
+    @DisplayName("Should not create a version when reading a missing one")
+    void shouldNotCreateVersionOnRead() {
+        when(valueOperations.get(key)).thenReturn(null);
+
+        assertTrue(store.currentVersion(walletId).isEmpty());
+        assertTrue(store.etag(walletId).isEmpty());
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should initialize missing versions with a time based value")
+    void shouldInitializeMissingVersion() {
+        store.initVersion(walletId);
+
+        verify(valueOperations).setIfAbsent(eq(key), anyString(), eq(WalletVersionStore.VERSION_TTL));
+    }
+
+    @Test
+    @DisplayName("Should digest variants without collisions between different splits")
+    void shouldDigestVariants() {
+        assertEquals(64, WalletVersionStore.digest("2024-01-01").length());
+        assertNotEquals(WalletVersionStore.digest("ab", "c"), WalletVersionStore.digest("a", "bc"));
+        assertNotEquals(WalletVersionStore.digest("", "x"), WalletVersionStore.digest("x", ""));
+        assertEquals(WalletVersionStore.digest("a", "b"), WalletVersionStore.digest("a", "b"));
+    }
+
+    @Test
+    @DisplayName("Should return empty version when Redis is unavailable")
+    void shouldReturnEmptyWhenRedisUnavailable() {
+        when(valueOperations.get(key)).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(store.etag(walletId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should bump the version and renew its TTL in a single script")
+    void shouldBumpVersionAtomically() {
+        when(redisTemplate.execute(eq(WalletVersionStore.BUMP_SCRIPT), eq(List.of(key)), anyString(),
+                eq(String.valueOf(WalletVersionStore.VERSION_TTL.toMillis())))).thenReturn(43L);
+
+        assertEquals(Optional.of(43L), store.bump(walletId));
+        verify(valueOperations, never()).increment(anyString());
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Should start a lost version at a time based value")
+    void shouldStartLostVersionAtCurrentTime() {
+        long before = System.currentTimeMillis();
+
+        store.bump(walletId);
+
+        ArgumentCaptor<String> seed = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).execute(eq(WalletVersionStore.BUMP_SCRIPT), eq(List.of(key)), seed.capture(), anyString());
+        assertTrue(Long.parseLong(seed.getValue()) >= before);
+    }
+
+    @Test
+    @DisplayName("Should return empty bump when Redis is unavailable")
+    void shouldReturnEmptyBumpWhenRedisUnavailable() {
+        when(redisTemplate.execute(eq(WalletVersionStore.BUMP_SCRIPT), anyList(), anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(store.bump(walletId).isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package com.digital.wallet.infra.concurrency;
+
+import com.digital.wallet.core.exceptions.WalletNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RequestFanOut Tests")
+class RequestFanOutTest {
+
+    private RequestFanOut requestFanOut;
+
+    @BeforeEach
+    void setUp() {
+        requestFanOut = new RequestFanOut(2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestFanOut.shutdown();
+        MDC.clear();
+    }
+
+    @Test
+    @DisplayName("Should run subtasks concurrently and return their results")
+    void shouldRunSubtasksConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Future<String> first;
+        Future<String> second;
+
+        try (RequestFanOut.Scope scope = requestFanOut.open()) {
+            first = scope.fork(() -> awaitOther(bothStarted, "first"));
+            second = scope.fork(() -> awaitOther(bothStarted, "second"));
+            scope.join();
+        }
+
+        assertEquals("first", first.resultNow());
+        assertEquals("second", second.resultNow());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the first failure and cancel the other subtasks")
+    void shouldCancelSiblingsOnFailure() {
+        CountDownLatch never = new CountDownLatch(1);
+        Future<String> slow;
+
+        try (RequestFanOut.Scope scope = requestFanOut.open()) {
+            slow = scope.fork(() -> {
+                never.await();
+                return "slow";
+            });
+            scope.fork(() -> {
+                throw new WalletNotFoundException("Wallet not found");
+            });
+
+            assertThrows(WalletNotFoundException.class, scope::join);
+        }
+
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Should fail when subtasks exceed the timeout")
+    void shouldTimeOut() {
+        RequestFanOut impatient = new RequestFanOut(50);
+        CountDownLatch never = new CountDownLatch(1);
+
+        try (RequestFanOut.Scope scope = impatient.open()) {
+            Future<Boolean> stuck = scope.fork(() -> never.await(1, TimeUnit.MINUTES));
+
+            assertThrows(IllegalStateException.class, scope::join);
+            assertTrue(stuck.isCancelled());
+        } finally {
+            impatient.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should propagate the MDC of the calling thread")
+    void shouldPropagateMdc() {
+        MDC.put("traceId", "abc123");
+        Future<String> traceId;
+
+        try (RequestFanOut.Scope scope = requestFanOut.open()) {
+            traceId = scope.fork(() -> MDC.get("traceId"));
+            scope.join();
+        }
+
+        assertEquals("abc123", traceId.resultNow());
+    }
+
+    private String awaitOther(CountDownLatch bothStarted, String result) throws InterruptedException {
+        bothStarted.countDown();
+        if (!bothStarted.await(1, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Subtasks did not run concurrently");
+        }
+        return result;
+    }
+}
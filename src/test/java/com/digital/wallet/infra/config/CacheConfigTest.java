@@ -1,5 +1,9 @@
 package com.digital.wallet.infra.config;
 
+import com.digital.wallet.infra.cache.ClosedHistoryRedisConnection;
+import com.digital.wallet.infra.cache.TieredCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.cache.CacheManager;
@@ -7,12 +11,26 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("CacheConfig Tests")
 class CacheConfigTest {
 
+    private final ClosedHistoryRedisConnection closedHistoryRedis =
+            new ClosedHistoryRedisConnection("localhost", 6380, "", 2000);
+
+    @AfterEach
+    void tearDown() {
+        closedHistoryRedis.destroy();
+    }
+
     @Test
     @DisplayName("Should create cache manager with Redis connection factory")
     void shouldCreateCacheManagerWithRedisConnectionFactory() {
@@ -21,7 +39,7 @@ class CacheConfigTest {
         RedisConnectionFactory connectionFactory = new LettuceConnectionFactory();
         
         // When
-        CacheManager cacheManager = config.cacheManager(connectionFactory);
+        CacheManager cacheManager = config.cacheManager(connectionFactory, closedHistoryRedis, new SimpleMeterRegistry(), Optional.empty(), Optional.empty());
         
         // Then
         assertNotNull(cacheManager);
@@ -36,7 +54,7 @@ class CacheConfigTest {
         RedisConnectionFactory connectionFactory = new LettuceConnectionFactory();
         
         // When
-        CacheManager cacheManager = config.cacheManager(connectionFactory);
+        CacheManager cacheManager = config.cacheManager(connectionFactory, closedHistoryRedis, new SimpleMeterRegistry(), Optional.empty(), Optional.empty());
         
         // Then
         assertNotNull(cacheManager);
@@ -49,7 +67,7 @@ class CacheConfigTest {
         // Given
         CacheConfig config = new CacheConfig();
         RedisConnectionFactory connectionFactory = new LettuceConnectionFactory();
-        CacheManager cacheManager = config.cacheManager(connectionFactory);
+        CacheManager cacheManager = config.cacheManager(connectionFactory, closedHistoryRedis, new SimpleMeterRegistry(), Optional.empty(), Optional.empty());
         
         // When
         var cache = cacheManager.getCache("test-cache");
@@ -59,4 +77,36 @@ class CacheConfigTest {
         // This test validates the cache manager can handle cache retrieval requests
         assertTrue(cacheManager instanceof RedisCacheManager);
     }
+
+    @Test
+    @DisplayName("Should put a local tier in front of the wallet and closed history regions only")
+    void shouldTierWalletAndClosedHistoryRegions() {
+        // Given
+        CacheConfig config = new CacheConfig();
+        CacheManager cacheManager = config.cacheManager(new LettuceConnectionFactory(), closedHistoryRedis, new SimpleMeterRegistry(), Optional.empty(), Optional.empty());
+        
+        // When & Then
+        assertTrue(cacheManager.getCache(CacheConfig.CLOSED_HISTORY_CACHE) instanceof TieredCache);
+        assertTrue(cacheManager.getCache("wallet-single") instanceof TieredCache);
+        assertTrue(cacheManager.getCache("wallet-list") instanceof TieredCache);
+        assertFalse(cacheManager.getCache("wallet-balance") instanceof TieredCache);
+    }
+
+    @Test
+    @DisplayName("Should store the closed history region without TTL in its own Redis instance")
+    void shouldStoreClosedHistoryWithoutTtlInItsOwnInstance() {
+        // Given
+        CacheConfig config = new CacheConfig();
+        RedisCacheManager cacheManager = (RedisCacheManager) config.cacheManager(new LettuceConnectionFactory(),
+                closedHistoryRedis, new SimpleMeterRegistry(), Optional.empty(), Optional.empty());
+        
+        // When
+        Object closedHistoryWriter = cacheManager.getCache(CacheConfig.CLOSED_HISTORY_CACHE).getNativeCache();
+        Object walletBalanceWriter = cacheManager.getCache("wallet-balance").getNativeCache();
+        
+        // Then
+        assertEquals(Duration.ZERO, cacheManager.getCacheConfigurations().get(CacheConfig.CLOSED_HISTORY_CACHE)
+                .getTtlFunction().getTimeToLive("key", null));
+        assertNotSame(walletBalanceWriter, closedHistoryWriter);
+    }
 }
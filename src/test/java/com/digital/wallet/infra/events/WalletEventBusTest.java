@@ -0,0 +1,123 @@
+package com.digital.wallet.infra.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WalletEventBus Tests")
+class WalletEventBusTest {
+
+    private WalletEventBus bus;
+    private UUID walletId;
+
+    @BeforeEach
+    void setUp() {
+        bus = new WalletEventBus(3, 300);
+        walletId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should deliver events only to subscribers of the wallet")
+    void shouldDeliverEventsToWalletSubscribers() {
+        List<WalletEvent> received = new ArrayList<>();
+        List<WalletEvent> other = new ArrayList<>();
+        bus.subscribe(walletId, null, received::add);
+        bus.subscribe(UUID.randomUUID(), null, other::add);
+
+        bus.dispatch(event(1L));
+
+        assertEquals(1, received.size());
+        assertTrue(other.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replay buffered events newer than the last event id")
+    void shouldReplayEventsAfterLastEventId() {
+        reconnecting();
+        for (long id = 1; id <= 5; id++) {
+            bus.dispatch(event(id));
+        }
+        List<WalletEvent> received = new ArrayList<>();
+
+        bus.subscribe(walletId, 3L, received::add);
+
+        assertEquals(List.of(4L, 5L), received.stream().map(WalletEvent::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should keep only the configured number of events for replay")
+    void shouldBoundReplayBuffer() {
+        reconnecting();
+        for (long id = 1; id <= 5; id++) {
+            bus.dispatch(event(id));
+        }
+        List<WalletEvent> received = new ArrayList<>();
+
+        bus.subscribe(walletId, 0L, received::add);
+
+        assertEquals(List.of(3L, 4L, 5L), received.stream().map(WalletEvent::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Should drop subscribers whose delivery fails")
+    void shouldDropFailingSubscribers() {
+        List<WalletEvent> received = new ArrayList<>();
+        Consumer<WalletEvent> failing = event -> {
+            throw new IllegalStateException("closed");
+        };
+        bus.subscribe(walletId, null, failing);
+        bus.subscribe(walletId, null, received::add);
+
+        bus.dispatch(event(1L));
+        bus.dispatch(event(2L));
+
+        assertEquals(2, received.size());
+    }
+
+    @Test
+    @DisplayName("Should not allocate channels for wallets nobody subscribed to")
+    void shouldDropEventsWithoutChannel() {
+        bus.dispatch(event(1L));
+
+        assertEquals(0, bus.channelCount());
+        List<WalletEvent> received = new ArrayList<>();
+        bus.subscribe(walletId, 0L, received::add);
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should purge idle channels without subscribers")
+    void shouldPurgeIdleChannels() {
+        WalletEventBus noReplayWindow = new WalletEventBus(3, -1);
+        Consumer<WalletEvent> gone = event -> { };
+        noReplayWindow.subscribe(walletId, null, gone);
+        noReplayWindow.unsubscribe(walletId, gone);
+        noReplayWindow.dispatch(event(1L));
+        UUID subscribed = UUID.randomUUID();
+        noReplayWindow.subscribe(subscribed, null, event -> { });
+
+        noReplayWindow.purgeIdleChannels();
+
+        assertEquals(1, noReplayWindow.channelCount());
+    }
+
+    /**
+     * A client that subscribed and went away, leaving the channel to buffer events for its return
+     */
+    private void reconnecting() {
+        Consumer<WalletEvent> subscriber = event -> { };
+        bus.subscribe(walletId, null, subscriber);
+        bus.unsubscribe(walletId, subscriber);
+    }
+
+    private WalletEvent event(long id) {
+        return WalletEvent.builder().id(id).walletId(walletId).build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.digital.wallet.infra.events;
+
+import com.digital.wallet.core.domain.Transaction;
+import com.digital.wallet.core.domain.TransactionType;
+import com.digital.wallet.infra.cache.WalletVersionStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletEventPublisherTest {
+
+    @Mock
+    private WalletVersionStore walletVersionStore;
+
+    @Mock
+    private WalletEventBus walletEventBus;
+
+    @Mock
+    private ObjectProvider<WalletEventRedisRelay> redisRelay;
+
+    @Mock
+    private WalletEventRedisRelay relay;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache historyCache;
+
+    private WalletEventPublisher publisher;
+    private Transaction transaction;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new WalletEventPublisher(walletVersionStore, walletEventBus, redisRelay, cacheManager);
+        lenient().when(cacheManager.getCache(WalletEventPublisher.HISTORY_CACHE)).thenReturn(historyCache);
+        transaction = new Transaction(UUID.randomUUID(), UUID.randomUUID(), BigDecimal.TEN,
+                TransactionType.DEPOSIT, LocalDateTime.of(2024, 5, 10, 12, 0), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publishAfterCommit_shouldWaitForCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        when(walletVersionStore.bump(transaction.getWalletId())).thenReturn(Optional.of(7L));
+
+        // Act
+        publisher.publishAfterCommit(transaction, new BigDecimal("110.00"));
+        verifyNoInteractions(walletVersionStore, walletEventBus, historyCache);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        ArgumentCaptor<WalletEvent> captor = ArgumentCaptor.forClass(WalletEvent.class);
+        verify(walletEventBus).dispatch(captor.capture());
+        WalletEvent event = captor.getValue();
+        assertEquals(7L, event.getId());
+        assertEquals(transaction.getWalletId(), event.getWalletId());
+        assertEquals(new BigDecimal("110.00"), event.getBalance());
+        assertEquals(transaction.getId(), event.getTransactionId());
+        assertEquals("DEPOSIT", event.getType());
+        assertEquals(BigDecimal.TEN, event.getAmount());
+    }
+
+    @Test
+    void publish_shouldUseRedisRelayWhenEnabled() {
+        // Arrange
+        when(walletVersionStore.bump(transaction.getWalletId())).thenReturn(Optional.of(8L));
+        when(redisRelay.getIfAvailable()).thenReturn(relay);
+
+        // Act
+        publisher.publishAfterCommit(transaction, new BigDecimal("110.00"));
+
+        // Assert
+        verify(relay).send(any(WalletEvent.class));
+        verify(walletEventBus, never()).dispatch(any());
+    }
+
+    @Test
+    void publish_shouldPublishWithoutIdWhenVersionUnavailable() {
+        // Arrange
+        when(walletVersionStore.bump(transaction.getWalletId())).thenReturn(Optional.empty());
+
+        // Act
+        publisher.publishAfterCommit(transaction, new BigDecimal("110.00"));
+
+        // Assert
+        ArgumentCaptor<WalletEvent> captor = ArgumentCaptor.forClass(WalletEvent.class);
+        verify(walletEventBus).dispatch(captor.capture());
+        assertNull(captor.getValue().getId());
+    }
+
+    @Test
+    void publish_shouldEvictLatestHistoryPageBeforeBumpingVersion() {
+        // Arrange
+        when(walletVersionStore.bump(transaction.getWalletId())).thenReturn(Optional.of(9L));
+
+        // Act
+        publisher.publishAfterCommit(transaction, new BigDecimal("110.00"));
+
+        // Assert
+        InOrder inOrder = inOrder(historyCache, walletVersionStore);
+        inOrder.verify(historyCache).evict(transaction.getWalletId() + ":latest");
+        inOrder.verify(walletVersionStore).bump(transaction.getWalletId());
+    }
+}
@@ -0,0 +1,78 @@
+package com.digital.wallet.infra.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletEventRedisRelayTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private WalletEventBus walletEventBus;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private WalletEventRedisRelay relay;
+    private WalletEvent event;
+
+    @BeforeEach
+    void setUp() {
+        relay = new WalletEventRedisRelay(redisTemplate, objectMapper, walletEventBus, "wallet-api");
+        event = WalletEvent.builder()
+                .id(3L)
+                .walletId(UUID.randomUUID())
+                .balance(new BigDecimal("10.00"))
+                .type("DEPOSIT")
+                .timestamp(LocalDateTime.of(2024, 5, 10, 12, 0))
+                .build();
+    }
+
+    @Test
+    void send_andReceive_shouldRoundTripEventThroughChannel() throws Exception {
+        // Act
+        relay.send(event);
+
+        // Assert
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq("wallet-api:wallet-events"), payload.capture());
+        relay.onMessage(new DefaultMessage("wallet-api:wallet-events".getBytes(), payload.getValue().getBytes()), null);
+
+        ArgumentCaptor<WalletEvent> received = ArgumentCaptor.forClass(WalletEvent.class);
+        verify(walletEventBus).dispatch(received.capture());
+        assertEquals(event.getId(), received.getValue().getId());
+        assertEquals(event.getWalletId(), received.getValue().getWalletId());
+        assertEquals(event.getTimestamp(), received.getValue().getTimestamp());
+    }
+
+    @Test
+    void send_shouldDispatchLocallyWhenRedisIsDown() {
+        // Arrange
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act
+        relay.send(event);
+
+        // Assert
+        verify(walletEventBus).dispatch(event);
+    }
+}
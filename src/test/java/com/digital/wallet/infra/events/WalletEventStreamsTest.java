@@ -0,0 +1,68 @@
+package com.digital.wallet.infra.events;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WalletEventStreamsTest {
+
+    @Mock
+    private WalletEventBus walletEventBus;
+
+    @Test
+    void open_shouldSubscribeStreamToWalletEvents() {
+        // Arrange
+        WalletEventStreams streams = new WalletEventStreams(walletEventBus, 60000, 1, 10, 2);
+        UUID walletId = UUID.randomUUID();
+
+        // Act
+        SseEmitter emitter = streams.open(walletId, 5L);
+
+        // Assert
+        assertNotNull(emitter);
+        assertEquals(60000L, emitter.getTimeout());
+        assertEquals(1, streams.openStreams());
+        verify(walletEventBus).subscribe(eq(walletId), eq(5L), any());
+    }
+
+    @Test
+    void sendHeartbeats_shouldKeepStreamsOpen() {
+        // Arrange
+        WalletEventStreams streams = new WalletEventStreams(walletEventBus, 60000, 1, 10, 2);
+        streams.open(UUID.randomUUID(), null);
+
+        // Act & Assert
+        assertDoesNotThrow(streams::sendHeartbeats);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void subscriber_shouldHandEventsToSendersWithoutThrowing() {
+        // Arrange
+        WalletEventStreams streams = new WalletEventStreams(walletEventBus, 60000, 1, 10, 2);
+        UUID walletId = UUID.randomUUID();
+        streams.open(walletId, null);
+        ArgumentCaptor<Consumer<WalletEvent>> subscriber = ArgumentCaptor.forClass(Consumer.class);
+        verify(walletEventBus).subscribe(eq(walletId), isNull(), subscriber.capture());
+
+        // Act & Assert: a stream falling behind is completed instead of failing the dispatch
+        for (long id = 1; id <= 20; id++) {
+            WalletEvent event = WalletEvent.builder().id(id).walletId(walletId).build();
+            assertDoesNotThrow(() -> subscriber.getValue().accept(event));
+        }
+        streams.shutdown();
+    }
+}
@@ -67,7 +67,7 @@ class WalletServiceHealthIndicatorTest {
     @Test
     void health_WithSuccessfulWalletRetrieval_ShouldReturnHealthUp() {
         // Given
-        when(findAllWalletsUseCase.findAll()).thenReturn(mockWallets);
+        when(findAllWalletsUseCase.count()).thenReturn((long) mockWallets.size());
         
         // When
         Health health = walletServiceHealthIndicator.health();
@@ -79,13 +79,14 @@ class WalletServiceHealthIndicatorTest {
         assertNotNull(health.getDetails().get("responseTimeMs"));
         assertTrue((Long) health.getDetails().get("responseTimeMs") >= 0);
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
+        verify(findAllWalletsUseCase, never()).findAll();
     }
 
     @Test
     void health_WithEmptyWalletList_ShouldReturnHealthUpWithZeroCount() {
         // Given
-        when(findAllWalletsUseCase.findAll()).thenReturn(Collections.emptyList());
+        when(findAllWalletsUseCase.count()).thenReturn(0L);
         
         // When
         Health health = walletServiceHealthIndicator.health();
@@ -97,14 +98,14 @@ class WalletServiceHealthIndicatorTest {
         assertNotNull(health.getDetails().get("responseTimeMs"));
         assertTrue((Long) health.getDetails().get("responseTimeMs") >= 0);
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
     }
 
     @Test
     void health_WithSingleWallet_ShouldReturnHealthUpWithCorrectCount() {
         // Given
         List<Wallet> singleWallet = Collections.singletonList(mockWallets.get(0));
-        when(findAllWalletsUseCase.findAll()).thenReturn(singleWallet);
+        when(findAllWalletsUseCase.count()).thenReturn((long) singleWallet.size());
         
         // When
         Health health = walletServiceHealthIndicator.health();
@@ -116,7 +117,7 @@ class WalletServiceHealthIndicatorTest {
         assertNotNull(health.getDetails().get("responseTimeMs"));
         assertTrue((Long) health.getDetails().get("responseTimeMs") >= 0);
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
     }
 
     @Test
@@ -126,7 +127,7 @@ class WalletServiceHealthIndicatorTest {
                 mockWallets.get(0), mockWallets.get(1), mockWallets.get(0), 
                 mockWallets.get(1), mockWallets.get(0)
         );
-        when(findAllWalletsUseCase.findAll()).thenReturn(largeWalletList);
+        when(findAllWalletsUseCase.count()).thenReturn((long) largeWalletList.size());
         
         // When
         Health health = walletServiceHealthIndicator.health();
@@ -138,14 +139,14 @@ class WalletServiceHealthIndicatorTest {
         assertNotNull(health.getDetails().get("responseTimeMs"));
         assertTrue((Long) health.getDetails().get("responseTimeMs") >= 0);
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
     }
 
     @Test
     void health_WithRuntimeException_ShouldReturnHealthDown() {
         // Given
         RuntimeException testException = new RuntimeException("Service unavailable");
-        when(findAllWalletsUseCase.findAll()).thenThrow(testException);
+        when(findAllWalletsUseCase.count()).thenThrow(testException);
         
         // When
         Health health = walletServiceHealthIndicator.health();
@@ -157,14 +158,14 @@ class WalletServiceHealthIndicatorTest {
         assertNull(health.getDetails().get("walletCount"));
         assertNull(health.getDetails().get("responseTimeMs"));
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
     }
 
     @Test
     void health_WithIllegalArgumentException_ShouldReturnHealthDown() {
         // Given
         IllegalArgumentException testException = new IllegalArgumentException("Invalid argument");
-        when(findAllWalletsUseCase.findAll()).thenThrow(testException);
+        when(findAllWalletsUseCase.count()).thenThrow(testException);
         
         // When
         Health health = walletServiceHealthIndicator.health();
@@ -176,14 +177,14 @@ class WalletServiceHealthIndicatorTest {
         assertNull(health.getDetails().get("walletCount"));
         assertNull(health.getDetails().get("responseTimeMs"));
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
     }
 
     @Test
     void health_WithNullPointerException_ShouldReturnHealthDown() {
         // Given
         NullPointerException testException = new NullPointerException("Null pointer error");
-        when(findAllWalletsUseCase.findAll()).thenThrow(testException);
+        when(findAllWalletsUseCase.count()).thenThrow(testException);
         
         // When
         Health health = walletServiceHealthIndicator.health();
@@ -195,7 +196,7 @@ class WalletServiceHealthIndicatorTest {
         assertNull(health.getDetails().get("walletCount"));
         assertNull(health.getDetails().get("responseTimeMs"));
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
     }
 
     @Test
@@ -203,7 +204,7 @@ class WalletServiceHealthIndicatorTest {
     void health_WithExceptionWithNullMessage_ShouldReturnHealthDownWithNullError() {
         // Arrange
         RuntimeException exceptionWithNullMessage = new RuntimeException((String) null);
-        when(findAllWalletsUseCase.findAll()).thenThrow(exceptionWithNullMessage);
+        when(findAllWalletsUseCase.count()).thenThrow(exceptionWithNullMessage);
 
         // Act
         Health health = walletServiceHealthIndicator.health();
@@ -217,7 +218,7 @@ class WalletServiceHealthIndicatorTest {
     @Test
     void health_ShouldMeasureResponseTime() {
         // Given
-        when(findAllWalletsUseCase.findAll()).thenAnswer(invocation -> {
+        when(findAllWalletsUseCase.count()).thenAnswer(invocation -> {
             // Simulate some processing time
             Thread.sleep(10);
             return mockWallets;
@@ -235,13 +236,13 @@ class WalletServiceHealthIndicatorTest {
         assertTrue(responseTime >= 0);
         assertTrue(responseTime <= (endTime - startTime + 100)); // Allow some tolerance
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
     }
 
     @Test
     void health_ShouldAlwaysIncludeServiceDetail() {
         // Given
-        when(findAllWalletsUseCase.findAll()).thenReturn(mockWallets);
+        when(findAllWalletsUseCase.count()).thenReturn((long) mockWallets.size());
         
         // When
         Health health = walletServiceHealthIndicator.health();
@@ -250,13 +251,13 @@ class WalletServiceHealthIndicatorTest {
         assertTrue(health.getDetails().containsKey("service"));
         assertEquals("Wallet", health.getDetails().get("service"));
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
     }
 
     @Test
     void health_WithSuccessfulCall_ShouldNotIncludeErrorDetail() {
         // Given
-        when(findAllWalletsUseCase.findAll()).thenReturn(mockWallets);
+        when(findAllWalletsUseCase.count()).thenReturn((long) mockWallets.size());
         
         // When
         Health health = walletServiceHealthIndicator.health();
@@ -267,14 +268,14 @@ class WalletServiceHealthIndicatorTest {
         assertTrue(health.getDetails().containsKey("walletCount"));
         assertTrue(health.getDetails().containsKey("responseTimeMs"));
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
     }
 
     @Test
     void health_WithException_ShouldNotIncludeSuccessDetails() {
         // Given
         RuntimeException testException = new RuntimeException("Test error");
-        when(findAllWalletsUseCase.findAll()).thenThrow(testException);
+        when(findAllWalletsUseCase.count()).thenThrow(testException);
         
         // When
         Health health = walletServiceHealthIndicator.health();
@@ -285,6 +286,6 @@ class WalletServiceHealthIndicatorTest {
         assertFalse(health.getDetails().containsKey("walletCount"));
         assertFalse(health.getDetails().containsKey("responseTimeMs"));
         
-        verify(findAllWalletsUseCase).findAll();
+        verify(findAllWalletsUseCase).count();
     }
 }
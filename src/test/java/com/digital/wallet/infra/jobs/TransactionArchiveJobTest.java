@@ -0,0 +1,66 @@
+package com.digital.wallet.infra.jobs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionArchiveJobTest {
+
+    private static final LocalDateTime HORIZON = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionArchivePolicy archivePolicy;
+
+    @Test
+    void archiveOldTransactions_shouldMoveBatchesUntilNoFullBatchRemains() {
+        // Arrange
+        TransactionArchiveJob job = new TransactionArchiveJob(jdbcTemplate, archivePolicy, 100);
+        when(archivePolicy.archiveHorizon()).thenReturn(HORIZON);
+        when(jdbcTemplate.update(TransactionArchiveJob.MOVE_BATCH_SQL, Timestamp.valueOf(HORIZON), 100))
+                .thenReturn(100, 100, 42);
+
+        // Act
+        long archived = job.archiveOldTransactions();
+
+        // Assert
+        assertEquals(242, archived);
+        verify(jdbcTemplate, times(3)).update(TransactionArchiveJob.MOVE_BATCH_SQL, Timestamp.valueOf(HORIZON), 100);
+    }
+
+    @Test
+    void archiveOldTransactions_shouldStopOnDatabaseError() {
+        // Arrange
+        TransactionArchiveJob job = new TransactionArchiveJob(jdbcTemplate, archivePolicy, 100);
+        when(archivePolicy.archiveHorizon()).thenReturn(HORIZON);
+        when(jdbcTemplate.update(eq(TransactionArchiveJob.MOVE_BATCH_SQL), any(Object[].class)))
+                .thenReturn(100)
+                .thenThrow(new RuntimeException("Database error"));
+
+        // Act
+        long archived = job.archiveOldTransactions();
+
+        // Assert
+        assertEquals(100, archived);
+    }
+
+    @Test
+    void moveBatchSql_shouldNotSkipRowsAlreadyInTheArchive() {
+        // A skipped insert would still delete the row from the hot table
+        assertFalse(TransactionArchiveJob.MOVE_BATCH_SQL.contains("ON CONFLICT"));
+    }
+}
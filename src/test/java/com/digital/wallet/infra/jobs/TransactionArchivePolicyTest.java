@@ -0,0 +1,33 @@
+package com.digital.wallet.infra.jobs;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionArchivePolicyTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private final TransactionArchivePolicy policy = new TransactionArchivePolicy(
+            Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC), 90);
+
+    @Test
+    void archiveHorizon_shouldBeConfiguredAgeBeforeNow() {
+        assertEquals(NOW.minusDays(90), policy.archiveHorizon());
+    }
+
+    @Test
+    void mayContainArchived_shouldBeTrueForOldOrUnboundedStarts() {
+        assertTrue(policy.mayContainArchived(null));
+        assertTrue(policy.mayContainArchived(NOW.minusDays(120)));
+    }
+
+    @Test
+    void mayContainArchived_shouldBeFalseForRecentStarts() {
+        assertFalse(policy.mayContainArchived(NOW.minusDays(30)));
+    }
+}
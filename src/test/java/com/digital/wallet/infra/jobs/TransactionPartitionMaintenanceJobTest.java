@@ -0,0 +1,81 @@
+package com.digital.wallet.infra.jobs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionPartitionMaintenanceJobTest {
+
+    private static final Clock CLOCK = Clock.fixed(
+            LocalDate.of(2024, 5, 17).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    private static final TransactionArchivePolicy ARCHIVE_POLICY = new TransactionArchivePolicy(CLOCK, 90);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void maintainPartitions_shouldCreateCurrentAndFutureMonths() {
+        // Arrange
+        TransactionPartitionMaintenanceJob job = new TransactionPartitionMaintenanceJob(jdbcTemplate, ARCHIVE_POLICY, CLOCK, 2, 0);
+
+        // Act
+        job.maintainPartitions();
+
+        // Assert
+        verify(jdbcTemplate).queryForObject("SELECT create_transactions_partition(?)", String.class, Date.valueOf("2024-05-01"));
+        verify(jdbcTemplate).queryForObject("SELECT create_transactions_partition(?)", String.class, Date.valueOf("2024-06-01"));
+        verify(jdbcTemplate).queryForObject("SELECT create_transactions_partition(?)", String.class, Date.valueOf("2024-07-01"));
+        verify(jdbcTemplate, never()).queryForObject(eq("SELECT detach_transactions_partitions_before(?)"), eq(Integer.class), any(Object[].class));
+    }
+
+    @Test
+    void maintainPartitions_shouldDetachPartitionsBeforeRetention() {
+        // Arrange
+        TransactionPartitionMaintenanceJob job = new TransactionPartitionMaintenanceJob(jdbcTemplate, ARCHIVE_POLICY, CLOCK, 0, 12);
+        when(jdbcTemplate.queryForObject("SELECT detach_transactions_partitions_before(?)", Integer.class, Date.valueOf("2023-05-01")))
+                .thenReturn(2);
+
+        // Act
+        job.maintainPartitions();
+
+        // Assert
+        verify(jdbcTemplate).queryForObject("SELECT detach_transactions_partitions_before(?)", Integer.class, Date.valueOf("2023-05-01"));
+    }
+
+    @Test
+    void maintainPartitions_shouldNotDetachPartitionsAfterArchiveHorizon() {
+        // Arrange
+        TransactionPartitionMaintenanceJob job = new TransactionPartitionMaintenanceJob(jdbcTemplate, ARCHIVE_POLICY, CLOCK, 0, 1);
+
+        // Act
+        job.maintainPartitions();
+
+        // Assert
+        verify(jdbcTemplate).queryForObject("SELECT detach_transactions_partitions_before(?)", Integer.class, Date.valueOf("2024-02-01"));
+    }
+
+    @Test
+    void maintainPartitions_shouldNotPropagateDatabaseErrors() {
+        // Arrange
+        TransactionPartitionMaintenanceJob job = new TransactionPartitionMaintenanceJob(jdbcTemplate, ARCHIVE_POLICY, CLOCK, 1, 0);
+        when(jdbcTemplate.queryForObject(anyString(), eq(String.class), any(Object[].class)))
+                .thenThrow(new RuntimeException("Database error"));
+
+        // Act & Assert
+        assertDoesNotThrow(job::maintainPartitions);
+    }
+}
@@ -0,0 +1,60 @@
+package com.digital.wallet.infra.jobs;
+
+import com.digital.wallet.infra.cache.HistoryCachePolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletBalanceCheckpointJobTest {
+
+    private static final LocalDateTime SETTLED_UNTIL = LocalDateTime.of(2024, 6, 1, 10, 14);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private HistoryCachePolicy historyCachePolicy;
+
+    @Test
+    void writeCheckpoints_shouldCheckpointAtSettledInstant() {
+        // Arrange
+        WalletBalanceCheckpointJob job = new WalletBalanceCheckpointJob(jdbcTemplate, historyCachePolicy);
+        when(historyCachePolicy.settledUntil()).thenReturn(SETTLED_UNTIL);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        when(jdbcTemplate.update(eq(WalletBalanceCheckpointJob.WRITE_CHECKPOINTS_SQL), params.capture())).thenReturn(7);
+
+        // Act
+        int written = job.writeCheckpoints();
+
+        // Assert
+        assertEquals(7, written);
+        assertEquals(Timestamp.valueOf(SETTLED_UNTIL), params.getValue().getValue("asOf"));
+        assertEquals(List.of("DEPOSIT", "TRANSFER_IN"), params.getValue().getValue("creditTypes"));
+    }
+
+    @Test
+    void writeCheckpoints_shouldReturnZeroOnDatabaseError() {
+        // Arrange
+        WalletBalanceCheckpointJob job = new WalletBalanceCheckpointJob(jdbcTemplate, historyCachePolicy);
+        when(historyCachePolicy.settledUntil()).thenReturn(SETTLED_UNTIL);
+        when(jdbcTemplate.update(eq(WalletBalanceCheckpointJob.WRITE_CHECKPOINTS_SQL), any(MapSqlParameterSource.class)))
+                .thenThrow(new RuntimeException("Database error"));
+
+        // Act & Assert
+        assertEquals(0, job.writeCheckpoints());
+    }
+}
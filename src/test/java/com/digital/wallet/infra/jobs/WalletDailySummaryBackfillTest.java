@@ -0,0 +1,63 @@
+package com.digital.wallet.infra.jobs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletDailySummaryBackfillTest {
+
+    @Mock
+    private WalletDailySummaryRebuilder rebuilder;
+
+    @Test
+    void backfillAll_shouldRebuildEveryWalletInChunks() {
+        // Arrange
+        WalletDailySummaryBackfill backfill = new WalletDailySummaryBackfill(rebuilder, false, 2, 2);
+        List<UUID> walletIds = IntStream.range(0, 5).mapToObj(i -> UUID.randomUUID()).toList();
+        when(rebuilder.findWalletsWithTransactions()).thenReturn(walletIds);
+        when(rebuilder.rebuild(anyList(), isNull(), any(LocalDateTime.class))).thenReturn(10);
+
+        // Act
+        long rows = backfill.backfillAll();
+
+        // Assert
+        assertEquals(30, rows);
+        verify(rebuilder).rebuild(eq(walletIds.subList(0, 2)), isNull(), any(LocalDateTime.class));
+        verify(rebuilder).rebuild(eq(walletIds.subList(2, 4)), isNull(), any(LocalDateTime.class));
+        verify(rebuilder).rebuild(eq(walletIds.subList(4, 5)), isNull(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void backfillAll_shouldReturnZeroOnDatabaseError() {
+        // Arrange
+        WalletDailySummaryBackfill backfill = new WalletDailySummaryBackfill(rebuilder, false, 2, 2);
+        when(rebuilder.findWalletsWithTransactions()).thenReturn(List.of(UUID.randomUUID()));
+        when(rebuilder.rebuild(anyList(), isNull(), any(LocalDateTime.class))).thenThrow(new RuntimeException("Database error"));
+
+        // Act & Assert
+        assertEquals(0, backfill.backfillAll());
+    }
+
+    @Test
+    void onApplicationReady_shouldOnlyBackfillWhenEnabled() {
+        new WalletDailySummaryBackfill(rebuilder, false, 2, 2).onApplicationReady();
+        verifyNoInteractions(rebuilder);
+
+        when(rebuilder.findWalletsWithTransactions()).thenReturn(List.of());
+        new WalletDailySummaryBackfill(rebuilder, true, 2, 2).onApplicationReady();
+        verify(rebuilder).findWalletsWithTransactions();
+    }
+}
@@ -0,0 +1,85 @@
+package com.digital.wallet.infra.jobs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletDailySummaryCatchUpJobTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-05-10T12:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private WalletDailySummaryRebuilder rebuilder;
+
+    @Mock
+    private WalletDailySummaryBackfill backfill;
+
+    @Test
+    void catchUp_shouldRebuildWalletsChangedSinceLastRefreshWithOverlap() throws Exception {
+        // Arrange
+        WalletDailySummaryCatchUpJob job = new WalletDailySummaryCatchUpJob(rebuilder, backfill, CLOCK, 60);
+        LocalDateTime lastRefresh = LocalDateTime.of(2024, 5, 10, 11, 59, 30);
+        List<UUID> walletIds = List.of(UUID.randomUUID());
+        when(rebuilder.findLastRefresh()).thenReturn(lastRefresh);
+        LocalDate today = LocalDate.of(2024, 5, 10);
+        when(rebuilder.findWalletsChangedSince(lastRefresh.minusSeconds(60))).thenReturn(walletIds);
+        when(rebuilder.findEarliestDayChangedSince(lastRefresh.minusSeconds(60))).thenReturn(today);
+        when(backfill.rebuild(walletIds, today, LocalDateTime.of(2024, 5, 10, 12, 0))).thenReturn(3L);
+
+        // Act
+        long rows = job.catchUp();
+
+        // Assert
+        assertEquals(3, rows);
+        verify(backfill, never()).backfillAll();
+    }
+
+    @Test
+    void catchUp_shouldSkipRebuildWhenNothingChanged() throws Exception {
+        // Arrange
+        WalletDailySummaryCatchUpJob job = new WalletDailySummaryCatchUpJob(rebuilder, backfill, CLOCK, 60);
+        when(rebuilder.findLastRefresh()).thenReturn(LocalDateTime.of(2024, 5, 10, 11, 59, 30));
+        when(rebuilder.findWalletsChangedSince(any())).thenReturn(List.of());
+
+        // Act & Assert
+        assertEquals(0, job.catchUp());
+        verify(backfill, never()).rebuild(anyList(), any(), any());
+    }
+
+    @Test
+    void catchUp_shouldBackfillWhenSummaryIsEmpty() {
+        // Arrange
+        WalletDailySummaryCatchUpJob job = new WalletDailySummaryCatchUpJob(rebuilder, backfill, CLOCK, 60);
+        when(rebuilder.findLastRefresh()).thenReturn(null);
+        when(backfill.backfillAll()).thenReturn(12L);
+
+        // Act & Assert
+        assertEquals(12, job.catchUp());
+        verify(rebuilder, never()).findWalletsChangedSince(any());
+    }
+
+    @Test
+    void catchUp_shouldReturnZeroOnDatabaseError() {
+        // Arrange
+        WalletDailySummaryCatchUpJob job = new WalletDailySummaryCatchUpJob(rebuilder, backfill, CLOCK, 60);
+        when(rebuilder.findLastRefresh()).thenThrow(new RuntimeException("Database error"));
+
+        // Act & Assert
+        assertEquals(0, job.catchUp());
+    }
+}
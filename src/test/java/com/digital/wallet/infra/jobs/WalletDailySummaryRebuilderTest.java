@@ -0,0 +1,89 @@
+package com.digital.wallet.infra.jobs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletDailySummaryRebuilderTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 10, 12, 0);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Test
+    void rebuild_shouldRunSingleStatementForTheChunk() {
+        // Arrange
+        WalletDailySummaryRebuilder rebuilder = new WalletDailySummaryRebuilder(jdbcTemplate);
+        List<UUID> walletIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        when(jdbcTemplate.update(eq(WalletDailySummaryRebuilder.REBUILD_SQL), any(SqlParameterSource.class))).thenReturn(7);
+
+        // Act
+        int rows = rebuilder.rebuild(walletIds, NOW);
+
+        // Assert
+        assertEquals(7, rows);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).update(eq(WalletDailySummaryRebuilder.REBUILD_SQL), params.capture());
+        assertEquals(walletIds, params.getValue().getValue("walletIds"));
+        assertEquals(Timestamp.valueOf(NOW), params.getValue().getValue("refreshedAt"));
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0)), params.getValue().getValue("fromDay"));
+    }
+
+    @Test
+    void rebuild_fromDay_shouldOnlyReadThatDayOnwards() {
+        // Arrange
+        WalletDailySummaryRebuilder rebuilder = new WalletDailySummaryRebuilder(jdbcTemplate);
+        List<UUID> walletIds = List.of(UUID.randomUUID());
+        when(jdbcTemplate.update(eq(WalletDailySummaryRebuilder.REBUILD_SQL), any(SqlParameterSource.class))).thenReturn(1);
+
+        // Act
+        rebuilder.rebuild(walletIds, LocalDate.of(2024, 5, 10), NOW);
+
+        // Assert
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).update(eq(WalletDailySummaryRebuilder.REBUILD_SQL), params.capture());
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2024, 5, 10, 0, 0)), params.getValue().getValue("fromDay"));
+    }
+
+    @Test
+    void rebuildSql_shouldAnchorClosingBalancesOnTheWalletBalance() {
+        // Same source as the inline upsert, so opening balances without transactions are kept
+        assertTrue(WalletDailySummaryRebuilder.REBUILD_SQL.contains("JOIN wallets w ON w.id = d.wallet_id"));
+        assertTrue(WalletDailySummaryRebuilder.REBUILD_SQL.contains("w.balance - COALESCE(SUM("));
+    }
+
+    @Test
+    void rebuild_withNoWallets_shouldNotQuery() {
+        WalletDailySummaryRebuilder rebuilder = new WalletDailySummaryRebuilder(jdbcTemplate);
+
+        assertEquals(0, rebuilder.rebuild(List.of(), NOW));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void findLastRefresh_shouldReturnNullForEmptySummary() {
+        WalletDailySummaryRebuilder rebuilder = new WalletDailySummaryRebuilder(jdbcTemplate);
+        when(jdbcTemplate.queryForObject(eq(WalletDailySummaryRebuilder.LAST_REFRESH_SQL), any(SqlParameterSource.class), eq(Timestamp.class)))
+                .thenReturn(null);
+
+        assertNull(rebuilder.findLastRefresh());
+    }
+}
@@ -0,0 +1,109 @@
+package com.digital.wallet.infra.jobs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.digital.wallet.infra.metrics.MetricsConstants.RECONCILIATION_DRIFT;
+import static com.digital.wallet.infra.metrics.MetricsConstants.RECONCILIATION_MISMATCHES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WalletReconciliationJobTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void reconcile_shouldCompareWalletsInKeysetBatches() {
+        // Arrange
+        WalletReconciliationJob job = new WalletReconciliationJob(jdbcTemplate, meterRegistry, 100, 2);
+        UUID firstBatchEnd = UUID.randomUUID();
+        UUID secondBatchEnd = UUID.randomUUID();
+        when(jdbcTemplate.queryForList(eq(WalletReconciliationJob.NEXT_BATCH_END_SQL), any(MapSqlParameterSource.class), eq(UUID.class)))
+                .thenReturn(List.of(firstBatchEnd), List.of(secondBatchEnd), List.of());
+        ArgumentCaptor<MapSqlParameterSource> batches = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        when(jdbcTemplate.update(eq(WalletReconciliationJob.RECORD_MISMATCHES_SQL), batches.capture())).thenReturn(1);
+        when(jdbcTemplate.queryForMap(eq(WalletReconciliationJob.RUN_TOTALS_SQL), any(MapSqlParameterSource.class)))
+                .thenReturn(Map.of("wallets", 2L, "drift", new BigDecimal("15.50")));
+
+        // Act
+        long mismatches = job.reconcile();
+
+        // Assert
+        assertEquals(2, mismatches);
+        Map<Object, MapSqlParameterSource> byStart = batches.getAllValues().stream()
+                .collect(Collectors.toMap(batch -> batch.getValue("after"), batch -> batch));
+        assertEquals(3, byStart.size());
+        assertEquals(firstBatchEnd, byStart.get(WalletReconciliationJob.FIRST_WALLET_ID).getValue("upTo"));
+        assertEquals(secondBatchEnd, byStart.get(firstBatchEnd).getValue("upTo"));
+        assertEquals(WalletReconciliationJob.LAST_WALLET_ID, byStart.get(secondBatchEnd).getValue("upTo"));
+        assertEquals(List.of("DEPOSIT", "TRANSFER_IN"), byStart.get(firstBatchEnd).getValue("creditTypes"));
+        assertEquals(15.5, meterRegistry.get(RECONCILIATION_DRIFT).gauge().value());
+        assertEquals(2.0, meterRegistry.get(RECONCILIATION_MISMATCHES).gauge().value());
+    }
+
+    @Test
+    void reconcile_shouldReadBatchBoundaryAtBatchSizeOffset() {
+        // Arrange
+        WalletReconciliationJob job = new WalletReconciliationJob(jdbcTemplate, meterRegistry, 500, 1);
+        ArgumentCaptor<MapSqlParameterSource> boundary = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        when(jdbcTemplate.queryForList(eq(WalletReconciliationJob.NEXT_BATCH_END_SQL), boundary.capture(), eq(UUID.class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForMap(eq(WalletReconciliationJob.RUN_TOTALS_SQL), any(MapSqlParameterSource.class)))
+                .thenReturn(Map.of("wallets", 0L, "drift", BigDecimal.ZERO));
+
+        // Act
+        long mismatches = job.reconcile();
+
+        // Assert
+        assertEquals(0, mismatches);
+        assertEquals(499, boundary.getValue().getValue("offset"));
+        verify(jdbcTemplate).update(eq(WalletReconciliationJob.RECORD_MISMATCHES_SQL), any(MapSqlParameterSource.class));
+    }
+
+    @Test
+    void reconcile_shouldReturnMinusOneOnDatabaseError() {
+        // Arrange
+        WalletReconciliationJob job = new WalletReconciliationJob(jdbcTemplate, meterRegistry, 100, 2);
+        when(jdbcTemplate.queryForList(eq(WalletReconciliationJob.NEXT_BATCH_END_SQL), any(MapSqlParameterSource.class), eq(UUID.class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.update(eq(WalletReconciliationJob.RECORD_MISMATCHES_SQL), any(MapSqlParameterSource.class)))
+                .thenThrow(new RuntimeException("Database error"));
+
+        // Act & Assert
+        assertEquals(-1, job.reconcile());
+        assertEquals(0.0, meterRegistry.get(RECONCILIATION_MISMATCHES).gauge().value());
+    }
+
+    @Test
+    void recordMismatches_shouldCompareBalancesWithBaselinePlusTransactions() {
+        // Opening balances and detached partitions live in the baseline, not in the transaction tables
+        assertTrue(WalletReconciliationJob.RECORD_MISMATCHES_SQL.contains("LEFT JOIN wallet_ledger_baselines b ON b.wallet_id = w.id"));
+        assertTrue(WalletReconciliationJob.RECORD_MISMATCHES_SQL.endsWith(
+                "w.balance <> COALESCE(b.amount, 0) + COALESCE(l.amount, 0)"));
+    }
+}